@@ -18,7 +18,7 @@
 
 package boofcv.alg.feature.detect.grid.refine;
 
-import boofcv.alg.feature.detect.edge.CannyEdge;
+import boofcv.alg.feature.detect.edge.CannyEdgeFused;
 import boofcv.alg.feature.detect.edge.EdgeContour;
 import boofcv.alg.feature.detect.edge.EdgeSegment;
 import boofcv.factory.feature.detect.edge.FactoryEdgeDetectors;
@@ -49,7 +49,7 @@ public class RefineCornerCanny {
 	private CostFunction func = new CostFunction();
 	private UnconstrainedMinimization alg = FactoryOptimization.unconstrained();
 
-	CannyEdge<ImageFloat32,ImageFloat32> detectEdge;
+	CannyEdgeFused<ImageFloat32,ImageFloat32> detectEdge;
 
 	Point2D_F64 corner;
 
@@ -59,7 +59,7 @@ public class RefineCornerCanny {
 	InitialEstimate initial = new InitialEstimate();
 
 	public RefineCornerCanny() {
-		detectEdge = FactoryEdgeDetectors.canny(2,true, true, ImageFloat32.class, ImageFloat32.class);
+		detectEdge = FactoryEdgeDetectors.cannyFused(2,true, true, false, ImageFloat32.class, ImageFloat32.class);
 	}
 
 	public void process( ImageFloat32 image ) {
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature;
+
+import boofcv.alg.feature.associate.BenchmarkAssociationSpeedRandom;
+import boofcv.alg.feature.describe.BenchmarkDescribe;
+import boofcv.alg.feature.detect.intensity.BenchmarkFastIntensity;
+import boofcv.alg.feature.disparity.BenchmarkDisparityAlgs;
+import boofcv.misc.BenchmarkRegressionRunner;
+
+/**
+ * Regression suite for the performance critical feature operations.  See {@link BenchmarkRegressionRunner}.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkRegressionFeature {
+
+	public static Class[] benchmarks = new Class[]{
+			BenchmarkFastIntensity.class,
+			BenchmarkDescribe.class,
+			BenchmarkAssociationSpeedRandom.class,
+			BenchmarkDisparityAlgs.class};
+
+	public static void main( String args[] ) {
+		BenchmarkRegressionRunner.run(args,benchmarks);
+	}
+}
@@ -21,10 +21,10 @@ package boofcv.alg.feature.associate;
 import boofcv.abst.feature.associate.AssociateDescription;
 import boofcv.abst.feature.associate.ScoreAssociation;
 import boofcv.factory.feature.associate.FactoryAssociation;
-import boofcv.misc.Performer;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.FastQueue;
 import boofcv.struct.feature.TupleDesc_F64;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
 
 import java.util.Random;
 
@@ -32,40 +32,45 @@ import java.util.Random;
 /**
  * @author Peter Abeles
  */
-public class BenchmarkAssociationSpeedRandom {
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkAssociationSpeedRandom extends SimpleBenchmark {
 
-	static final long TEST_TIME = 1000;
-	static final Random rand = new Random(234234);
 	static final int DOF = 50;
 	static final int NUM_FEATURES = 1000;
 
-	static final FastQueue<TupleDesc_F64> listA = createSet();
-	static final FastQueue<TupleDesc_F64> listB = createSet();
+	Random rand = new Random(234234);
 
-	public static class General implements Performer {
+	FastQueue<TupleDesc_F64> listA = createSet();
+	FastQueue<TupleDesc_F64> listB = createSet();
 
-		AssociateDescription<TupleDesc_F64> alg;
-		String name;
+	ScoreAssociation<TupleDesc_F64> score = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true);
 
-		public General(String name, AssociateDescription<TupleDesc_F64> alg) {
-			this.alg = alg;
-			this.name = name;
-		}
+	AssociateDescription<TupleDesc_F64> greedy = FactoryAssociation.greedy(score, Double.MAX_VALUE, false);
+	AssociateDescription<TupleDesc_F64> greedyBackwards = FactoryAssociation.greedy(score, Double.MAX_VALUE, true);
+	AssociateDescription<TupleDesc_F64> randomForest = FactoryAssociation.kdRandomForest(DOF,500,15,5,1233445565);
 
-		@Override
-		public void process() {
+	private int associate( AssociateDescription<TupleDesc_F64> alg , int reps ) {
+		for( int i = 0; i < reps; i++ ) {
 			alg.setSource(listA);
 			alg.setDestination(listB);
 			alg.associate();
 		}
+		return alg.getMatches().size;
+	}
 
-		@Override
-		public String getName() {
-			return name;
-		}
+	public int timeGreedy(int reps) {
+		return associate(greedy,reps);
+	}
+
+	public int timeGreedyBackwards(int reps) {
+		return associate(greedyBackwards,reps);
+	}
+
+	public int timeRandomForest(int reps) {
+		return associate(randomForest,reps);
 	}
 
-	private static FastQueue<TupleDesc_F64> createSet() {
+	private FastQueue<TupleDesc_F64> createSet() {
 		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(10,TupleDesc_F64.class, true) {
 				@Override
 				protected TupleDesc_F64 createInstance() {
@@ -82,15 +87,9 @@ public class BenchmarkAssociationSpeedRandom {
 		return ret;
 	}
 
-	public static void main( String argsp[ ] ) {
+	public static void main( String args[] ) {
 		System.out.println("=========  Profile Description Length "+DOF+" ========== Num Features "+NUM_FEATURES);
-		System.out.println();
-
-		ScoreAssociation<TupleDesc_F64> score = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true);
 
-		ProfileOperation.printOpsPerSec(new General("Greedy", FactoryAssociation.greedy(score, Double.MAX_VALUE, false)),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new General("Greedy Backwards", FactoryAssociation.greedy(score, Double.MAX_VALUE, true)),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new General("Random Forest", FactoryAssociation.kdRandomForest(DOF,500,15,5,1233445565)),TEST_TIME);
-		
+		Runner.main(BenchmarkAssociationSpeedRandom.class, args);
 	}
 }
@@ -18,22 +18,18 @@
 
 package boofcv.alg.feature.describe;
 
-import boofcv.abst.feature.describe.ConfigSurfDescribe;
 import boofcv.abst.feature.describe.DescribeRegionPoint;
 import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
-import boofcv.alg.filter.derivative.GImageDerivativeOps;
-import boofcv.alg.misc.GImageMiscOps;
-import boofcv.alg.transform.ii.GIntegralImageOps;
-import boofcv.core.image.GeneralizedImageOps;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
-import boofcv.misc.Performer;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
+import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.feature.TupleDesc_B;
 import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageSingleBand;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
 import georegression.struct.point.Point2D_I32;
 
 import java.util.Random;
@@ -42,36 +38,39 @@ import java.util.Random;
 /**
  * @author Peter Abeles
  */
-@SuppressWarnings("unchecked")
-public class BenchmarkDescribe<I extends ImageSingleBand, D extends ImageSingleBand, II extends ImageSingleBand> {
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkDescribe extends SimpleBenchmark {
 
-	static final long TEST_TIME = 1000;
-	static Random rand = new Random(234234);
 	static int NUM_POINTS = 512;
 
 	final static int width = 640;
 	final static int height = 480;
 
-	I image;
+	Random rand = new Random(234234);
+
+	ImageFloat32 image = new ImageFloat32(width,height);
 
 	Point2D_I32 pts[];
 	double scales[];
 	double yaws[];
 
-	Class<I> imageType;
-	Class<D> derivType;
-	Class<II> integralType;
-
-	public BenchmarkDescribe( Class<I> imageType ) {
-
-		this.imageType = imageType;
+	DescribePointBrief<ImageFloat32> brief = FactoryDescribePointAlgs.brief(
+			FactoryBriefDefinition.gaussian2(new Random(123), 16, 512),
+			FactoryBlurFilter.gaussian(ImageFloat32.class, 0, 4));
 
-		derivType = GImageDerivativeOps.getDerivativeType(imageType);
-		integralType = GIntegralImageOps.getIntegralType(imageType);
+	DescribePointBriefSO<ImageFloat32> briefSO = FactoryDescribePointAlgs.briefso(
+			FactoryBriefDefinition.gaussian2(new Random(123), 16, 512),
+			FactoryBlurFilter.gaussian(ImageFloat32.class, 0, 4));
 
-		image = GeneralizedImageOps.createSingleBand(imageType, width, height);
+	DescribeRegionPoint<ImageFloat32,SurfFeature> surf =
+			FactoryDescribeRegionPoint.surfFast(null, ImageFloat32.class);
+	DescribeRegionPoint<ImageFloat32,SurfFeature> msurf =
+			FactoryDescribeRegionPoint.surfStable(null, ImageFloat32.class);
+	DescribeRegionPoint<ImageFloat32,SurfFeature> sift =
+			FactoryDescribeRegionPoint.sift(null, null);
 
-		GImageMiscOps.fillUniform(image, rand, 0, 100);
+	public BenchmarkDescribe() {
+		ImageMiscOps.fillUniform(image, rand, 0, 100);
 
 		pts = new Point2D_I32[ NUM_POINTS ];
 		scales = new double[ NUM_POINTS ];
@@ -84,87 +83,63 @@ public class BenchmarkDescribe<I extends ImageSingleBand, D extends ImageSingleB
 			scales[i] = rand.nextDouble()*3+1;
 			yaws[i] = 2.0*(rand.nextDouble()-0.5)*Math.PI;
 		}
-
 	}
 
-	public class Brief512 extends PerformerBase {
-
-		DescribePointBrief<I> alg = FactoryDescribePointAlgs.brief(FactoryBriefDefinition.gaussian2(new Random(123), 16, 512),
-				FactoryBlurFilter.gaussian(imageType, 0, 4));
-
-		@Override
-		public void process() {
-			alg.setImage(image);
-			TupleDesc_B f = alg.createFeature();
-			for( int i = 0; i < pts.length; i++ ) {
-				Point2D_I32 p = pts[i];
-				alg.process(p.x,p.y,f);
+	public int timeBrief512(int reps) {
+		TupleDesc_B f = brief.createFeature();
+		for( int i = 0; i < reps; i++ ) {
+			brief.setImage(image);
+			for( int j = 0; j < pts.length; j++ ) {
+				Point2D_I32 p = pts[j];
+				brief.process(p.x,p.y,f);
 			}
 		}
+		return f.data[0];
 	}
 
-	public class BriefSO512 extends PerformerBase {
-
-		DescribePointBriefSO<I> alg = FactoryDescribePointAlgs.briefso(FactoryBriefDefinition.gaussian2(new Random(123), 16, 512),
-				FactoryBlurFilter.gaussian(imageType, 0, 4));
-
-		@Override
-		public void process() {
-			alg.setImage(image);
-			TupleDesc_B f = alg.createFeature();
-			for( int i = 0; i < pts.length; i++ ) {
-				Point2D_I32 p = pts[i];
-				alg.process(p.x,p.y,(float)yaws[i],(float)scales[i],f);
+	public int timeBriefSO512(int reps) {
+		TupleDesc_B f = briefSO.createFeature();
+		for( int i = 0; i < reps; i++ ) {
+			briefSO.setImage(image);
+			for( int j = 0; j < pts.length; j++ ) {
+				Point2D_I32 p = pts[j];
+				briefSO.process(p.x,p.y,(float)yaws[j],(float)scales[j],f);
 			}
 		}
+		return f.data[0];
 	}
 
-	public class Describe<D extends TupleDesc> implements Performer {
+	public int timeSURF(int reps) {
+		return describe(surf,reps);
+	}
 
-		DescribeRegionPoint<I,D> alg;
-		String name;
+	public int timeMSURF(int reps) {
+		return describe(msurf,reps);
+	}
 
-		public Describe(String name, DescribeRegionPoint<I,D> alg) {
-			this.alg = alg;
-			this.name = name;
-		}
+	public int timeSIFT(int reps) {
+		return describe(sift,reps);
+	}
 
-		@Override
-		public void process() {
+	private <D extends TupleDesc> int describe( DescribeRegionPoint<ImageFloat32,D> alg , int reps ) {
+		int total = 0;
+		for( int i = 0; i < reps; i++ ) {
 			alg.setImage(image);
 			D d = null;
-			for( int i = 0; i < pts.length; i++ ) {
-				Point2D_I32 p = pts[i];
-				if( alg.isInBounds(p.x,p.y,yaws[i],scales[i]))
-					d=alg.process(p.x,p.y,yaws[i],scales[i],d);
+			for( int j = 0; j < pts.length; j++ ) {
+				Point2D_I32 p = pts[j];
+				if( alg.isInBounds(p.x,p.y,yaws[j],scales[j])) {
+					d = alg.process(p.x,p.y,yaws[j],scales[j],d);
+					total++;
+				}
 			}
 		}
-
-		@Override
-		public String getName() {
-			return name;
-		}
-	}
-
-	public void perform() {
-		System.out.println("=========  Profile Image Size " + width + " x " + height + " ========== "+imageType.getSimpleName());
-		System.out.println();
-
-		ConfigSurfDescribe.Speed surfSpeed = new ConfigSurfDescribe.Speed();
-		ConfigSurfDescribe.Stablility surfStable = new ConfigSurfDescribe.Stablility();
-
-//		ProfileOperation.printOpsPerSec(new Describe("SURF", FactoryDescribeRegionPoint.<I,II>surfFast(surfSpeed, imageType)),TEST_TIME);
-//		ProfileOperation.printOpsPerSec(new Describe("MSURF", FactoryDescribeRegionPoint.<I,II>surfStable(surfStable, imageType)),TEST_TIME);
-//		if( imageType == ImageFloat32.class )
-//			ProfileOperation.printOpsPerSec(new Describe("SIFT", FactoryDescribeRegionPoint.sift(null,null)),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Brief512(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new BriefSO512(),TEST_TIME);
+		return total;
 	}
 
-	public static void main( String arg[ ] ) {
-		BenchmarkDescribe<ImageFloat32,?,?> alg = new BenchmarkDescribe(ImageFloat32.class);
-//		BenchmarkDescribe<ImageUInt8,?,?> alg = new BenchmarkDescribe(ImageUInt8.class);
+	public static void main( String args[] ) {
+		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
 
-		alg.perform();
+		Runner.main(BenchmarkDescribe.class, args);
 	}
 }
@@ -21,75 +21,71 @@ package boofcv.alg.feature.detect.intensity;
 import boofcv.alg.feature.detect.intensity.impl.ImplFastHelper_U8;
 import boofcv.alg.feature.detect.intensity.impl.ImplFastIntensity12;
 import boofcv.alg.feature.detect.intensity.impl.ImplFastIntensity9;
-import boofcv.alg.misc.GImageMiscOps;
-import boofcv.core.image.GeneralizedImageOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
+import boofcv.alg.feature.detect.intensity.impl.ImplFastTreeIntensity12_U8;
+import boofcv.alg.feature.detect.intensity.impl.ImplFastTreeIntensity9_U8;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
 
 import java.util.Random;
 
 /**
  * @author Peter Abeles
  */
-public class BenchmarkFastIntensity< T extends ImageSingleBand> {
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkFastIntensity extends SimpleBenchmark {
 	static int imgWidth = 640;
 	static int imgHeight = 480;
-	static long TEST_TIME = 1000;
 
-	T input;
-	ImageFloat32 intensity;
+	ImageUInt8 input = new ImageUInt8(imgWidth,imgHeight);
+	ImageFloat32 intensity = new ImageFloat32(imgWidth,imgHeight);
 
-	public BenchmarkFastIntensity(Class<T> imageType) {
-		input = GeneralizedImageOps.createSingleBand(imageType,imgWidth,imgHeight);
-		intensity = new ImageFloat32(input.width,input.height);
+	DetectorFastNaive naive9 = new DetectorFastNaive(3,9,60);
+	ImplFastIntensity9<ImageUInt8> fast9 = new ImplFastIntensity9<ImageUInt8>(new ImplFastHelper_U8(60));
+	ImplFastIntensity12<ImageUInt8> fast12 = new ImplFastIntensity12<ImageUInt8>(new ImplFastHelper_U8(60));
+	ImplFastTreeIntensity9_U8 tree9 = new ImplFastTreeIntensity9_U8(60);
+	ImplFastTreeIntensity12_U8 tree12 = new ImplFastTreeIntensity12_U8(60);
 
+	public BenchmarkFastIntensity() {
 		Random rand = new Random(234);
-		GImageMiscOps.fillUniform(input, rand, 0, 255);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
 	}
 
-	public class FAST_NAIVE_9 extends PerformerBase {
-		DetectorFastNaive corner = new DetectorFastNaive(3,9,60);
-
-		@Override
-		public void process() {
-			corner.process((ImageUInt8)input);
-		}
+	public int timeFAST_NAIVE_9(int reps) {
+		for( int i = 0; i < reps; i++ )
+			naive9.process(input);
+		return 0;
 	}
 
-	public class FAST9 extends PerformerBase {
-		ImplFastIntensity9<ImageUInt8> corner = new ImplFastIntensity9<ImageUInt8>(new ImplFastHelper_U8(60));
-
-		@Override
-		public void process() {
-			corner.process((ImageUInt8)input,intensity);
-		}
+	public int timeFAST9(int reps) {
+		for( int i = 0; i < reps; i++ )
+			fast9.process(input,intensity);
+		return fast9.getCandidates().size;
 	}
 
-	public class FAST12 extends PerformerBase {
-		ImplFastIntensity12<ImageUInt8> corner = new ImplFastIntensity12<ImageUInt8>(new ImplFastHelper_U8(60));
-
-		@Override
-		public void process() {
-			corner.process((ImageUInt8)input,intensity);
-		}
+	public int timeFAST12(int reps) {
+		for( int i = 0; i < reps; i++ )
+			fast12.process(input,intensity);
+		return fast12.getCandidates().size;
 	}
 
-	public void evaluate() {
-		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
-		System.out.println();
-
-		ProfileOperation.printOpsPerSec(new FAST_NAIVE_9(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new FAST9(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new FAST12(), TEST_TIME);
+	public int timeFAST9_TREE(int reps) {
+		for( int i = 0; i < reps; i++ )
+			tree9.process(input,intensity);
+		return tree9.getCandidates().size;
+	}
 
+	public int timeFAST12_TREE(int reps) {
+		for( int i = 0; i < reps; i++ )
+			tree12.process(input,intensity);
+		return tree12.getCandidates().size;
 	}
 
 	public static void main( String args[] ) {
-		BenchmarkFastIntensity benchmark = new BenchmarkFastIntensity(ImageUInt8.class);
+		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 
-		benchmark.evaluate();
+		Runner.main(BenchmarkFastIntensity.class, args);
 	}
 }
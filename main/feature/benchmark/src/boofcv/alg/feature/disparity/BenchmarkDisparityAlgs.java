@@ -21,20 +21,18 @@ package boofcv.alg.feature.disparity;
 import boofcv.alg.feature.disparity.impl.*;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.core.image.GeneralizedImageOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
 
 import java.util.Random;
 
 /**
  * @author Peter Abeles
  */
-public class BenchmarkDisparityAlgs {
-	static final long TEST_TIME = 1000;
-	static final Random rand = new Random(234234);
-
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkDisparityAlgs extends SimpleBenchmark {
 	static final int width=640;
 	static final int height=480;
 	static final int min=0;
@@ -42,99 +40,75 @@ public class BenchmarkDisparityAlgs {
 	static final int radiusX=2;
 	static final int radiusY=2;
 
-	static final ImageUInt8 left = new ImageUInt8(width,height);
-	static final ImageUInt8 right = new ImageUInt8(width,height);
+	final ImageUInt8 left = new ImageUInt8(width,height);
+	final ImageUInt8 right = new ImageUInt8(width,height);
 
-	static final ImageFloat32 left_F32 = new ImageFloat32(width,height);
-	static final ImageFloat32 right_F32 = new ImageFloat32(width,height);
+	final ImageFloat32 left_F32 = new ImageFloat32(width,height);
+	final ImageFloat32 right_F32 = new ImageFloat32(width,height);
 
-	static final ImageUInt8 outU8 = new ImageUInt8(width,height);
-	static final ImageFloat32 out_F32 = new ImageFloat32(width,height);
+	final ImageUInt8 outU8 = new ImageUInt8(width,height);
+	final ImageFloat32 out_F32 = new ImageFloat32(width,height);
 
-	public static class Naive extends PerformerBase {
+	StereoDisparityWtoNaive<ImageUInt8> naive =
+			new StereoDisparityWtoNaive<ImageUInt8> (0,max,radiusX,radiusY);
 
-		StereoDisparityWtoNaive<ImageUInt8> alg =
-				new StereoDisparityWtoNaive<ImageUInt8> (0,max,radiusX,radiusY);
+	ImplDisparityScoreSadRect_U8<ImageUInt8> sad_U8 =
+			new ImplDisparityScoreSadRect_U8<ImageUInt8>(min,max,radiusX,radiusY,
+					new ImplSelectRectStandard_S32_U8(250,2,0.1));
 
-		@Override
-		public void process() {
-			alg.process(left,right,out_F32);
-		}
-	}
+	ImplDisparityScoreSadRect_F32<ImageUInt8> sad_F32 =
+			new ImplDisparityScoreSadRect_F32<ImageUInt8>(min,max,radiusX,radiusY,
+					new ImplSelectRectStandard_F32_U8(250,2,0.1));
 
-	public static class EfficientSad_U8 extends PerformerBase {
+	ImplDisparityScoreSadRect_U8<ImageFloat32> sadSubpixel =
+			new ImplDisparityScoreSadRect_U8<ImageFloat32>(min,max,radiusX,radiusY,
+					new SelectRectSubpixel.S32_F32(250,2,0.1));
 
-//		DisparitySelect<int[],ImageUInt8> compDisp =
-//				new ImplSelectRectBasicWta_S32_U8();
-		DisparitySelect<int[],ImageUInt8> compDisp =
-				new ImplSelectRectStandard_S32_U8(250,2,0.1);
-		ImplDisparityScoreSadRect_U8<ImageUInt8> alg =
-				new ImplDisparityScoreSadRect_U8<ImageUInt8>(min,max,radiusX,radiusY,compDisp);
+	ImplDisparityScoreSadRectFive_U8<ImageUInt8> sadFive_U8 =
+			new ImplDisparityScoreSadRectFive_U8<ImageUInt8>(min,max,radiusX,radiusY,
+					new ImplSelectRectStandard_S32_U8(250,2,0.1));
 
-		@Override
-		public void process() {
-			alg.process(left,right, outU8);
-		}
+	public BenchmarkDisparityAlgs() {
+		Random rand = new Random(234234);
+		GImageMiscOps.fillUniform(left, rand, 0, 30);
+		GImageMiscOps.fillUniform(right, rand, 0, 30);
+		GeneralizedImageOps.convert(left, left_F32);
+		GeneralizedImageOps.convert(right,right_F32);
 	}
 
-	public static class EfficientSad_F32 extends PerformerBase {
-
-		//		DisparitySelect<int[],ImageUInt8> compDisp =
-//				new ImplSelectRectBasicWta_S32_U8();
-		DisparitySelect<float[],ImageUInt8> compDisp =
-				new ImplSelectRectStandard_F32_U8(250,2,0.1);
-		ImplDisparityScoreSadRect_F32<ImageUInt8> alg =
-				new ImplDisparityScoreSadRect_F32<ImageUInt8>(min,max,radiusX,radiusY,compDisp);
-
-		@Override
-		public void process() {
-			alg.process(left_F32,right_F32, outU8);
-		}
+	public int timeNaive(int reps) {
+		for( int i = 0; i < reps; i++ )
+			naive.process(left,right,out_F32);
+		return 0;
 	}
 
-	public static class EfficientSubpixelSad extends PerformerBase {
-
-		DisparitySelect<int[],ImageFloat32> compDisp =
-				new SelectRectSubpixel.S32_F32(250,2,0.1);
-		ImplDisparityScoreSadRect_U8<ImageFloat32> alg =
-				new ImplDisparityScoreSadRect_U8<ImageFloat32>(min,max,radiusX,radiusY,compDisp);
-
-		@Override
-		public void process() {
-			alg.process(left,right, out_F32);
-		}
+	public int timeEfficientSad_U8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			sad_U8.process(left,right,outU8);
+		return 0;
 	}
 
-	public static class EfficientSadFive_U8 extends PerformerBase {
+	public int timeEfficientSad_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			sad_F32.process(left_F32,right_F32,outU8);
+		return 0;
+	}
 
-		//		DisparitySelect<int[],ImageUInt8> compDisp =
-//				new ImplSelectRectBasicWta_S32_U8();
-		DisparitySelect<int[],ImageUInt8> compDisp =
-				new ImplSelectRectStandard_S32_U8(250,2,0.1);
-		ImplDisparityScoreSadRectFive_U8<ImageUInt8> alg =
-				new ImplDisparityScoreSadRectFive_U8<ImageUInt8>(min,max,radiusX,radiusY,compDisp);
+	public int timeEfficientSubpixelSad(int reps) {
+		for( int i = 0; i < reps; i++ )
+			sadSubpixel.process(left,right,out_F32);
+		return 0;
+	}
 
-		@Override
-		public void process() {
-			alg.process(left,right, outU8);
-		}
+	public int timeEfficientSadFive_U8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			sadFive_U8.process(left,right,outU8);
+		return 0;
 	}
 
-	public static void main( String argsp[ ] ) {
+	public static void main( String args[] ) {
 		System.out.println("=========  Image Size "+ width +" "+height+"  disparity "+max);
-		System.out.println();
-
-		GImageMiscOps.fillUniform(left, rand, 0, 30);
-		GImageMiscOps.fillUniform(right, rand, 0, 30);
-		GeneralizedImageOps.convert(left, left_F32);
-		GeneralizedImageOps.convert(right,right_F32);
-
-		// the "fastest" seems to always be the first one tested
-		ProfileOperation.printOpsPerSec(new EfficientSad_U8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new EfficientSadFive_U8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new EfficientSad_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new EfficientSubpixelSad(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Naive(), TEST_TIME);
 
+		Runner.main(BenchmarkDisparityAlgs.class, args);
 	}
 }
@@ -46,10 +46,10 @@ public class BenchmarkTemplateIntensity<T extends ImageSingleBand> {
 	T image;
 	T template;
 
-	public BenchmarkTemplateIntensity(Class<T> imageType) {
+	public BenchmarkTemplateIntensity(Class<T> imageType, int templateWidth, int templateHeight) {
 		this.imageType = imageType;
 		image = GeneralizedImageOps.createSingleBand(imageType,width,height);
-		template = GeneralizedImageOps.createSingleBand(imageType,20,30);
+		template = GeneralizedImageOps.createSingleBand(imageType,templateWidth,templateHeight);
 
 		GImageMiscOps.fillUniform(image, rand, 0, 200);
 		GImageMiscOps.fillUniform(template, rand, 0, 200);
@@ -60,9 +60,14 @@ public class BenchmarkTemplateIntensity<T extends ImageSingleBand> {
 		TemplateMatchingIntensity<T> alg;
 		String name;
 
-		public TemplatePerformer(TemplateScoreType type) {
-			this.alg = FactoryTemplateMatching.createIntensity(type,imageType);
-			this.name = type.toString();
+		public TemplatePerformer(TemplateScoreType type, boolean fourier) {
+			if( fourier ) {
+				this.alg = FactoryTemplateMatching.createIntensityFourier(type,imageType);
+				this.name = type.toString()+" Fourier";
+			} else {
+				this.alg = FactoryTemplateMatching.createIntensitySpatial(type,imageType);
+				this.name = type.toString()+" Spatial";
+			}
 		}
 
 		@Override
@@ -78,21 +83,29 @@ public class BenchmarkTemplateIntensity<T extends ImageSingleBand> {
 
 	public void evaluateAll() {
 		System.out.println("=========  Profile Image Size " + width + " x " + height + " ========== "+imageType.getSimpleName());
+		System.out.println("           Template Size " + template.width + " x " + template.height);
 		System.out.println();
 
-		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.SUM_DIFF_SQ), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.NCC), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.SUM_DIFF_SQ,false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.SUM_DIFF_SQ,true), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.NCC,false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new TemplatePerformer(TemplateScoreType.NCC,true), TEST_TIME);
 	}
 
 	public static void main( String args[] ) {
 		BenchmarkTemplateIntensity<ImageUInt8>
-				benchmark_U8 = new BenchmarkTemplateIntensity<ImageUInt8>(ImageUInt8.class);
+				benchmark_U8 = new BenchmarkTemplateIntensity<ImageUInt8>(ImageUInt8.class,20,30);
 
 		benchmark_U8.evaluateAll();
 
 		BenchmarkTemplateIntensity<ImageFloat32>
-				benchmark_F32 = new BenchmarkTemplateIntensity<ImageFloat32>(ImageFloat32.class);
+				benchmark_F32 = new BenchmarkTemplateIntensity<ImageFloat32>(ImageFloat32.class,20,30);
 
 		benchmark_F32.evaluateAll();
+
+		BenchmarkTemplateIntensity<ImageUInt8>
+				benchmark_large = new BenchmarkTemplateIntensity<ImageUInt8>(ImageUInt8.class,64,64);
+
+		benchmark_large.evaluateAll();
 	}
 }
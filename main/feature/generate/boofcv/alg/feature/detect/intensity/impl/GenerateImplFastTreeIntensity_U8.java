@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.misc.CodeGeneratorBase;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Generates a FAST corner detector for {@link boofcv.struct.image.ImageUInt8} which classifies each pixel
+ * using a single ternary decision tree, see [1].  Each pixel in the circle is darker, brighter, or similar
+ * to the center pixel.  Unlike {@link GenerateImplFastIntensity}, which creates separate trees for dark and bright
+ * corners, the same read is used to eliminate both types of corners.  The pixel tested at each node is selected
+ * to minimize the number of possible corners which remain, with the similar outcome being given the most weight
+ * since it is the most common in real images.  For most pixels the first two or three comparisons are enough to
+ * reject them.
+ * </p>
+ *
+ * <p>
+ * [1] Edward Rosten, Reid Porter and Tom Drummond. "Faster and better: a machine learning approach to corner detection"
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GenerateImplFastTreeIntensity_U8 extends CodeGeneratorBase {
+
+	private final int TOTAL_CIRCLE = 16;
+	private final int ALL = 0xFFFF;
+	// bit field which indicates which pixels cannot be the first pixel in a corner if this one is false
+	// 1 = still possible and 0 = not possible
+	private int[]masks;
+
+	// minimum number of edge points in a row to make a corner
+	private int minContinuous;
+
+	// sub-trees with more decision nodes than this are placed into their own function.  HotSpot will not compile
+	// functions with more than 8000 bytes of byte code
+	private final int MAX_INLINE_NODES = 80;
+	// number of similar outcomes in a row, from the start of a function, which are always inlined
+	private final int SIMILAR_INLINE = 2;
+	private final int LEAF_NONE = 2;
+
+	// number of decision nodes in each sub-tree
+	private Map<String,Integer> nodeCount = new HashMap<String,Integer>();
+	// name of the function for each sub-tree which has its own function
+	private Map<String,String> methodNames = new HashMap<String,String>();
+	// sub-trees which need to be printed
+	private List<State> pending = new ArrayList<State>();
+
+	@Override
+	public void generate() throws FileNotFoundException {
+		createFile(9);
+		createFile(10);
+		createFile(11);
+		createFile(12);
+	}
+
+	public void createFile( int minContinuous ) throws FileNotFoundException {
+		className = "ImplFastTreeIntensity"+minContinuous+"_U8";
+
+		this.minContinuous = minContinuous;
+
+		createMasks();
+		printPreamble();
+		printChecks();
+		printClassify();
+
+		out.println("}");
+	}
+
+	/**
+	 * Create the set of masks for each pixel in the circle
+	 */
+	private void createMasks() {
+		masks = new int[TOTAL_CIRCLE];
+		for( int i = 0; i < TOTAL_CIRCLE; i++ ) {
+			int mask = 0;
+			for( int j = 0; j < minContinuous; j++ ) {
+				int v = i-j < 0 ? TOTAL_CIRCLE+i-j : i-j;
+				mask |= 1 << v;
+			}
+			masks[i] = ~mask & ALL;
+		}
+	}
+
+	private void printPreamble() throws FileNotFoundException {
+		setOutputFile(className);
+
+		out.print("import boofcv.alg.feature.detect.intensity.FastCornerIntensity;\n" +
+				"import boofcv.misc.DiscretizedCircle;\n" +
+				"import boofcv.struct.QueueCorner;\n" +
+				"import boofcv.struct.image.ImageFloat32;\n" +
+				"import boofcv.struct.image.ImageUInt8;\n" +
+				"\n" +
+				"/**\n" +
+				" * <p>\n" +
+				" * FAST corner detector for {@link ImageUInt8} which requires "+minContinuous+" continuous pixels.  Each pixel\n" +
+				" * is classified using a single ternary decision tree which checks for dark and bright corners at the same\n" +
+				" * time.  Image pixels are read directly and most pixels are rejected after two or three comparisons.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
+				" * DO NOT MODIFY. Generated by {@link "+getClass().getSimpleName()+"}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public class "+className+" extends FastCornerIntensity<ImageUInt8>\n" +
+				"{\n" +
+				"\t// how similar do the pixel in the circle need to be to the center pixel\n" +
+				"\tprivate int pixelTol;\n" +
+				"\n" +
+				"\t// the image's stride.  Used to determine if the offsets need to be recomputed\n" +
+				"\tprivate int stride = 0;\n" +
+				"\n" +
+				"\t/**\n" +
+				"\t * @param pixelTol How different pixels need to be to be considered part of a corner.\n" +
+				"\t */\n" +
+				"\tpublic "+className+"( int pixelTol ) {\n" +
+				"\t\tsuper(new ImplFastHelper_U8(pixelTol));\n" +
+				"\t\tthis.pixelTol = pixelTol;\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tpublic void process( ImageUInt8 image , ImageFloat32 intensity ) {\n" +
+				"\t\tQueueCorner candidates = getCandidates();\n" +
+				"\t\tcandidates.reset();\n" +
+				"\t\tthis.image = image;\n" +
+				"\n" +
+				"\t\tif( stride != image.stride ) {\n" +
+				"\t\t\tstride = image.stride;\n" +
+				"\t\t\toffsets = DiscretizedCircle.imageOffsets(radius, image.stride);\n" +
+				"\t\t}\n" +
+				"\t\thelper.setImage(image,offsets);\n" +
+				"\n" +
+				"\t\tfinal byte[] data = image.data;\n" +
+				"\n" +
+				"\t\tfor (int y = radius; y < image.height-radius; y++) {\n" +
+				"\t\t\tint indexIntensity = intensity.startIndex + y*intensity.stride + radius;\n" +
+				"\t\t\tint index = image.startIndex + y*image.stride + radius;\n" +
+				"\t\t\tfor (int x = radius; x < image.width-radius; x++, index++,indexIntensity++) {\n" +
+				"\t\t\t\tint center = data[index] & 0xFF;\n" +
+				"\n" +
+				"\t\t\t\tint type = classify(data,index,center-pixelTol,center+pixelTol);\n" +
+				"\n" +
+				"\t\t\t\tif( type == 0 ) {\n" +
+				"\t\t\t\t\tintensity.data[indexIntensity] = 0;\n" +
+				"\t\t\t\t} else {\n" +
+				"\t\t\t\t\thelper.setThresholds(index);\n" +
+				"\t\t\t\t\tif( type < 0 )\n" +
+				"\t\t\t\t\t\tintensity.data[indexIntensity] = helper.scoreLower(index);\n" +
+				"\t\t\t\t\telse\n" +
+				"\t\t\t\t\t\tintensity.data[indexIntensity] = helper.scoreUpper(index);\n" +
+				"\t\t\t\t\tcandidates.add(x,y);\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
+	private void printChecks() {
+		out.print("\t@Override\n" +
+				"\tprotected boolean checkLower( int index ) {\n" +
+				"\t\tint center = image.data[index] & 0xFF;\n" +
+				"\t\treturn classify(image.data,index,center-pixelTol,center+pixelTol) < 0;\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
+				"\tprotected boolean checkUpper( int index ) {\n" +
+				"\t\tint center = image.data[index] & 0xFF;\n" +
+				"\t\treturn classify(image.data,index,center-pixelTol,center+pixelTol) > 0;\n" +
+				"\t}\n\n");
+	}
+
+	private void printClassify() {
+		nodeCount.clear();
+		methodNames.clear();
+		pending.clear();
+
+		out.print("\t/**\n" +
+				"\t * Classifies the pixel\n" +
+				"\t *\n" +
+				"\t * @return -1 for a dark corner, 1 for a bright corner, and 0 if not a corner\n" +
+				"\t */\n" +
+				"\tprivate int classify( byte[] data , int index , int lower , int upper )\n" +
+				"\t{\n");
+		StringBuilder body = new StringBuilder();
+		handleDecisionPoint(body, new State(ALL, ALL, 0, 0, 0), 0, 2);
+		out.print(body);
+		out.print("\t}\n\n");
+
+		// print sub-trees which were placed in their own function
+		for( int i = 0; i < pending.size(); i++ ) {
+			State state = pending.get(i);
+			out.print("\tprivate int "+methodNames.get(state.key())+"( byte[] data , int index , int lower , int upper )\n" +
+					"\t{\n");
+			body = new StringBuilder();
+			handleDecisionPoint(body, state, 0, 2);
+			out.print(body);
+			out.print("\t}\n\n");
+		}
+	}
+
+	/**
+	 * Recursive function which prints out the ternary decision tree.  Large sub-trees are placed into their own
+	 * function so that the JIT will compile them.  Identical sub-trees share the same function.
+	 *
+	 * @param similarChain Number of similar outcomes in a row from the start of the function
+	 * @param depth How many tabs there are in front
+	 */
+	private void handleDecisionPoint( StringBuilder body , State state , int similarChain , int depth ) {
+		int result = checkLeaf(state);
+		if( result != LEAF_NONE ) {
+			body.append(tabs(depth)).append("return ").append(result).append(";\n");
+			return;
+		}
+
+		int best = selectPixel(state);
+		State dark = state.dark(best, masks[best]);
+		State bright = state.bright(best, masks[best]);
+		State similar = state.similar(best, masks[best]);
+		int chain = similarChain < 0 ? -1 : similarChain+1;
+
+		String v = "v"+best;
+		body.append(tabs(depth)).append("int ").append(v).append(" = data[index + offsets[").append(best).append("]] & 0xFF;\n");
+
+		// if an outcome provides no new information then it is merged with the similar outcome
+		if( isSame(dark,similar) ) {
+			body.append(tabs(depth)).append("if( ").append(v).append(" > upper ) {\n");
+			handleChild(body, bright, -1, depth + 1);
+		} else if( isSame(bright,similar) ) {
+			body.append(tabs(depth)).append("if( ").append(v).append(" < lower ) {\n");
+			handleChild(body, dark, -1, depth + 1);
+		} else {
+			body.append(tabs(depth)).append("if( ").append(v).append(" < lower ) {\n");
+			handleChild(body, dark, -1, depth + 1);
+			body.append(tabs(depth)).append("} else if( ").append(v).append(" > upper ) {\n");
+			handleChild(body, bright, -1, depth + 1);
+		}
+		body.append(tabs(depth)).append("} else {\n");
+		// most pixels are rejected along this path, so avoid a function call by always inlining the first few
+		handleChild(body, similar, chain, depth + 1);
+		body.append(tabs(depth)).append("}\n");
+	}
+
+	/**
+	 * True if the two states will produce identical sub-trees
+	 */
+	private boolean isSame( State a , State b ) {
+		if( a.key().equals(b.key()) )
+			return true;
+		int leafA = checkLeaf(a);
+		return leafA != LEAF_NONE && leafA == checkLeaf(b);
+	}
+
+	private void handleChild( StringBuilder body , State child , int similarChain , int depth ) {
+		boolean forceInline = similarChain >= 0 && similarChain <= SIMILAR_INLINE;
+		if( !forceInline && countNodes(child) > MAX_INLINE_NODES ) {
+			String key = child.key();
+			String name = methodNames.get(key);
+			if( name == null ) {
+				name = "node"+methodNames.size();
+				methodNames.put(key,name);
+				pending.add(child);
+			}
+			body.append(tabs(depth)).append("return ").append(name).append("(data,index,lower,upper);\n");
+		} else {
+			handleDecisionPoint(body, child, similarChain, depth);
+		}
+	}
+
+	/**
+	 * Checks to see if the state is a leaf in the tree
+	 */
+	private int checkLeaf( State state ) {
+		if( checkFinished(state.darkPositive) ) {
+			return -1;
+		} else if( checkFinished(state.brightPositive) ) {
+			return 1;
+		} else if( state.darkField == 0 && state.brightField == 0 ) {
+			return 0;
+		}
+		return LEAF_NONE;
+	}
+
+	/**
+	 * Select the pixel which will eliminate the most candidates, with similar being the most likely outcome
+	 */
+	private int selectPixel( State state ) {
+		int best = -1;
+		int bestScore = Integer.MAX_VALUE;
+		int darkCount = countCandidates(state.darkField);
+		int brightCount = countCandidates(state.brightField);
+		for( int i = 0; i < TOTAL_CIRCLE; i++ ) {
+			if( (state.testedField & (1 << i)) != 0 )
+				continue;
+			int darkRemain = countCandidates(state.darkField & masks[i]);
+			int brightRemain = countCandidates(state.brightField & masks[i]);
+			int score = 4*(darkRemain + brightRemain) + (darkCount + brightRemain) + (darkRemain + brightCount);
+			if( score < bestScore ) {
+				bestScore = score;
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Number of decision nodes in the sub-tree
+	 */
+	private int countNodes( State state ) {
+		String key = state.key();
+		Integer found = nodeCount.get(key);
+		if( found != null )
+			return found;
+
+		int total = 0;
+		if( checkLeaf(state) == LEAF_NONE ) {
+			int best = selectPixel(state);
+			State dark = state.dark(best, masks[best]);
+			State bright = state.bright(best, masks[best]);
+			State similar = state.similar(best, masks[best]);
+			total = 1 + countNodes(similar);
+			if( isSame(dark,similar) )
+				total += countNodes(bright);
+			else if( isSame(bright,similar) )
+				total += countNodes(dark);
+			else
+				total += countNodes(dark) + countNodes(bright);
+		}
+		nodeCount.put(key,total);
+		return total;
+	}
+
+	/**
+	 * Prints tabs to ensure proper formatting
+	 */
+	private String tabs( int depth ) {
+		String ret = "";
+		for( int i = 0; i < depth; i++ ) {
+			ret += "\t";
+		}
+		return ret;
+	}
+
+	/**
+	 * Counts the number of candidates which remain
+	 */
+	private int countCandidates( int candidateField ) {
+		int count = 0;
+		for( int i = 0; i < TOTAL_CIRCLE; i++ ) {
+			if( (candidateField & (1 << i)) != 0 )
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Checks to see if a corner has been proven
+	 */
+	private boolean checkFinished( int positive ) {
+		for( int i = 0; i < TOTAL_CIRCLE; i++ ) {
+			boolean match = true;
+			for( int j = 0; j < minContinuous; j++ ) {
+				int w = (i+j) % TOTAL_CIRCLE;
+				if( (positive & (1 << w)) == 0 ) {
+					match = false;
+					break;
+				}
+			}
+			if( match )
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Knowledge about the circle at a node in the tree
+	 */
+	private static class State {
+		// which pixels could still be the start of a dark or bright corner
+		int darkField, brightField;
+		// which pixels have been proven to be darker or brighter
+		int darkPositive, brightPositive;
+		// which pixels have been tested
+		int testedField;
+
+		private State(int darkField, int brightField, int darkPositive, int brightPositive, int testedField) {
+			this.darkField = darkField;
+			this.brightField = brightField;
+			this.darkPositive = darkPositive;
+			this.brightPositive = brightPositive;
+			this.testedField = testedField;
+		}
+
+		public State dark( int pixel , int mask ) {
+			// no dark corner can contain this pixel, so being darker provides no new information
+			if( (darkField & ~mask) == 0 )
+				return similar(pixel,mask);
+			int bit = 1 << pixel;
+			return new State(darkField, brightField & mask, darkPositive | bit, brightPositive, testedField | bit);
+		}
+
+		public State bright( int pixel , int mask ) {
+			// no bright corner can contain this pixel, so being brighter provides no new information
+			if( (brightField & ~mask) == 0 )
+				return similar(pixel,mask);
+			int bit = 1 << pixel;
+			return new State(darkField & mask, brightField, darkPositive, brightPositive | bit, testedField | bit);
+		}
+
+		public State similar( int pixel , int mask ) {
+			int bit = 1 << pixel;
+			return new State(darkField & mask, brightField & mask, darkPositive, brightPositive, testedField | bit);
+		}
+
+		public String key() {
+			return darkField+" "+brightField+" "+darkPositive+" "+brightPositive+" "+testedField;
+		}
+	}
+
+	public static void main( String args[] ) throws FileNotFoundException {
+		GenerateImplFastTreeIntensity_U8 gen = new GenerateImplFastTreeIntensity_U8();
+		gen.generate();
+	}
+}
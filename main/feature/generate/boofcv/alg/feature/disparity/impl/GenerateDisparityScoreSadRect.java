@@ -32,19 +32,37 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 	String dataAbr;
 	String bitWise;
 	String sumType;
+	// if true the input images are census images and the score is the Hamming distance
+	boolean hamming;
 
 	@Override
 	public void generate() throws FileNotFoundException {
 		createFile(AutoTypeImage.U8);
 		createFile(AutoTypeImage.S16);
 		createFile(AutoTypeImage.F32);
+		createHamming(AutoTypeImage.S32);
+		createHamming(AutoTypeImage.S64);
 	}
 
 	public void createFile( AutoTypeImage image ) throws FileNotFoundException {
+		hamming = false;
 		setOutputFile("ImplDisparityScoreSadRect_"+image.getAbbreviatedType());
+		create(image);
+	}
+
+	/**
+	 * Creates an implementation which processes census images and uses the Hamming distance as the score
+	 */
+	public void createHamming( AutoTypeImage image ) throws FileNotFoundException {
+		hamming = true;
+		setOutputFile("ImplDisparityScoreHammingRect_"+image.getAbbreviatedType());
+		create(image);
+	}
+
+	private void create( AutoTypeImage image ) {
 		typeInput = image.getImageName();
 		bitWise = image.getBitWise();
-		sumType = image.getSumType();
+		sumType = hamming ? "int" : image.getSumType();
 
 		dataAbr = image.isInteger() ? "S32" : "F32";
 
@@ -59,8 +77,7 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 	}
 
 	private void printPreamble() {
-		out.print("import boofcv.alg.InputSanityCheck;\n" +
-				"import boofcv.alg.feature.disparity.DisparityScoreSadRect;\n" +
+		out.print("import boofcv.alg.feature.disparity.DisparityScoreSadRect;\n" +
 				"import boofcv.alg.feature.disparity.DisparitySelect;\n" +
 				"import boofcv.struct.image.ImageSingleBand;\n" +
 				"import boofcv.struct.image."+typeInput+";\n" +
@@ -69,6 +86,9 @@ public class GenerateDisparityScoreSadRect extends CodeGeneratorBase {
 				" * <p>\n" +
 				" * Implementation of {@link boofcv.alg.feature.disparity.DisparityScoreSadRect} for processing\n" +
 				" * input images of type {@link "+typeInput+"}.\n" +
+				(hamming ?
+				" * The input images contain census descriptors and the score is the Hamming distance.\n" +
+				" * See {@link boofcv.alg.transform.census.CensusTransform}.\n" : "") +
 				" * </p>\n" +
 				" * <p>\n" +
 				" * DO NOT MODIFY. Generated by {@link GenerateDisparityScoreSadRect}.\n" +
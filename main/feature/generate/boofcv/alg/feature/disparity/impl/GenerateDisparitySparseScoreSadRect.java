@@ -32,19 +32,37 @@ public class GenerateDisparitySparseScoreSadRect extends CodeGeneratorBase {
 	String dataAbr;
 	String bitWise;
 	String sumType;
+	// if true the input images are census images and the score is the Hamming distance
+	boolean hamming;
 
 	@Override
 	public void generate() throws FileNotFoundException {
 		createFile(AutoTypeImage.U8);
 		createFile(AutoTypeImage.S16);
 		createFile(AutoTypeImage.F32);
+		createHamming(AutoTypeImage.S32);
+		createHamming(AutoTypeImage.S64);
 	}
 
 	public void createFile( AutoTypeImage image ) throws FileNotFoundException {
+		hamming = false;
 		setOutputFile("ImplDisparitySparseScoreSadRect_"+image.getAbbreviatedType());
+		create(image);
+	}
+
+	/**
+	 * Creates an implementation which processes census images and uses the Hamming distance as the score
+	 */
+	public void createHamming( AutoTypeImage image ) throws FileNotFoundException {
+		hamming = true;
+		setOutputFile("ImplDisparitySparseScoreHammingRect_"+image.getAbbreviatedType());
+		create(image);
+	}
+
+	private void create( AutoTypeImage image ) {
 		typeInput = image.getImageName();
 		bitWise = image.getBitWise();
-		sumType = image.getSumType();
+		sumType = hamming ? "int" : image.getSumType();
 
 		dataAbr = image.isInteger() ? "S32" : "F32";
 
@@ -63,6 +81,9 @@ public class GenerateDisparitySparseScoreSadRect extends CodeGeneratorBase {
 				"/**\n" +
 				" * <p>\n" +
 				" * Implementation of {@link DisparitySparseScoreSadRect} that processes images of type {@link "+typeInput+"}.\n" +
+				(hamming ?
+				" * The input images contain census descriptors and the score is the Hamming distance.\n" +
+				" * See {@link boofcv.alg.transform.census.CensusTransform}.\n" : "") +
 				" * </p>\n" +
 				" *\n" +
 				" * <p>\n" +
@@ -106,9 +127,7 @@ public class GenerateDisparitySparseScoreSadRect extends CodeGeneratorBase {
 				"\n" +
 				"\t\t\t\t"+sumType+" score = 0;\n" +
 				"\t\t\t\tfor( int j = 0; j < regionWidth; j++ ) {\n" +
-				"\t\t\t\t\t"+sumType+" diff = (left.data[ indexLeft++ ]"+bitWise+") - (right.data[ indexRight++ ]"+bitWise+");\n" +
-				"\n" +
-				"\t\t\t\t\tscore += Math.abs(diff);\n" +
+				printScore() +
 				"\t\t\t\t}\n" +
 				"\t\t\t\tscores[i] += score;\n" +
 				"\t\t\t}\n" +
@@ -128,6 +147,17 @@ public class GenerateDisparitySparseScoreSadRect extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	private String printScore() {
+		if( hamming ) {
+			String bitCount = typeInput.equals("ImageSInt64") ? "Long.bitCount" : "Integer.bitCount";
+			return "\t\t\t\t\tscore += "+bitCount+"(left.data[ indexLeft++ ] ^ right.data[ indexRight++ ]);\n";
+		} else {
+			return "\t\t\t\t\t"+sumType+" diff = (left.data[ indexLeft++ ]"+bitWise+") - (right.data[ indexRight++ ]"+bitWise+");\n" +
+					"\n" +
+					"\t\t\t\t\tscore += Math.abs(diff);\n";
+		}
+	}
+
 	public static void main( String args[] ) throws FileNotFoundException {
 		GenerateDisparitySparseScoreSadRect gen = new GenerateDisparitySparseScoreSadRect();
 
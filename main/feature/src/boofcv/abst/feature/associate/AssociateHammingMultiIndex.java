@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.FindUnassociated;
+import boofcv.alg.feature.associate.HammingMultiIndex;
+import boofcv.struct.FastQueue;
+import boofcv.struct.GrowQueue_I32;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc_B;
+
+/**
+ * <p>
+ * Associates binary descriptors, e.g. BRIEF, by searching for the closest destination descriptor to each source
+ * descriptor using {@link HammingMultiIndex}.  The search is exact and sub-linear for descriptors which have a
+ * close match, making it much faster than brute force association for large sets of features.
+ * </p>
+ *
+ * <p>
+ * Only one match is found for each source feature, but multiple source features can match to the same
+ * destination feature.  Ambiguous matches can be removed with a ratio test, where the best match distance
+ * divided by the second best match distance must be less than the specified ratio.  The fit score is the
+ * Hamming distance.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class AssociateHammingMultiIndex implements AssociateDescription<TupleDesc_B> {
+
+	// search for the closest descriptors
+	private HammingMultiIndex index = new HammingMultiIndex();
+
+	// references to input lists
+	private FastQueue<TupleDesc_B> listSrc;
+	private FastQueue<TupleDesc_B> listDst;
+
+	// matches must have a distance less than this
+	private double threshold = Double.MAX_VALUE;
+	// ratio test threshold.  If >= 1 then it is disabled
+	private double ratio;
+
+	// List of final associated points
+	private FastQueue<AssociatedIndex> matches = new FastQueue<AssociatedIndex>(100,AssociatedIndex.class,true);
+
+	// creates a list of unassociated features from the list of matches
+	private FindUnassociated unassociated = new FindUnassociated();
+
+	/**
+	 * Configures association
+	 *
+	 * @param ratio Maximum ratio of the best and second best match distance.  Try 0.8.  If &ge; 1 the ratio
+	 *              test is turned off.
+	 */
+	public AssociateHammingMultiIndex(double ratio) {
+		this.ratio = ratio;
+	}
+
+	@Override
+	public void setSource(FastQueue<TupleDesc_B> listSrc) {
+		this.listSrc = listSrc;
+	}
+
+	@Override
+	public void setDestination(FastQueue<TupleDesc_B> listDst) {
+		this.listDst = listDst;
+		index.setDescriptors(listDst);
+	}
+
+	@Override
+	public void associate() {
+		matches.reset();
+		if( listDst.size == 0 )
+			return;
+
+		// Hamming distance is an integer.  distance < threshold is the same as distance < limit
+		int maxPossible = index.getNumBits()+1;
+		int limit = threshold >= maxPossible ? maxPossible : (int)Math.ceil(threshold);
+
+		// When the ratio test is used the second best match needs to be found even if it's beyond the threshold.
+		// It only matters if the second best is no more than best/ratio < threshold/ratio
+		int limitSearch = limit;
+		if( ratio < 1 && limit < maxPossible )
+			limitSearch = (int)Math.min(maxPossible,Math.floor(threshold/ratio)+1);
+
+		for( int i = 0; i < listSrc.size; i++ ) {
+			if( !index.search(listSrc.data[i],limitSearch,ratio) )
+				continue;
+
+			int best = index.getBestDistance();
+			if( best >= limit )
+				continue;
+			if( ratio < 1 && index.getSecondIndex() >= 0 && best >= ratio*index.getSecondDistance() )
+				continue;
+
+			matches.grow().setAssociation(i,index.getBestIndex(),best);
+		}
+	}
+
+	@Override
+	public FastQueue<AssociatedIndex> getMatches() {
+		return matches;
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedSource() {
+		return unassociated.checkSource(matches,listSrc.size());
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedDestination() {
+		return unassociated.checkDestination(matches,listDst.size());
+	}
+
+	/**
+	 * Matches must have a Hamming distance less than the threshold.
+	 */
+	@Override
+	public void setThreshold(double score) {
+		this.threshold = score;
+	}
+
+	public void setRatio(double ratio) {
+		this.ratio = ratio;
+	}
+
+	@Override
+	public MatchScoreType getScoreType() {
+		return MatchScoreType.NORM_ERROR;
+	}
+
+	@Override
+	public boolean uniqueSource() {
+		return true;
+	}
+
+	@Override
+	public boolean uniqueDestination() {
+		return false;
+	}
+}
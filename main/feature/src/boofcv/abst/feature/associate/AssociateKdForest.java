@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.FindUnassociated;
+import boofcv.alg.feature.associate.KdForestSearch;
+import boofcv.struct.FastQueue;
+import boofcv.struct.GrowQueue_I32;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.feature.TupleDesc_F32;
+import boofcv.struct.feature.TupleDesc_F64;
+
+/**
+ * <p>
+ * Associates features by searching for the nearest neighbor of each source feature in a {@link KdForestSearch}
+ * built from the destination features.  Scales much better than brute force association to large sets of
+ * features since each search only considers a small number of the destination features.  The search can be
+ * approximate or exact, depending on how {@link KdForestSearch} is configured.
+ * </p>
+ *
+ * <p>
+ * Ambiguous matches can be removed with a ratio test.  A match is only accepted if the distance to
+ * the best match divided by the distance to the second best match is less than the specified ratio.
+ * Only one match is found for each source feature, but multiple source features can match to the same
+ * destination feature.  The fit score is the Euclidean distance.  Descriptors of type {@link TupleDesc_F64}
+ * and {@link TupleDesc_F32} are supported efficiently.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class AssociateKdForest<D extends TupleDesc> implements AssociateDescription<D> {
+
+	// nearest neighbor search
+	private KdForestSearch search;
+
+	// references to input lists
+	private FastQueue<D> listSrc;
+	private FastQueue<D> listDst;
+
+	// destination descriptors stored in a single array
+	private double dstPoints[] = new double[0];
+	// storage for a source descriptor
+	private double query[] = new double[0];
+
+	// maximum Euclidean distance squared of a valid match
+	private double maxDistanceSq = Double.MAX_VALUE;
+	// ratio test threshold, squared.  If >= 1 then it is disabled
+	private double ratioSq;
+
+	// List of final associated points
+	private FastQueue<AssociatedIndex> matches = new FastQueue<AssociatedIndex>(100,AssociatedIndex.class,true);
+
+	// creates a list of unassociated features from the list of matches
+	private FindUnassociated unassociated = new FindUnassociated();
+
+	/**
+	 * Configures association.
+	 *
+	 * @param search Nearest neighbor search.
+	 * @param ratio Maximum ratio of the best and second best match distance.  Try 0.8.  If &ge; 1 the ratio
+	 *              test is turned off.
+	 */
+	public AssociateKdForest(KdForestSearch search, double ratio) {
+		this.search = search;
+		setRatio(ratio);
+	}
+
+	@Override
+	public void setSource(FastQueue<D> listSrc) {
+		this.listSrc = listSrc;
+	}
+
+	@Override
+	public void setDestination(FastQueue<D> listDst) {
+		this.listDst = listDst;
+
+		int dof = listDst.size > 0 ? listDst.data[0].size() : 0;
+		if( dstPoints.length < dof*listDst.size )
+			dstPoints = new double[dof*listDst.size];
+		for( int i = 0; i < listDst.size; i++ ) {
+			copy(listDst.data[i],dstPoints,i*dof);
+		}
+		search.setPoints(dstPoints,listDst.size,dof);
+	}
+
+	private static void copy( TupleDesc desc , double output[] , int offset ) {
+		if( desc instanceof TupleDesc_F64 ) {
+			double value[] = ((TupleDesc_F64)desc).value;
+			System.arraycopy(value,0,output,offset,value.length);
+		} else if( desc instanceof TupleDesc_F32 ) {
+			float value[] = ((TupleDesc_F32)desc).value;
+			for( int i = 0; i < value.length; i++ )
+				output[offset+i] = value[i];
+		} else {
+			int N = desc.size();
+			for( int i = 0; i < N; i++ )
+				output[offset+i] = desc.getDouble(i);
+		}
+	}
+
+	@Override
+	public void associate() {
+		matches.reset();
+		if( listSrc.size == 0 || listDst.size == 0 )
+			return;
+
+		int dof = listSrc.data[0].size();
+		if( query.length < dof )
+			query = new double[dof];
+
+		for( int i = 0; i < listSrc.size; i++ ) {
+			copy(listSrc.data[i],query,0);
+
+			if( !search.findNearest(query,0) )
+				continue;
+
+			double best = search.getBestDistance();
+			if( best >= maxDistanceSq )
+				continue;
+			if( ratioSq < 1 && best >= ratioSq*search.getSecondDistance() )
+				continue;
+
+			matches.grow().setAssociation(i,search.getBestIndex(),Math.sqrt(best));
+		}
+	}
+
+	@Override
+	public FastQueue<AssociatedIndex> getMatches() {
+		return matches;
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedSource() {
+		return unassociated.checkSource(matches,listSrc.size());
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedDestination() {
+		return unassociated.checkDestination(matches,listDst.size());
+	}
+
+	/**
+	 * Maximum Euclidean distance between two features for them to be associated.
+	 */
+	@Override
+	public void setThreshold(double score) {
+		this.maxDistanceSq = score == Double.MAX_VALUE ? Double.MAX_VALUE : score*score;
+	}
+
+	/**
+	 * Specifies the maximum ratio between the best and second best match distance.  If &ge; 1 then the
+	 * ratio test is turned off.
+	 */
+	public void setRatio( double ratio ) {
+		this.ratioSq = ratio >= 1 ? 1 : ratio*ratio;
+	}
+
+	@Override
+	public MatchScoreType getScoreType() {
+		return MatchScoreType.NORM_ERROR;
+	}
+
+	@Override
+	public boolean uniqueSource() {
+		return true;
+	}
+
+	@Override
+	public boolean uniqueDestination() {
+		return false;
+	}
+}
@@ -45,6 +45,14 @@ public class ConfigSiftScaleSpace implements Configuration {
 	 * Should the input image be doubled? Try false.
 	 */
 	public boolean doubleInputImage = false;
+	/**
+	 * If true the scale-space will be computed using multiple threads.
+	 */
+	public boolean concurrent = false;
+	/**
+	 * If true image derivatives are only computed for layers in scale-space which are used.
+	 */
+	public boolean lazyDerivatives = false;
 
 	public ConfigSiftScaleSpace(float blurSigma, int numScales, int numOctaves, boolean doubleInputImage) {
 		this.blurSigma = blurSigma;
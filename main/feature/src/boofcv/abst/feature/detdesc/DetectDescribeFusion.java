@@ -21,7 +21,12 @@ package boofcv.abst.feature.detdesc;
 import boofcv.abst.feature.describe.DescribeRegionPoint;
 import boofcv.abst.feature.detect.interest.InterestPointDetector;
 import boofcv.abst.feature.orientation.OrientationImage;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.FastQueue;
+import boofcv.struct.GrowQueue_B;
 import boofcv.struct.GrowQueue_F64;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageSingleBand;
@@ -31,6 +36,7 @@ import georegression.struct.point.Point2D_F64;
  * Wrapper class around independent feature detectors, region orientation, and descriptors, that allow
  * them to be used as a single integrated unit. Providing an algorithm for estimating orientation is
  * optional.  If one is provided, any orientation estimate provided by the detector is ignored.
+ * Orientation estimation and describing can optionally be done in parallel, see {@link #setConcurrent}.
  *
  * @see InterestPointDetector
  * @see OrientationImage
@@ -56,6 +62,36 @@ public class DetectDescribeFusion<T extends ImageSingleBand, TD extends TupleDes
 	private GrowQueue_F64 featureAngles = new GrowQueue_F64(10);
 	private FastQueue<Point2D_F64> location = new FastQueue<Point2D_F64>(10,Point2D_F64.class,false);
 
+	// orientation and description algorithms for each thread.  null if not concurrent
+	private InstancePool<Worker<T,TD>> workers;
+	// worker which uses the same instances as the serial code
+	private Worker<T,TD> primary;
+	// incremented each time an image is processed.  Used to set the image only once in each worker
+	private int imageID;
+	// storage for concurrent processing.  true if a detected feature was described
+	private GrowQueue_B described = new GrowQueue_B(10);
+	private T image;
+
+	private final IntRangeTask describeTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			Worker<T,TD> w = workers.acquire();
+			try {
+				if( w.imageID != imageID ) {
+					if( w.orientation != null )
+						w.orientation.setImage(image);
+					w.describe.setImage(image);
+					w.imageID = imageID;
+				}
+				for( int i = start; i < end; i++ ) {
+					described.data[i] = describe(i,w.orientation,w.describe);
+				}
+			} finally {
+				workers.release(w);
+			}
+		}
+	};
+
 	/**
 	 * Configures the algorithm.
 	 *
@@ -80,6 +116,39 @@ public class DetectDescribeFusion<T extends ImageSingleBand, TD extends TupleDes
 		};
 	}
 
+	/**
+	 * Turns on concurrent orientation estimation and description.  New instances are created as needed for
+	 * each thread.  To turn it off pass in null for the describe factory.  The detector must allow its
+	 * results to be read by multiple threads.
+	 *
+	 * @param orientationFactory Creates orientation algorithms with the same configuration.  Ignored if
+	 *                           no orientation algorithm was provided.
+	 * @param describeFactory Creates description algorithms with the same configuration
+	 */
+	public void setConcurrent( final InstanceFactory<OrientationImage<T>> orientationFactory ,
+							   final InstanceFactory<DescribeRegionPoint<T,TD>> describeFactory ) {
+		if( describeFactory == null || (orientation != null && orientationFactory == null) ) {
+			workers = null;
+			primary = null;
+			return;
+		}
+
+		final boolean hasOrientation = orientation != null;
+		workers = new InstancePool<Worker<T,TD>>(new InstanceFactory<Worker<T,TD>>() {
+			@Override
+			public Worker<T,TD> newInstance() {
+				OrientationImage<T> o = hasOrientation ? orientationFactory.newInstance() : null;
+				return new Worker<T,TD>(o,describeFactory.newInstance());
+			}
+		});
+		primary = new Worker<T,TD>(orientation,describe);
+		workers.add(primary);
+	}
+
+	public boolean isConcurrent() {
+		return workers != null;
+	}
+
 	@Override
 	public TD createDescription() {
 		return describe.createDescription();
@@ -111,28 +180,95 @@ public class DetectDescribeFusion<T extends ImageSingleBand, TD extends TupleDes
 			orientation.setImage(input);
 		}
 		describe.setImage(input);
+		imageID++;
+		if( primary != null )
+			primary.imageID = imageID;
 
 		detector.detect(input);
 
 		int N = detector.getNumberOfFeatures();
 
-		for( int i = 0; i < N; i++ ) {
-			Point2D_F64 p = detector.getLocation(i);
-			double scale = detector.getScale(i);
-			double yaw = detector.getOrientation(i);
+		if( workers == null ) {
+			for( int i = 0; i < N; i++ ) {
+				Point2D_F64 p = detector.getLocation(i);
+				double scale = detector.getScale(i);
+				double yaw = detector.getOrientation(i);
+
+				if( orientation != null ) {
+					orientation.setScale(scale);
+					yaw = orientation.compute(p.x,p.y);
+				}
 
-			if( orientation != null ) {
-				orientation.setScale(scale);
-				yaw = orientation.compute(p.x,p.y);
+				if( describe.isInBounds(p.x,p.y,yaw,scale) ) {
+					describe.process(p.x,p.y,yaw,scale,descs.grow());
+					featureScales.push(scale);
+					featureAngles.push(yaw);
+					location.add(p);
+				}
 			}
+		} else {
+			detectConcurrent(input, N);
+		}
+	}
+
+	/**
+	 * Every detected feature is given a slot, which are filled in parallel.  Features which can't be
+	 * described are then removed while preserving the order.
+	 */
+	private void detectConcurrent(T input, int N) {
+		for( int i = 0; i < N; i++ ) {
+			descs.grow();
+			location.add(detector.getLocation(i));
+			featureScales.push(detector.getScale(i));
+			featureAngles.push(detector.getOrientation(i));
+		}
+		described.resize(N);
+
+		image = input;
+		BoofConcurrency.loopBlocks(0,N,20,describeTask);
+		image = null;
 
-			if( describe.isInBounds(p.x,p.y,yaw,scale) ) {
-				describe.process(p.x,p.y,yaw,scale,descs.grow());
-				featureScales.push(scale);
-				featureAngles.push(yaw);
-				location.add(p);
+		int total = 0;
+		for( int i = 0; i < N; i++ ) {
+			if( !described.data[i] )
+				continue;
+			if( total != i ) {
+				TD tmp = descs.data[total];
+				descs.data[total] = descs.data[i];
+				descs.data[i] = tmp;
+				location.data[total] = location.data[i];
+				featureScales.data[total] = featureScales.data[i];
+				featureAngles.data[total] = featureAngles.data[i];
 			}
+			total++;
 		}
+		descs.size = total;
+		location.size = total;
+		featureScales.size = total;
+		featureAngles.size = total;
+	}
+
+	/**
+	 * Estimates the orientation and describes the feature in the specified slot
+	 *
+	 * @return true if the feature could be described
+	 */
+	private boolean describe( int index , OrientationImage<T> orientation , DescribeRegionPoint<T, TD> describe ) {
+		Point2D_F64 p = location.data[index];
+		double scale = featureScales.data[index];
+		double yaw = featureAngles.data[index];
+
+		if( orientation != null ) {
+			orientation.setScale(scale);
+			yaw = orientation.compute(p.x,p.y);
+			featureAngles.data[index] = yaw;
+		}
+
+		if( !describe.isInBounds(p.x,p.y,yaw,scale) )
+			return false;
+
+		describe.process(p.x,p.y,yaw,scale,descs.data[index]);
+		return true;
 	}
 
 	@Override
@@ -166,4 +302,19 @@ public class DetectDescribeFusion<T extends ImageSingleBand, TD extends TupleDes
 			return detector.hasOrientation();
 		return true;
 	}
+
+	/**
+	 * Algorithms used by a single thread
+	 */
+	private static class Worker<T extends ImageSingleBand, TD extends TupleDesc> {
+		OrientationImage<T> orientation;
+		DescribeRegionPoint<T, TD> describe;
+		// the image which was last passed to setImage()
+		int imageID = -1;
+
+		private Worker(OrientationImage<T> orientation, DescribeRegionPoint<T, TD> describe) {
+			this.orientation = orientation;
+			this.describe = describe;
+		}
+	}
 }
@@ -19,6 +19,8 @@
 package boofcv.abst.feature.detdesc;
 
 import boofcv.alg.feature.detdesc.DetectDescribeSift;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.image.ImageFloat32;
 import georegression.struct.point.Point2D_F64;
@@ -28,7 +30,9 @@ import georegression.struct.point.Point2D_F64;
  *
  * @author Peter Abeles
  */
-public class WrapDetectDescribeSift implements DetectDescribePoint<ImageFloat32,SurfFeature> {
+public class WrapDetectDescribeSift
+		implements DetectDescribePoint<ImageFloat32,SurfFeature>, ProfileStages
+{
 
 	DetectDescribeSift alg;
 
@@ -90,4 +94,9 @@ public class WrapDetectDescribeSift implements DetectDescribePoint<ImageFloat32,
 	public boolean hasOrientation() {
 		return true;
 	}
+
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		alg.setStageProfiler(profiler);
+	}
 }
@@ -22,6 +22,10 @@ import boofcv.abst.feature.orientation.OrientationIntegral;
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.GrowQueue_F64;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.feature.SurfFeature;
@@ -32,7 +36,9 @@ import georegression.struct.point.Point2D_F64;
 import java.util.List;
 
 /**
- * Wrapper around SURF algorithms for {@link DetectDescribePoint}.
+ * Wrapper around SURF algorithms for {@link DetectDescribePoint}.  Orientation estimation and describing
+ * can optionally be done in parallel, see {@link #setConcurrent}.  Each thread is given its own orientation
+ * and description algorithm and the results are the same as when done in a single thread.
  *
  * @link FastHessianFeatureDetector
  * @link OrientationIntegral
@@ -59,6 +65,32 @@ public class WrapDetectDescribeSurf
 	// orientation of features
 	private GrowQueue_F64 featureAngles = new GrowQueue_F64(10);
 
+	// orientation and description algorithms for each thread.  null if not concurrent
+	private InstancePool<Worker<II>> workers;
+	// worker which uses the same instances as the serial code
+	private Worker<II> primary;
+	// incremented each time an image is processed.  Used to set the image only once in each worker
+	private int imageID;
+
+	private final IntRangeTask describeTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			Worker<II> w = workers.acquire();
+			try {
+				if( w.imageID != imageID ) {
+					w.orientation.setImage(ii);
+					w.describe.setImage(ii);
+					w.imageID = imageID;
+				}
+				for( int i = start; i < end; i++ ) {
+					describe(i,w.orientation,w.describe);
+				}
+			} finally {
+				workers.release(w);
+			}
+		}
+	};
+
 	public WrapDetectDescribeSurf(FastHessianFeatureDetector<II> detector,
 								  OrientationIntegral<II> orientation,
 								  DescribePointSurf<II> describe)
@@ -70,6 +102,35 @@ public class WrapDetectDescribeSurf
 		features = new SurfFeatureQueue(describe.getDescriptionLength());
 	}
 
+	/**
+	 * Turns on concurrent orientation estimation and description.  New instances are created as needed for
+	 * each thread.  To turn it off pass in null for both.
+	 *
+	 * @param orientationFactory Creates orientation algorithms with the same configuration
+	 * @param describeFactory Creates description algorithms with the same configuration
+	 */
+	public void setConcurrent( final InstanceFactory<OrientationIntegral<II>> orientationFactory ,
+							   final InstanceFactory<DescribePointSurf<II>> describeFactory ) {
+		if( orientationFactory == null || describeFactory == null ) {
+			workers = null;
+			primary = null;
+			return;
+		}
+
+		workers = new InstancePool<Worker<II>>(new InstanceFactory<Worker<II>>() {
+			@Override
+			public Worker<II> newInstance() {
+				return new Worker<II>(orientationFactory.newInstance(),describeFactory.newInstance());
+			}
+		});
+		primary = new Worker<II>(orientation,describe);
+		workers.add(primary);
+	}
+
+	public boolean isConcurrent() {
+		return workers != null;
+	}
+
 	@Override
 	public SurfFeature createDescription() {
 		return describe.createDescription();
@@ -100,6 +161,9 @@ public class WrapDetectDescribeSurf
 		ii = GIntegralImageOps.transform(input, ii);
 		orientation.setImage(ii);
 		describe.setImage(ii);
+		imageID++;
+		if( primary != null )
+			primary.imageID = imageID;
 		features.reset();
 		featureAngles.reset();
 
@@ -109,16 +173,34 @@ public class WrapDetectDescribeSurf
 		// describe the found interest points
 		foundPoints = detector.getFoundPoints();
 
-		for( int i = 0; i < foundPoints.size(); i++ ) {
-			ScalePoint p = foundPoints.get(i);
-
-			orientation.setScale(p.scale);
-			double angle = orientation.compute(p.x,p.y);
-			describe.describe(p.x,p.y, angle, p.scale, features.grow());
-			featureAngles.push(angle);
+		// storage is declared up front so that each feature can be written to independently
+		int N = foundPoints.size();
+		for( int i = 0; i < N; i++ ) {
+			features.grow();
+		}
+		featureAngles.resize(N);
+
+		if( workers == null ) {
+			for( int i = 0; i < N; i++ ) {
+				describe(i,orientation,describe);
+			}
+		} else {
+			BoofConcurrency.loopBlocks(0,N,20,describeTask);
 		}
 	}
 
+	/**
+	 * Estimates the orientation and computes the description for a single feature
+	 */
+	private void describe( int index , OrientationIntegral<II> orientation , DescribePointSurf<II> describe ) {
+		ScalePoint p = foundPoints.get(index);
+
+		orientation.setScale(p.scale);
+		double angle = orientation.compute(p.x,p.y);
+		describe.describe(p.x,p.y, angle, p.scale, features.data[index]);
+		featureAngles.data[index] = angle;
+	}
+
 	@Override
 	public int getNumberOfFeatures() {
 		return foundPoints.size();
@@ -148,4 +230,19 @@ public class WrapDetectDescribeSurf
 	public boolean hasOrientation() {
 		return true;
 	}
+
+	/**
+	 * Algorithms used by a single thread
+	 */
+	private static class Worker<II extends ImageSingleBand> {
+		OrientationIntegral<II> orientation;
+		DescribePointSurf<II> describe;
+		// the image which was last passed to setImage()
+		int imageID = -1;
+
+		private Worker(OrientationIntegral<II> orientation, DescribePointSurf<II> describe) {
+			this.orientation = orientation;
+			this.describe = describe;
+		}
+	}
 }
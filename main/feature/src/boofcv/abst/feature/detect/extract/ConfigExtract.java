@@ -55,6 +55,12 @@ public class ConfigExtract implements Configuration {
 	 */
 	public boolean detectMaximums = true;
 
+	/**
+	 * If true then the image is searched using multiple threads.  The output is identical to the single
+	 * threaded output.  See {@link boofcv.concurrency.BoofConcurrency}.  Default is false.
+	 */
+	public boolean concurrent = false;
+
 	public ConfigExtract(int radius, float threshold, int ignoreBorder, boolean useStrictRule,
 						 boolean detectMinimums, boolean detectMaximums)
 	{
@@ -90,6 +96,7 @@ public class ConfigExtract implements Configuration {
 		this.useStrictRule = orig.useStrictRule;
 		this.detectMinimums = orig.detectMinimums;
 		this.detectMaximums = orig.detectMaximums;
+		this.concurrent = orig.concurrent;
 	}
 
 	@Override
@@ -39,11 +39,23 @@ public class ConfigFast implements Configuration {
 	 */
 	public int minContinuous=9;
 
+	/**
+	 * If true then a faster implementation which uses a single ternary decision tree is used.  Produces identical
+	 * results.  Only supports ImageUInt8.
+	 */
+	public boolean decisionTree = false;
+
 	public ConfigFast(int pixelTol, int minContinuous) {
 		this.pixelTol = pixelTol;
 		this.minContinuous = minContinuous;
 	}
 
+	public ConfigFast(int pixelTol, int minContinuous, boolean decisionTree) {
+		this.pixelTol = pixelTol;
+		this.minContinuous = minContinuous;
+		this.decisionTree = decisionTree;
+	}
+
 	public ConfigFast() {
 	}
 
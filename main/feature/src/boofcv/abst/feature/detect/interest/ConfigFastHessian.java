@@ -55,6 +55,10 @@ public class ConfigFastHessian implements Configuration {
 	 * Typically 4.
 	 */
 	public int numberOfOctaves = 4;
+	/**
+	 * If true the scale-space will be processed using multiple threads.
+	 */
+	public boolean concurrent = false;
 
 	public ConfigFastHessian(float detectThreshold,
 							 int extractRadius,
@@ -33,6 +33,22 @@ public class ConfigGeneralDetector extends ConfigExtract {
 	 */
 	public int maxFeatures = -1;
 
+	/**
+	 * If &gt; 0 then features are spread out across the image by breaking it up into square buckets of this
+	 * width, in pixels, and selecting at most 'maxPerBucket' features inside each one.  Default is -1.
+	 */
+	public int bucketWidth = -1;
+
+	/**
+	 * Maximum number of features inside a bucket.  Only used if 'bucketWidth' &gt; 0.  Default is 1.
+	 */
+	public int maxPerBucket = 1;
+
+	/**
+	 * If true then adaptive non-maximal suppression is used to enforce 'maxFeatures' after bucketing, otherwise
+	 * the most intense features are selected.  Only used if 'bucketWidth' &gt; 0.  Default is false.
+	 */
+	public boolean adaptiveNonMax = false;
 
 	public ConfigGeneralDetector(int maxFeatures ,
 								 int radius, float threshold, int ignoreBorder, boolean useStrictRule,
@@ -60,4 +76,11 @@ public class ConfigGeneralDetector extends ConfigExtract {
 
 	public ConfigGeneralDetector() {
 	}
+
+	@Override
+	public void checkValidity() {
+		super.checkValidity();
+		if( bucketWidth > 0 && maxPerBucket <= 0 )
+			throw new IllegalArgumentException("maxPerBucket must be >= 1");
+	}
 }
@@ -96,13 +96,37 @@ public class DetectLineHoughFoot <I extends ImageSingleBand, D extends ImageSing
 								float thresholdEdge ,
 								int maxLines ,
 								ImageGradient<I,D> gradient )
+	{
+		this(localMaxRadius,minCounts,minDistanceFromOrigin,thresholdEdge,maxLines,false,gradient);
+	}
+
+	/**
+	 * Specifies detection parameters.  The suggested parameters should be used as a starting point and will
+	 * likely need to be tuned significantly for each different scene.
+	 *
+	 * @param localMaxRadius Lines in transform space must be a local max in a region with this radius. Try 5;
+	 * @param minCounts Minimum number of counts/votes inside the transformed image. Try 5.
+	 * @param minDistanceFromOrigin Lines which are this close to the origin of the transformed image are ignored.  Try 5.
+	 * @param thresholdEdge Threshold for classifying pixels as edge or not.  Try 30.
+	 * @param concurrent If true then the transform is computed in parallel.
+	 * @param gradient Computes the image gradient.
+	 */
+	public DetectLineHoughFoot( int localMaxRadius,
+								int minCounts ,
+								int minDistanceFromOrigin ,
+								float thresholdEdge ,
+								int maxLines ,
+								boolean concurrent ,
+								ImageGradient<I,D> gradient )
 	{
 		this.gradient = gradient;
 		this.thresholdEdge = thresholdEdge;
 		this.maxLines = maxLines;
-		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmaxCandidate(
-				new ConfigExtract(localMaxRadius, minCounts, 0, false));
+		ConfigExtract configExtract = new ConfigExtract(localMaxRadius, minCounts, 0, false);
+		configExtract.concurrent = concurrent;
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmaxCandidate(configExtract);
 		alg = new HoughTransformLineFootOfNorm(extractor,minDistanceFromOrigin);
+		alg.setConcurrent(concurrent);
 		derivX = GeneralizedImageOps.createSingleBand(gradient.getDerivType(), 1, 1);
 		derivY = GeneralizedImageOps.createSingleBand(gradient.getDerivType(), 1, 1);
 	}
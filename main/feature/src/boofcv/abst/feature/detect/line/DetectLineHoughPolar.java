@@ -95,6 +95,11 @@ public class DetectLineHoughPolar<I extends ImageSingleBand, D extends ImageSing
 	// the maximum number of lines it will return
 	int maxLines;
 
+	// pixels only vote for angles within this tolerance of their gradient's orientation
+	double angleTolerance;
+	// should the transform be computed in parallel
+	boolean concurrent;
+
 	// post processing pruning
 	ImageLinePruneMerge post = new ImageLinePruneMerge();
 
@@ -117,6 +122,35 @@ public class DetectLineHoughPolar<I extends ImageSingleBand, D extends ImageSing
 								int maxLines ,
 								ImageGradient<I, D> gradient)
 	{
+		this(localMaxRadius,minCounts,resolutionRange,resolutionAngle,thresholdEdge,maxLines,0,false,gradient);
+	}
+
+	/**
+	 * Configures hough line detector.
+	 *
+	 * @param localMaxRadius Radius for local maximum suppression.  Try 2.
+	 * @param minCounts Minimum number of counts for detected line.  Critical tuning parameter and image dependent.
+	 * @param resolutionRange Resolution of line range in pixels.  Try 2
+	 * @param resolutionAngle Resolution of line angle in radius.  Try PI/180
+	 * @param thresholdEdge Edge detection threshold. Try 50.
+	 * @param maxLines Maximum number of lines to return. If <= 0 it will return them all.
+	 * @param angleTolerance If > 0 then pixels only vote for lines within this angle of their gradient's orientation.
+	 *                       In radians. Try PI/36
+	 * @param concurrent If true then the transform is computed in parallel.
+	 * @param gradient Algorithm for computing image gradient.
+	 */
+	public DetectLineHoughPolar(int localMaxRadius,
+								int minCounts,
+								double resolutionRange ,
+								double resolutionAngle ,
+								float thresholdEdge,
+								int maxLines ,
+								double angleTolerance ,
+								boolean concurrent ,
+								ImageGradient<I, D> gradient)
+	{
+		this.angleTolerance = angleTolerance;
+		this.concurrent = concurrent;
 		pruneAngleTol = (float)((localMaxRadius+1)*resolutionAngle);
 		pruneRangeTol = (float)((localMaxRadius+1)*resolutionRange);
 		this.localMaxRadius = localMaxRadius;
@@ -125,7 +159,9 @@ public class DetectLineHoughPolar<I extends ImageSingleBand, D extends ImageSing
 		this.resolutionRange = resolutionRange;
 		this.resolutionAngle = resolutionAngle;
 		this.maxLines = maxLines <= 0 ? Integer.MAX_VALUE : maxLines;
-		extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(localMaxRadius, minCounts, 0, true));
+		ConfigExtract configExtract = new ConfigExtract(localMaxRadius, minCounts, 0, true);
+		configExtract.concurrent = concurrent;
+		extractor = FactoryFeatureExtractor.nonmax(configExtract);
 		derivX = GeneralizedImageOps.createSingleBand(gradient.getDerivType(), 1, 1);
 		derivY = GeneralizedImageOps.createSingleBand(gradient.getDerivType(), 1, 1);
 	}
@@ -139,6 +175,8 @@ public class DetectLineHoughPolar<I extends ImageSingleBand, D extends ImageSing
 			int numBinsAngle = (int)Math.ceil(Math.PI/resolutionAngle);
 
 			alg = new HoughTransformLinePolar(extractor,numBinsRange,numBinsAngle);
+			alg.setAngleTolerance(angleTolerance);
+			alg.setConcurrent(concurrent);
 			derivX.reshape(input.width,input.height);
 			derivY.reshape(input.width,input.height);
 			intensity.reshape(input.width,input.height);
@@ -163,7 +201,7 @@ public class DetectLineHoughPolar<I extends ImageSingleBand, D extends ImageSing
 
 		ThresholdImageOps.threshold(suppressed, binary, thresholdEdge, false);
 
-		alg.transform(binary);
+		alg.transform(binary,derivX,derivY);
 		FastQueue<LineParametric2D_F32> lines = alg.extractLines();
 
 		List<LineParametric2D_F32> ret = new ArrayList<LineParametric2D_F32>();
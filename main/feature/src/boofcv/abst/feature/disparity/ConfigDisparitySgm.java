@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.alg.feature.disparity.SgmDisparityCost;
+import boofcv.factory.feature.disparity.DisparitySgmCost;
+import boofcv.struct.Configuration;
+
+/**
+ * Configuration for {@link boofcv.alg.feature.disparity.DisparitySgm Semi-Global Matching}.  The cost of a
+ * single pixel is scaled to be between 0 and {@link SgmDisparityCost#MAX_COST}, which the penalties are
+ * relative to.
+ *
+ * @author Peter Abeles
+ */
+public class ConfigDisparitySgm implements Configuration {
+
+	/**
+	 * Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
+	 */
+	public int minDisparity = 0;
+
+	/**
+	 * Maximum disparity that it will calculate. maxDisparity-minDisparity must be less than 255.
+	 */
+	public int maxDisparity = 64;
+
+	/**
+	 * Function used to compute the cost of a single pixel.
+	 */
+	public DisparitySgmCost cost = DisparitySgmCost.CENSUS;
+
+	/**
+	 * Number of paths the cost is aggregated along.  4 or 8.
+	 */
+	public int paths = 8;
+
+	/**
+	 * Penalty for a change of one in disparity between neighboring pixels.
+	 */
+	public int penaltySmall = 200;
+
+	/**
+	 * Penalty for a change of more than one in disparity between neighboring pixels.  Must be larger than
+	 * penaltySmall and &le; {@link SgmDisparityCost#MAX_COST}.
+	 */
+	public int penaltyLarge = 2000;
+
+	/**
+	 * Tolerance for how different the left to right and right to left disparities can be.  Set to &lt; 0
+	 * to disable.
+	 */
+	public int validateRtoL = 1;
+
+	/**
+	 * Tolerance for how similar the best disparity's cost is to other disparities.  Closer to zero is more
+	 * tolerant.  Set to &le; 0 to disable.
+	 */
+	public double texture = 0.0;
+
+	/**
+	 * If &gt; 0 then low memory mode is used and the image is processed in strips with this many rows.
+	 * Only paths which go left, right, or down are considered in low memory mode.
+	 */
+	public int stripHeight = -1;
+
+	/**
+	 * If true then the work is split between threads.
+	 */
+	public boolean concurrent = false;
+
+	public ConfigDisparitySgm(int minDisparity, int maxDisparity, DisparitySgmCost cost) {
+		this.minDisparity = minDisparity;
+		this.maxDisparity = maxDisparity;
+		this.cost = cost;
+	}
+
+	public ConfigDisparitySgm() {
+	}
+
+	@Override
+	public void checkValidity() {
+		if( minDisparity < 0 || maxDisparity <= minDisparity )
+			throw new IllegalArgumentException("Must obey 0 <= minDisparity < maxDisparity");
+		if( maxDisparity - minDisparity >= 255 )
+			throw new IllegalArgumentException("maxDisparity-minDisparity must be less than 255");
+		if( paths != 4 && paths != 8 )
+			throw new IllegalArgumentException("paths must be 4 or 8");
+		if( penaltySmall <= 0 || penaltyLarge <= penaltySmall || penaltyLarge > SgmDisparityCost.MAX_COST )
+			throw new IllegalArgumentException("Penalties must obey 0 < penaltySmall < penaltyLarge <= MAX_COST");
+	}
+}
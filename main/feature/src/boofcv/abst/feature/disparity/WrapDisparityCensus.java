@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.alg.transform.census.GCensusTransform;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Computes the census transform of the input images then computes the disparity between the census images.
+ * See {@link boofcv.alg.transform.census.CensusTransform}.
+ *
+ * @author Peter Abeles
+ */
+public class WrapDisparityCensus<C extends ImageSingleBand, D extends ImageSingleBand>
+		implements StereoDisparity<ImageUInt8,D>
+{
+	// computes disparity from census images
+	StereoDisparity<C,D> alg;
+
+	// size of the census region
+	int radiusX,radiusY;
+
+	// storage for census images
+	C censusLeft;
+	C censusRight;
+
+	/**
+	 * Specifies the algorithm and size of the census region
+	 *
+	 * @param alg Computes the disparity from census images
+	 * @param censusRadiusX Radius of the census region along the x-axis
+	 * @param censusRadiusY Radius of the census region along the y-axis
+	 */
+	public WrapDisparityCensus(StereoDisparity<C, D> alg, int censusRadiusX, int censusRadiusY) {
+		this.alg = alg;
+		this.radiusX = censusRadiusX;
+		this.radiusY = censusRadiusY;
+
+		censusLeft = GeneralizedImageOps.createSingleBand(alg.getInputType(),1,1);
+		censusRight = GeneralizedImageOps.createSingleBand(alg.getInputType(),1,1);
+	}
+
+	@Override
+	public void process(ImageUInt8 imageLeft, ImageUInt8 imageRight) {
+		censusLeft.reshape(imageLeft.width,imageLeft.height);
+		censusRight.reshape(imageRight.width,imageRight.height);
+
+		GCensusTransform.region(imageLeft,radiusX,radiusY,censusLeft);
+		GCensusTransform.region(imageRight,radiusX,radiusY,censusRight);
+
+		alg.process(censusLeft,censusRight);
+	}
+
+	@Override
+	public D getDisparity() {
+		return alg.getDisparity();
+	}
+
+	@Override
+	public int getMinDisparity() {
+		return alg.getMinDisparity();
+	}
+
+	@Override
+	public int getMaxDisparity() {
+		return alg.getMaxDisparity();
+	}
+
+	@Override
+	public int getBorderX() {
+		return alg.getBorderX();
+	}
+
+	@Override
+	public int getBorderY() {
+		return alg.getBorderY();
+	}
+
+	@Override
+	public Class<ImageUInt8> getInputType() {
+		return ImageUInt8.class;
+	}
+
+	@Override
+	public Class<D> getDisparityType() {
+		return alg.getDisparityType();
+	}
+
+	public StereoDisparity<C, D> getAlg() {
+		return alg;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.abst.feature.disparity;
+
+import boofcv.alg.feature.disparity.DisparityCoarseToFine;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageInteger;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Wrapper around {@link DisparityCoarseToFine} for {@link StereoDisparity}.
+ *
+ * @author Peter Abeles
+ */
+public class WrapDisparityCoarseToFine<D extends ImageInteger> implements StereoDisparity<ImageUInt8,D> {
+
+	DisparityCoarseToFine<D> alg;
+	Class<D> disparityType;
+	D disparity;
+
+	public WrapDisparityCoarseToFine(DisparityCoarseToFine<D> alg, Class<D> disparityType) {
+		this.alg = alg;
+		this.disparityType = disparityType;
+		this.disparity = GeneralizedImageOps.createSingleBand(disparityType,1,1);
+	}
+
+	@Override
+	public void process(ImageUInt8 imageLeft, ImageUInt8 imageRight) {
+		disparity.reshape(imageLeft.width,imageLeft.height);
+		alg.process(imageLeft,imageRight,disparity);
+	}
+
+	@Override
+	public D getDisparity() {
+		return disparity;
+	}
+
+	@Override
+	public int getMinDisparity() {
+		return alg.getMinDisparity();
+	}
+
+	@Override
+	public int getMaxDisparity() {
+		return alg.getMaxDisparity();
+	}
+
+	@Override
+	public int getBorderX() {
+		return alg.getBorderX();
+	}
+
+	@Override
+	public int getBorderY() {
+		return alg.getBorderY();
+	}
+
+	@Override
+	public Class<ImageUInt8> getInputType() {
+		return ImageUInt8.class;
+	}
+
+	@Override
+	public Class<D> getDisparityType() {
+		return disparityType;
+	}
+
+	public DisparityCoarseToFine<D> getAlg() {
+		return alg;
+	}
+}
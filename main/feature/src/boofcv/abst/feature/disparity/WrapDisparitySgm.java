@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.alg.feature.disparity.DisparitySgm;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Wrapper around {@link DisparitySgm} for {@link StereoDisparity}.
+ *
+ * @author Peter Abeles
+ */
+public class WrapDisparitySgm<T extends ImageSingleBand> implements StereoDisparity<T,ImageUInt8> {
+
+	DisparitySgm<T> alg;
+	ImageUInt8 disparity = new ImageUInt8(1,1);
+
+	public WrapDisparitySgm(DisparitySgm<T> alg) {
+		this.alg = alg;
+	}
+
+	@Override
+	public void process(T imageLeft, T imageRight) {
+		disparity.reshape(imageLeft.width,imageLeft.height);
+		alg.process(imageLeft,imageRight,disparity);
+	}
+
+	@Override
+	public ImageUInt8 getDisparity() {
+		return disparity;
+	}
+
+	@Override
+	public int getMinDisparity() {
+		return alg.getMinDisparity();
+	}
+
+	@Override
+	public int getMaxDisparity() {
+		return alg.getMaxDisparity();
+	}
+
+	@Override
+	public int getBorderX() {
+		return 0;
+	}
+
+	@Override
+	public int getBorderY() {
+		return 0;
+	}
+
+	@Override
+	public Class<T> getInputType() {
+		return alg.getInputType();
+	}
+
+	@Override
+	public Class<ImageUInt8> getDisparityType() {
+		return ImageUInt8.class;
+	}
+
+	public DisparitySgm<T> getAlg() {
+		return alg;
+	}
+}
@@ -19,11 +19,18 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.FastQueue;
 import boofcv.struct.GrowQueue_F64;
 import boofcv.struct.GrowQueue_I32;
 import boofcv.struct.feature.TupleDesc_F64;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 
 /**
  * <p>
@@ -39,24 +46,57 @@ import boofcv.struct.feature.TupleDesc_F64;
  * associated with feature in src.
  * </p>
  *
+ * <p>
+ * The fit score matrix is never stored.  Scores are computed in tiles, a block of src rows against a block
+ * of dst columns, so that the descriptors being compared stay in the cache.  Only the best and second best
+ * score for each row and column is retained, which is all that backwards validation and the ratio test need.
+ * Memory is O(N+M) instead of O(N*M).  If concurrency is turned on the src list is split into blocks which
+ * are processed in parallel, see {@link BoofConcurrency}.  The results are identical either way.
+ * </p>
+ *
  * @param <D> Feature description type.
  *
  * @author Peter Abeles
  */
 public class AssociateGreedy<D> {
 
+	// number of src and dst elements in a tile
+	private static final int TILE_ROWS = 32;
+	private static final int TILE_COLS = 128;
+
 	// computes association score
 	private ScoreAssociation<D> score;
 	// worst allowed fit score to associate
 	private double maxFitError = Double.MAX_VALUE;
+	// Required ratio between the best and second best fit score in a row.  Disabled if >= 1
+	private double ratioTest = 1.0;
 	// stores the quality of fit score
 	private GrowQueue_F64 fitQuality = new GrowQueue_F64(100);
 	// stores indexes of associated
 	private GrowQueue_I32 pairs = new GrowQueue_I32(100);
-	// various
-	private GrowQueue_F64 workBuffer = new GrowQueue_F64(100);
+	// best and second best fit score for each src element, with no threshold applied
+	private GrowQueue_F64 rowBest = new GrowQueue_F64(100);
+	private GrowQueue_F64 rowSecond = new GrowQueue_F64(100);
+	// best and second best fit score for each dst element
+	private ColumnSummary columns = new ColumnSummary();
+	// column summaries for each block of src elements.  Recycled between calls
+	private final List<ColumnSummary> blockStorage = new ArrayList<ColumnSummary>();
+	private final List<ColumnSummary> blockUsed = new ArrayList<ColumnSummary>();
 	// if true backwardsValidation is done
 	private boolean backwardsValidation;
+	// if true the src list is processed in parallel
+	private boolean concurrent = false;
+
+	// references to the lists being associated
+	private FastQueue<D> src;
+	private FastQueue<D> dst;
+
+	private final IntRangeTask blockTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			processBlock(start,end,requestBlock(start));
+		}
+	};
 
 	/**
 	 * Configure association
@@ -79,52 +119,126 @@ public class AssociateGreedy<D> {
 	public void associate( FastQueue<D> src ,
 						   FastQueue<D> dst )
 	{
-		fitQuality.reset();
-		pairs.reset();
-		workBuffer.reset();
-
-//		System.out.println("Associate: "+src.size+"*"+dst.size+" = "+(src.size*dst.size)+" or "+(src.size*dst.size*8/1024/1024)+"MB");
-		fitQuality.setMaxSize(src.size);
-		workBuffer.setMaxSize(src.size*dst.size);
-		for( int i = 0; i < src.size; i++ ) {
-			D a = src.data[i];
-			double bestScore = maxFitError;
-			int bestIndex = -1;
-
-			for( int j = 0; j < dst.size; j++ ) {
-				D b = dst.data[j];
-
-				double fit = score.score(a,b);
-				workBuffer.push(fit);
-
-				if( fit < bestScore ) {
-					bestIndex = j;
-					bestScore = fit;
+		this.src = src;
+		this.dst = dst;
+
+		fitQuality.resize(src.size);
+		pairs.resize(src.size);
+		rowBest.resize(src.size);
+		rowSecond.resize(src.size);
+		columns.reset(0,dst.size);
+
+		blockStorage.addAll(blockUsed);
+		blockUsed.clear();
+
+		if( concurrent ) {
+			BoofConcurrency.loopBlocks(0,src.size,TILE_ROWS,blockTask);
+		} else {
+			blockTask.process(0,src.size);
+		}
+
+		// merge the column summaries from each block.  The merge is order independent but done in a fixed
+		// order anyways to make it easier to reason about
+		Collections.sort(blockUsed);
+		for( int i = 0; i < blockUsed.size(); i++ ) {
+			columns.merge(blockUsed.get(i));
+		}
+
+		if( ratioTest < 1.0 ) {
+			for( int i = 0; i < src.size; i++ ) {
+				if( pairs.data[i] != -1 && fitQuality.data[i] >= ratioTest*rowSecond.data[i] ) {
+					pairs.data[i] = -1;
+					fitQuality.data[i] = Double.MAX_VALUE;
 				}
 			}
-			pairs.push(bestIndex);
-			fitQuality.push(bestScore);
 		}
 
 		if( backwardsValidation ) {
+			// the match is mutual if the src element has the lowest score in the dst column and no other
+			// src element has the same score
 			for( int i = 0; i < src.size; i++ ) {
 				int match = pairs.data[i];
 				if( match == -1 )
 					continue;
 
-				double scoreToBeat = workBuffer.data[i*dst.size+match];
+				double scoreToBeat = fitQuality.data[i];
+				if( columns.best[match] < scoreToBeat || columns.second[match] <= scoreToBeat ) {
+					pairs.data[i] = -1;
+					fitQuality.data[i] = Double.MAX_VALUE;
+				}
+			}
+		}
+
+		this.src = null;
+		this.dst = null;
+	}
+
+	/**
+	 * Scores src elements from start to end against every dst element one tile at a time.
+	 */
+	private void processBlock( int start , int end , ColumnSummary block ) {
+		final int numDst = dst.size;
 
-				for( int j = 0; j < src.size; j++ , match += dst.size ) {
-					if( workBuffer.data[match] <= scoreToBeat && j != i) {
-						pairs.data[i] = -1;
-						fitQuality.data[i] = Double.MAX_VALUE;
-						break;
+		for( int row0 = start; row0 < end; row0 += TILE_ROWS ) {
+			int row1 = Math.min(end,row0+TILE_ROWS);
+
+			for( int i = row0; i < row1; i++ ) {
+				pairs.data[i] = -1;
+				fitQuality.data[i] = maxFitError;
+				rowBest.data[i] = Double.MAX_VALUE;
+				rowSecond.data[i] = Double.MAX_VALUE;
+			}
+
+			for( int col0 = 0; col0 < numDst; col0 += TILE_COLS ) {
+				int col1 = Math.min(numDst,col0+TILE_COLS);
+
+				for( int i = row0; i < row1; i++ ) {
+					D a = src.data[i];
+					double bestScore = fitQuality.data[i];
+					int bestIndex = pairs.data[i];
+					double first = rowBest.data[i];
+					double second = rowSecond.data[i];
+
+					// columns are traversed in increasing order so the first best match is selected
+					for( int j = col0; j < col1; j++ ) {
+						double fit = score.score(a,dst.data[j]);
+
+						if( fit < bestScore ) {
+							bestIndex = j;
+							bestScore = fit;
+						}
+						if( fit < first ) {
+							second = first;
+							first = fit;
+						} else if( fit < second ) {
+							second = fit;
+						}
+						block.add(j,fit);
 					}
+
+					pairs.data[i] = bestIndex;
+					fitQuality.data[i] = bestScore;
+					rowBest.data[i] = first;
+					rowSecond.data[i] = second;
 				}
 			}
 		}
 	}
 
+	/**
+	 * Returns column storage for the block which starts at the specified src index.
+	 */
+	private synchronized ColumnSummary requestBlock( int start ) {
+		ColumnSummary block;
+		if( blockStorage.isEmpty() )
+			block = new ColumnSummary();
+		else
+			block = blockStorage.remove(blockStorage.size()-1);
+		block.reset(start,dst.size);
+		blockUsed.add(block);
+		return block;
+	}
+
 	/**
 	 * Returns a list of association pairs.  Each element in the returned list corresponds
 	 * to an element in the src list.  The value contained in the index indicate which element
@@ -150,6 +264,33 @@ public class AssociateGreedy<D> {
 		this.maxFitError = maxFitError;
 	}
 
+	/**
+	 * Specifies the ratio test.  A match is rejected unless its fit score is less than ratio times the second
+	 * best fit score in the same src row.  Only meaningful for scores which are errors, i.e. zero is a perfect
+	 * fit.
+	 *
+	 * @param ratioTest Required ratio between the best and second best fit score.  If &ge; 1 it is disabled.
+	 */
+	public void setRatioTest(double ratioTest) {
+		this.ratioTest = ratioTest;
+	}
+
+	public double getRatioTest() {
+		return ratioTest;
+	}
+
+	/**
+	 * If true the src list will be split into blocks which are processed in parallel.  The
+	 * {@link ScoreAssociation} must be thread safe when this is turned on.
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
 	public ScoreAssociation<D> getScore() {
 		return score;
 	}
@@ -157,4 +298,49 @@ public class AssociateGreedy<D> {
 	public boolean isBackwardsValidation() {
 		return backwardsValidation;
 	}
+
+	/**
+	 * Best and second best fit score for each dst element.  If two fit scores are tied for best then
+	 * both the best and second best will have that value.
+	 */
+	private static class ColumnSummary implements Comparable<ColumnSummary> {
+		// index of the first src element in the block
+		int start;
+		// number of dst elements
+		int size;
+		double best[] = new double[0];
+		double second[] = new double[0];
+
+		public void reset( int start , int size ) {
+			this.start = start;
+			this.size = size;
+			if( best.length < size ) {
+				best = new double[size];
+				second = new double[size];
+			}
+			Arrays.fill(best,0,size,Double.MAX_VALUE);
+			Arrays.fill(second,0,size,Double.MAX_VALUE);
+		}
+
+		public void add( int index , double fit ) {
+			if( fit < best[index] ) {
+				second[index] = best[index];
+				best[index] = fit;
+			} else if( fit < second[index] ) {
+				second[index] = fit;
+			}
+		}
+
+		public void merge( ColumnSummary block ) {
+			for( int j = 0; j < size; j++ ) {
+				add(j,block.best[j]);
+				add(j,block.second[j]);
+			}
+		}
+
+		@Override
+		public int compareTo(ColumnSummary o) {
+			return start < o.start ? -1 : (start == o.start ? 0 : 1);
+		}
+	}
 }
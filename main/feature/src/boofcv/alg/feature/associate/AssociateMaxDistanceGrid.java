@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.struct.FastQueue;
+import boofcv.struct.GrowQueue_I32;
+import georegression.struct.point.Point2D_F64;
+
+/**
+ * Two features are only considered for association if they are within the specified max distance
+ * of each other.  Same results as {@link AssociateMaxDistanceNaive}, but feature locations are hashed
+ * into a {@link GridPointIndex2D} which is rebuilt each time association is performed.  Only features
+ * in nearby grid cells are examined, which turns association from O(N*M) into close to O(N+M) when
+ * the max distance is small relative to the image.
+ *
+ * @author Peter Abeles
+ */
+public class AssociateMaxDistanceGrid<D> extends AssociateMaxDistanceNaive<D> {
+
+	// spatial index of each list
+	private GridPointIndex2D gridSrc = new GridPointIndex2D();
+	private GridPointIndex2D gridDst = new GridPointIndex2D();
+
+	// storage for features which are near the active feature
+	private GrowQueue_I32 candidates = new GrowQueue_I32();
+
+	/**
+	 * Specifies score mechanism
+	 *
+	 * @param scoreAssociation How features are scored.
+	 * @param backwardsValidation Require that matches are mutual in forward/backwards directions
+	 * @param maxError Maximum allowed association error
+	 * @param maxDistance Maximum distance in pixels between two features
+	 */
+	public AssociateMaxDistanceGrid(ScoreAssociation<D> scoreAssociation,
+									boolean backwardsValidation,
+									double maxError ,
+									double maxDistance )
+	{
+		super(scoreAssociation,backwardsValidation,maxError,maxDistance);
+	}
+
+	@Override
+	protected void initializeCandidates(FastQueue<Point2D_F64> locationSrc, FastQueue<Point2D_F64> locationDst) {
+		if( !isIndexed() )
+			return;
+		gridSrc.build(locationSrc,maxDistanceNotSquared);
+		gridDst.build(locationDst,maxDistanceNotSquared);
+	}
+
+	@Override
+	protected GrowQueue_I32 candidatesDst(Point2D_F64 p) {
+		if( !isIndexed() )
+			return null;
+		gridDst.findNearby(p.x,p.y,maxDistanceNotSquared,candidates);
+		return candidates;
+	}
+
+	@Override
+	protected GrowQueue_I32 candidatesSrc(Point2D_F64 p) {
+		if( !isIndexed() )
+			return null;
+		gridSrc.findNearby(p.x,p.y,maxDistanceNotSquared,candidates);
+		return candidates;
+	}
+
+	/**
+	 * A grid is pointless if there is no limit on distance
+	 */
+	private boolean isIndexed() {
+		return maxDistanceNotSquared < Double.MAX_VALUE && !Double.isInfinite(maxDistance);
+	}
+}
@@ -110,12 +110,38 @@ public abstract class BaseAssociateLocation2DFilter<D> implements AssociateDescr
 
 	protected abstract double computeDistanceToSource( Point2D_F64 p );
 
+	/**
+	 * Called at the start of {@link #associate()}.  Children can override this to build a spatial index.
+	 *
+	 * @param locationSrc Location of features in source list
+	 * @param locationDst Location of features in destination list
+	 */
+	protected void initializeCandidates( FastQueue<Point2D_F64> locationSrc , FastQueue<Point2D_F64> locationDst ) {}
+
+	/**
+	 * Returns the indexes of destination features which might be within maxDistance of the active source.  If
+	 * null is returned then every destination feature is considered.  The list can be in any order and
+	 * contain features which are too far away, distance is always checked.
+	 */
+	protected GrowQueue_I32 candidatesDst( Point2D_F64 p ) {
+		return null;
+	}
+
+	/**
+	 * Same as {@link #candidatesDst} but for source features.  Used during backwards validation.
+	 */
+	protected GrowQueue_I32 candidatesSrc( Point2D_F64 p ) {
+		return null;
+	}
+
 	@Override
 	public void associate() {
 
 		unassociatedSrc.reset();
 		matched.reset();
 
+		initializeCandidates(locationSrc,locationDst);
+
 		for( int i = 0; i < locationSrc.size(); i++ ) {
 			Point2D_F64 p_s = locationSrc.get(i);
 			D d_s = descSrc.get(i);
@@ -124,8 +150,12 @@ public abstract class BaseAssociateLocation2DFilter<D> implements AssociateDescr
 			double bestScore = maxError;
 			int bestIndex = -1;
 
+			GrowQueue_I32 candidates = candidatesDst(p_s);
+			int numCandidates = candidates == null ? locationDst.size() : candidates.size;
+
 			// find the best match in destination list
-			for( int j = 0; j < locationDst.size(); j++ ) {
+			for( int k = 0; k < numCandidates; k++ ) {
+				int j = candidates == null ? k : candidates.data[k];
 				D d_d = descDst.get(j);
 
 				// compute distance between the two features
@@ -134,7 +164,7 @@ public abstract class BaseAssociateLocation2DFilter<D> implements AssociateDescr
 					continue;
 
 				double score = scoreAssociation.score(d_s,d_d);
-				if( score < bestScore ) {
+				if( isBetter(score,j,bestScore,bestIndex) ) {
 					bestScore = score;
 					bestIndex = j;
 				}
@@ -171,7 +201,11 @@ public abstract class BaseAssociateLocation2DFilter<D> implements AssociateDescr
 		D d_forward = descDst.get(bestIndex);
 		setActiveSource(locationDst.get(bestIndex));
 
-		for( int j = 0; j < locationSrc.size(); j++ ) {
+		GrowQueue_I32 candidates = candidatesSrc(locationDst.get(bestIndex));
+		int numCandidates = candidates == null ? locationSrc.size() : candidates.size;
+
+		for( int k = 0; k < numCandidates; k++ ) {
+			int j = candidates == null ? k : candidates.data[k];
 
 			// compute distance between the two features
 			double distance = computeDistanceToSource(locationSrc.get(j));
@@ -181,7 +215,7 @@ public abstract class BaseAssociateLocation2DFilter<D> implements AssociateDescr
 			D d_v = descSrc.get(j);
 
 			double score = scoreAssociation.score(d_forward,d_v);
-			if( score < bestScoreV ) {
+			if( isBetter(score,j,bestScoreV,bestIndexV) ) {
 				bestScoreV = score;
 				bestIndexV = j;
 			}
@@ -190,6 +224,14 @@ public abstract class BaseAssociateLocation2DFilter<D> implements AssociateDescr
 		return bestIndexV == indexSrc;
 	}
 
+	/**
+	 * Checks to see if the score is better than the current best.  Ties go to the lowest index so that the
+	 * results don't depend on the order candidates are visited in.
+	 */
+	private static boolean isBetter( double score , int index , double bestScore , int bestIndex ) {
+		return score < bestScore || (score == bestScore && bestIndex != -1 && index < bestIndex);
+	}
+
 	@Override
 	public FastQueue<AssociatedIndex> getMatches() {
 		return matched;
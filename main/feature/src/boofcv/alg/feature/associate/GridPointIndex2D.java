@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.FastQueue;
+import boofcv.struct.GrowQueue_I32;
+import georegression.struct.point.Point2D_F64;
+
+/**
+ * <p>
+ * Spatial index for 2D points which hashes each point into a regular grid.  Building the grid is O(N) and
+ * finding the points near a location only requires looking at the cells which overlap the search region.
+ * Points are stored in cell order using a counting sort, so no memory is allocated once the internal arrays
+ * are large enough.
+ * </p>
+ *
+ * <p>
+ * If the points are spread out over a large area compared to the cell size then the cell size is increased
+ * to keep the number of cells proportional to the number of points.  This can only add points to the search
+ * results, never remove them.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GridPointIndex2D {
+
+	// the maximum number of cells per point
+	private static final int CELLS_PER_POINT = 4;
+
+	// size of a square cell in the grid
+	private double cellSize;
+	// lower extent of the grid
+	private double minX, minY;
+	// shape of the grid
+	private int cols, rows;
+
+	// index of the first point in each cell, inside of cellPoints.  cells+1 elements
+	private int cellStart[] = new int[1];
+	// point indexes sorted by cell
+	private int cellPoints[] = new int[0];
+	// cell which each point belongs to
+	private int pointCell[] = new int[0];
+
+	/**
+	 * Builds the index
+	 *
+	 * @param points List of points which are to be indexed.  Not modified.
+	 * @param cellSize Desired size of a cell.  Typically the search radius.
+	 */
+	public void build( FastQueue<Point2D_F64> points , double cellSize ) {
+		int N = points.size;
+		if( N == 0 ) {
+			cols = rows = 0;
+			return;
+		}
+
+		minX = minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+		for( int i = 0; i < N; i++ ) {
+			Point2D_F64 p = points.data[i];
+			if( p.x < minX ) minX = p.x;
+			if( p.x > maxX ) maxX = p.x;
+			if( p.y < minY ) minY = p.y;
+			if( p.y > maxY ) maxY = p.y;
+		}
+
+		// make sure the number of cells is reasonable
+		long maxCells = Math.max(16,(long)N*CELLS_PER_POINT);
+		this.cellSize = cellSize > 0 ? cellSize : 1;
+		while( true ) {
+			double c = (maxX-minX)/this.cellSize + 1;
+			double r = (maxY-minY)/this.cellSize + 1;
+			if( c*r <= maxCells ) {
+				cols = (int)c;
+				rows = (int)r;
+				break;
+			}
+			this.cellSize *= Math.sqrt(c*r/maxCells)*1.01;
+		}
+
+		int numCells = cols*rows;
+		if( cellStart.length < numCells+1 )
+			cellStart = new int[numCells+1];
+		if( cellPoints.length < N ) {
+			cellPoints = new int[N];
+			pointCell = new int[N];
+		}
+
+		// count the number of points in each cell
+		for( int i = 0; i <= numCells; i++ )
+			cellStart[i] = 0;
+		for( int i = 0; i < N; i++ ) {
+			Point2D_F64 p = points.data[i];
+			int cell = cellY(p.y)*cols + cellX(p.x);
+			pointCell[i] = cell;
+			cellStart[cell+1]++;
+		}
+		for( int i = 0; i < numCells; i++ )
+			cellStart[i+1] += cellStart[i];
+
+		// fill in the point indexes.  cellStart is shifted down by one cell as a side effect
+		for( int i = 0; i < N; i++ ) {
+			cellPoints[cellStart[pointCell[i]]++] = i;
+		}
+		for( int i = numCells; i > 0; i-- )
+			cellStart[i] = cellStart[i-1];
+		cellStart[0] = 0;
+	}
+
+	/**
+	 * Finds all the points which are inside of cells that overlap the square region with the specified
+	 * radius.  The returned list will contain every point within the radius and possibly points which are
+	 * farther away.
+	 *
+	 * @param x Center of search region. x-axis
+	 * @param y Center of search region. y-axis
+	 * @param radius Search radius
+	 * @param output (Output) indexes of points in the region.
+	 */
+	public void findNearby( double x , double y , double radius , GrowQueue_I32 output ) {
+		output.reset();
+		if( cols == 0 )
+			return;
+
+		double lowerX = Math.floor((x-radius-minX)/cellSize);
+		double upperX = Math.floor((x+radius-minX)/cellSize);
+		double lowerY = Math.floor((y-radius-minY)/cellSize);
+		double upperY = Math.floor((y+radius-minY)/cellSize);
+
+		if( upperX < 0 || lowerX >= cols || upperY < 0 || lowerY >= rows )
+			return;
+
+		int x0 = (int)Math.max(0,lowerX);
+		int x1 = (int)Math.min(cols-1,upperX);
+		int y0 = (int)Math.max(0,lowerY);
+		int y1 = (int)Math.min(rows-1,upperY);
+
+		for( int row = y0; row <= y1; row++ ) {
+			int start = cellStart[row*cols + x0];
+			int end = cellStart[row*cols + x1 + 1];
+			for( int i = start; i < end; i++ ) {
+				output.add(cellPoints[i]);
+			}
+		}
+	}
+
+	private int cellX( double x ) {
+		return Math.min(cols-1,(int)((x-minX)/cellSize));
+	}
+
+	private int cellY( double y ) {
+		return Math.min(rows-1,(int)((y-minY)/cellSize));
+	}
+
+	/**
+	 * Returns the size of a cell.  Can be larger than the requested size if the points are spread out.
+	 */
+	public double getCellSize() {
+		return cellSize;
+	}
+
+	public int getCols() {
+		return cols;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+}
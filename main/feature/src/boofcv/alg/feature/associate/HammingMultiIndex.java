@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.TupleDesc_B;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Exact search for the two closest binary descriptors, using the Hamming distance, with multi-index hashing.
+ * Each descriptor is divided into m substrings of 16 bits and a hash table is built for each substring.  If two
+ * descriptors are less than m*(s+1) apart then at least one of their substrings must be within a distance
+ * of s.  The search examines the buckets which are within a distance of s = 0, 1, 2, ... of the query's
+ * substrings until no descriptor which has yet to be examined can be closer than the second best match.  If
+ * examining the next level would cost more than examining all the remaining descriptors then the search
+ * switches to a linear scan.  In either case the returned match is exact.
+ * </p>
+ *
+ * <p>
+ * Descriptors are packed into a single array of 64-bit words, one descriptor after another, and the Hamming
+ * distance is computed using {@link Long#bitCount(long)}, which the JVM compiles to a popcount instruction.
+ * </p>
+ *
+ * <p>
+ * Mohammad Norouzi, Ali Punjani, and David J. Fleet, "Fast Search in Hamming Space with Multi-Index Hashing",
+ * CVPR 2012
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HammingMultiIndex {
+
+	// number of bits in each substring
+	private static final int SUB_BITS = 16;
+	private static final int NUM_BUCKETS = 1 << SUB_BITS;
+
+	// number of descriptors which are scored at once in a linear scan
+	private static final int BLOCK_SIZE = 256;
+
+	// descriptors packed into 64-bit words
+	private long packed[] = new long[0];
+	private int numDesc;
+	private int numBits;
+	private int wordsPerDesc;
+
+	// number of hash tables, one for each substring
+	private int numTables;
+	// hash table for each substring stored in a compact format.  Bucket 'b' in table 't' contains the descriptors
+	// bucketItems[t][ bucketStart[t][b] ] to bucketItems[t][ bucketStart[t][b+1] - 1 ]
+	private int bucketStart[][] = new int[0][];
+	private int bucketItems[][] = new int[0][];
+
+	// number of combinations of k bits out of 16
+	private static final int choose[] = new int[SUB_BITS+1];
+
+	// the query
+	private long query[] = new long[0];
+	private int querySub[] = new int[0];
+
+	// used to ensure a descriptor is only checked once in each search
+	private int visited[] = new int[0];
+	private int searchID;
+	private int numChecks;
+
+	// storage for scores in a linear scan
+	private int blockScores[] = new int[BLOCK_SIZE];
+
+	// results from the last search
+	private int bestIndex;
+	private int bestDistance;
+	private int secondIndex;
+	private int secondDistance;
+
+	static {
+		for( int k = 0; k <= SUB_BITS; k++ ) {
+			long c = 1;
+			for( int i = 0; i < k; i++ )
+				c = c*(SUB_BITS-i)/(i+1);
+			choose[k] = (int)c;
+		}
+	}
+
+	/**
+	 * Specifies the descriptors which are searched and builds the hash tables.
+	 *
+	 * @param list List of descriptors.  All must have the same number of bits.
+	 */
+	public void setDescriptors( FastQueue<TupleDesc_B> list ) {
+		numDesc = list.size;
+		numBits = numDesc > 0 ? list.data[0].numBits : 0;
+		wordsPerDesc = (numBits+63)/64;
+
+		if( packed.length < numDesc*wordsPerDesc )
+			packed = new long[numDesc*wordsPerDesc];
+		for( int i = 0; i < numDesc; i++ )
+			pack(list.data[i],packed,i*wordsPerDesc);
+
+		if( visited.length < numDesc ) {
+			visited = new int[numDesc];
+			searchID = 0;
+		}
+		if( query.length < wordsPerDesc )
+			query = new long[wordsPerDesc];
+
+		numTables = (numBits+SUB_BITS-1)/SUB_BITS;
+		if( bucketStart.length < numTables ) {
+			bucketStart = new int[numTables][];
+			bucketItems = new int[numTables][];
+			querySub = new int[numTables];
+		}
+
+		for( int t = 0; t < numTables; t++ ) {
+			if( bucketStart[t] == null )
+				bucketStart[t] = new int[NUM_BUCKETS+1];
+			if( bucketItems[t] == null || bucketItems[t].length < numDesc )
+				bucketItems[t] = new int[numDesc];
+
+			// counting sort of descriptors into buckets
+			int start[] = bucketStart[t];
+			int items[] = bucketItems[t];
+			Arrays.fill(start,0);
+			for( int i = 0; i < numDesc; i++ )
+				start[substring(packed,i*wordsPerDesc,t)+1]++;
+			for( int b = 0; b < NUM_BUCKETS; b++ )
+				start[b+1] += start[b];
+			for( int i = 0; i < numDesc; i++ ) {
+				int b = substring(packed,i*wordsPerDesc,t);
+				items[start[b]++] = i;
+			}
+			// start was shifted forward while filling
+			for( int b = NUM_BUCKETS; b > 0; b-- )
+				start[b] = start[b-1];
+			start[0] = 0;
+		}
+	}
+
+	/**
+	 * Packs the descriptor's bits into 64-bit words.  Bits beyond the descriptor's length are set to zero.
+	 *
+	 * @param desc Descriptor
+	 * @param output Array the descriptor is written into
+	 * @param offset Index of the first word in the output array
+	 */
+	public static void pack( TupleDesc_B desc , long output[] , int offset ) {
+		int words = (desc.numBits+63)/64;
+		int ints = (desc.numBits+31)/32;
+		for( int i = 0; i < words; i++ ) {
+			long lower = desc.data[i*2] & 0xFFFFFFFFL;
+			long upper = i*2+1 < ints ? desc.data[i*2+1] & 0xFFFFFFFFL : 0;
+			output[offset+i] = lower | (upper << 32);
+		}
+		int extra = desc.numBits % 64;
+		if( extra != 0 )
+			output[offset+words-1] &= (1L << extra) - 1;
+	}
+
+	private static int substring( long data[] , int offset , int index ) {
+		return (int)(data[offset + index/4] >>> ((index%4)*SUB_BITS)) & 0xFFFF;
+	}
+
+	/**
+	 * Hamming distance between two packed descriptors
+	 */
+	public static int distance( long a[] , int offsetA , long b[] , int offsetB , int words ) {
+		int total = 0;
+		for( int i = 0; i < words; i++ ) {
+			total += Long.bitCount(a[offsetA+i] ^ b[offsetB+i]);
+		}
+		return total;
+	}
+
+	/**
+	 * Computes the Hamming distance between the query and a contiguous block of descriptors.
+	 *
+	 * @param query Packed query descriptor
+	 * @param offset Index of the query's first word
+	 * @param start Index of the first descriptor in the block, inclusive
+	 * @param end Index of the last descriptor in the block, exclusive
+	 * @param output Storage for the distance to each descriptor in the block
+	 */
+	public void computeDistances( long query[] , int offset , int start , int end , int output[] ) {
+		final int words = wordsPerDesc;
+		int indexDesc = start*words;
+		for( int i = start; i < end; i++ ) {
+			int total = 0;
+			for( int j = 0; j < words; j++ ) {
+				total += Long.bitCount(query[offset+j] ^ packed[indexDesc++]);
+			}
+			output[i-start] = total;
+		}
+	}
+
+	/**
+	 * Searches for the two closest descriptors to the query which have a distance less than the threshold.
+	 *
+	 * @param desc Query descriptor
+	 * @param threshold Only descriptors with a distance less than this value are considered.
+	 * @return true if a match was found
+	 */
+	public boolean search( TupleDesc_B desc , int threshold ) {
+		return search(desc,threshold,0);
+	}
+
+	/**
+	 * Searches for the closest descriptor to the query which has a distance less than the threshold.  The second
+	 * closest descriptor is only guaranteed to be found if it's within a distance of best/ratio, which is all
+	 * that's needed for a ratio test.  Searching for just the best match is much faster than searching for
+	 * the second best too.
+	 *
+	 * @param desc Query descriptor
+	 * @param threshold Only descriptors with a distance less than this value are considered.
+	 * @param ratio Ratio used in the ratio test.  If &ge; 1 then only the best match is searched for.  If 0
+	 *              then the second best match is always found.
+	 * @return true if a match was found
+	 */
+	public boolean search( TupleDesc_B desc , int threshold , double ratio ) {
+		bestIndex = secondIndex = -1;
+		bestDistance = secondDistance = threshold;
+		numChecks = 0;
+
+		if( numDesc == 0 )
+			return false;
+		if( desc.numBits != numBits )
+			throw new IllegalArgumentException("Query has a different number of bits than the descriptors");
+
+		if( ++searchID == Integer.MAX_VALUE ) {
+			Arrays.fill(visited,0);
+			searchID = 1;
+		}
+
+		pack(desc,query,0);
+		for( int t = 0; t < numTables; t++ )
+			querySub[t] = substring(query,0,t);
+
+		for( int s = 0; s <= SUB_BITS; s++ ) {
+			// every descriptor which has yet to be checked is at least this far away
+			int lowerBound = numTables*s;
+			if( stoppingDistance(ratio) <= lowerBound )
+				break;
+
+			// switch to a linear scan if it's cheaper
+			if( (long)numTables*choose[s] >= numDesc - numChecks ) {
+				linearScan();
+				break;
+			}
+
+			for( int t = 0; t < numTables; t++ ) {
+				int length = Math.min(SUB_BITS,numBits-t*SUB_BITS);
+				if( s > length )
+					continue;
+				checkNeighbors(t,length,s);
+			}
+		}
+
+		return bestIndex >= 0;
+	}
+
+	/**
+	 * Descriptors which are at least this far away can't change the results
+	 */
+	private int stoppingDistance( double ratio ) {
+		if( ratio >= 1 )
+			return bestDistance;
+		if( ratio <= 0 )
+			return secondDistance;
+		return (int)Math.min(secondDistance,Math.floor(bestDistance/ratio)+1);
+	}
+
+	/**
+	 * Checks all the descriptors in buckets which differ from the query's substring by exactly s bits
+	 */
+	private void checkNeighbors( int table , int length , int s ) {
+		int start[] = bucketStart[table];
+		int items[] = bucketItems[table];
+		int sub = querySub[table];
+		int limit = 1 << length;
+
+		// enumerate all masks with s bits set using Gosper's hack
+		int mask = (1 << s) - 1;
+		while( mask < limit ) {
+			int bucket = sub ^ mask;
+			for( int i = start[bucket]; i < start[bucket+1]; i++ ) {
+				int index = items[i];
+				if( visited[index] != searchID ) {
+					visited[index] = searchID;
+					numChecks++;
+					update(index,distance(query,0,packed,index*wordsPerDesc,wordsPerDesc));
+				}
+			}
+			if( mask == 0 )
+				break;
+			int c = mask & -mask;
+			int r = mask + c;
+			mask = (((r ^ mask) >>> 2) / c) | r;
+		}
+	}
+
+	/**
+	 * Checks all descriptors which have not been checked yet
+	 */
+	private void linearScan() {
+		for( int start = 0; start < numDesc; start += BLOCK_SIZE ) {
+			int end = Math.min(numDesc,start+BLOCK_SIZE);
+			computeDistances(query,0,start,end,blockScores);
+			for( int i = start; i < end; i++ ) {
+				if( visited[i] != searchID ) {
+					visited[i] = searchID;
+					numChecks++;
+					update(i,blockScores[i-start]);
+				}
+			}
+		}
+	}
+
+	private void update( int index , int distance ) {
+		if( distance < bestDistance ) {
+			secondDistance = bestDistance;
+			secondIndex = bestIndex;
+			bestDistance = distance;
+			bestIndex = index;
+		} else if( distance < secondDistance ) {
+			secondDistance = distance;
+			secondIndex = index;
+		}
+	}
+
+	/**
+	 * Index of the closest descriptor or -1 if none were found
+	 */
+	public int getBestIndex() {
+		return bestIndex;
+	}
+
+	/**
+	 * Distance of the closest descriptor.  If none was found then it's equal to the threshold.
+	 */
+	public int getBestDistance() {
+		return bestDistance;
+	}
+
+	/**
+	 * Index of the second closest descriptor or -1 if none were found
+	 */
+	public int getSecondIndex() {
+		return secondIndex;
+	}
+
+	/**
+	 * Distance of the second closest descriptor.  If none was found then it's equal to the threshold.
+	 */
+	public int getSecondDistance() {
+		return secondDistance;
+	}
+
+	/**
+	 * Number of descriptors which were checked in the last search
+	 */
+	public int getNumChecks() {
+		return numChecks;
+	}
+
+	public int getNumDescriptors() {
+		return numDesc;
+	}
+
+	public int getNumBits() {
+		return numBits;
+	}
+
+	/**
+	 * Returns the array containing the packed descriptors
+	 */
+	public long[] getPacked() {
+		return packed;
+	}
+
+	public int getWordsPerDescriptor() {
+		return wordsPerDesc;
+	}
+}
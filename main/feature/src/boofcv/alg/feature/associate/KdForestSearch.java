@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <p>
+ * Searches for the two nearest neighbors of a point using a forest of randomized K-D trees.  When a node
+ * is split the dimension is randomly selected from the dimensions with the largest variance, making each tree
+ * different.  All trees are searched together in best-bin-first order using a single priority queue.  The
+ * search stops once the maximum number of points have been checked.  If the maximum number of checks is
+ * &le; 0 then the search continues until no unexplored node can contain a closer point, making it exact.
+ * </p>
+ *
+ * <p>
+ * The distance between two points is the Euclidean distance squared.  Both the closest and second closest
+ * point are found so that a ratio test can be applied.  Points are stored in a single array with one point
+ * after the other.
+ * </p>
+ *
+ * <p>
+ * Marius Muja and David G. Lowe, "Fast Approximate Nearest Neighbors with Automatic Algorithm Configuration",
+ * VISAPP 2009
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class KdForestSearch {
+
+	// maximum number of points in a leaf
+	private static final int MAX_LEAF_SIZE = 6;
+	// maximum number of points sampled when computing the variance of a node
+	private static final int MAX_VARIANCE_SAMPLES = 100;
+
+	// number of trees in the forest
+	private int numTrees;
+	// number of dimensions with the largest variance that the split is randomly selected from
+	private int numConsiderSplit;
+	// maximum number of points that are checked in a search.  If <= 0 then the search is exact
+	private int maxChecks;
+
+	private Random rand;
+
+	// points being searched
+	private double points[];
+	private int numPoints;
+	private int dof;
+
+	// index of root node for each tree
+	private int roots[];
+	// for each tree, indexes of points sorted so that points in the same leaf are next to each other
+	private int treeIndexes[][];
+
+	// description of each node.  For leafs splitDim is -1 and left,right are the range of points in treeIndexes
+	private int numNodes;
+	private int nodeTree[] = new int[0];
+	private int nodeSplitDim[] = new int[0];
+	private double nodeSplitValue[] = new double[0];
+	private int nodeLeft[] = new int[0];
+	private int nodeRight[] = new int[0];
+
+	// work space for computing the variance of each dimension
+	private double mean[] = new double[0];
+	private double variance[] = new double[0];
+	private int bestDims[] = new int[0];
+
+	// priority queue of nodes which have yet to be explored, sorted by the lower bound of their distance
+	private double heapBound[] = new double[16];
+	private int heapNode[] = new int[16];
+	private int heapSize;
+
+	// used to ensure the same point is not checked more than once in a search
+	private int visited[] = new int[0];
+	private int searchID;
+	private int numChecks;
+
+	// results of the most recent search
+	private int bestIndex;
+	private double bestDistance;
+	private int secondIndex;
+	private double secondDistance;
+
+	/**
+	 * Configures the search.
+	 *
+	 * @param numTrees Number of trees in the forest.  Try 4 for approximate search and 1 for exact.
+	 * @param numConsiderSplit Number of dimensions with the largest variance which are randomly selected from
+	 *                         when splitting.  If one then the dimension with the largest variance is used.  Try 5.
+	 * @param maxChecks Maximum number of points that are checked.  If &le; 0 then the search is exact.
+	 * @param randomSeed Seed for the random number generator.
+	 */
+	public KdForestSearch(int numTrees, int numConsiderSplit, int maxChecks, long randomSeed) {
+		if( numTrees < 1 )
+			throw new IllegalArgumentException("There must be at least one tree");
+		if( numConsiderSplit < 1 )
+			throw new IllegalArgumentException("numConsiderSplit must be at least one");
+		this.numTrees = numTrees;
+		this.numConsiderSplit = numConsiderSplit;
+		this.maxChecks = maxChecks;
+		this.rand = new Random(randomSeed);
+		this.roots = new int[numTrees];
+		this.treeIndexes = new int[numTrees][];
+	}
+
+	/**
+	 * Specifies the points which are to be searched and constructs the trees.  A reference to the array is saved
+	 * and it must not be modified until the next call.
+	 *
+	 * @param points Array containing all the points, one after another.
+	 * @param numPoints Number of points
+	 * @param dof Number of elements in each point
+	 */
+	public void setPoints( double points[] , int numPoints , int dof ) {
+		this.points = points;
+		this.numPoints = numPoints;
+		this.dof = dof;
+
+		if( mean.length < dof ) {
+			mean = new double[dof];
+			variance = new double[dof];
+			bestDims = new int[dof];
+		}
+		if( visited.length < numPoints ) {
+			visited = new int[numPoints];
+			searchID = 0;
+		}
+
+		numNodes = 0;
+		for( int tree = 0; tree < numTrees; tree++ ) {
+			int indexes[] = treeIndexes[tree];
+			if( indexes == null || indexes.length < numPoints )
+				treeIndexes[tree] = indexes = new int[numPoints];
+			for( int i = 0; i < numPoints; i++ )
+				indexes[i] = i;
+
+			roots[tree] = numPoints > 0 ? build(tree,indexes,0,numPoints) : -1;
+		}
+	}
+
+	/**
+	 * Recursively constructs the tree for the points in the specified range
+	 */
+	private int build( int tree , int indexes[] , int start , int end ) {
+		int node = createNode(tree);
+
+		if( end - start <= MAX_LEAF_SIZE ) {
+			nodeSplitDim[node] = -1;
+			nodeLeft[node] = start;
+			nodeRight[node] = end;
+			return node;
+		}
+
+		// split at the median of a dimension with a large variance
+		selectSplit(indexes, start, end);
+		int dim = nodeSplitDim[node] = bestDims[0];
+		int middle = (start+end)/2;
+		select(indexes,start,end,middle,dim);
+		nodeSplitValue[node] = points[indexes[middle]*dof + dim];
+
+		int left = build(tree,indexes,start,middle);
+		int right = build(tree,indexes,middle,end);
+		nodeLeft[node] = left;
+		nodeRight[node] = right;
+
+		return node;
+	}
+
+	/**
+	 * Selects the dimension which is split from the ones with the largest variance and saves it in bestDims[0].
+	 */
+	private void selectSplit( int indexes[] , int start , int end ) {
+		int N = Math.min(end-start,MAX_VARIANCE_SAMPLES);
+
+		Arrays.fill(mean,0,dof,0);
+		Arrays.fill(variance,0,dof,0);
+		for( int i = 0; i < N; i++ ) {
+			int offset = indexes[start+i]*dof;
+			for( int j = 0; j < dof; j++ )
+				mean[j] += points[offset+j];
+		}
+		for( int j = 0; j < dof; j++ )
+			mean[j] /= N;
+		for( int i = 0; i < N; i++ ) {
+			int offset = indexes[start+i]*dof;
+			for( int j = 0; j < dof; j++ ) {
+				double d = points[offset+j] - mean[j];
+				variance[j] += d*d;
+			}
+		}
+
+		// find the dimensions with the largest variance using insertion sort
+		int numBest = Math.min(numConsiderSplit,dof);
+		int found = 0;
+		for( int j = 0; j < dof; j++ ) {
+			double v = variance[j];
+			if( found == numBest && v <= variance[bestDims[found-1]] )
+				continue;
+			int k = found < numBest ? found++ : found-1;
+			while( k > 0 && variance[bestDims[k-1]] < v ) {
+				bestDims[k] = bestDims[k-1];
+				k--;
+			}
+			bestDims[k] = j;
+		}
+
+		if( numBest > 1 )
+			bestDims[0] = bestDims[rand.nextInt(numBest)];
+	}
+
+	/**
+	 * Quick select.  Rearranges the indexes so that the k-th element is in its sorted location, all elements
+	 * before it are less than or equal and all elements after it are greater than or equal.
+	 */
+	private void select( int indexes[] , int start , int end , int k , int dim ) {
+		int lo = start, hi = end-1;
+		while( lo < hi ) {
+			double pivot = points[indexes[(lo+hi)/2]*dof + dim];
+			int i = lo, j = hi;
+			while( i <= j ) {
+				while( points[indexes[i]*dof + dim] < pivot ) i++;
+				while( points[indexes[j]*dof + dim] > pivot ) j--;
+				if( i <= j ) {
+					int tmp = indexes[i]; indexes[i] = indexes[j]; indexes[j] = tmp;
+					i++; j--;
+				}
+			}
+			if( k <= j )
+				hi = j;
+			else if( k >= i )
+				lo = i;
+			else
+				break;
+		}
+	}
+
+	private int createNode( int tree ) {
+		if( numNodes == nodeTree.length ) {
+			int N = Math.max(16,numNodes*2);
+			nodeTree = Arrays.copyOf(nodeTree,N);
+			nodeSplitDim = Arrays.copyOf(nodeSplitDim,N);
+			nodeSplitValue = Arrays.copyOf(nodeSplitValue,N);
+			nodeLeft = Arrays.copyOf(nodeLeft,N);
+			nodeRight = Arrays.copyOf(nodeRight,N);
+		}
+		nodeTree[numNodes] = tree;
+		return numNodes++;
+	}
+
+	/**
+	 * Finds the two closest points to the query point.  Results are retrieved using {@link #getBestIndex()}
+	 * and related functions.
+	 *
+	 * @param query The point being searched for.
+	 * @param offset Index of the point's first element in the query array.
+	 * @return true if a match was found
+	 */
+	public boolean findNearest( double query[] , int offset ) {
+		bestIndex = secondIndex = -1;
+		bestDistance = secondDistance = Double.MAX_VALUE;
+		numChecks = 0;
+		heapSize = 0;
+
+		if( numPoints == 0 )
+			return false;
+
+		if( ++searchID == Integer.MAX_VALUE ) {
+			Arrays.fill(visited,0);
+			searchID = 1;
+		}
+
+		// go down each tree to the closest leaf first
+		for( int tree = 0; tree < numTrees; tree++ ) {
+			explore(roots[tree],query,offset,0);
+		}
+
+		// explore the most promising of the remaining branches
+		while( heapSize > 0 && (maxChecks <= 0 || numChecks < maxChecks) ) {
+			double bound = heapBound[0];
+			int node = popHeap();
+			if( bound >= secondDistance )
+				break;
+			explore(node,query,offset,bound);
+		}
+
+		return bestIndex >= 0;
+	}
+
+	/**
+	 * Descends down the tree to a leaf, checks all the points in the leaf and adds the branches not taken
+	 * to the priority queue.
+	 */
+	private void explore( int node , double query[] , int offset , double bound ) {
+		while( nodeSplitDim[node] >= 0 ) {
+			double diff = query[offset+nodeSplitDim[node]] - nodeSplitValue[node];
+			int near,far;
+			if( diff < 0 ) {
+				near = nodeLeft[node]; far = nodeRight[node];
+			} else {
+				near = nodeRight[node]; far = nodeLeft[node];
+			}
+			double farBound = Math.max(bound,diff*diff);
+			if( farBound < secondDistance )
+				pushHeap(far,farBound);
+			node = near;
+		}
+
+		int indexes[] = treeIndexes[nodeTree[node]];
+		for( int i = nodeLeft[node]; i < nodeRight[node]; i++ ) {
+			int index = indexes[i];
+			if( visited[index] == searchID )
+				continue;
+			visited[index] = searchID;
+			numChecks++;
+
+			double distance = distance(query,offset,index*dof);
+			if( distance < bestDistance ) {
+				secondDistance = bestDistance;
+				secondIndex = bestIndex;
+				bestDistance = distance;
+				bestIndex = index;
+			} else if( distance < secondDistance ) {
+				secondDistance = distance;
+				secondIndex = index;
+			}
+		}
+	}
+
+	private double distance( double query[] , int offsetQuery , int offsetPoint ) {
+		double total = 0;
+		for( int i = 0; i < dof; i++ ) {
+			double d = query[offsetQuery+i] - points[offsetPoint+i];
+			total += d*d;
+		}
+		return total;
+	}
+
+	private void pushHeap( int node , double bound ) {
+		if( heapSize == heapNode.length ) {
+			heapNode = Arrays.copyOf(heapNode,heapSize*2);
+			heapBound = Arrays.copyOf(heapBound,heapSize*2);
+		}
+		int i = heapSize++;
+		while( i > 0 ) {
+			int parent = (i-1)/2;
+			if( heapBound[parent] <= bound )
+				break;
+			heapBound[i] = heapBound[parent];
+			heapNode[i] = heapNode[parent];
+			i = parent;
+		}
+		heapBound[i] = bound;
+		heapNode[i] = node;
+	}
+
+	private int popHeap() {
+		int ret = heapNode[0];
+		heapSize--;
+		double bound = heapBound[heapSize];
+		int node = heapNode[heapSize];
+		int i = 0;
+		while( true ) {
+			int child = 2*i+1;
+			if( child >= heapSize )
+				break;
+			if( child+1 < heapSize && heapBound[child+1] < heapBound[child] )
+				child++;
+			if( bound <= heapBound[child] )
+				break;
+			heapBound[i] = heapBound[child];
+			heapNode[i] = heapNode[child];
+			i = child;
+		}
+		heapBound[i] = bound;
+		heapNode[i] = node;
+		return ret;
+	}
+
+	/**
+	 * Index of the closest point found in the last search.  -1 if none.
+	 */
+	public int getBestIndex() {
+		return bestIndex;
+	}
+
+	/**
+	 * Euclidean distance squared to the closest point
+	 */
+	public double getBestDistance() {
+		return bestDistance;
+	}
+
+	/**
+	 * Index of the second closest point found in the last search.  -1 if none.
+	 */
+	public int getSecondIndex() {
+		return secondIndex;
+	}
+
+	/**
+	 * Euclidean distance squared to the second closest point.  Double.MAX_VALUE if none.
+	 */
+	public double getSecondDistance() {
+		return secondDistance;
+	}
+
+	/**
+	 * Number of points which were checked in the last search
+	 */
+	public int getNumChecks() {
+		return numChecks;
+	}
+
+	public int getMaxChecks() {
+		return maxChecks;
+	}
+
+	public void setMaxChecks(int maxChecks) {
+		this.maxChecks = maxChecks;
+	}
+}
@@ -22,8 +22,16 @@ import boofcv.alg.feature.describe.DescribePointSift;
 import boofcv.alg.feature.detect.interest.SiftDetector;
 import boofcv.alg.feature.detect.interest.SiftImageScaleSpace;
 import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
+import boofcv.misc.StageTimer;
 import boofcv.struct.FastQueue;
 import boofcv.struct.GrowQueue_F64;
+import boofcv.struct.GrowQueue_I32;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.feature.SurfFeatureQueue;
@@ -34,6 +42,10 @@ import georegression.struct.point.Point2D_F64;
  * SIFT where detection, orientation estimation, and describing are done all at once.  This
  * allows the image pyramid to only be computed once.
  *
+ * Orientation estimation and describing can optionally be done in parallel, see {@link #setConcurrent}.
+ * First orientations are found for every detected point in parallel, then each feature is assigned a slot
+ * and the slots are described in parallel.  The output is identical to the single threaded output.
+ *
  * @see OrientationHistogramSift
  * @see SiftDetector
  * @see DescribePointSift
@@ -41,7 +53,7 @@ import georegression.struct.point.Point2D_F64;
  *
  * @author Peter Abeles
  */
-public class DetectDescribeSift {
+public class DetectDescribeSift implements ProfileStages {
 
 	// computes the image's scale-space
 	protected SiftImageScaleSpace ss;
@@ -57,6 +69,64 @@ public class DetectDescribeSift {
 	protected GrowQueue_F64 featureAngles;
 	protected FastQueue<Point2D_F64> location;
 
+	// reports how long each stage takes
+	protected StageTimer timer = new StageTimer(this);
+
+	// orientation and description algorithms for each thread.  null if not concurrent
+	protected InstancePool<Worker> workers;
+	// storage for concurrent processing.  orientations, image index, and pixel scale of each detected point
+	protected FastQueue<GrowQueue_F64> pointAngles = new FastQueue<GrowQueue_F64>(GrowQueue_F64.class,true);
+	protected GrowQueue_I32 pointImageIndex = new GrowQueue_I32(100);
+	protected GrowQueue_F64 pointPixelScale = new GrowQueue_F64(100);
+	// which detected point each feature came from
+	protected GrowQueue_I32 featurePoint = new GrowQueue_I32(100);
+
+	private final IntRangeTask orientationTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			Worker w = acquireWorker();
+			try {
+				FastQueue<ScalePoint> found = detector.getFoundPoints();
+				for( int i = start; i < end; i++ ) {
+					ScalePoint sp = found.data[i];
+					w.orientation.process(sp.x,sp.y,sp.scale);
+
+					GrowQueue_F64 angles = pointAngles.data[i];
+					angles.reset();
+					GrowQueue_F64 foundAngles = w.orientation.getOrientations();
+					for( int j = 0; j < foundAngles.size; j++ ) {
+						angles.push(foundAngles.data[j]);
+					}
+					pointImageIndex.data[i] = w.orientation.getImageIndex();
+					pointPixelScale.data[i] = w.orientation.getPixelScale();
+				}
+			} finally {
+				workers.release(w);
+			}
+		}
+	};
+
+	private final IntRangeTask describeTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			Worker w = acquireWorker();
+			try {
+				FastQueue<ScalePoint> found = detector.getFoundPoints();
+				for( int i = start; i < end; i++ ) {
+					int index = featurePoint.data[i];
+					ScalePoint sp = found.data[index];
+					SurfFeature desc = features.data[i];
+
+					w.describe.process(sp.x,sp.y,sp.scale,featureAngles.data[i],
+							pointImageIndex.data[index],pointPixelScale.data[index],desc);
+					desc.laplacianPositive = sp.white;
+				}
+			} finally {
+				workers.release(w);
+			}
+		}
+	};
+
 	public DetectDescribeSift(SiftImageScaleSpace ss,
 							  SiftDetector detector,
 							  OrientationHistogramSift orientation,
@@ -73,6 +143,33 @@ public class DetectDescribeSift {
 		location = new FastQueue<Point2D_F64>(100,Point2D_F64.class,true);
 	}
 
+	/**
+	 * Turns on concurrent orientation estimation and description.  New instances are created as needed for
+	 * each thread.  To turn it off pass in null for both.
+	 *
+	 * @param orientationFactory Creates orientation algorithms with the same configuration
+	 * @param describeFactory Creates description algorithms with the same configuration
+	 */
+	public void setConcurrent( final InstanceFactory<OrientationHistogramSift> orientationFactory ,
+							   final InstanceFactory<DescribePointSift> describeFactory ) {
+		if( orientationFactory == null || describeFactory == null ) {
+			workers = null;
+			return;
+		}
+
+		workers = new InstancePool<Worker>(new InstanceFactory<Worker>() {
+			@Override
+			public Worker newInstance() {
+				return new Worker(orientationFactory.newInstance(),describeFactory.newInstance());
+			}
+		});
+		workers.add(new Worker(orientation,describe));
+	}
+
+	public boolean isConcurrent() {
+		return workers != null;
+	}
+
 	/**
 	 * Processes the image and extracts SIFT features
 	 *
@@ -85,16 +182,27 @@ public class DetectDescribeSift {
 		featureAngles.reset();
 		location.reset();
 
+		timer.start();
 		ss.constructPyramid(input);
+		timer.stop("pyramid");
 		ss.computeFeatureIntensity();
+		timer.stop("intensity");
 		ss.computeDerivatives();
+		timer.stop("derivatives");
 
 		detector.process(ss);
-		orientation.setScaleSpace(ss);
-		describe.setScaleSpace(ss);
+		timer.stop("detect");
 
 		FastQueue<ScalePoint> found = detector.getFoundPoints();
 
+		if( workers != null ) {
+			describeConcurrent(found);
+			return;
+		}
+
+		orientation.setScaleSpace(ss);
+		describe.setScaleSpace(ss);
+
 		for( int i = 0; i < found.size; i++ ) {
 			ScalePoint sp = found.data[i];
 			orientation.process(sp.x,sp.y,sp.scale);
@@ -117,6 +225,51 @@ public class DetectDescribeSift {
 				location.grow().set(sp.x,sp.y);
 			}
 		}
+		timer.stop("describe");
+		timer.count("detected",found.size);
+		timer.count("described",features.size);
+	}
+
+	/**
+	 * Concurrent version of orientation estimation and description
+	 */
+	private void describeConcurrent( FastQueue<ScalePoint> found ) {
+		pointAngles.reset();
+		for( int i = 0; i < found.size; i++ ) {
+			pointAngles.grow();
+		}
+		pointImageIndex.resize(found.size);
+		pointPixelScale.resize(found.size);
+
+		BoofConcurrency.loopBlocks(0,found.size,10,orientationTask);
+
+		// assign a slot to each feature in the same order as the single threaded code
+		featurePoint.reset();
+		for( int i = 0; i < found.size; i++ ) {
+			ScalePoint sp = found.data[i];
+			GrowQueue_F64 angles = pointAngles.data[i];
+
+			for( int j = 0; j < angles.size; j++ ) {
+				features.grow();
+				featureScales.push(sp.scale);
+				featureAngles.push(angles.data[j]);
+				location.grow().set(sp.x,sp.y);
+				featurePoint.push(i);
+			}
+		}
+
+		BoofConcurrency.loopBlocks(0,features.size,10,describeTask);
+
+		timer.stop("describe");
+		timer.count("detected",found.size);
+		timer.count("described",features.size);
+	}
+
+	private Worker acquireWorker() {
+		Worker w = workers.acquire();
+		w.orientation.setScaleSpace(ss);
+		w.describe.setScaleSpace(ss);
+		return w;
 	}
 
 	public int getDescriptorLength() {
@@ -138,4 +291,26 @@ public class DetectDescribeSift {
 	public FastQueue<Point2D_F64> getLocation() {
 		return location;
 	}
+
+	/**
+	 * Also passes the profiler to the {@link SiftDetector}.
+	 */
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		timer.setProfiler(profiler);
+		detector.setStageProfiler(profiler);
+	}
+
+	/**
+	 * Algorithms used by a single thread
+	 */
+	protected static class Worker {
+		OrientationHistogramSift orientation;
+		DescribePointSift describe;
+
+		private Worker(OrientationHistogramSift orientation, DescribePointSift describe) {
+			this.orientation = orientation;
+			this.describe = describe;
+		}
+	}
 }
@@ -22,6 +22,9 @@ import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
+import boofcv.misc.StageTimer;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt8;
 import boofcv.struct.image.ImageSingleBand;
@@ -42,7 +45,7 @@ import java.util.List;
  *
  * @author Peter Abeles
  */
-public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
+public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> implements ProfileStages {
 
 	// blurs the input image
 	private BlurFilter<T> blur;
@@ -71,6 +74,9 @@ public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
 	private HysteresisEdgeTracePoints hysteresisPts; // saves a list of points
 	private HysteresisEdgeTraceMark hysteresisMark; // just marks a binary image
 
+	// reports how long each stage takes
+	private StageTimer timer = new StageTimer(this);
+
 	/**
 	 * Specify internal algorithms and behavior.
 	 *
@@ -123,14 +129,20 @@ public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
 		work.reshape(input.width,input.height);
 
 		// run canny edge detector
+		timer.start();
 		blur.process(input,blurred);
+		timer.stop("blur");
 		gradient.process(blurred,derivX,derivY);
+		timer.stop("gradient");
 		GGradientToEdgeFeatures.intensityAbs(derivX,derivY,intensity);
 		GGradientToEdgeFeatures.direction(derivX,derivY,angle);
 		GradientToEdgeFeatures.discretizeDirection4(angle,direction);
+		timer.stop("edgeFeatures");
 		GradientToEdgeFeatures.nonMaxSuppression4(intensity, direction, suppressed);
+		timer.stop("nonmax");
 
 		performThresholding(threshLow, threshHigh, output);
+		timer.stop("hysteresis");
 	}
 
 	protected void performThresholding(float threshLow, float threshHigh, ImageUInt8 output) {
@@ -154,4 +166,9 @@ public class CannyEdge<T extends ImageSingleBand, D extends ImageSingleBand> {
 	public List<EdgeContour> getContours() {
 		return hysteresisPts.getContours();
 	}
+
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		timer.setProfiler(profiler);
+	}
 }
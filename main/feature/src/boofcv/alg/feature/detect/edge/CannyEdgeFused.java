@@ -0,0 +1,705 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.detect.edge;
+
+import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.filter.derivative.GradientSobel;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.core.image.border.ImageBorder_I32;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
+import boofcv.misc.StageTimer;
+import boofcv.struct.BoofDefaults;
+import boofcv.struct.GrowQueue_I32;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.*;
+import georegression.struct.point.Point2D_I32;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Canny edge detector which produces the same output as {@link CannyEdge} configured with a Gaussian blur and
+ * a Sobel gradient, see {@link boofcv.factory.feature.detect.edge.FactoryEdgeDetectors#canny}, but with far
+ * fewer passes through memory.  The image is processed in horizontal bands.  Each band is blurred and its
+ * gradient computed, with just enough rows above and below it to make the results identical to processing
+ * the whole image.  Then edge intensity, the 4-direction and non-maximum suppression are computed together in a
+ * single pass over each row.  Only the suppressed intensity and the direction images are written out.  Bands
+ * can be processed in parallel.
+ * </p>
+ *
+ * <p>
+ * The suppressed intensity image has a one pixel border around it which can never pass the threshold.  This
+ * removes the bounds checks from hysteresis thresholding, which is done using a stack of pixel indexes.  All
+ * internal storage is recycled between calls.
+ * </p>
+ *
+ * <p>
+ * Supported image types are {@link ImageUInt8} with {@link ImageSInt16} derivatives and {@link ImageFloat32}
+ * with {@link ImageFloat32} derivatives.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CannyEdgeFused<T extends ImageSingleBand, D extends ImageSingleBand> implements ProfileStages {
+
+	// tangent of the angles where the 4-direction changes, with a margin for round off error
+	private static final float TAN_22_LOW = 0.41420f;
+	private static final float TAN_22_HIGH = 0.41423f;
+	private static final float TAN_67_LOW = 2.41420f;
+	private static final float TAN_67_HIGH = 2.41423f;
+
+	// radius of the Gaussian blur
+	private int blurRadius;
+	// are the thresholds relative to the largest edge intensity
+	private boolean dynamicThreshold;
+
+	// number of rows in each band
+	private int bandHeight = 64;
+
+	// should bands be processed in parallel
+	private boolean concurrent = false;
+
+	// suppressed edge intensity with a border of one pixel which can't pass the threshold
+	private ImageFloat32 suppressedPad = new ImageFloat32(1,1);
+	// quantized direction, same shape as suppressedPad
+	private ImageSInt8 directionPad = new ImageSInt8(1,1);
+	// views of the image inside the border
+	private ImageFloat32 suppressed;
+	private ImageSInt8 direction;
+
+	// the largest edge intensity after non-maximum suppression
+	private float maxIntensity;
+
+	// saves a list of points along each contour.  null if only marking a binary image
+	private HysteresisEdgeTracePoints hysteresisPts;
+
+	// pixels which have been marked, but whose neighbors have yet to be explored
+	private GrowQueue_I32 open = new GrowQueue_I32();
+	// index of the pixel which is currently being examined
+	private int active;
+	// used when marking the output image
+	private float lower;
+	private ImageUInt8 output;
+
+	// storage for each thread
+	private InstancePool<Band> bands;
+
+	// reports how long each stage takes
+	private StageTimer timer = new StageTimer(this);
+
+	/**
+	 * Configures the detector
+	 *
+	 * @param blurRadius Radius of the Gaussian blur applied to the input image.
+	 * @param saveTrace Should it save a list of points that compose the objects contour/trace?
+	 * @param dynamicThreshold If true then the thresholds have a range from 0 to 1 and are relative to the
+	 * maximum edge intensity, if false then they are absolute intensity values.
+	 * @param imageType Type of input image.
+	 * @param derivType Type of image derivative.
+	 */
+	public CannyEdgeFused(int blurRadius, boolean saveTrace, boolean dynamicThreshold,
+						  final Class<T> imageType, final Class<D> derivType ) {
+		if( imageType == ImageUInt8.class ) {
+			if( derivType != ImageSInt16.class )
+				throw new IllegalArgumentException("Derivative type must be ImageSInt16 for ImageUInt8 input");
+		} else if( imageType == ImageFloat32.class ) {
+			if( derivType != ImageFloat32.class )
+				throw new IllegalArgumentException("Derivative type must be ImageFloat32 for ImageFloat32 input");
+		} else {
+			throw new IllegalArgumentException("Unsupported image type: "+imageType.getSimpleName());
+		}
+
+		this.blurRadius = blurRadius;
+		this.dynamicThreshold = dynamicThreshold;
+
+		if( saveTrace )
+			hysteresisPts = new HysteresisEdgeTracePoints();
+
+		bands = new InstancePool<Band>(new InstanceFactory<Band>() {
+			@Override
+			public Band newInstance() {
+				if( imageType == ImageUInt8.class )
+					return new BandU8();
+				else
+					return new BandF32();
+			}
+		});
+	}
+
+	/**
+	 * Runs a canny edge detector on the input image given the provided thresholds.  If configured to save
+	 * a list of trace points then the output image is optional.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param threshLow Lower threshold.
+	 * @param threshHigh Upper threshold.
+	 * @param output (Might be option) Output binary image.  Edge pixels are marked with 1 and everything else 0.
+	 */
+	public void process( final T input , float threshLow, float threshHigh , ImageUInt8 output ) {
+		if( hysteresisPts == null && output == null )
+			throw new IllegalArgumentException("An output image must be specified when configured to mark edge points");
+		if( output != null && (output.width != input.width || output.height != input.height) )
+			throw new IllegalArgumentException("Output image must be the same shape as the input image");
+
+		declareStorage(input.width, input.height);
+
+		for( Band b : bands.getAll() )
+			b.max = 0;
+
+		timer.start();
+		IntRangeTask task = new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				Band b = bands.acquire();
+				try {
+					for( int y0 = start; y0 < end; y0 += bandHeight ) {
+						b.process(input, y0, Math.min(end, y0 + bandHeight));
+					}
+				} finally {
+					bands.release(b);
+				}
+			}
+		};
+		if( concurrent )
+			BoofConcurrency.loopBlocks(0,input.height,bandHeight,task);
+		else
+			task.process(0,input.height);
+
+		maxIntensity = 0;
+		for( Band b : bands.getAll() )
+			maxIntensity = Math.max(maxIntensity, b.max);
+		timer.stop("edgeFeatures");
+
+		if( dynamicThreshold ) {
+			threshLow *= maxIntensity;
+			threshHigh *= maxIntensity;
+		}
+
+		if( hysteresisPts != null ) {
+			hysteresisPts.process(suppressed,direction,threshLow,threshHigh);
+
+			// if there is an output image write the contour to it
+			if( output != null ) {
+				ImageMiscOps.fill(output, 0);
+				for( EdgeContour e : hysteresisPts.getContours() ) {
+					for( EdgeSegment s : e.segments)
+						for( Point2D_I32 p : s.points )
+							output.unsafe_set(p.x,p.y,1);
+				}
+			}
+		} else {
+			hysteresisMark(threshLow, threshHigh, output);
+		}
+		timer.stop("hysteresis");
+	}
+
+	/**
+	 * Resizes the padded images and fills in their border
+	 */
+	private void declareStorage( int width , int height ) {
+		if( suppressed != null && suppressed.width == width && suppressed.height == height )
+			return;
+
+		suppressedPad.reshape(width+2,height+2);
+		directionPad.reshape(width+2,height+2);
+		suppressed = suppressedPad.subimage(1,1,width+1,height+1);
+		direction = directionPad.subimage(1,1,width+1,height+1);
+
+		// the border is never written to after this.  Negative infinity will fail any threshold test
+		ImageMiscOps.fill(suppressedPad,Float.NEGATIVE_INFINITY);
+	}
+
+	/**
+	 * Marks pixels in the output image using hysteresis thresholding.  Produces the same output as
+	 * {@link HysteresisEdgeTraceMark}.
+	 */
+	private void hysteresisMark( float lower , float upper , ImageUInt8 output ) {
+		this.lower = lower;
+		this.output = output;
+		ImageMiscOps.fill(output,0);
+
+		final float[] intensity = suppressedPad.data;
+		final int stride = suppressedPad.stride;
+
+		for( int y = 0; y < suppressed.height; y++ ) {
+			int index = (y+1)*stride + 1;
+			int end = index + suppressed.width;
+			for( ; index < end; index++ ) {
+				// start a search if a pixel is found that's above the threshold
+				if( intensity[index] >= upper ) {
+					trace(index);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Traces along object's contour starting at the specified seed.  See {@link HysteresisEdgeTraceMark}
+	 */
+	private void trace( int seed ) {
+		final float[] intensity = suppressedPad.data;
+		final byte[] dirs = directionPad.data;
+		final int stride = suppressedPad.stride;
+
+		open.reset();
+		open.push(seed);
+		mark(seed);
+		intensity[seed] = 0;
+
+		while( open.size > 0 ) {
+			active = open.pop();
+
+			boolean first = true;
+
+			while( true ) {
+				//----- First check along the direction of the edge.  Only need to check 2 points this way
+				int step;
+				switch( dirs[active] ) {
+					case  0: step = stride; break;
+					case  1: step = 1 - stride; break;
+					case  2: step = 1; break;
+					case -1: step = 1 + stride; break;
+					default: throw new RuntimeException("Unknown direction: "+dirs[active]);
+				}
+
+				int indexForward = active + step;
+				int indexBackward = active - step;
+				int prevActive = active;
+
+				boolean match = false;
+
+				if( intensity[indexForward] >= lower ) {
+					intensity[indexForward] = 0;
+					mark(indexForward);
+					active = indexForward;
+					match = true;
+				}
+				if( intensity[indexBackward] >= lower ) {
+					intensity[indexBackward] = 0;
+					mark(indexBackward);
+					if( match ) {
+						open.push(indexBackward);
+					} else {
+						active = indexBackward;
+						match = true;
+					}
+				}
+
+				if( first || !match ) {
+					// Check local neighbors if its one of the end points, which would be the first point or
+					// any point for which no matches were found
+					match = checkAllNeighbors(prevActive,stride,match);
+
+					if( !match )
+						break;
+					else
+						first = false;
+				}
+			}
+		}
+	}
+
+	private boolean checkAllNeighbors( int index , int stride , boolean match ) {
+		match |= check(index+1,match);
+		match |= check(index+stride,match);
+		match |= check(index-1,match);
+		match |= check(index-stride,match);
+
+		match |= check(index+stride+1,match);
+		match |= check(index-stride+1,match);
+		match |= check(index+stride-1,match);
+		match |= check(index-stride-1,match);
+
+		return match;
+	}
+
+	/**
+	 * Checks to see if the pixel is above the lower threshold.  If it is the point will be
+	 * added to the current segment or be the start of a new segment.
+	 */
+	private boolean check( int index , boolean match ) {
+		float[] intensity = suppressedPad.data;
+		if( intensity[index] >= lower ) {
+			intensity[index] = 0;
+			mark(index);
+
+			if( match ) {
+				open.push(index);
+			} else {
+				active = index;
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Marks the pixel in the output image which corresponds to the index in the padded image
+	 */
+	private void mark( int index ) {
+		int stride = suppressedPad.stride;
+		int y = index/stride - 1;
+		int x = index - (y+1)*stride - 1;
+		output.data[output.startIndex + y*output.stride + x] = 1;
+	}
+
+	/**
+	 * Quantizes the gradient into one of the 4 directions.  Equivalent to computing the angle using
+	 * {@link GradientToEdgeFeatures#direction} then calling {@link GradientToEdgeFeatures#discretizeDirection4}.
+	 */
+	private static byte direction4( int dx , int dy ) {
+		if( dx == 0 )
+			return 2;
+
+		float adx = Math.abs(dx);
+		float ady = Math.abs(dy);
+
+		if( ady < adx*TAN_22_LOW )
+			return 0;
+		else if( ady > adx*TAN_67_HIGH )
+			return 2;
+		else if( ady > adx*TAN_22_HIGH && ady < adx*TAN_67_LOW )
+			return (byte)((dx > 0) == (dy > 0) ? 1 : -1);
+
+		// too close to the boundary between two directions to be sure, do it the slow way
+		return discretize((float)Math.atan((double)dy/(double)dx));
+	}
+
+	/**
+	 * @see #direction4(int, int)
+	 */
+	private static byte direction4( float dx , float dy ) {
+		if( Math.abs(dx) < 1e-10f )
+			return 2;
+
+		float adx = Math.abs(dx);
+		float ady = Math.abs(dy);
+
+		if( ady < adx*TAN_22_LOW )
+			return 0;
+		else if( ady > adx*TAN_67_HIGH )
+			return 2;
+		else if( ady > adx*TAN_22_HIGH && ady < adx*TAN_67_LOW )
+			return (byte)((dx > 0) == (dy > 0) ? 1 : -1);
+
+		return discretize((float)Math.atan(dy/dx));
+	}
+
+	/**
+	 * Same as {@link GradientToEdgeFeatures#discretizeDirection4} for a single angle
+	 */
+	private static byte discretize( float a ) {
+		final float A = (float)(Math.PI/8.0);
+		final float B = (float)(Math.PI/4.0);
+
+		int val;
+		if( a >= 0 ) {
+			val = (int)((a+A)/B);
+		} else {
+			val = (int)((a-A)/B);
+		}
+		return (byte)(val == -2 ? 2 : val);
+	}
+
+	/**
+	 * List of contours found.  Only available if configured to save the trace.
+	 */
+	public List<EdgeContour> getContours() {
+		return hysteresisPts.getContours();
+	}
+
+	/**
+	 * Largest edge intensity after non-maximum suppression in the most recently processed image.
+	 */
+	public float getMaxIntensity() {
+		return maxIntensity;
+	}
+
+	/**
+	 * If true then bands of the image are processed in parallel.
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	public int getBandHeight() {
+		return bandHeight;
+	}
+
+	/**
+	 * Number of rows which are processed together.  Smaller bands use less memory but require more rows
+	 * to be processed twice.
+	 */
+	public void setBandHeight(int bandHeight) {
+		if( bandHeight < 1 )
+			throw new IllegalArgumentException("Band height must be at least 1");
+		this.bandHeight = bandHeight;
+	}
+
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		timer.setProfiler(profiler);
+	}
+
+	/**
+	 * Storage and processing for a band of rows.  Used by a single thread.
+	 */
+	private abstract class Band {
+		// edge intensity of the rows above, at, and below the current row.  Padded with zeros on both sides
+		float rowPrev[] = new float[0];
+		float rowCurr[] = new float[0];
+		float rowNext[] = new float[0];
+
+		// largest suppressed intensity seen by this band
+		float max;
+
+		// first row in the image that the derivative images correspond to
+		int derivRow0;
+
+		/**
+		 * Computes the suppressed intensity and direction of every pixel in rows [y0,y1)
+		 */
+		void process( T input , int y0 , int y1 ) {
+			final int w = input.width;
+			final int h = input.height;
+
+			// rows in the gradient, which needs one extra row above and below the band for non-maximum
+			// suppression, and the Sobel operator's image border is only correct at the true image border
+			int b0 = Math.max(0,y0-2);
+			int b1 = Math.min(h,y1+2);
+			// rows in the input image which the blur needs
+			int a0 = Math.max(0,b0-blurRadius);
+			int a1 = Math.min(h,b1+blurRadius);
+			// normalized convolution uses a different algorithm when the kernel is larger than the image
+			int minRows = 2*blurRadius+2;
+			if( a1-a0 < minRows ) {
+				a0 = Math.max(0,a1-minRows);
+				a1 = Math.min(h,a0+minRows);
+			}
+
+			derivRow0 = b0;
+			blurGradient(input,a0,a1,b0,b1);
+
+			if( rowPrev.length != w+2 ) {
+				rowPrev = new float[w+2];
+				rowCurr = new float[w+2];
+				rowNext = new float[w+2];
+			}
+
+			if( y0 > 0 )
+				intensityRow(y0-1,rowPrev);
+			else
+				Arrays.fill(rowPrev,0);
+			intensityRow(y0,rowCurr);
+
+			final float[] outSupp = suppressedPad.data;
+			final byte[] outDir = directionPad.data;
+			final int stride = suppressedPad.stride;
+
+			for( int y = y0; y < y1; y++ ) {
+				if( y+1 < h )
+					intensityRow(y+1,rowNext);
+				else
+					Arrays.fill(rowNext,0);
+
+				int indexOut = (y+1)*stride + 1;
+				directionRow(y,outDir,indexOut);
+
+				final float[] prev = rowPrev, curr = rowCurr, next = rowNext;
+				for( int x = 0; x < w; x++ , indexOut++ ) {
+					float middle = curr[x+1];
+					float a,b;
+					switch( outDir[indexOut] ) {
+						case 0:  a = curr[x]; b = curr[x+2]; break;
+						case 1:  a = prev[x]; b = next[x+2]; break;
+						case 2:  a = prev[x+1]; b = next[x+1]; break;
+						default: a = next[x]; b = prev[x+2]; break;
+					}
+
+					// suppress the value if either of its neighboring values are more than it
+					if( a > middle || b > middle ) {
+						outSupp[indexOut] = 0;
+					} else {
+						outSupp[indexOut] = middle;
+						if( middle > max )
+							max = middle;
+					}
+				}
+
+				// recycle the rows
+				float[] tmp = rowPrev;
+				rowPrev = rowCurr;
+				rowCurr = rowNext;
+				rowNext = tmp;
+			}
+		}
+
+		/**
+		 * Blurs input rows [a0,a1) and computes the gradient of rows [b0,b1)
+		 */
+		abstract void blurGradient( T input , int a0 , int a1 , int b0 , int b1 );
+
+		/**
+		 * Computes the edge intensity of an image row and writes it starting at element 1
+		 */
+		abstract void intensityRow( int y , float[] output );
+
+		/**
+		 * Computes the 4-direction of an image row
+		 */
+		abstract void directionRow( int y , byte[] output , int offset );
+	}
+
+	private class BandU8 extends Band {
+		Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,-1,blurRadius);
+		ImageBorder_I32<ImageUInt8> border = (ImageBorder_I32)FactoryImageBorder.general(
+				ImageUInt8.class, BoofDefaults.DERIV_BORDER_TYPE);
+
+		ImageUInt8 inputView = new ImageUInt8();
+		ImageUInt8 storage = new ImageUInt8(1,1);
+		ImageUInt8 blurred = new ImageUInt8(1,1);
+		ImageUInt8 blurredView = new ImageUInt8();
+		ImageSInt16 derivX = new ImageSInt16(1,1);
+		ImageSInt16 derivY = new ImageSInt16(1,1);
+
+		@Override
+		void blurGradient(T _input, int a0, int a1, int b0, int b1) {
+			ImageUInt8 input = (ImageUInt8)_input;
+			int w = input.width;
+
+			inputView.data = input.data;
+			inputView.startIndex = input.startIndex + a0*input.stride;
+			inputView.stride = input.stride;
+			inputView.width = w;
+			inputView.height = a1-a0;
+
+			storage.reshape(w,a1-a0);
+			blurred.reshape(w,a1-a0);
+			ConvolveNormalized.horizontal(kernel,inputView,storage);
+			ConvolveNormalized.vertical(kernel,storage,blurred);
+
+			blurredView.data = blurred.data;
+			blurredView.startIndex = (b0-a0)*blurred.stride;
+			blurredView.stride = blurred.stride;
+			blurredView.width = w;
+			blurredView.height = b1-b0;
+
+			derivX.reshape(w,b1-b0);
+			derivY.reshape(w,b1-b0);
+			GradientSobel.process(blurredView,derivX,derivY,border);
+		}
+
+		@Override
+		void intensityRow(int y, float[] output) {
+			short[] dataX = derivX.data;
+			short[] dataY = derivY.data;
+			int index = (y-derivRow0)*derivX.stride;
+			int w = derivX.width;
+			for( int x = 1; x <= w; x++ , index++ ) {
+				output[x] = Math.abs(dataX[index]) + Math.abs(dataY[index]);
+			}
+		}
+
+		@Override
+		void directionRow(int y, byte[] output, int offset) {
+			short[] dataX = derivX.data;
+			short[] dataY = derivY.data;
+			int index = (y-derivRow0)*derivX.stride;
+			int end = offset + derivX.width;
+			for( ; offset < end; offset++ , index++ ) {
+				output[offset] = direction4((int)dataX[index],(int)dataY[index]);
+			}
+		}
+	}
+
+	private class BandF32 extends Band {
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,blurRadius);
+		ImageBorder_F32 border = (ImageBorder_F32)FactoryImageBorder.general(
+				ImageFloat32.class, BoofDefaults.DERIV_BORDER_TYPE);
+
+		ImageFloat32 inputView = new ImageFloat32();
+		ImageFloat32 storage = new ImageFloat32(1,1);
+		ImageFloat32 blurred = new ImageFloat32(1,1);
+		ImageFloat32 blurredView = new ImageFloat32();
+		ImageFloat32 derivX = new ImageFloat32(1,1);
+		ImageFloat32 derivY = new ImageFloat32(1,1);
+
+		@Override
+		void blurGradient(T _input, int a0, int a1, int b0, int b1) {
+			ImageFloat32 input = (ImageFloat32)_input;
+			int w = input.width;
+
+			inputView.data = input.data;
+			inputView.startIndex = input.startIndex + a0*input.stride;
+			inputView.stride = input.stride;
+			inputView.width = w;
+			inputView.height = a1-a0;
+
+			storage.reshape(w,a1-a0);
+			blurred.reshape(w,a1-a0);
+			ConvolveNormalized.horizontal(kernel,inputView,storage);
+			ConvolveNormalized.vertical(kernel,storage,blurred);
+
+			blurredView.data = blurred.data;
+			blurredView.startIndex = (b0-a0)*blurred.stride;
+			blurredView.stride = blurred.stride;
+			blurredView.width = w;
+			blurredView.height = b1-b0;
+
+			derivX.reshape(w,b1-b0);
+			derivY.reshape(w,b1-b0);
+			GradientSobel.process(blurredView,derivX,derivY,border);
+		}
+
+		@Override
+		void intensityRow(int y, float[] output) {
+			float[] dataX = derivX.data;
+			float[] dataY = derivY.data;
+			int index = (y-derivRow0)*derivX.stride;
+			int w = derivX.width;
+			for( int x = 1; x <= w; x++ , index++ ) {
+				output[x] = Math.abs(dataX[index]) + Math.abs(dataY[index]);
+			}
+		}
+
+		@Override
+		void directionRow(int y, byte[] output, int offset) {
+			float[] dataX = derivX.data;
+			float[] dataY = derivY.data;
+			int index = (y-derivRow0)*derivX.stride;
+			int end = offset + derivX.width;
+			for( ; offset < end; offset++ , index++ ) {
+				output[offset] = direction4(dataX[index],dataY[index]);
+			}
+		}
+	}
+}
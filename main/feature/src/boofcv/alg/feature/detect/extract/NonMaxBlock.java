@@ -18,9 +18,16 @@
 
 package boofcv.alg.feature.detect.extract;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * <p>
  * Non-maximum extractor based on the block algorithm in [1].  The worst case complexity per
@@ -36,6 +43,12 @@ import boofcv.struct.image.ImageFloat32;
  * </p>
  *
  * <p>
+ * Concurrent mode, see {@link #setConcurrent}: Each row of blocks is searched by a worker into its own
+ * list of features.  The lists are then merged in row order, so the output is identical to the single
+ * threaded output.
+ * </p>
+ *
+ * <p>
  * [1] Neubeck, A. and Van Gool, L. "Efficient non-maximum suppression" ICPR 2006
  * </p>
  *
@@ -63,6 +76,11 @@ public abstract class NonMaxBlock {
 	public boolean detectsMinimum;
 	public boolean detectsMaximum;
 
+	// algorithm instances for each thread.  null if not concurrent
+	private InstancePool<NonMaxBlock> workers;
+	// features found inside each row of blocks in concurrent mode
+	private List<QueueCorner> rowsMin = new ArrayList<QueueCorner>();
+	private List<QueueCorner> rowsMax = new ArrayList<QueueCorner>();
 
 	protected NonMaxBlock(boolean detectsMinimum, boolean detectsMaximum) {
 		this.detectsMinimum = detectsMinimum;
@@ -84,20 +102,95 @@ public abstract class NonMaxBlock {
 		endX = intensityImage.width-border;
 		endY = intensityImage.height-border;
 
+		if( workers != null ) {
+			processConcurrent(intensityImage);
+			return;
+		}
+
 		int step = radius+1;
 
 		for( int y = border; y < endY; y += step ) {
-			int y1 = y + step;
-			if( y1 > endY ) y1 = endY;
+			searchRow(y, intensityImage);
+		}
+	}
+
+	/**
+	 * Searches the row of blocks which starts at the specified y-coordinate
+	 */
+	protected void searchRow( int y , ImageFloat32 intensityImage ) {
+		int step = radius+1;
+		int y1 = y + step;
+		if( y1 > endY ) y1 = endY;
+
+		for( int x = border; x < endX; x += step ) {
+			int x1 = x + step;
+			if( x1 > endX ) x1 = endX;
+			searchBlock(x,y,x1,y1,intensityImage);
+		}
+	}
 
-			for( int x = border; x < endX; x += step ) {
-				int x1 = x + step;
-				if( x1 > endX ) x1 = endX;
-				searchBlock(x,y,x1,y1,intensityImage);
+	private void processConcurrent( final ImageFloat32 intensityImage ) {
+		final int step = radius+1;
+		int numRows = endY > border ? (endY-border+step-1)/step : 0;
+
+		while( rowsMin.size() < numRows ) {
+			rowsMin.add(new QueueCorner(10));
+			rowsMax.add(new QueueCorner(10));
+		}
+
+		BoofConcurrency.loopBlocks(0,numRows,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				NonMaxBlock alg = workers.acquire();
+				try {
+					// use the setters so that sub-classes can update their internal storage
+					alg.setSearchRadius(radius);
+					alg.setThresholdMin(thresholdMin);
+					alg.setThresholdMax(thresholdMax);
+					alg.setBorder(border);
+					alg.endX = endX;
+					alg.endY = endY;
+
+					for( int row = start; row < end; row++ ) {
+						alg.localMin = rowsMin.get(row);
+						alg.localMax = rowsMax.get(row);
+						alg.localMin.reset();
+						alg.localMax.reset();
+						alg.searchRow(border + row*step, intensityImage);
+					}
+				} finally {
+					workers.release(alg);
+				}
 			}
+		});
+
+		// merge in the same order as the single threaded algorithm
+		for( int row = 0; row < numRows; row++ ) {
+			if( localMin != null )
+				localMin.addAll(rowsMin.get(row));
+			if( localMax != null )
+				localMax.addAll(rowsMax.get(row));
 		}
 	}
 
+	/**
+	 * Turns on concurrent processing.  To turn it off pass in null.  The factory must create instances of the
+	 * same type as this one.  Their settings are copied from this instance each time process is called.
+	 *
+	 * @param factory Creates an instance of the algorithm for each thread.
+	 */
+	public void setConcurrent( InstanceFactory<NonMaxBlock> factory ) {
+		if( factory == null ) {
+			workers = null;
+		} else {
+			workers = new InstancePool<NonMaxBlock>(factory);
+		}
+	}
+
+	public boolean isConcurrent() {
+		return workers != null;
+	}
+
 	protected abstract void searchBlock( int x0 , int y0 , int x1 , int y1 , ImageFloat32 img );
 
 
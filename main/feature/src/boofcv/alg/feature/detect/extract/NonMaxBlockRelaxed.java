@@ -212,6 +212,10 @@ public abstract class NonMaxBlockRelaxed extends NonMaxBlock {
 
 		int w = 2* radius +1;
 
+		// storage is only declared when the size changes, since this is called each time in concurrent mode
+		if( foundMax != null && foundMax.length == w*w )
+			return;
+
 		foundMax = new Point2D_I32[w*w];
 		for( int i = 0; i < foundMax.length; i++ )
 			foundMax[i] = new Point2D_I32();
@@ -18,15 +18,28 @@
 
 package boofcv.alg.feature.detect.extract;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
 import georegression.struct.point.Point2D_I16;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * <p/>
  * Performs a sparse search for local minimums/maximums by only examine around candidates.
  * <p/>
  *
+ * <p>
+ * Concurrent mode, see {@link #setConcurrent}: The candidate list is broken up into fixed size chunks which are
+ * examined by workers into their own list.  The lists are merged in order, so the output is identical to the
+ * single threaded output.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public abstract class NonMaxCandidate {
@@ -45,6 +58,13 @@ public abstract class NonMaxCandidate {
 	// local area that's examined and cropped for the image border
 	int x0,y0,x1,y1;
 
+	// number of candidates in each chunk in concurrent mode
+	private static final int CHUNK_SIZE = 256;
+	// algorithm instances for each thread.  null if not concurrent
+	private InstancePool<NonMaxCandidate> workers;
+	// features found from each chunk of candidates in concurrent mode
+	private List<QueueCorner> chunks = new ArrayList<QueueCorner>();
+
 	public NonMaxCandidate() {
 	}
 
@@ -62,18 +82,68 @@ public abstract class NonMaxCandidate {
 		endX = intensityImage.width-ignoreBorder;
 		endY = intensityImage.height-ignoreBorder;
 
-		if( candidatesMin != null )
-			examineMinimum(intensityImage,candidatesMin,foundMin);
-		if( candidatesMax != null )
-			examineMaximum(intensityImage,candidatesMax,foundMax);
+		if( workers != null ) {
+			if( candidatesMin != null )
+				examineConcurrent(intensityImage,candidatesMin,foundMin,false);
+			if( candidatesMax != null )
+				examineConcurrent(intensityImage,candidatesMax,foundMax,true);
+		} else {
+			if( candidatesMin != null )
+				examineMinimum(intensityImage,candidatesMin,0,candidatesMin.size,foundMin);
+			if( candidatesMax != null )
+				examineMaximum(intensityImage,candidatesMax,0,candidatesMax.size,foundMax);
+		}
+	}
 
+	private void examineConcurrent( final ImageFloat32 intensityImage , final QueueCorner candidates ,
+									QueueCorner found , final boolean maximum ) {
+		final int numChunks = (candidates.size+CHUNK_SIZE-1)/CHUNK_SIZE;
+
+		while( chunks.size() < numChunks )
+			chunks.add(new QueueCorner(10));
+
+		BoofConcurrency.loopBlocks(0,numChunks,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				NonMaxCandidate alg = workers.acquire();
+				try {
+					// use the setters so that sub-classes can update their internal storage
+					alg.setSearchRadius(radius);
+					alg.setThresholdMin(thresholdMin);
+					alg.setThresholdMax(thresholdMax);
+					alg.setBorder(ignoreBorder);
+					alg.input = input;
+					alg.endX = endX;
+					alg.endY = endY;
+
+					for( int chunk = start; chunk < end; chunk++ ) {
+						QueueCorner output = chunks.get(chunk);
+						output.reset();
+						int idx0 = chunk*CHUNK_SIZE;
+						int idx1 = Math.min(candidates.size,idx0+CHUNK_SIZE);
+						if( maximum )
+							alg.examineMaximum(intensityImage,candidates,idx0,idx1,output);
+						else
+							alg.examineMinimum(intensityImage,candidates,idx0,idx1,output);
+					}
+				} finally {
+					workers.release(alg);
+				}
+			}
+		});
+
+		// merge in the same order as the single threaded algorithm
+		for( int chunk = 0; chunk < numChunks; chunk++ ) {
+			found.addAll(chunks.get(chunk));
+		}
 	}
 
-	protected void examineMinimum( ImageFloat32 intensityImage , QueueCorner candidates , QueueCorner found ) {
+	protected void examineMinimum( ImageFloat32 intensityImage , QueueCorner candidates ,
+								   int start , int end , QueueCorner found ) {
 		final int stride = intensityImage.stride;
 		final float inten[] = intensityImage.data;
 
-		for (int iter = 0; iter < candidates.size; iter++) {
+		for (int iter = start; iter < end; iter++) {
 			Point2D_I16 pt = candidates.data[iter];
 
 			if( pt.x < ignoreBorder || pt.y < ignoreBorder || pt.x >= endX || pt.y >= endY )
@@ -94,11 +164,12 @@ public abstract class NonMaxCandidate {
 		}
 	}
 
-	protected void examineMaximum( ImageFloat32 intensityImage , QueueCorner candidates , QueueCorner found ) {
+	protected void examineMaximum( ImageFloat32 intensityImage , QueueCorner candidates ,
+								   int start , int end , QueueCorner found ) {
 		final int stride = intensityImage.stride;
 		final float inten[] = intensityImage.data;
 
-		for (int iter = 0; iter < candidates.size; iter++) {
+		for (int iter = start; iter < end; iter++) {
 			Point2D_I16 pt = candidates.data[iter];
 
 			if( pt.x < ignoreBorder || pt.y < ignoreBorder || pt.x >= endX || pt.y >= endY )
@@ -119,6 +190,24 @@ public abstract class NonMaxCandidate {
 		}
 	}
 
+	/**
+	 * Turns on concurrent processing.  To turn it off pass in null.  The factory must create instances of the
+	 * same type as this one.  Their settings are copied from this instance each time process is called.
+	 *
+	 * @param factory Creates an instance of the algorithm for each thread.
+	 */
+	public void setConcurrent( InstanceFactory<NonMaxCandidate> factory ) {
+		if( factory == null ) {
+			workers = null;
+		} else {
+			workers = new InstancePool<NonMaxCandidate>(factory);
+		}
+	}
+
+	public boolean isConcurrent() {
+		return workers != null;
+	}
+
 	protected abstract boolean searchMin( int center , float val );
 	protected abstract boolean searchMax( int center , float val );
 
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.struct.GrowQueue_I32;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import georegression.struct.point.Point2D_I16;
+import org.ddogleg.sorting.QuickSelectArray;
+
+/**
+ * <p>
+ * Selects features so that they are spread out across the image.  The image is broken up into a grid of square
+ * buckets and up to 'maxPerBucket' of the most intense features are selected inside each bucket.  Features
+ * are sorted into buckets with a counting sort and the best in each bucket are found using quick select,
+ * so the run time is linear in the number of features.
+ * </p>
+ *
+ * <p>
+ * Optionally a list of features which are already being used, e.g. active tracks, can be provided.  They
+ * count against the number of features a bucket can have.
+ * </p>
+ *
+ * <p>
+ * If more than the target number of features remain after bucketing then the total is reduced by either
+ * selecting the most intense or by using adaptive non-maximal suppression (ANMS) [1].  ANMS computes the
+ * distance from each feature to the closest more intense feature and keeps the features with the largest
+ * distance.  ANMS is O(N<sup>2</sup>) in the number of features which remain after bucketing.
+ * </p>
+ *
+ * <p>
+ * [1] M. Brown, R. Szeliski, and S. Winder, "Multi-Image Matching using Multi-Scale Oriented Patches" CVPR 2005
+ * </p>
+ *
+ * @see SelectNBestFeatures
+ *
+ * @author Peter Abeles
+ */
+public class SelectBucketedFeatures {
+
+	// width of a bucket in pixels
+	int bucketWidth;
+	// maximum number of features in a bucket
+	int maxPerBucket;
+	// should ANMS be used to reduce the total number of features
+	boolean adaptive;
+
+	// list of selected features
+	QueueCorner bestCorners = new QueueCorner(10);
+
+	// shape of the grid
+	int cols, rows;
+	// index of the first feature in each bucket.  Buckets + 1 elements
+	int bucketStart[] = new int[1];
+	// number of features which can be added to each bucket
+	int bucketRoom[] = new int[0];
+	// feature indexes sorted by bucket
+	int sorted[] = new int[0];
+	// which bucket each feature is in
+	int featureBucket[] = new int[0];
+	// score for each feature.  Lower is better
+	float score[] = new float[0];
+
+	// work space for quick select
+	float workScore[] = new float[0];
+	int workIndexes[] = new int[0];
+
+	// index of features which survived bucketing
+	GrowQueue_I32 candidates = new GrowQueue_I32(10);
+
+	/**
+	 * Configures the algorithm
+	 *
+	 * @param bucketWidth Width of a square bucket in pixels.
+	 * @param maxPerBucket Maximum number of features in a bucket.  Must be &ge; 1
+	 * @param adaptive If true then ANMS is used to reduce the total number of features, otherwise the most
+	 *                 intense features are selected.
+	 */
+	public SelectBucketedFeatures(int bucketWidth, int maxPerBucket, boolean adaptive) {
+		if( bucketWidth <= 0 )
+			throw new IllegalArgumentException("Bucket width must be at least one");
+		if( maxPerBucket <= 0 )
+			throw new IllegalArgumentException("Must allow at least one feature per bucket");
+
+		this.bucketWidth = bucketWidth;
+		this.maxPerBucket = maxPerBucket;
+		this.adaptive = adaptive;
+	}
+
+	/**
+	 * Selects features from the list.
+	 *
+	 * @param intensityImage Feature intensity image
+	 * @param origCorners Features which are to be selected from.  Not modified.
+	 * @param positive If true larger intensity values are better, otherwise smaller values are better.
+	 * @param exclude Features which are already in use and count against a bucket's total.  Can be null.
+	 * @param target Maximum number of features which are returned.  If &le; 0 there is no limit.
+	 */
+	public void process(ImageFloat32 intensityImage, QueueCorner origCorners, boolean positive ,
+						QueueCorner exclude , int target ) {
+		bestCorners.reset();
+		candidates.reset();
+
+		int N = origCorners.size;
+		if( N == 0 )
+			return;
+
+		declareBuckets(intensityImage.width, intensityImage.height, N);
+		int numBuckets = cols*rows;
+
+		// bucket capacity after existing features have been taken in account
+		for( int i = 0; i < numBuckets; i++ )
+			bucketRoom[i] = maxPerBucket;
+		if( exclude != null ) {
+			for( int i = 0; i < exclude.size; i++ ) {
+				Point2D_I16 p = exclude.data[i];
+				if( p.x < 0 || p.y < 0 || p.x >= intensityImage.width || p.y >= intensityImage.height )
+					continue;
+				bucketRoom[bucketIndex(p.x,p.y)]--;
+			}
+		}
+
+		// sort features into buckets using a counting sort
+		for( int i = 0; i <= numBuckets; i++ )
+			bucketStart[i] = 0;
+		for( int i = 0; i < N; i++ ) {
+			Point2D_I16 p = origCorners.data[i];
+			float value = intensityImage.unsafe_get(p.x,p.y);
+			// quick select finds the smallest values
+			score[i] = positive ? -value : value;
+			int b = bucketIndex(p.x,p.y);
+			featureBucket[i] = b;
+			bucketStart[b+1]++;
+		}
+		for( int i = 0; i < numBuckets; i++ )
+			bucketStart[i+1] += bucketStart[i];
+		for( int i = 0; i < N; i++ ) {
+			sorted[bucketStart[featureBucket[i]]++] = i;
+		}
+		for( int i = numBuckets; i > 0; i-- )
+			bucketStart[i] = bucketStart[i-1];
+		bucketStart[0] = 0;
+
+		// select the best in each bucket
+		for( int b = 0; b < numBuckets; b++ ) {
+			int start = bucketStart[b];
+			int end = bucketStart[b+1];
+			int room = bucketRoom[b];
+			if( room <= 0 )
+				continue;
+
+			if( end-start <= room ) {
+				for( int i = start; i < end; i++ )
+					candidates.add(sorted[i]);
+			} else {
+				int n = end-start;
+				for( int i = 0; i < n; i++ )
+					workScore[i] = score[sorted[start+i]];
+				QuickSelectArray.selectIndex(workScore,room,n,workIndexes);
+				for( int i = 0; i < room; i++ )
+					candidates.add(sorted[start+workIndexes[i]]);
+			}
+		}
+
+		// reduce the total number of features, if needed
+		if( target > 0 && candidates.size > target ) {
+			if( adaptive )
+				selectAdaptive(origCorners, target);
+			else
+				selectMostIntense(target);
+		}
+
+		for( int i = 0; i < candidates.size; i++ ) {
+			Point2D_I16 p = origCorners.data[candidates.data[i]];
+			bestCorners.add(p.x,p.y);
+		}
+	}
+
+	/**
+	 * Selects the target features with the best score from the candidates
+	 */
+	private void selectMostIntense( int target ) {
+		int n = candidates.size;
+		for( int i = 0; i < n; i++ )
+			workScore[i] = score[candidates.data[i]];
+		QuickSelectArray.selectIndex(workScore,target,n,workIndexes);
+		keepCandidates(target);
+	}
+
+	/**
+	 * Adaptive non-maximal suppression.  Selects the target features which are the farthest away from a more
+	 * intense feature.
+	 */
+	private void selectAdaptive( QueueCorner origCorners , int target ) {
+		int n = candidates.size;
+		for( int i = 0; i < n; i++ ) {
+			int indexI = candidates.data[i];
+			Point2D_I16 pi = origCorners.data[indexI];
+			float scoreI = score[indexI];
+
+			int best = Integer.MAX_VALUE;
+			for( int j = 0; j < n; j++ ) {
+				int indexJ = candidates.data[j];
+				if( score[indexJ] >= scoreI )
+					continue;
+				Point2D_I16 pj = origCorners.data[indexJ];
+				int dx = pi.x - pj.x;
+				int dy = pi.y - pj.y;
+				int d = dx*dx + dy*dy;
+				if( d < best )
+					best = d;
+			}
+			// larger distances are better
+			workScore[i] = -(float)best;
+		}
+		QuickSelectArray.selectIndex(workScore,target,n,workIndexes);
+		keepCandidates(target);
+	}
+
+	/**
+	 * Keeps the candidates referenced in the first 'target' elements of workIndexes
+	 */
+	private void keepCandidates( int target ) {
+		// reuse 'sorted' as temporary storage
+		for( int i = 0; i < target; i++ )
+			sorted[i] = candidates.data[workIndexes[i]];
+		candidates.reset();
+		for( int i = 0; i < target; i++ )
+			candidates.add(sorted[i]);
+	}
+
+	private int bucketIndex( int x , int y ) {
+		return (y/bucketWidth)*cols + x/bucketWidth;
+	}
+
+	private void declareBuckets( int width , int height , int N ) {
+		cols = width/bucketWidth + (width%bucketWidth == 0 ? 0 : 1);
+		rows = height/bucketWidth + (height%bucketWidth == 0 ? 0 : 1);
+		cols = Math.max(1,cols);
+		rows = Math.max(1,rows);
+
+		int numBuckets = cols*rows;
+		if( bucketStart.length < numBuckets+1 ) {
+			bucketStart = new int[numBuckets+1];
+			bucketRoom = new int[numBuckets];
+		}
+		if( sorted.length < N ) {
+			sorted = new int[N];
+			featureBucket = new int[N];
+			score = new float[N];
+			workScore = new float[N];
+			workIndexes = new int[N];
+		}
+	}
+
+	public QueueCorner getBestCorners() {
+		return bestCorners;
+	}
+
+	public int getBucketWidth() {
+		return bucketWidth;
+	}
+
+	public int getMaxPerBucket() {
+		return maxPerBucket;
+	}
+
+	public boolean isAdaptive() {
+		return adaptive;
+	}
+}
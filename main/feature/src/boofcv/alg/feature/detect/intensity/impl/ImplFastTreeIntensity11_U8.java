@@ -0,0 +1,1685 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.misc.DiscretizedCircle;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * FAST corner detector for {@link ImageUInt8} which requires 11 continuous pixels.  Each pixel
+ * is classified using a single ternary decision tree which checks for dark and bright corners at the same
+ * time.  Image pixels are read directly and most pixels are rejected after two or three comparisons.
+ * </p>
+ *
+ * <p>
+ * DO NOT MODIFY. Generated by {@link GenerateImplFastTreeIntensity_U8}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplFastTreeIntensity11_U8 extends FastCornerIntensity<ImageUInt8>
+{
+	// how similar do the pixel in the circle need to be to the center pixel
+	private int pixelTol;
+
+	// the image's stride.  Used to determine if the offsets need to be recomputed
+	private int stride = 0;
+
+	/**
+	 * @param pixelTol How different pixels need to be to be considered part of a corner.
+	 */
+	public ImplFastTreeIntensity11_U8( int pixelTol ) {
+		super(new ImplFastHelper_U8(pixelTol));
+		this.pixelTol = pixelTol;
+	}
+
+	@Override
+	public void process( ImageUInt8 image , ImageFloat32 intensity ) {
+		QueueCorner candidates = getCandidates();
+		candidates.reset();
+		this.image = image;
+
+		if( stride != image.stride ) {
+			stride = image.stride;
+			offsets = DiscretizedCircle.imageOffsets(radius, image.stride);
+		}
+		helper.setImage(image,offsets);
+
+		final byte[] data = image.data;
+
+		for (int y = radius; y < image.height-radius; y++) {
+			int indexIntensity = intensity.startIndex + y*intensity.stride + radius;
+			int index = image.startIndex + y*image.stride + radius;
+			for (int x = radius; x < image.width-radius; x++, index++,indexIntensity++) {
+				int center = data[index] & 0xFF;
+
+				int type = classify(data,index,center-pixelTol,center+pixelTol);
+
+				if( type == 0 ) {
+					intensity.data[indexIntensity] = 0;
+				} else {
+					helper.setThresholds(index);
+					if( type < 0 )
+						intensity.data[indexIntensity] = helper.scoreLower(index);
+					else
+						intensity.data[indexIntensity] = helper.scoreUpper(index);
+					candidates.add(x,y);
+				}
+			}
+		}
+	}
+
+	@Override
+	protected boolean checkLower( int index ) {
+		int center = image.data[index] & 0xFF;
+		return classify(image.data,index,center-pixelTol,center+pixelTol) < 0;
+	}
+
+	@Override
+	protected boolean checkUpper( int index ) {
+		int center = image.data[index] & 0xFF;
+		return classify(image.data,index,center-pixelTol,center+pixelTol) > 0;
+	}
+
+	/**
+	 * Classifies the pixel
+	 *
+	 * @return -1 for a dark corner, 1 for a bright corner, and 0 if not a corner
+	 */
+	private int classify( byte[] data , int index , int lower , int upper )
+	{
+		int v0 = data[index + offsets[0]] & 0xFF;
+		if( v0 < lower ) {
+			return node0(data,index,lower,upper);
+		} else if( v0 > upper ) {
+			return node1(data,index,lower,upper);
+		} else {
+			int v5 = data[index + offsets[5]] & 0xFF;
+			if( v5 < lower ) {
+				int v6 = data[index + offsets[6]] & 0xFF;
+				if( v6 < lower ) {
+					int v7 = data[index + offsets[7]] & 0xFF;
+					if( v7 < lower ) {
+						int v8 = data[index + offsets[8]] & 0xFF;
+						if( v8 < lower ) {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 < lower ) {
+								int v10 = data[index + offsets[10]] & 0xFF;
+								if( v10 < lower ) {
+									int v11 = data[index + offsets[11]] & 0xFF;
+									if( v11 < lower ) {
+										int v4 = data[index + offsets[4]] & 0xFF;
+										if( v4 < lower ) {
+											int v12 = data[index + offsets[12]] & 0xFF;
+											if( v12 < lower ) {
+												int v3 = data[index + offsets[3]] & 0xFF;
+												if( v3 < lower ) {
+													int v13 = data[index + offsets[13]] & 0xFF;
+													if( v13 < lower ) {
+														return -1;
+													} else {
+														int v2 = data[index + offsets[2]] & 0xFF;
+														if( v2 < lower ) {
+															return -1;
+														} else {
+															return 0;
+														}
+													}
+												} else {
+													int v13 = data[index + offsets[13]] & 0xFF;
+													if( v13 < lower ) {
+														int v14 = data[index + offsets[14]] & 0xFF;
+														if( v14 < lower ) {
+															return -1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												int v1 = data[index + offsets[1]] & 0xFF;
+												if( v1 < lower ) {
+													int v2 = data[index + offsets[2]] & 0xFF;
+													if( v2 < lower ) {
+														int v3 = data[index + offsets[3]] & 0xFF;
+														if( v3 < lower ) {
+															return -1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											int v12 = data[index + offsets[12]] & 0xFF;
+											if( v12 < lower ) {
+												int v13 = data[index + offsets[13]] & 0xFF;
+												if( v13 < lower ) {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 < lower ) {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 < lower ) {
+															return -1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				} else {
+					return 0;
+				}
+			} else if( v5 > upper ) {
+				int v6 = data[index + offsets[6]] & 0xFF;
+				if( v6 > upper ) {
+					int v7 = data[index + offsets[7]] & 0xFF;
+					if( v7 > upper ) {
+						int v8 = data[index + offsets[8]] & 0xFF;
+						if( v8 > upper ) {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 > upper ) {
+								int v10 = data[index + offsets[10]] & 0xFF;
+								if( v10 > upper ) {
+									int v11 = data[index + offsets[11]] & 0xFF;
+									if( v11 > upper ) {
+										int v4 = data[index + offsets[4]] & 0xFF;
+										if( v4 > upper ) {
+											int v12 = data[index + offsets[12]] & 0xFF;
+											if( v12 > upper ) {
+												int v3 = data[index + offsets[3]] & 0xFF;
+												if( v3 > upper ) {
+													int v13 = data[index + offsets[13]] & 0xFF;
+													if( v13 > upper ) {
+														return 1;
+													} else {
+														int v2 = data[index + offsets[2]] & 0xFF;
+														if( v2 > upper ) {
+															return 1;
+														} else {
+															return 0;
+														}
+													}
+												} else {
+													int v13 = data[index + offsets[13]] & 0xFF;
+													if( v13 > upper ) {
+														int v14 = data[index + offsets[14]] & 0xFF;
+														if( v14 > upper ) {
+															return 1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												int v1 = data[index + offsets[1]] & 0xFF;
+												if( v1 > upper ) {
+													int v2 = data[index + offsets[2]] & 0xFF;
+													if( v2 > upper ) {
+														int v3 = data[index + offsets[3]] & 0xFF;
+														if( v3 > upper ) {
+															return 1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											int v12 = data[index + offsets[12]] & 0xFF;
+											if( v12 > upper ) {
+												int v13 = data[index + offsets[13]] & 0xFF;
+												if( v13 > upper ) {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 > upper ) {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 > upper ) {
+															return 1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				} else {
+					return 0;
+				}
+			} else {
+				return 0;
+			}
+		}
+	}
+
+	private int node0( byte[] data , int index , int lower , int upper )
+	{
+		int v5 = data[index + offsets[5]] & 0xFF;
+		if( v5 < lower ) {
+			int v1 = data[index + offsets[1]] & 0xFF;
+			if( v1 < lower ) {
+				int v2 = data[index + offsets[2]] & 0xFF;
+				if( v2 < lower ) {
+					int v3 = data[index + offsets[3]] & 0xFF;
+					if( v3 < lower ) {
+						int v4 = data[index + offsets[4]] & 0xFF;
+						if( v4 < lower ) {
+							int v6 = data[index + offsets[6]] & 0xFF;
+							if( v6 < lower ) {
+								int v7 = data[index + offsets[7]] & 0xFF;
+								if( v7 < lower ) {
+									int v8 = data[index + offsets[8]] & 0xFF;
+									if( v8 < lower ) {
+										int v9 = data[index + offsets[9]] & 0xFF;
+										if( v9 < lower ) {
+											int v10 = data[index + offsets[10]] & 0xFF;
+											if( v10 < lower ) {
+												return -1;
+											} else {
+												int v15 = data[index + offsets[15]] & 0xFF;
+												if( v15 < lower ) {
+													return -1;
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											int v14 = data[index + offsets[14]] & 0xFF;
+											if( v14 < lower ) {
+												int v15 = data[index + offsets[15]] & 0xFF;
+												if( v15 < lower ) {
+													return -1;
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										}
+									} else {
+										int v13 = data[index + offsets[13]] & 0xFF;
+										if( v13 < lower ) {
+											int v14 = data[index + offsets[14]] & 0xFF;
+											if( v14 < lower ) {
+												int v15 = data[index + offsets[15]] & 0xFF;
+												if( v15 < lower ) {
+													return -1;
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									}
+								} else {
+									int v12 = data[index + offsets[12]] & 0xFF;
+									if( v12 < lower ) {
+										int v13 = data[index + offsets[13]] & 0xFF;
+										if( v13 < lower ) {
+											int v14 = data[index + offsets[14]] & 0xFF;
+											if( v14 < lower ) {
+												int v15 = data[index + offsets[15]] & 0xFF;
+												if( v15 < lower ) {
+													return -1;
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								}
+							} else {
+								int v11 = data[index + offsets[11]] & 0xFF;
+								if( v11 < lower ) {
+									int v12 = data[index + offsets[12]] & 0xFF;
+									if( v12 < lower ) {
+										int v13 = data[index + offsets[13]] & 0xFF;
+										if( v13 < lower ) {
+											int v14 = data[index + offsets[14]] & 0xFF;
+											if( v14 < lower ) {
+												int v15 = data[index + offsets[15]] & 0xFF;
+												if( v15 < lower ) {
+													return -1;
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							}
+						} else {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 < lower ) {
+								int v10 = data[index + offsets[10]] & 0xFF;
+								if( v10 < lower ) {
+									int v11 = data[index + offsets[11]] & 0xFF;
+									if( v11 < lower ) {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 < lower ) {
+											int v13 = data[index + offsets[13]] & 0xFF;
+											if( v13 < lower ) {
+												int v14 = data[index + offsets[14]] & 0xFF;
+												if( v14 < lower ) {
+													int v15 = data[index + offsets[15]] & 0xFF;
+													if( v15 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						}
+					} else {
+						int v8 = data[index + offsets[8]] & 0xFF;
+						if( v8 < lower ) {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 < lower ) {
+								int v10 = data[index + offsets[10]] & 0xFF;
+								if( v10 < lower ) {
+									int v11 = data[index + offsets[11]] & 0xFF;
+									if( v11 < lower ) {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 < lower ) {
+											int v13 = data[index + offsets[13]] & 0xFF;
+											if( v13 < lower ) {
+												int v14 = data[index + offsets[14]] & 0xFF;
+												if( v14 < lower ) {
+													int v7 = data[index + offsets[7]] & 0xFF;
+													if( v7 < lower ) {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 < lower ) {
+															return -1;
+														} else {
+															int v4 = data[index + offsets[4]] & 0xFF;
+															if( v4 < lower ) {
+																int v6 = data[index + offsets[6]] & 0xFF;
+																if( v6 < lower ) {
+																	return -1;
+																} else {
+																	return 0;
+																}
+															} else {
+																return 0;
+															}
+														}
+													} else {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 < lower ) {
+															return -1;
+														} else {
+															return 0;
+														}
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					}
+				} else {
+					int v7 = data[index + offsets[7]] & 0xFF;
+					if( v7 < lower ) {
+						int v8 = data[index + offsets[8]] & 0xFF;
+						if( v8 < lower ) {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 < lower ) {
+								int v10 = data[index + offsets[10]] & 0xFF;
+								if( v10 < lower ) {
+									int v11 = data[index + offsets[11]] & 0xFF;
+									if( v11 < lower ) {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 < lower ) {
+											int v13 = data[index + offsets[13]] & 0xFF;
+											if( v13 < lower ) {
+												int v6 = data[index + offsets[6]] & 0xFF;
+												if( v6 < lower ) {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 < lower ) {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 < lower ) {
+															return -1;
+														} else {
+															int v4 = data[index + offsets[4]] & 0xFF;
+															if( v4 < lower ) {
+																return -1;
+															} else {
+																return 0;
+															}
+														}
+													} else {
+														int v3 = data[index + offsets[3]] & 0xFF;
+														if( v3 < lower ) {
+															int v4 = data[index + offsets[4]] & 0xFF;
+															if( v4 < lower ) {
+																return -1;
+															} else {
+																return 0;
+															}
+														} else {
+															return 0;
+														}
+													}
+												} else {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 < lower ) {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 < lower ) {
+															return -1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				}
+			} else {
+				int v6 = data[index + offsets[6]] & 0xFF;
+				if( v6 < lower ) {
+					int v7 = data[index + offsets[7]] & 0xFF;
+					if( v7 < lower ) {
+						int v8 = data[index + offsets[8]] & 0xFF;
+						if( v8 < lower ) {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 < lower ) {
+								int v10 = data[index + offsets[10]] & 0xFF;
+								if( v10 < lower ) {
+									int v11 = data[index + offsets[11]] & 0xFF;
+									if( v11 < lower ) {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 < lower ) {
+											int v13 = data[index + offsets[13]] & 0xFF;
+											if( v13 < lower ) {
+												int v4 = data[index + offsets[4]] & 0xFF;
+												if( v4 < lower ) {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 < lower ) {
+														return -1;
+													} else {
+														int v3 = data[index + offsets[3]] & 0xFF;
+														if( v3 < lower ) {
+															return -1;
+														} else {
+															return 0;
+														}
+													}
+												} else {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 < lower ) {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 < lower ) {
+															return -1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												int v2 = data[index + offsets[2]] & 0xFF;
+												if( v2 < lower ) {
+													int v3 = data[index + offsets[3]] & 0xFF;
+													if( v3 < lower ) {
+														int v4 = data[index + offsets[4]] & 0xFF;
+														if( v4 < lower ) {
+															return -1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				} else {
+					return 0;
+				}
+			}
+		} else if( v5 > upper ) {
+			int v10 = data[index + offsets[10]] & 0xFF;
+			if( v10 < lower ) {
+				int v11 = data[index + offsets[11]] & 0xFF;
+				if( v11 < lower ) {
+					int v12 = data[index + offsets[12]] & 0xFF;
+					if( v12 < lower ) {
+						int v13 = data[index + offsets[13]] & 0xFF;
+						if( v13 < lower ) {
+							int v14 = data[index + offsets[14]] & 0xFF;
+							if( v14 < lower ) {
+								int v15 = data[index + offsets[15]] & 0xFF;
+								if( v15 < lower ) {
+									int v1 = data[index + offsets[1]] & 0xFF;
+									if( v1 < lower ) {
+										int v9 = data[index + offsets[9]] & 0xFF;
+										if( v9 < lower ) {
+											int v2 = data[index + offsets[2]] & 0xFF;
+											if( v2 < lower ) {
+												int v8 = data[index + offsets[8]] & 0xFF;
+												if( v8 < lower ) {
+													return -1;
+												} else {
+													int v3 = data[index + offsets[3]] & 0xFF;
+													if( v3 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												int v7 = data[index + offsets[7]] & 0xFF;
+												if( v7 < lower ) {
+													int v8 = data[index + offsets[8]] & 0xFF;
+													if( v8 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											int v2 = data[index + offsets[2]] & 0xFF;
+											if( v2 < lower ) {
+												int v3 = data[index + offsets[3]] & 0xFF;
+												if( v3 < lower ) {
+													int v4 = data[index + offsets[4]] & 0xFF;
+													if( v4 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										}
+									} else {
+										int v6 = data[index + offsets[6]] & 0xFF;
+										if( v6 < lower ) {
+											int v7 = data[index + offsets[7]] & 0xFF;
+											if( v7 < lower ) {
+												int v8 = data[index + offsets[8]] & 0xFF;
+												if( v8 < lower ) {
+													int v9 = data[index + offsets[9]] & 0xFF;
+													if( v9 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				} else {
+					return 0;
+				}
+			} else if( v10 > upper ) {
+				int v6 = data[index + offsets[6]] & 0xFF;
+				if( v6 > upper ) {
+					int v7 = data[index + offsets[7]] & 0xFF;
+					if( v7 > upper ) {
+						int v8 = data[index + offsets[8]] & 0xFF;
+						if( v8 > upper ) {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 > upper ) {
+								int v11 = data[index + offsets[11]] & 0xFF;
+								if( v11 > upper ) {
+									int v4 = data[index + offsets[4]] & 0xFF;
+									if( v4 > upper ) {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 > upper ) {
+											int v3 = data[index + offsets[3]] & 0xFF;
+											if( v3 > upper ) {
+												int v13 = data[index + offsets[13]] & 0xFF;
+												if( v13 > upper ) {
+													return 1;
+												} else {
+													int v2 = data[index + offsets[2]] & 0xFF;
+													if( v2 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												int v13 = data[index + offsets[13]] & 0xFF;
+												if( v13 > upper ) {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											int v1 = data[index + offsets[1]] & 0xFF;
+											if( v1 > upper ) {
+												int v2 = data[index + offsets[2]] & 0xFF;
+												if( v2 > upper ) {
+													int v3 = data[index + offsets[3]] & 0xFF;
+													if( v3 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										}
+									} else {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 > upper ) {
+											int v13 = data[index + offsets[13]] & 0xFF;
+											if( v13 > upper ) {
+												int v14 = data[index + offsets[14]] & 0xFF;
+												if( v14 > upper ) {
+													int v15 = data[index + offsets[15]] & 0xFF;
+													if( v15 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				} else {
+					return 0;
+				}
+			} else {
+				return 0;
+			}
+		} else {
+			int v10 = data[index + offsets[10]] & 0xFF;
+			if( v10 < lower ) {
+				int v11 = data[index + offsets[11]] & 0xFF;
+				if( v11 < lower ) {
+					int v12 = data[index + offsets[12]] & 0xFF;
+					if( v12 < lower ) {
+						int v13 = data[index + offsets[13]] & 0xFF;
+						if( v13 < lower ) {
+							int v14 = data[index + offsets[14]] & 0xFF;
+							if( v14 < lower ) {
+								int v15 = data[index + offsets[15]] & 0xFF;
+								if( v15 < lower ) {
+									int v1 = data[index + offsets[1]] & 0xFF;
+									if( v1 < lower ) {
+										int v9 = data[index + offsets[9]] & 0xFF;
+										if( v9 < lower ) {
+											int v2 = data[index + offsets[2]] & 0xFF;
+											if( v2 < lower ) {
+												int v8 = data[index + offsets[8]] & 0xFF;
+												if( v8 < lower ) {
+													return -1;
+												} else {
+													int v3 = data[index + offsets[3]] & 0xFF;
+													if( v3 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												int v7 = data[index + offsets[7]] & 0xFF;
+												if( v7 < lower ) {
+													int v8 = data[index + offsets[8]] & 0xFF;
+													if( v8 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											int v2 = data[index + offsets[2]] & 0xFF;
+											if( v2 < lower ) {
+												int v3 = data[index + offsets[3]] & 0xFF;
+												if( v3 < lower ) {
+													int v4 = data[index + offsets[4]] & 0xFF;
+													if( v4 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										}
+									} else {
+										int v6 = data[index + offsets[6]] & 0xFF;
+										if( v6 < lower ) {
+											int v7 = data[index + offsets[7]] & 0xFF;
+											if( v7 < lower ) {
+												int v8 = data[index + offsets[8]] & 0xFF;
+												if( v8 < lower ) {
+													int v9 = data[index + offsets[9]] & 0xFF;
+													if( v9 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				} else {
+					return 0;
+				}
+			} else {
+				return 0;
+			}
+		}
+	}
+
+	private int node1( byte[] data , int index , int lower , int upper )
+	{
+		int v5 = data[index + offsets[5]] & 0xFF;
+		if( v5 < lower ) {
+			int v10 = data[index + offsets[10]] & 0xFF;
+			if( v10 < lower ) {
+				int v6 = data[index + offsets[6]] & 0xFF;
+				if( v6 < lower ) {
+					int v7 = data[index + offsets[7]] & 0xFF;
+					if( v7 < lower ) {
+						int v8 = data[index + offsets[8]] & 0xFF;
+						if( v8 < lower ) {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 < lower ) {
+								int v11 = data[index + offsets[11]] & 0xFF;
+								if( v11 < lower ) {
+									int v4 = data[index + offsets[4]] & 0xFF;
+									if( v4 < lower ) {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 < lower ) {
+											int v3 = data[index + offsets[3]] & 0xFF;
+											if( v3 < lower ) {
+												int v13 = data[index + offsets[13]] & 0xFF;
+												if( v13 < lower ) {
+													return -1;
+												} else {
+													int v2 = data[index + offsets[2]] & 0xFF;
+													if( v2 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												int v13 = data[index + offsets[13]] & 0xFF;
+												if( v13 < lower ) {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											int v1 = data[index + offsets[1]] & 0xFF;
+											if( v1 < lower ) {
+												int v2 = data[index + offsets[2]] & 0xFF;
+												if( v2 < lower ) {
+													int v3 = data[index + offsets[3]] & 0xFF;
+													if( v3 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										}
+									} else {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 < lower ) {
+											int v13 = data[index + offsets[13]] & 0xFF;
+											if( v13 < lower ) {
+												int v14 = data[index + offsets[14]] & 0xFF;
+												if( v14 < lower ) {
+													int v15 = data[index + offsets[15]] & 0xFF;
+													if( v15 < lower ) {
+														return -1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				} else {
+					return 0;
+				}
+			} else if( v10 > upper ) {
+				int v11 = data[index + offsets[11]] & 0xFF;
+				if( v11 > upper ) {
+					int v12 = data[index + offsets[12]] & 0xFF;
+					if( v12 > upper ) {
+						int v13 = data[index + offsets[13]] & 0xFF;
+						if( v13 > upper ) {
+							int v14 = data[index + offsets[14]] & 0xFF;
+							if( v14 > upper ) {
+								int v15 = data[index + offsets[15]] & 0xFF;
+								if( v15 > upper ) {
+									int v1 = data[index + offsets[1]] & 0xFF;
+									if( v1 > upper ) {
+										int v9 = data[index + offsets[9]] & 0xFF;
+										if( v9 > upper ) {
+											int v2 = data[index + offsets[2]] & 0xFF;
+											if( v2 > upper ) {
+												int v8 = data[index + offsets[8]] & 0xFF;
+												if( v8 > upper ) {
+													return 1;
+												} else {
+													int v3 = data[index + offsets[3]] & 0xFF;
+													if( v3 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												int v7 = data[index + offsets[7]] & 0xFF;
+												if( v7 > upper ) {
+													int v8 = data[index + offsets[8]] & 0xFF;
+													if( v8 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											int v2 = data[index + offsets[2]] & 0xFF;
+											if( v2 > upper ) {
+												int v3 = data[index + offsets[3]] & 0xFF;
+												if( v3 > upper ) {
+													int v4 = data[index + offsets[4]] & 0xFF;
+													if( v4 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										}
+									} else {
+										int v6 = data[index + offsets[6]] & 0xFF;
+										if( v6 > upper ) {
+											int v7 = data[index + offsets[7]] & 0xFF;
+											if( v7 > upper ) {
+												int v8 = data[index + offsets[8]] & 0xFF;
+												if( v8 > upper ) {
+													int v9 = data[index + offsets[9]] & 0xFF;
+													if( v9 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				} else {
+					return 0;
+				}
+			} else {
+				return 0;
+			}
+		} else if( v5 > upper ) {
+			int v1 = data[index + offsets[1]] & 0xFF;
+			if( v1 > upper ) {
+				int v2 = data[index + offsets[2]] & 0xFF;
+				if( v2 > upper ) {
+					int v3 = data[index + offsets[3]] & 0xFF;
+					if( v3 > upper ) {
+						int v4 = data[index + offsets[4]] & 0xFF;
+						if( v4 > upper ) {
+							int v6 = data[index + offsets[6]] & 0xFF;
+							if( v6 > upper ) {
+								int v7 = data[index + offsets[7]] & 0xFF;
+								if( v7 > upper ) {
+									int v8 = data[index + offsets[8]] & 0xFF;
+									if( v8 > upper ) {
+										int v9 = data[index + offsets[9]] & 0xFF;
+										if( v9 > upper ) {
+											int v10 = data[index + offsets[10]] & 0xFF;
+											if( v10 > upper ) {
+												return 1;
+											} else {
+												int v15 = data[index + offsets[15]] & 0xFF;
+												if( v15 > upper ) {
+													return 1;
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											int v14 = data[index + offsets[14]] & 0xFF;
+											if( v14 > upper ) {
+												int v15 = data[index + offsets[15]] & 0xFF;
+												if( v15 > upper ) {
+													return 1;
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										}
+									} else {
+										int v13 = data[index + offsets[13]] & 0xFF;
+										if( v13 > upper ) {
+											int v14 = data[index + offsets[14]] & 0xFF;
+											if( v14 > upper ) {
+												int v15 = data[index + offsets[15]] & 0xFF;
+												if( v15 > upper ) {
+													return 1;
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									}
+								} else {
+									int v12 = data[index + offsets[12]] & 0xFF;
+									if( v12 > upper ) {
+										int v13 = data[index + offsets[13]] & 0xFF;
+										if( v13 > upper ) {
+											int v14 = data[index + offsets[14]] & 0xFF;
+											if( v14 > upper ) {
+												int v15 = data[index + offsets[15]] & 0xFF;
+												if( v15 > upper ) {
+													return 1;
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								}
+							} else {
+								int v11 = data[index + offsets[11]] & 0xFF;
+								if( v11 > upper ) {
+									int v12 = data[index + offsets[12]] & 0xFF;
+									if( v12 > upper ) {
+										int v13 = data[index + offsets[13]] & 0xFF;
+										if( v13 > upper ) {
+											int v14 = data[index + offsets[14]] & 0xFF;
+											if( v14 > upper ) {
+												int v15 = data[index + offsets[15]] & 0xFF;
+												if( v15 > upper ) {
+													return 1;
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							}
+						} else {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 > upper ) {
+								int v10 = data[index + offsets[10]] & 0xFF;
+								if( v10 > upper ) {
+									int v11 = data[index + offsets[11]] & 0xFF;
+									if( v11 > upper ) {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 > upper ) {
+											int v13 = data[index + offsets[13]] & 0xFF;
+											if( v13 > upper ) {
+												int v14 = data[index + offsets[14]] & 0xFF;
+												if( v14 > upper ) {
+													int v15 = data[index + offsets[15]] & 0xFF;
+													if( v15 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						}
+					} else {
+						int v8 = data[index + offsets[8]] & 0xFF;
+						if( v8 > upper ) {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 > upper ) {
+								int v10 = data[index + offsets[10]] & 0xFF;
+								if( v10 > upper ) {
+									int v11 = data[index + offsets[11]] & 0xFF;
+									if( v11 > upper ) {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 > upper ) {
+											int v13 = data[index + offsets[13]] & 0xFF;
+											if( v13 > upper ) {
+												int v14 = data[index + offsets[14]] & 0xFF;
+												if( v14 > upper ) {
+													int v7 = data[index + offsets[7]] & 0xFF;
+													if( v7 > upper ) {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 > upper ) {
+															return 1;
+														} else {
+															int v4 = data[index + offsets[4]] & 0xFF;
+															if( v4 > upper ) {
+																int v6 = data[index + offsets[6]] & 0xFF;
+																if( v6 > upper ) {
+																	return 1;
+																} else {
+																	return 0;
+																}
+															} else {
+																return 0;
+															}
+														}
+													} else {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 > upper ) {
+															return 1;
+														} else {
+															return 0;
+														}
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					}
+				} else {
+					int v7 = data[index + offsets[7]] & 0xFF;
+					if( v7 > upper ) {
+						int v8 = data[index + offsets[8]] & 0xFF;
+						if( v8 > upper ) {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 > upper ) {
+								int v10 = data[index + offsets[10]] & 0xFF;
+								if( v10 > upper ) {
+									int v11 = data[index + offsets[11]] & 0xFF;
+									if( v11 > upper ) {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 > upper ) {
+											int v13 = data[index + offsets[13]] & 0xFF;
+											if( v13 > upper ) {
+												int v6 = data[index + offsets[6]] & 0xFF;
+												if( v6 > upper ) {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 > upper ) {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 > upper ) {
+															return 1;
+														} else {
+															int v4 = data[index + offsets[4]] & 0xFF;
+															if( v4 > upper ) {
+																return 1;
+															} else {
+																return 0;
+															}
+														}
+													} else {
+														int v3 = data[index + offsets[3]] & 0xFF;
+														if( v3 > upper ) {
+															int v4 = data[index + offsets[4]] & 0xFF;
+															if( v4 > upper ) {
+																return 1;
+															} else {
+																return 0;
+															}
+														} else {
+															return 0;
+														}
+													}
+												} else {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 > upper ) {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 > upper ) {
+															return 1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				}
+			} else {
+				int v6 = data[index + offsets[6]] & 0xFF;
+				if( v6 > upper ) {
+					int v7 = data[index + offsets[7]] & 0xFF;
+					if( v7 > upper ) {
+						int v8 = data[index + offsets[8]] & 0xFF;
+						if( v8 > upper ) {
+							int v9 = data[index + offsets[9]] & 0xFF;
+							if( v9 > upper ) {
+								int v10 = data[index + offsets[10]] & 0xFF;
+								if( v10 > upper ) {
+									int v11 = data[index + offsets[11]] & 0xFF;
+									if( v11 > upper ) {
+										int v12 = data[index + offsets[12]] & 0xFF;
+										if( v12 > upper ) {
+											int v13 = data[index + offsets[13]] & 0xFF;
+											if( v13 > upper ) {
+												int v4 = data[index + offsets[4]] & 0xFF;
+												if( v4 > upper ) {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 > upper ) {
+														return 1;
+													} else {
+														int v3 = data[index + offsets[3]] & 0xFF;
+														if( v3 > upper ) {
+															return 1;
+														} else {
+															return 0;
+														}
+													}
+												} else {
+													int v14 = data[index + offsets[14]] & 0xFF;
+													if( v14 > upper ) {
+														int v15 = data[index + offsets[15]] & 0xFF;
+														if( v15 > upper ) {
+															return 1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												int v2 = data[index + offsets[2]] & 0xFF;
+												if( v2 > upper ) {
+													int v3 = data[index + offsets[3]] & 0xFF;
+													if( v3 > upper ) {
+														int v4 = data[index + offsets[4]] & 0xFF;
+														if( v4 > upper ) {
+															return 1;
+														} else {
+															return 0;
+														}
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											return 0;
+										}
+									} else {
+										return 0;
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				} else {
+					return 0;
+				}
+			}
+		} else {
+			int v10 = data[index + offsets[10]] & 0xFF;
+			if( v10 > upper ) {
+				int v11 = data[index + offsets[11]] & 0xFF;
+				if( v11 > upper ) {
+					int v12 = data[index + offsets[12]] & 0xFF;
+					if( v12 > upper ) {
+						int v13 = data[index + offsets[13]] & 0xFF;
+						if( v13 > upper ) {
+							int v14 = data[index + offsets[14]] & 0xFF;
+							if( v14 > upper ) {
+								int v15 = data[index + offsets[15]] & 0xFF;
+								if( v15 > upper ) {
+									int v1 = data[index + offsets[1]] & 0xFF;
+									if( v1 > upper ) {
+										int v9 = data[index + offsets[9]] & 0xFF;
+										if( v9 > upper ) {
+											int v2 = data[index + offsets[2]] & 0xFF;
+											if( v2 > upper ) {
+												int v8 = data[index + offsets[8]] & 0xFF;
+												if( v8 > upper ) {
+													return 1;
+												} else {
+													int v3 = data[index + offsets[3]] & 0xFF;
+													if( v3 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												}
+											} else {
+												int v7 = data[index + offsets[7]] & 0xFF;
+												if( v7 > upper ) {
+													int v8 = data[index + offsets[8]] & 0xFF;
+													if( v8 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											}
+										} else {
+											int v2 = data[index + offsets[2]] & 0xFF;
+											if( v2 > upper ) {
+												int v3 = data[index + offsets[3]] & 0xFF;
+												if( v3 > upper ) {
+													int v4 = data[index + offsets[4]] & 0xFF;
+													if( v4 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										}
+									} else {
+										int v6 = data[index + offsets[6]] & 0xFF;
+										if( v6 > upper ) {
+											int v7 = data[index + offsets[7]] & 0xFF;
+											if( v7 > upper ) {
+												int v8 = data[index + offsets[8]] & 0xFF;
+												if( v8 > upper ) {
+													int v9 = data[index + offsets[9]] & 0xFF;
+													if( v9 > upper ) {
+														return 1;
+													} else {
+														return 0;
+													}
+												} else {
+													return 0;
+												}
+											} else {
+												return 0;
+											}
+										} else {
+											return 0;
+										}
+									}
+								} else {
+									return 0;
+								}
+							} else {
+								return 0;
+							}
+						} else {
+							return 0;
+						}
+					} else {
+						return 0;
+					}
+				} else {
+					return 0;
+				}
+			} else {
+				return 0;
+			}
+		}
+	}
+
+}
@@ -21,9 +21,14 @@ package boofcv.alg.feature.detect.interest;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
 import boofcv.alg.feature.detect.intensity.GIntegralImageFeatureIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.core.image.border.FactoryImageBorderAlgs;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.struct.FastQueue;
+import boofcv.struct.GrowQueue_I32;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
@@ -74,6 +79,14 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * Concurrent mode, see {@link #setConcurrent}: The intensity images for every scale in every octave only
+ * depend on the integral image, so they are all computed in parallel first.  Then the scale-space maximums
+ * for each layer are found in parallel.  Each thread has its own non-maximum suppression algorithm and
+ * results are merged in the same order as the single threaded code, producing identical output.  Intensity
+ * images are saved and reused on the next call.
+ * </p>
+ *
+ * <p>
  * [1] Herbert Bay, Andreas Ess, Tinne Tuytelaars, and Luc Van Gool, "Speeded-Up Robust Features (SURF)", CVIU June, 2008, Volume
  * 110, Issue 3, pages 346-359
  * </p>
@@ -111,6 +124,52 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 	// a value of 1 would mean every pixel is sampled
 	private int initialSampleRate;
 
+	// non-maximum suppression algorithms for each thread.  null if not concurrent
+	private InstancePool<Worker> workers;
+	// every layer in scale-space, used in concurrent mode
+	private FastQueue<Layer> layers = new FastQueue<Layer>(20,Layer.class,true) {
+		@Override
+		protected Layer createInstance() {
+			return new Layer();
+		}
+	};
+	// index of layers which can contain features
+	private GrowQueue_I32 middleLayers = new GrowQueue_I32(20);
+	// integral image being processed in concurrent mode
+	private II integral;
+
+	private final IntRangeTask intensityTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			for( int i = start; i < end; i++ ) {
+				Layer l = layers.data[i];
+				l.intensity.reshape(integral.width/l.skip,integral.height/l.skip);
+				GIntegralImageFeatureIntensity.hessian(integral,l.skip,l.size,l.intensity);
+			}
+		}
+	};
+
+	private final IntRangeTask maximumTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			Worker w = workers.acquire();
+			try {
+				for( int i = start; i < end; i++ ) {
+					int index = middleLayers.data[i];
+					Layer lower = layers.data[index-1];
+					Layer l = layers.data[index];
+					Layer upper = layers.data[index+1];
+
+					l.found.reset();
+					findLocalScaleSpaceMax(lower.intensity,l.intensity,upper.intensity,
+							l.size,l.size-lower.size,l.skip,w.extractor,w.sortBest,w.foundFeatures,l.found);
+				}
+			} finally {
+				workers.release(w);
+			}
+		}
+	};
+
 	/**
 	 * <p>
 	 * Defines the feature detector by specifying the size of features.
@@ -145,12 +204,45 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 		sizes = new int[ numberScalesPerOctave ];
 	}
 
+	/**
+	 * Turns on concurrent processing.  To turn it off pass in null.
+	 *
+	 * @param extractorFactory Creates non-maximum suppression algorithms with the same configuration as the
+	 *                         one passed into the constructor.
+	 */
+	public void setConcurrent( final InstanceFactory<NonMaxSuppression> extractorFactory ) {
+		if( extractorFactory == null ) {
+			workers = null;
+			return;
+		}
+
+		workers = new InstancePool<Worker>(new InstanceFactory<Worker>() {
+			@Override
+			public Worker newInstance() {
+				return new Worker(extractorFactory.newInstance());
+			}
+		});
+		Worker w = new Worker(extractor);
+		w.sortBest = sortBest;
+		w.foundFeatures = foundFeatures;
+		workers.add(w);
+	}
+
+	public boolean isConcurrent() {
+		return workers != null;
+	}
+
 	/**
 	 * Detect interest points inside of the image.
 	 *
 	 * @param integral Image transformed into an integral image.
 	 */
 	public void detect( II integral ) {
+		if( workers != null ) {
+			detectConcurrent(integral);
+			return;
+		}
+
 		if( intensity == null ) {
 			intensity = new ImageFloat32[3];
 			for( int i = 0; i < intensity.length; i++ ) {
@@ -184,6 +276,49 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 		// todo save previously computed sizes for reuse in higher octaves and reuse it
 	}
 
+	/**
+	 * Concurrent version of {@link #detect}.  Computes the intensity of all the layers at once then searches
+	 * for maximums in each layer.
+	 */
+	private void detectConcurrent( II integral ) {
+		foundPoints.reset();
+		layers.reset();
+		middleLayers.reset();
+
+		// same octaves and sizes as the single threaded code
+		int skip = initialSampleRate;
+		int sizeStep = 6;
+		int octaveSize = initialSize;
+		for( int octave = 0; octave < numberOfOctaves; octave++ ) {
+			int maxSize = octaveSize + (sizes.length-1)*sizeStep;
+			if( maxSize > integral.width || maxSize > integral.height )
+				break;
+			for( int i = 0; i < sizes.length; i++ ) {
+				if( i > 0 && i < sizes.length-1 )
+					middleLayers.add(layers.size);
+				Layer l = layers.grow();
+				l.skip = skip;
+				l.size = octaveSize + i*sizeStep;
+			}
+			skip += skip;
+			octaveSize += sizeStep;
+			sizeStep += sizeStep;
+		}
+
+		this.integral = integral;
+		BoofConcurrency.loopBlocks(0,layers.size,intensityTask);
+		BoofConcurrency.loopBlocks(0,middleLayers.size,maximumTask);
+		this.integral = null;
+
+		for( int i = 0; i < middleLayers.size; i++ ) {
+			FastQueue<ScalePoint> found = layers.data[middleLayers.data[i]].found;
+			for( int j = 0; j < found.size; j++ ) {
+				ScalePoint p = found.data[j];
+				foundPoints.grow().set(p.x,p.y,p.scale);
+			}
+		}
+	}
+
 	/**
 	 * Computes feature intensities for all the specified feature sizes and finds features
 	 * inside of the middle feature sizes.
@@ -229,16 +364,38 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 		int index1 = (spaceIndex + 1) % 3;
 		int index2 = (spaceIndex + 2) % 3;
 
-		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index0], 0);
-		ImageFloat32 inten1 = intensity[index1];
-		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index2], 0);
+		findLocalScaleSpaceMax(intensity[index0],intensity[index1],intensity[index2],
+				size[level],size[level]-size[level-1],skip,extractor,sortBest,foundFeatures,foundPoints);
+	}
+
+	/**
+	 * Looks for features which are local maximums in the image and scale-space.
+	 *
+	 * @param lower Intensity of the smaller scale
+	 * @param middle Intensity of the scale being searched
+	 * @param upper Intensity of the larger scale
+	 * @param levelSize Size of features in the middle scale
+	 * @param sizeStep Difference in size between the middle and smaller scale
+	 * @param skip How many pixels are skipped over.
+	 * @param extractor Non-maximum suppression
+	 * @param sortBest Selects the most intense features.  Can be null.
+	 * @param foundFeatures Storage for local maximums in the image.
+	 * @param output Found features are added to this list.
+	 */
+	private void findLocalScaleSpaceMax( ImageFloat32 lower , ImageFloat32 middle , ImageFloat32 upper ,
+										 int levelSize, int sizeStep, int skip ,
+										 NonMaxSuppression extractor , SelectNBestFeatures sortBest ,
+										 QueueCorner foundFeatures , FastQueue<ScalePoint> output ) {
+		ImageBorder_F32 inten0 = FactoryImageBorderAlgs.value(lower, 0);
+		ImageFloat32 inten1 = middle;
+		ImageBorder_F32 inten2 = FactoryImageBorderAlgs.value(upper, 0);
 
 		// find local maximums in image 2D space.  Borders need to be ignored since
 		// false positives are found around them as an artifact of pixels outside being
 		// treated as being zero.
 		foundFeatures.reset();
-		extractor.setIgnoreBorder(size[level] / (2 * skip)+extractor.getSearchRadius());
-		extractor.process(intensity[index1],null,null,null,foundFeatures);
+		extractor.setIgnoreBorder(levelSize / (2 * skip)+extractor.getSearchRadius());
+		extractor.process(middle,null,null,null,foundFeatures);
 
 		// number of features which can be added
 		int numberRemaining;
@@ -246,7 +403,7 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 		// if configured to do so, only select the features with the highest intensity
 		QueueCorner features;
 		if( sortBest != null ) {
-			sortBest.process(intensity[index1],foundFeatures,true);
+			sortBest.process(middle,foundFeatures,true);
 			features = sortBest.getBestCorners();
 			numberRemaining = maxFeaturesPerScale;
 		} else {
@@ -254,9 +411,6 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 			numberRemaining = Integer.MAX_VALUE;
 		}
 
-		int levelSize = size[level];
-		int sizeStep = levelSize-size[level-1];
-
 		// see if these local maximums are also a maximum in scale-space
 		for( int i = 0; i < features.size && numberRemaining > 0; i++ ) {
 			Point2D_I16 f = features.get(i);
@@ -278,7 +432,7 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 				float interpS = levelSize+peakS*sizeStep;
 
 				double scale =  1.2*interpS/9.0;
-				foundPoints.grow().set(interpX,interpY,scale);
+				output.grow().set(interpX,interpY,scale);
 				numberRemaining--;
 			}
 		}
@@ -344,4 +498,29 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 	public int getSmallestWidth() {
 		return initialSize;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Algorithms used by a single thread
+	 */
+	private class Worker {
+		NonMaxSuppression extractor;
+		SelectNBestFeatures sortBest;
+		QueueCorner foundFeatures = new QueueCorner(100);
+
+		private Worker(NonMaxSuppression extractor) {
+			this.extractor = extractor;
+			if( maxFeaturesPerScale > 0 )
+				sortBest = new SelectNBestFeatures(maxFeaturesPerScale);
+		}
+	}
+
+	/**
+	 * A single layer in scale-space and the features found inside of it
+	 */
+	private static class Layer {
+		int skip;
+		int size;
+		ImageFloat32 intensity = new ImageFloat32(1,1);
+		FastQueue<ScalePoint> found = new FastQueue<ScalePoint>(10,ScalePoint.class,true);
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
+import boofcv.alg.feature.detect.extract.SelectBucketedFeatures;
 import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
@@ -39,6 +40,11 @@ import georegression.struct.point.Point2D_I16;
  * found features are returned.  Set to a value <= 0 to detect all features.
  * </p>
  *
+ * <p>
+ * Optionally, features can be spread across the image by specifying a {@link SelectBucketedFeatures}.  Then
+ * the number of features inside each grid cell is limited, with excluded features counting against a cell's total.
+ * </p>
+ *
  * @param <I> Input image type.
  * @param <D> Image derivative type.
  *
@@ -58,6 +64,8 @@ public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSi
 	protected SelectNBestFeatures selectBest = new SelectNBestFeatures(10);
 	// maximum number of features it will detect across the image
 	protected int maxFeatures;
+	// if not null then features are selected so that they are spread out across the image
+	protected SelectBucketedFeatures selectBucket;
 
 	// extracts corners from the intensity image
 	protected NonMaxSuppression extractor;
@@ -144,12 +152,20 @@ public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSi
 		}
 
 		// optionally select the most intense features only
-		selectBest(intensityImage, foundMinimum, numSelectMin, false);
-		selectBest(intensityImage, foundMaximum, numSelectMax, true);
+		selectBest(intensityImage, foundMinimum, numSelectMin, false, excludeMinimum);
+		selectBest(intensityImage, foundMaximum, numSelectMax, true, excludeMaximum);
 	}
 
-	private void selectBest(ImageFloat32 intensityImage, QueueCorner found , int numSelect, boolean positive) {
-		if (numSelect > 0) {
+	private void selectBest(ImageFloat32 intensityImage, QueueCorner found , int numSelect, boolean positive,
+							QueueCorner exclude ) {
+		if( selectBucket != null ) {
+			selectBucket.process(intensityImage, found, positive, exclude, numSelect);
+			QueueCorner best = selectBucket.getBestCorners();
+			found.reset();
+			for( int i = 0; i < best.size; i++ ) {
+				found.grow().set(best.get(i));
+			}
+		} else if (numSelect > 0) {
 			selectBest.setN(numSelect);
 			selectBest.process(intensityImage, found,positive);
 			QueueCorner best = selectBest.getBestCorners();
@@ -171,6 +187,20 @@ public class GeneralFeatureDetector<I extends ImageSingleBand, D extends ImageSi
 		this.maxFeatures = numFeatures;
 	}
 
+	/**
+	 * Specifies an algorithm for spreading features out across the image.  Features are selected from inside
+	 * each grid cell before the maximum number of features is enforced.
+	 *
+	 * @param selectBucket Bucketed feature selection.  If null then bucketing is turned off.
+	 */
+	public void setSelectBucket(SelectBucketedFeatures selectBucket) {
+		this.selectBucket = selectBucket;
+	}
+
+	public SelectBucketedFeatures getSelectBucket() {
+		return selectBucket;
+	}
+
 	/**
 	 * If the image gradient is required for calculations.
 	 *
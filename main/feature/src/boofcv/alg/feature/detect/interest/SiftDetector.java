@@ -25,6 +25,9 @@ import boofcv.alg.filter.kernel.KernelMath;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.factory.filter.convolve.FactoryConvolveSparse;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
+import boofcv.misc.StageTimer;
 import boofcv.struct.FastQueue;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.convolve.Kernel2D_F32;
@@ -59,7 +62,7 @@ import static boofcv.alg.feature.detect.interest.FastHessianFeatureDetector.poly
  *
  * @author Peter Abeles
  */
-public class SiftDetector {
+public class SiftDetector implements ProfileStages {
 
 	// Contains the image's  scale space representation
 	protected SiftImageScaleSpace ss;
@@ -93,6 +96,9 @@ public class SiftDetector {
 	// Threshold for filtering out edges.
 	private double edgeThreshold;
 
+	// reports how long each stage takes
+	private StageTimer timer = new StageTimer(this);
+
 	/**
 	 * Configures SIFT
 	 *
@@ -182,6 +188,8 @@ public class SiftDetector {
 			// when the images are sub-sampled between octaves the sampling starts at pixel 1 in (x,y)
 			octavePixelOffset += currentPixelScale;
 		}
+
+		timer.count("features",foundPoints.size);
 	}
 
 	/**
@@ -197,10 +205,13 @@ public class SiftDetector {
 		ImageFloat32 scale1 = ss.dog[indexDOG];
 		ImageFloat32 scale2 = ss.dog[indexDOG+1];
 
+		timer.start();
 		extractor.process(scale1,null,null,foundNegative,foundPositive);
+		timer.stop("extract");
 
 		addFoundFeatures(scale0,scale1,scale2,foundNegative,false);
 		addFoundFeatures(scale0,scale1,scale2,foundPositive,true);
+		timer.stop("select");
 	}
 
 	private void addFoundFeatures( ImageFloat32 scale0, ImageFloat32 scale1, ImageFloat32 scale2,
@@ -311,4 +322,9 @@ public class SiftDetector {
 	public FastQueue<ScalePoint> getFoundPoints() {
 		return foundPoints;
 	}
+
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		timer.setProfiler(profiler);
+	}
 }
@@ -21,6 +21,10 @@ package boofcv.alg.feature.detect.interest;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
 import boofcv.alg.misc.PixelMath;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
@@ -42,6 +46,22 @@ import boofcv.struct.image.ImageFloat32;
  * octave.  The first octave is seeded with the input image or the input image scaled.
  * </p>
  *
+ * <p>
+ * CONCURRENT: If turned on, each blur is split into blocks of rows for the horizontal pass and blocks of columns
+ * for the vertical pass.  Once the first two scales in an octave are ready the next octave can be seeded, so the
+ * first two scales in each octave are computed first and the remaining scales of all the octaves are then
+ * computed in parallel.  Derivatives and difference of Gaussian images are computed for each layer in parallel.
+ * Results are identical to the single threaded code.
+ * </p>
+ *
+ * <p>
+ * LAZY DERIVATIVES: Image derivatives are only needed for layers which contain features.  In this mode
+ * {@link #computeDerivatives()} doesn't compute anything, instead the derivative of a layer is computed the
+ * first time it's requested.  Derivative images are only allocated for layers which have been requested.
+ * All the scale and difference of Gaussian images are still kept.  Each layer has its own lock, so threads
+ * requesting different layers don't wait on each other.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class SiftImageScaleSpace {
@@ -84,6 +104,52 @@ public class SiftImageScaleSpace {
 	// storage for applying blur
 	protected ImageFloat32 storage;
 
+	// should the work be split between threads
+	private boolean concurrent = false;
+	// storage for applying blur to each octave in concurrent mode
+	private ImageFloat32 storageOctave[];
+	// computes the gradient in concurrent mode and when derivatives are computed on demand
+	private InstancePool<ImageGradient<ImageFloat32,ImageFloat32>> gradients;
+
+	// if true derivatives are only computed when they are requested
+	private boolean lazyDerivatives = false;
+	// indicates if the derivative for each layer is up to date.  Only used with lazy derivatives
+	private boolean derivativeReady[];
+	// lock for each layer's derivative.  Only used with lazy derivatives
+	private Object derivativeLock[];
+
+	private final IntRangeTask restOfOctaveTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			for( int o = start; o < end; o++ ) {
+				constructRestOfOctave(o,2,storageOctave[o]);
+			}
+		}
+	};
+
+	private final IntRangeTask derivativeTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			ImageGradient<ImageFloat32,ImageFloat32> g = gradients.acquire();
+			try {
+				for( int i = start; i < end; i++ ) {
+					computeDerivative(i,g);
+				}
+			} finally {
+				gradients.release(g);
+			}
+		}
+	};
+
+	private final IntRangeTask dogTask = new IntRangeTask() {
+		@Override
+		public void process(int start, int end) {
+			for( int indexDog = start; indexDog < end; indexDog++ ) {
+				computeDog(indexDog);
+			}
+		}
+	};
+
 	/**
 	 * Configures the scale-space.
 	 *
@@ -130,6 +196,24 @@ public class SiftImageScaleSpace {
 			dog[i] = new ImageFloat32(1,1);
 		}
 		storage = new ImageFloat32(1,1);
+		storageOctave = new ImageFloat32[numOctaves];
+		for( int i = 0; i < numOctaves; i++ ) {
+			storageOctave[i] = new ImageFloat32(1,1);
+		}
+		derivativeReady = new boolean[totalImages];
+		derivativeLock = new Object[totalImages];
+		for( int i = 0; i < totalImages; i++ ) {
+			derivativeLock[i] = new Object();
+		}
+
+		gradients = new InstancePool<ImageGradient<ImageFloat32, ImageFloat32>>(
+				new InstanceFactory<ImageGradient<ImageFloat32, ImageFloat32>>() {
+			@Override
+			public ImageGradient<ImageFloat32, ImageFloat32> newInstance() {
+				return FactoryDerivative.three_F32();
+			}
+		});
+		gradients.add(gradient);
 
 		layerSigma = new double[totalImages];
 		for( int o = 0; o < numOctaves; o++ ) {
@@ -146,17 +230,26 @@ public class SiftImageScaleSpace {
 	 * @param input Input image
 	 */
 	public void constructPyramid(ImageFloat32 input) {
+		for( int i = 0; i < derivativeReady.length; i++ )
+			derivativeReady[i] = false;
+
 		// compute the first octave
 		if( doubleInputImage ) {
 			reshapeToInput(input.width * 2, input.height * 2);
 			upSample(input,scale[1]);
 
-			blurImage(scale[1],scale[0],sigma);
+			blurImage(scale[1],scale[0],sigma,storage);
 		} else {
 			reshapeToInput(input.width, input.height);
-			blurImage(input, scale[0], sigma);
+			blurImage(input, scale[0], sigma,storage);
 		}
-		constructRestOfOctave(0);
+
+		if( concurrent ) {
+			constructPyramidConcurrent();
+			return;
+		}
+
+		constructRestOfOctave(0,1,storage);
 
 		// compute rest of the octaves
 		actualOctaves = numOctaves;
@@ -172,27 +265,65 @@ public class SiftImageScaleSpace {
 			}
 
 			downSample(scale[indexSeed],scale[indexStart+1]);
-			blurImage(scale[indexStart+1],scale[indexStart],sigma);
+			blurImage(scale[indexStart+1],scale[indexStart],sigma,storage);
 
-			constructRestOfOctave(o);
+			constructRestOfOctave(o,1,storage);
 		}
 	}
 
+	/**
+	 * Concurrent version of {@link #constructPyramid}.  The next octave is seeded from the second scale
+	 * of the previous octave, so only the first two scales in each octave are computed in sequence.
+	 */
+	private void constructPyramidConcurrent() {
+		constructRestOfOctave(0,1,2,storage);
+
+		actualOctaves = numOctaves;
+		for( int o = 1; o < numOctaves; o++ ) {
+			int indexSeed = (o-1)*numScales+1;
+			int indexStart = o*numScales;
+
+			if( Math.max(scale[indexStart].width,scale[indexStart].height) < 5 ) {
+				actualOctaves = o;
+				break;
+			}
+
+			downSample(scale[indexSeed],scale[indexStart+1]);
+			blurImage(scale[indexStart+1],scale[indexStart],sigma,storage);
+
+			constructRestOfOctave(o,1,2,storage);
+		}
+
+		if( numScales > 2 )
+			BoofConcurrency.loopBlocks(0,actualOctaves,restOfOctaveTask);
+	}
+
 	/**
 	 * Computes the image derivative for each layer in the pyramid.
 	 */
 	public void computeDerivatives() {
+		if( lazyDerivatives )
+			return;
+
 		int maxScales = actualOctaves*numScales;
-		for( int i = 0; i < maxScales; i++ ) {
-			ImageFloat32 input = scale[i];
-			ImageFloat32 dx = derivX[i];
-			ImageFloat32 dy = derivY[i];
+		if( concurrent ) {
+			BoofConcurrency.loopBlocks(0,maxScales,derivativeTask);
+		} else {
+			for( int i = 0; i < maxScales; i++ ) {
+				computeDerivative(i,gradient);
+			}
+		}
+	}
 
-			dx.reshape(input.width,input.height);
-			dy.reshape(input.width,input.height);
+	private void computeDerivative( int index , ImageGradient<ImageFloat32,ImageFloat32> gradient ) {
+		ImageFloat32 input = scale[index];
+		ImageFloat32 dx = derivX[index];
+		ImageFloat32 dy = derivY[index];
 
-			gradient.process(input,dx,dy);
-		}
+		dx.reshape(input.width,input.height);
+		dy.reshape(input.width,input.height);
+
+		gradient.process(input,dx,dy);
 	}
 
 	/**
@@ -215,34 +346,68 @@ public class SiftImageScaleSpace {
 	 * Applies the specified amount of blur to the input image and stores the results in
 	 * the output image
 	 */
-	private void blurImage( ImageFloat32 input , ImageFloat32 output , double sigma ) {
+	private void blurImage( ImageFloat32 input , ImageFloat32 output , double sigma , ImageFloat32 storage ) {
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigma, -1);
 
 		storage.reshape(input.width,input.height);
-		ConvolveNormalized.horizontal(kernel, input, storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+		if( concurrent ) {
+			blurConcurrent(kernel, input, output, storage);
+		} else {
+			ConvolveNormalized.horizontal(kernel, input, storage);
+			ConvolveNormalized.vertical(kernel,storage,output);
+		}
+	}
+
+	/**
+	 * Each row in the horizontal pass and each column in the vertical pass are independent of each other, so
+	 * the image is split into sub-images with no change to how the image border is handled.
+	 */
+	private void blurConcurrent( final Kernel1D_F32 kernel ,
+								 final ImageFloat32 input , final ImageFloat32 output , final ImageFloat32 storage ) {
+		BoofConcurrency.loopBlocks(0,input.height,20,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				ConvolveNormalized.horizontal(kernel,
+						input.subimage(0,start,input.width,end), storage.subimage(0,start,input.width,end));
+			}
+		});
+		BoofConcurrency.loopBlocks(0,input.width,20,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				ConvolveNormalized.vertical(kernel,
+						storage.subimage(start,0,end,input.height), output.subimage(start,0,end,input.height));
+			}
+		});
 	}
 
 	/**
 	 * Compute difference of Gaussian feature intensity across scale space
 	 */
 	public void computeFeatureIntensity() {
-		int indexDog = 0;
-		for( int o = 0; o < actualOctaves; o++ ) {
-			for( int i = 1; i < numScales; i++ , indexDog++ ) {
-				int indexScale = o*numScales + i;
+		int totalDog = actualOctaves*(numScales-1);
+		if( concurrent ) {
+			BoofConcurrency.loopBlocks(0,totalDog,dogTask);
+		} else {
+			for( int indexDog = 0; indexDog < totalDog; indexDog++ ) {
+				computeDog(indexDog);
+			}
+		}
+	}
 
-				PixelMath.subtract(scale[indexScale],scale[indexScale-1],dog[indexDog]);
+	private void computeDog( int indexDog ) {
+		int o = indexDog/(numScales-1);
+		int i = indexDog%(numScales-1) + 1;
+		int indexScale = o*numScales + i;
 
-				// NOTE: In SIFT paper it states you don't need to do this adjustment.  However, since the difference
-				// between scales is not a constant factor in this implementation you do need to do it.
+		PixelMath.subtract(scale[indexScale],scale[indexScale-1],dog[indexDog]);
 
-				// compute adjustment to make it better approximate of the Laplacian of Gaussian detector
-				double k = (i+1)/(double)i;
-				double adjustment = k-1;
-				PixelMath.divide(dog[indexDog], (float) adjustment, dog[indexDog]);
-			}
-		}
+		// NOTE: In SIFT paper it states you don't need to do this adjustment.  However, since the difference
+		// between scales is not a constant factor in this implementation you do need to do it.
+
+		// compute adjustment to make it better approximate of the Laplacian of Gaussian detector
+		double k = (i+1)/(double)i;
+		double adjustment = k-1;
+		PixelMath.divide(dog[indexDog], (float) adjustment, dog[indexDog]);
 	}
 
 	/**
@@ -250,10 +415,18 @@ public class SiftImageScaleSpace {
 	 * The amount of blur for each scale is a multiple of sigma.  To improve runtime performance
 	 * the previous scale is convolved and the amount of blur is adjusted accordingly.
 	 */
-	private void constructRestOfOctave( int octave ) {
+	private void constructRestOfOctave( int octave , int first , ImageFloat32 storage ) {
+		constructRestOfOctave(octave,first,numScales,storage);
+	}
 
-		int indexScales = octave*numScales+1;
-		for( int i = 1; i < numScales; i++ , indexScales++ ) {
+	/**
+	 * Computes scales in the octave from first to last, exclusive.  The scale before first must already
+	 * have been computed.
+	 */
+	private void constructRestOfOctave( int octave , int first , int last , ImageFloat32 storage ) {
+
+		int indexScales = octave*numScales+first;
+		for( int i = first; i < last; i++ , indexScales++ ) {
 			// sigmaA is the amount of blur already applied
 			double sigmaA = sigma*i;
 			// sigmaB is the desired amount of blur at this scale
@@ -263,7 +436,7 @@ public class SiftImageScaleSpace {
 			double amount = Math.sqrt(sigmaB*sigmaB - sigmaA*sigmaA);
 
 			// apply the blur
-			blurImage(scale[indexScales-1],scale[indexScales],amount);
+			blurImage(scale[indexScales-1],scale[indexScales],amount,storage);
 		}
 	}
 
@@ -332,13 +505,57 @@ public class SiftImageScaleSpace {
 	}
 
 	public ImageFloat32 getDerivativeX(int index) {
+		if( lazyDerivatives )
+			checkDerivative(index);
 		return derivX[index];
 	}
 
 	public ImageFloat32 getDerivativeY(int index) {
+		if( lazyDerivatives )
+			checkDerivative(index);
 		return derivY[index];
 	}
 
+	/**
+	 * Computes the derivative of the layer if it hasn't already been computed.  Features can be described by
+	 * several threads at once, so each layer is locked independently.
+	 */
+	private void checkDerivative( int index ) {
+		synchronized( derivativeLock[index] ) {
+			if( derivativeReady[index] )
+				return;
+			ImageGradient<ImageFloat32,ImageFloat32> g = gradients.acquire();
+			try {
+				computeDerivative(index,g);
+			} finally {
+				gradients.release(g);
+			}
+			derivativeReady[index] = true;
+		}
+	}
+
+	/**
+	 * Turns on or off concurrent processing
+	 */
+	public void setConcurrent( boolean concurrent ) {
+		this.concurrent = concurrent;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	/**
+	 * If true, image derivatives are only computed and stored for layers which are requested.
+	 */
+	public void setLazyDerivatives( boolean lazyDerivatives ) {
+		this.lazyDerivatives = lazyDerivatives;
+	}
+
+	public boolean isLazyDerivatives() {
+		return lazyDerivatives;
+	}
+
 	/**
 	 * Given the scale, return the index of the layer in the scale-space that is the closest
 	 * match.
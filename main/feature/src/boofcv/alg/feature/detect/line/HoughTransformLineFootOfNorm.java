@@ -22,8 +22,11 @@ package boofcv.alg.feature.detect.line;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.FastQueue;
 import boofcv.struct.GrowQueue_F32;
+import boofcv.struct.GrowQueue_I32;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.*;
 import georegression.struct.line.LineParametric2D_F32;
@@ -43,6 +46,11 @@ import georegression.struct.point.Point2D_I16;
  * </p>
  *
  * <p>
+ * The location each pixel votes for is computed for blocks of rows, optionally in parallel, then the votes
+ * are added to the transform in the same order the image is scanned.  The output is the same either way.
+ * </p>
+ *
+ * <p>
  * [1] Section 9.3 of E.R. Davies, "Machine Vision Theory Algorithms Practicalities," 3rd Ed. 2005
  * </p>
  *
@@ -70,6 +78,14 @@ public class HoughTransformLineFootOfNorm {
 	// line intensities for later pruning
 	GrowQueue_F32 foundIntensity = new GrowQueue_F32(10);
 
+	// number of image rows in each block
+	static final int BLOCK_ROWS = 16;
+	// index of the pixel in the transform that each edge pixel votes for in a block of rows. -1 if outside
+	FastQueue<GrowQueue_I32> blockVotes = new FastQueue<GrowQueue_I32>(GrowQueue_I32.class,true);
+
+	// should the image be processed in parallel
+	boolean concurrent = false;
+
 	/**
 	 * Specifies parameters of transform.
 	 *
@@ -92,7 +108,7 @@ public class HoughTransformLineFootOfNorm {
 	 * @param derivY Image derivative along y-axis.
 	 * @param binary Non-zero pixels are considered to be line pixels.
 	 */
-	public <D extends ImageSingleBand> void transform( D derivX , D derivY , ImageUInt8 binary )
+	public <D extends ImageSingleBand> void transform( final D derivX , final D derivY , final ImageUInt8 binary )
 	{
 		InputSanityCheck.checkSameShape(derivX,derivY,binary);
 
@@ -103,14 +119,48 @@ public class HoughTransformLineFootOfNorm {
 		originY = derivX.height/2;
 		candidates.reset();
 
-		if( derivX instanceof ImageFloat32 )
-			_transform((ImageFloat32)derivX,(ImageFloat32)derivY,binary);
-		else if( derivX instanceof ImageSInt16 )
-			_transform((ImageSInt16)derivX,(ImageSInt16)derivY,binary);
-		else if( derivX instanceof ImageSInt32 )
-			_transform((ImageSInt32)derivX,(ImageSInt32)derivY,binary);
-		else
+		if( !(derivX instanceof ImageFloat32 || derivX instanceof ImageSInt16 || derivX instanceof ImageSInt32) )
 			throw new IllegalArgumentException("Unsupported derivative image type: "+derivX.getClass().getSimpleName());
+
+		final int numBlocks = (binary.height + BLOCK_ROWS - 1)/BLOCK_ROWS;
+		blockVotes.reset();
+		for( int i = 0; i < numBlocks; i++ )
+			blockVotes.grow();
+
+		IntRangeTask task = new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				for( int block = start; block < end; block++ ) {
+					int y0 = block*BLOCK_ROWS;
+					int y1 = Math.min(binary.height,y0+BLOCK_ROWS);
+					GrowQueue_I32 votes = blockVotes.get(block);
+					votes.reset();
+
+					if( derivX instanceof ImageFloat32 )
+						_transform((ImageFloat32)derivX,(ImageFloat32)derivY,binary,y0,y1,votes);
+					else if( derivX instanceof ImageSInt16 )
+						_transform((ImageSInt16)derivX,(ImageSInt16)derivY,binary,y0,y1,votes);
+					else
+						_transform((ImageSInt32)derivX,(ImageSInt32)derivY,binary,y0,y1,votes);
+				}
+			}
+		};
+
+		if( concurrent )
+			BoofConcurrency.loopBlocks(0,numBlocks,task);
+		else
+			task.process(0,numBlocks);
+
+		// add the votes in the same order as the image was scanned
+		for( int block = 0; block < numBlocks; block++ ) {
+			GrowQueue_I32 votes = blockVotes.get(block);
+			for( int i = 0; i < votes.size; i++ ) {
+				int index = votes.data[i];
+				if( index >= 0 ) {
+					addVote(index);
+				}
+			}
+		}
 	}
 
 	/**
@@ -152,6 +202,15 @@ public class HoughTransformLineFootOfNorm {
 	 */
 	public void parameterize( int x , int y , float derivX , float derivY )
 	{
+		int index = footOfNorm(x,y,derivX,derivY);
+		if( index >= 0 )
+			addVote(index);
+	}
+
+	/**
+	 * Computes the foot of norm for the point and returns its index in the transform or -1 if it's outside.
+	 */
+	private int footOfNorm( int x , int y , float derivX , float derivY ) {
 		// put the point in a new coordinate system centered at the image's origin
 		// this minimizes error, which is a function of distance from origin
 		x -= originX;
@@ -163,15 +222,32 @@ public class HoughTransformLineFootOfNorm {
 		int x0 = (int)(v*derivX) + originX;
 		int y0 = (int)(v*derivY) + originY;
 
-		if( transform.isInBounds(x0,y0)) {
-			int index = transform.startIndex+y0*transform.stride+x0;
-			// keep track of candidate pixels so that a sparse search can be done
-			// to detect lines
-			if( transform.data[index]++ == 1 )
-				candidates.add(x0,y0);
+		if( transform.isInBounds(x0,y0))
+			return transform.startIndex+y0*transform.stride+x0;
+		return -1;
+	}
+
+	private void addVote( int index ) {
+		// keep track of candidate pixels so that a sparse search can be done
+		// to detect lines
+		if( transform.data[index]++ == 1 ) {
+			int y0 = (index-transform.startIndex)/transform.stride;
+			int x0 = index-transform.startIndex-y0*transform.stride;
+			candidates.add(x0,y0);
 		}
 	}
 
+	/**
+	 * If true then the image is processed in parallel.
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
 	/**
 	 * Returns the Hough transform image.
 	 *
@@ -191,49 +267,46 @@ public class HoughTransformLineFootOfNorm {
 		return foundIntensity.data;
 	}
 
-	private void _transform( ImageFloat32 derivX , ImageFloat32 derivY , ImageUInt8 binary )
+	private void _transform( ImageFloat32 derivX , ImageFloat32 derivY , ImageUInt8 binary , int y0 , int y1 , GrowQueue_I32 votes )
 	{
-		// apply the transform to the entire image
-		for( int y = 0; y < binary.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int start = binary.startIndex + y*binary.stride;
 			int end = start + binary.width;
 
 			for( int index = start; index < end; index++ ) {
 				if( binary.data[index] != 0 ) {
 					int x = index-start;
-					parameterize(x,y,derivX.unsafe_get(x,y),derivY.unsafe_get(x,y));
+					votes.add(footOfNorm(x,y,derivX.unsafe_get(x,y),derivY.unsafe_get(x,y)));
 				}
 			}
 		}
 	}
 
-	private void _transform( ImageSInt16 derivX , ImageSInt16 derivY , ImageUInt8 binary )
+	private void _transform( ImageSInt16 derivX , ImageSInt16 derivY , ImageUInt8 binary , int y0 , int y1 , GrowQueue_I32 votes )
 	{
-		// apply the transform to the entire image
-		for( int y = 0; y < binary.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int start = binary.startIndex + y*binary.stride;
 			int end = start + binary.width;
 
 			for( int index = start; index < end; index++ ) {
 				if( binary.data[index] != 0 ) {
 					int x = index-start;
-					parameterize(x,y,derivX.unsafe_get(x,y),derivY.unsafe_get(x,y));
+					votes.add(footOfNorm(x,y,derivX.unsafe_get(x,y),derivY.unsafe_get(x,y)));
 				}
 			}
 		}
 	}
 
-	private void _transform( ImageSInt32 derivX , ImageSInt32 derivY , ImageUInt8 binary )
+	private void _transform( ImageSInt32 derivX , ImageSInt32 derivY , ImageUInt8 binary , int y0 , int y1 , GrowQueue_I32 votes )
 	{
-		// apply the transform to the entire image
-		for( int y = 0; y < binary.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int start = binary.startIndex + y*binary.stride;
 			int end = start + binary.width;
 
 			for( int index = start; index < end; index++ ) {
 				if( binary.data[index] != 0 ) {
 					int x = index-start;
-					parameterize(x,y,derivX.unsafe_get(x,y),derivY.unsafe_get(x,y));
+					votes.add(footOfNorm(x,y,derivX.unsafe_get(x,y),derivY.unsafe_get(x,y)));
 				}
 			}
 		}
@@ -20,16 +20,21 @@ package boofcv.alg.feature.detect.line;
 
 
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
-import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.FastQueue;
 import boofcv.struct.GrowQueue_F32;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.feature.CachedSineCosine_F32;
-import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.*;
 import georegression.struct.line.LineParametric2D_F32;
 import georegression.struct.point.Point2D_I16;
 
+import java.util.List;
+
 /**
  * <p>
  * Hough transform which uses a polar line representation.  Each pixel that is identified as a potential line
@@ -46,6 +51,13 @@ import georegression.struct.point.Point2D_I16;
  * and bottom.
  * </p>
  *
+ * <p>
+ * Votes are accumulated in integer arrays, one for each thread, which are summed together after every pixel
+ * has been processed.  If the image gradient is provided and an angle tolerance has been specified then a pixel
+ * will only vote for angles close to its gradient's orientation, which is normal to the line it lies on.  This
+ * greatly reduces the number of votes and false positives caused by curves randomly crossing.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class HoughTransformLinePolar {
@@ -68,6 +80,18 @@ public class HoughTransformLinePolar {
 
 	// lookup tables for sine and cosine functions
 	CachedSineCosine_F32 tableTrig;
+	// sine and cosine scaled so that the range is in units of bins
+	float scaledC[];
+	float scaledS[];
+
+	// pixels only vote for angles within this many bins of their gradient's orientation.  -1 if all angles
+	int windowBins = -1;
+
+	// should the image be processed in parallel
+	boolean concurrent = false;
+
+	// vote counts for each thread
+	InstancePool<Workspace> workspaces;
 
 	/**
 	 * Specifies parameters of transform.  The minimum number of points specified in the extractor
@@ -85,6 +109,15 @@ public class HoughTransformLinePolar {
 		transform.reshape(numBinsRange,numBinsAngle);
 
 		tableTrig = new CachedSineCosine_F32(0,(float)Math.PI,numBinsAngle);
+		scaledC = new float[numBinsAngle];
+		scaledS = new float[numBinsAngle];
+
+		workspaces = new InstancePool<Workspace>(new InstanceFactory<Workspace>() {
+			@Override
+			public Workspace newInstance() {
+				return new Workspace();
+			}
+		});
 	}
 
 	public int getNumBinsRange() {
@@ -100,26 +133,182 @@ public class HoughTransformLinePolar {
 	 *
 	 * @param binary Binary image that indicates which pixels lie on edges.
 	 */
-	public void transform( ImageUInt8 binary )
+	public void transform( final ImageUInt8 binary )
 	{
-		ImageMiscOps.fill(transform, 0);
+		setOrigin(binary);
+
+		loop(binary.height, new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				Workspace w = workspaces.acquire();
+				try {
+					int N = transform.height;
+					for( int y = start; y < end; y++ ) {
+						int index = binary.startIndex + y*binary.stride;
+						for( int x = 0; x < binary.width; x++ , index++ ) {
+							if( binary.data[index] != 0 ) {
+								vote(x-originX,y-originY,0,N,w.counts);
+							}
+						}
+					}
+				} finally {
+					workspaces.release(w);
+				}
+			}
+		});
+
+		sumVotes();
+	}
+
+	/**
+	 * Computes the Hough transform of the image.  If an angle tolerance has been specified then each pixel only
+	 * votes for angles close to its gradient's orientation.
+	 *
+	 * @see #setAngleTolerance(double)
+	 *
+	 * @param binary Binary image that indicates which pixels lie on edges.
+	 * @param derivX Image derivative along x-axis.
+	 * @param derivY Image derivative along y-axis.
+	 */
+	public <D extends ImageSingleBand> void transform( final ImageUInt8 binary , final D derivX , final D derivY )
+	{
+		InputSanityCheck.checkSameShape(derivX,derivY,binary);
+
+		if( windowBins < 0 ) {
+			transform(binary);
+			return;
+		}
+
+		setOrigin(binary);
+
+		loop(binary.height, new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				Workspace w = workspaces.acquire();
+				try {
+					int counts[] = w.counts;
+					if( derivX instanceof ImageFloat32 )
+						_transform((ImageFloat32)derivX,(ImageFloat32)derivY,binary,start,end,counts);
+					else if( derivX instanceof ImageSInt16 )
+						_transform((ImageSInt16)derivX,(ImageSInt16)derivY,binary,start,end,counts);
+					else if( derivX instanceof ImageSInt32 )
+						_transform((ImageSInt32)derivX,(ImageSInt32)derivY,binary,start,end,counts);
+					else
+						throw new IllegalArgumentException("Unsupported derivative image type: "+derivX.getClass().getSimpleName());
+				} finally {
+					workspaces.release(w);
+				}
+			}
+		});
 
+		sumVotes();
+	}
+
+	private void setOrigin( ImageUInt8 binary ) {
 		originX = binary.width/2;
 		originY = binary.height/2;
 		r_max = Math.sqrt(originX*originX+originY*originY);
 
-		for( int y = 0; y < binary.height; y++ ) {
-			int start = binary.startIndex + y*binary.stride;
-			int stop = start + binary.width;
+		double scale = (transform.width/2)/r_max;
+		for( int i = 0; i < transform.height; i++ ) {
+			scaledC[i] = (float)(tableTrig.c[i]*scale);
+			scaledS[i] = (float)(tableTrig.s[i]*scale);
+		}
+	}
 
-			for( int index = start; index < stop; index++ ) {
-				if( binary.data[index] != 0 ) {
-					parameterize(index-start,y);
-				}
+	private void loop( int N , IntRangeTask task ) {
+		if( concurrent )
+			BoofConcurrency.loopBlocks(0,N,20,task);
+		else
+			task.process(0,N);
+	}
+
+	/**
+	 * Adds the votes from each thread into the transform image and zeros them for the next image
+	 */
+	private void sumVotes() {
+		List<Workspace> all = workspaces.getAll();
+		float data[] = transform.data;
+		int N = transform.width*transform.height;
+
+		if( all.isEmpty() ) {
+			for( int i = 0; i < N; i++ )
+				data[i] = 0;
+			return;
+		}
+
+		int counts[] = all.get(0).counts;
+		for( int i = 0; i < N; i++ ) {
+			data[i] = counts[i];
+			counts[i] = 0;
+		}
+		for( int j = 1; j < all.size(); j++ ) {
+			counts = all.get(j).counts;
+			for( int i = 0; i < N; i++ ) {
+				data[i] += counts[i];
+				counts[i] = 0;
 			}
 		}
 	}
 
+	/**
+	 * Votes for every angle in the range [bin0,bin1) which passes through the point.  Point is relative to the origin.
+	 */
+	private void vote( int x , int y , int bin0 , int bin1 , int counts[] ) {
+		final float c[] = scaledC;
+		final float s[] = scaledS;
+		final int width = transform.width;
+		final int w2 = width/2;
+
+		for( int i = bin0; i < bin1; i++ ) {
+			counts[i*width + rangeBin(x*c[i] + y*s[i],w2,width)]++;
+		}
+	}
+
+	/**
+	 * Converts the range, in units of bins, into the column in the transform
+	 */
+	private static int rangeBin( float r , int w2 , int width ) {
+		// the column is always positive, so rounding towards zero is the same as Math.floor()
+		int col = (int)(r + w2);
+
+		// round off error can push points at the very edge out of the transform
+		return col < width ? col : width-1;
+	}
+
+	/**
+	 * Votes for angles within the window around the gradient's orientation.  Point is relative to the origin.
+	 */
+	private void voteWindow( int x , int y , float derivX , float derivY , int counts[] ) {
+		final int N = transform.height;
+		// the first and last bins are the same angle, so the angles repeat every N-1 bins
+		final int period = N-1;
+
+		if( 2*windowBins+1 >= period ) {
+			vote(x,y,0,N,counts);
+			return;
+		}
+
+		// orientation of the line's normal from 0 to PI
+		double theta = Math.atan2(derivY,derivX);
+		if( theta < 0 )
+			theta += Math.PI;
+
+		int center = (int)(theta*period/Math.PI + 0.5);
+		int bin0 = center - windowBins;
+		int bin1 = center + windowBins + 1;
+
+		if( bin0 < 0 ) {
+			vote(x,y,bin0+period,period,counts);
+			bin0 = 0;
+		}
+		if( bin1 > N ) {
+			vote(x,y,1,bin1-period,counts);
+			bin1 = N;
+		}
+		vote(x,y,bin0,bin1,counts);
+	}
+
 	/**
 	 * Searches for local maximas and converts into lines.
 	 *
@@ -165,14 +354,39 @@ public class HoughTransformLinePolar {
 		int w2 = transform.width/2;
 
 		for( int i = 0; i < transform.height; i++ ) {
-			double p = x*tableTrig.c[i] + y*tableTrig.s[i];
-
-			int col = (int)Math.floor(p * w2 / r_max) + w2;
+			int col = rangeBin(x*scaledC[i] + y*scaledS[i],w2,transform.width);
 			int index = transform.startIndex + i*transform.stride + col;
 			transform.data[index]++;
 		}
 	}
 
+	/**
+	 * If greater than zero then pixels only vote for angles which are within this tolerance of their gradient's
+	 * orientation.  Only used when the gradient is passed in to {@link #transform(ImageUInt8, ImageSingleBand, ImageSingleBand)}.
+	 * By default all angles are voted for.
+	 *
+	 * @param tolerance Angle tolerance in radians.  If &le; 0 then all angles are voted for.
+	 */
+	public void setAngleTolerance( double tolerance ) {
+		if( tolerance <= 0 ) {
+			windowBins = -1;
+		} else {
+			int period = transform.height-1;
+			windowBins = (int)Math.ceil(tolerance*period/Math.PI);
+		}
+	}
+
+	/**
+	 * If true then the image is processed in parallel.
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
 	/**
 	 * Returns the Hough transform image.
 	 *
@@ -191,4 +405,56 @@ public class HoughTransformLinePolar {
 	public float[] getFoundIntensity() {
 		return foundIntensity.data;
 	}
+
+	private void _transform( ImageFloat32 derivX , ImageFloat32 derivY , ImageUInt8 binary , int y0 , int y1 , int counts[] )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int index = binary.startIndex + y*binary.stride;
+			int indexX = derivX.startIndex + y*derivX.stride;
+			int indexY = derivY.startIndex + y*derivY.stride;
+
+			for( int x = 0; x < binary.width; x++ , index++ , indexX++ , indexY++ ) {
+				if( binary.data[index] != 0 ) {
+					voteWindow(x-originX,y-originY,derivX.data[indexX],derivY.data[indexY],counts);
+				}
+			}
+		}
+	}
+
+	private void _transform( ImageSInt16 derivX , ImageSInt16 derivY , ImageUInt8 binary , int y0 , int y1 , int counts[] )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int index = binary.startIndex + y*binary.stride;
+			int indexX = derivX.startIndex + y*derivX.stride;
+			int indexY = derivY.startIndex + y*derivY.stride;
+
+			for( int x = 0; x < binary.width; x++ , index++ , indexX++ , indexY++ ) {
+				if( binary.data[index] != 0 ) {
+					voteWindow(x-originX,y-originY,derivX.data[indexX],derivY.data[indexY],counts);
+				}
+			}
+		}
+	}
+
+	private void _transform( ImageSInt32 derivX , ImageSInt32 derivY , ImageUInt8 binary , int y0 , int y1 , int counts[] )
+	{
+		for( int y = y0; y < y1; y++ ) {
+			int index = binary.startIndex + y*binary.stride;
+			int indexX = derivX.startIndex + y*derivX.stride;
+			int indexY = derivY.startIndex + y*derivY.stride;
+
+			for( int x = 0; x < binary.width; x++ , index++ , indexX++ , indexY++ ) {
+				if( binary.data[index] != 0 ) {
+					voteWindow(x-originX,y-originY,derivX.data[indexX],derivY.data[indexY],counts);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Vote counts for a single thread
+	 */
+	private class Workspace {
+		int counts[] = new int[transform.width*transform.height];
+	}
 }
@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.alg.transform.fft.FourierTransformComplex_F64;
+import boofcv.alg.transform.fft.FourierTransformReal2D_F64;
+import boofcv.core.image.GConvertImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Template matching which computes the correlation between the image and the template in the frequency domain
+ * using the Fast Fourier Transform (FFT).  The cost of evaluating each pixel is independent of the template's size,
+ * unlike spatial implementations such as {@link TemplateNCC} and {@link TemplateDiffSquared}, making it much faster
+ * for large templates.  The produced intensity image is the same as its spatial counterpart, up to numerical
+ * round off error.
+ * </p>
+ *
+ * <p>
+ * The image is broken up into overlapping tiles whose width and height are powers of two.  Each tile is
+ * transformed, multiplied by the conjugate of the template's spectrum, and transformed back.  The template's
+ * spectrum is only recomputed when the template or tile shape changes, so it's reused when the same template
+ * is searched for in a sequence of images.  Sums of the image and the image squared inside each template sized
+ * region are found using integral images of the tile.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class TemplateFourier<T extends ImageSingleBand>
+		implements TemplateMatchingIntensity<T>
+{
+	// Match intensity image
+	private ImageFloat32 intensity = new ImageFloat32(1, 1);
+
+	// offset from pixel intensity coordinate to top left corner of template
+	private int offsetX;
+	private int offsetY;
+
+	// input image and template converted into floating point
+	private ImageFloat32 imageF = new ImageFloat32(1,1);
+	private ImageFloat32 templateF = new ImageFloat32(1,1);
+	// copy of the template which the spectrum was computed from
+	private ImageFloat32 templateSpectrumOf = new ImageFloat32(0,0);
+
+	// shape of the template
+	protected int templateWidth,templateHeight;
+
+	// computes the Fourier transform of a tile
+	private FourierTransformReal2D_F64 fft;
+	private int tileWidth, tileHeight;
+
+	// tile being processed.  After being transformed back it contains the correlation
+	private double tile[] = new double[0];
+	// spectrum of the tile and template
+	private double spectrum[] = new double[0];
+	private double spectrumTemplate[] = new double[0];
+
+	// integral images of the tile and the tile squared
+	private double integral[] = new double[0];
+	private double integralSq[] = new double[0];
+
+	@Override
+	public void process(T image, T template) {
+		if( template.width > image.width || template.height > image.height )
+			throw new IllegalArgumentException("Template must be equal to or smaller than the input image");
+
+		intensity.reshape(image.width, image.height);
+
+		offsetX = template.width / 2;
+		offsetY = template.height / 2;
+
+		ImageFloat32 input = convert(image, imageF);
+
+		declareTiles(image.width, image.height, template.width, template.height);
+		setTemplate(convert(template, templateF));
+
+		// number of template locations which are evaluated
+		int w = image.width - template.width;
+		int h = image.height - template.height;
+
+		// number of template locations which can be evaluated inside each tile
+		int stepX = tileWidth - template.width + 1;
+		int stepY = tileHeight - template.height + 1;
+
+		for( int y = 0; y < h; y += stepY ) {
+			for( int x = 0; x < w; x += stepX ) {
+				processTile(input, x, y, Math.min(stepX, w - x), Math.min(stepY, h - y));
+			}
+		}
+	}
+
+	/**
+	 * Selects the shape of a tile and declares data structures
+	 */
+	private void declareTiles( int imageWidth , int imageHeight , int templateWidth , int templateHeight ) {
+		int tileWidth = selectTileLength(imageWidth, templateWidth);
+		int tileHeight = selectTileLength(imageHeight, templateHeight);
+
+		if( fft != null && tileWidth == this.tileWidth && tileHeight == this.tileHeight )
+			return;
+
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+
+		fft = new FourierTransformReal2D_F64(tileWidth,tileHeight);
+		tile = new double[tileWidth*tileHeight];
+		spectrum = new double[fft.getSpectrumLength()];
+		spectrumTemplate = new double[fft.getSpectrumLength()];
+		integral = new double[(tileWidth+1)*(tileHeight+1)];
+		integralSq = new double[(tileWidth+1)*(tileHeight+1)];
+
+		// force the template's spectrum to be recomputed
+		templateSpectrumOf.reshape(0,0);
+	}
+
+	/**
+	 * Selects the length of a tile along one axis.  Larger tiles waste less work on the overlap between tiles
+	 * but are more expensive per pixel.  A tile is never larger than needed to cover the entire image.
+	 *
+	 * @param imageLength Length of the image along the axis
+	 * @param templateLength Length of the template along the axis
+	 * @return Length of the tile.  A power of two.
+	 */
+	public static int selectTileLength( int imageLength , int templateLength ) {
+		int desired = FourierTransformComplex_F64.nextPowerOfTwo(Math.max(2, templateLength*4));
+		int whole = FourierTransformComplex_F64.nextPowerOfTwo(Math.max(2, imageLength));
+		return Math.min(desired,whole);
+	}
+
+	/**
+	 * Estimates the cost of processing an image.  The cost is the number of tiles times the number of elements in
+	 * a tile times the log of the number of elements in a tile.
+	 */
+	public static double estimateCost( int imageWidth , int imageHeight , int templateWidth , int templateHeight ) {
+		int tileWidth = selectTileLength(imageWidth, templateWidth);
+		int tileHeight = selectTileLength(imageHeight, templateHeight);
+
+		int w = imageWidth - templateWidth;
+		int h = imageHeight - templateHeight;
+		int stepX = tileWidth - templateWidth + 1;
+		int stepY = tileHeight - templateHeight + 1;
+
+		double tiles = ((w+stepX-1)/stepX)*(double)((h+stepY-1)/stepY);
+		double N = tileWidth*tileHeight;
+		return tiles*N*Math.log(N)/Math.log(2);
+	}
+
+	/**
+	 * Computes the template's spectrum if the template has changed since the last time it was computed.
+	 */
+	private void setTemplate( ImageFloat32 template ) {
+		templateWidth = template.width;
+		templateHeight = template.height;
+
+		if( isSame(template,templateSpectrumOf) )
+			return;
+
+		templateSpectrumOf.reshape(template.width,template.height);
+		templateSpectrumOf.setTo(template);
+
+		setupTemplate(template);
+
+		double offset = templateOffset();
+		for( int i = 0; i < tile.length; i++ )
+			tile[i] = 0;
+		for( int y = 0; y < template.height; y++ ) {
+			int indexT = template.startIndex + y*template.stride;
+			int indexTile = y*tileWidth;
+			for( int x = 0; x < template.width; x++ ) {
+				tile[indexTile++] = template.data[indexT++] - offset;
+			}
+		}
+
+		fft.forward(tile,spectrumTemplate);
+	}
+
+	/**
+	 * Computes the intensity for all template locations inside a tile.
+	 *
+	 * @param input Input image
+	 * @param x0 Top left corner of the tile.  x-coordinate
+	 * @param y0 Top left corner of the tile.  y-coordinate
+	 * @param outputWidth Number of template locations evaluated along the x-axis
+	 * @param outputHeight Number of template locations evaluated along the y-axis
+	 */
+	private void processTile( ImageFloat32 input , int x0 , int y0 , int outputWidth , int outputHeight ) {
+		// region inside the image which influences the output
+		int regionWidth = outputWidth + templateWidth - 1;
+		int regionHeight = outputHeight + templateHeight - 1;
+
+		// copy the image into the tile and pad with zeros
+		for( int y = 0; y < tileHeight; y++ ) {
+			int indexTile = y*tileWidth;
+			int end = indexTile + tileWidth;
+			if( y < regionHeight ) {
+				int indexInput = input.startIndex + (y0+y)*input.stride + x0;
+				for( int x = 0; x < regionWidth; x++ ) {
+					tile[indexTile++] = input.data[indexInput++];
+				}
+			}
+			while( indexTile < end )
+				tile[indexTile++] = 0;
+		}
+
+		computeIntegral(regionWidth, regionHeight);
+
+		// correlation is computed by multiplying with the complex conjugate of the template's spectrum
+		fft.forward(tile,spectrum);
+		for( int i = 0; i < spectrum.length; i += 2 ) {
+			double ar = spectrum[i], ai = spectrum[i+1];
+			double br = spectrumTemplate[i], bi = spectrumTemplate[i+1];
+
+			spectrum[i]   = ar*br + ai*bi;
+			spectrum[i+1] = ai*br - ar*bi;
+		}
+		fft.inverse(spectrum,tile);
+
+		int stride = tileWidth+1;
+		for( int y = 0; y < outputHeight; y++ ) {
+			int indexOut = intensity.startIndex + (y0 + y + offsetY)*intensity.stride + x0 + offsetX;
+			int indexTile = y*tileWidth;
+			int indexTop = y*stride;
+			int indexBottom = (y+templateHeight)*stride;
+
+			for( int x = 0; x < outputWidth; x++ , indexTop++ , indexBottom++ ) {
+				double sum = integral[indexBottom+templateWidth] - integral[indexBottom]
+						- integral[indexTop+templateWidth] + integral[indexTop];
+				double sumSq = integralSq[indexBottom+templateWidth] - integralSq[indexBottom]
+						- integralSq[indexTop+templateWidth] + integralSq[indexTop];
+
+				intensity.data[indexOut++] = computeScore(tile[indexTile++],sum,sumSq);
+			}
+		}
+	}
+
+	/**
+	 * Integral image of the tile and the tile squared over the specified region.  The integral images have a
+	 * stride of tileWidth+1 and the first row and column are zero.
+	 */
+	private void computeIntegral( int regionWidth , int regionHeight ) {
+		int stride = tileWidth+1;
+		for( int x = 0; x <= regionWidth; x++ ) {
+			integral[x] = 0;
+			integralSq[x] = 0;
+		}
+
+		for( int y = 0; y < regionHeight; y++ ) {
+			int indexTile = y*tileWidth;
+			int indexPrev = y*stride;
+			int index = indexPrev + stride;
+
+			integral[index] = 0;
+			integralSq[index] = 0;
+
+			double rowSum = 0, rowSumSq = 0;
+			for( int x = 0; x < regionWidth; x++ ) {
+				double v = tile[indexTile++];
+				rowSum += v;
+				rowSumSq += v*v;
+				index++; indexPrev++;
+				integral[index] = integral[indexPrev] + rowSum;
+				integralSq[index] = integralSq[indexPrev] + rowSumSq;
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the two images have the same shape and values
+	 */
+	private static boolean isSame( ImageFloat32 a , ImageFloat32 b ) {
+		if( a.width != b.width || a.height != b.height )
+			return false;
+
+		for( int y = 0; y < a.height; y++ ) {
+			int indexA = a.startIndex + y*a.stride;
+			int indexB = b.startIndex + y*b.stride;
+			for( int x = 0; x < a.width; x++ ) {
+				if( a.data[indexA++] != b.data[indexB++] )
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private static ImageFloat32 convert( ImageSingleBand input , ImageFloat32 storage ) {
+		if( input instanceof ImageFloat32 )
+			return (ImageFloat32)input;
+
+		storage.reshape(input.width,input.height);
+		GConvertImage.convert(input,storage);
+		return storage;
+	}
+
+	/**
+	 * Precompute statistical information on the template
+	 */
+	protected abstract void setupTemplate( ImageFloat32 template );
+
+	/**
+	 * Value which is subtracted from the template before its spectrum is computed
+	 */
+	protected abstract double templateOffset();
+
+	/**
+	 * Computes the match score at a single location
+	 *
+	 * @param correlation Correlation between the image and the template with its offset removed
+	 * @param sum Sum of image pixels inside the template region
+	 * @param sumSq Sum of image pixels squared inside the template region
+	 * @return match value with better matches having a more positive value
+	 */
+	protected abstract float computeScore( double correlation , double sum , double sumSq );
+
+	/**
+	 * Normalized cross correlation.  Equivalent to {@link TemplateNCC}.
+	 */
+	public static class NCC<T extends ImageSingleBand> extends TemplateFourier<T> {
+
+		// image regions with a variance relative to their mean squared intensity below this are flat
+		public static final double FLAT_TOL = 1e-8;
+
+		double area;
+		double templateMean;
+		double templateSigma;
+
+		@Override
+		protected void setupTemplate(ImageFloat32 template) {
+			area = template.width*template.height;
+
+			templateMean = 0;
+			for (int y = 0; y < template.height; y++) {
+				int templateIndex = template.startIndex + y * template.stride;
+				for (int x = 0; x < template.width; x++) {
+					templateMean += template.data[templateIndex++];
+				}
+			}
+			templateMean /= area;
+
+			templateSigma = 0;
+			for (int y = 0; y < template.height; y++) {
+				int templateIndex = template.startIndex + y * template.stride;
+				for (int x = 0; x < template.width; x++) {
+					double diff = template.data[templateIndex++] - templateMean;
+					templateSigma += diff*diff;
+				}
+			}
+			templateSigma = Math.sqrt(templateSigma/area);
+		}
+
+		@Override
+		protected double templateOffset() {
+			return templateMean;
+		}
+
+		@Override
+		protected float computeScore(double correlation, double sum, double sumSq) {
+			// since the template has a zero mean the image's mean doesn't need to be subtracted
+			double variance = sumSq - sum*sum/area;
+
+			// In flat regions the variance and correlation are only round off error and the score is undefined.
+			// Zero is returned, since NaN would break the selection of the best matches
+			if( variance <= FLAT_TOL*area*Math.max(1,sumSq/area) )
+				return 0;
+
+			double imageSigma = Math.sqrt(variance/area);
+
+			return (float)(correlation/(imageSigma*templateSigma));
+		}
+	}
+
+	/**
+	 * Difference squared error. Equivalent to {@link TemplateDiffSquared}.  Expanding the error gives
+	 * Sum I<sup>2</sup> - 2*Sum I*T + Sum T<sup>2</sup>.
+	 */
+	public static class DiffSquared<T extends ImageSingleBand> extends TemplateFourier<T> {
+
+		double templateSumSq;
+
+		@Override
+		protected void setupTemplate(ImageFloat32 template) {
+			templateSumSq = 0;
+			for (int y = 0; y < template.height; y++) {
+				int templateIndex = template.startIndex + y * template.stride;
+				for (int x = 0; x < template.width; x++) {
+					double v = template.data[templateIndex++];
+					templateSumSq += v*v;
+				}
+			}
+		}
+
+		@Override
+		protected double templateOffset() {
+			return 0;
+		}
+
+		@Override
+		protected float computeScore(double correlation, double sum, double sumSq) {
+			return (float)-(sumSq - 2*correlation + templateSumSq);
+		}
+	}
+
+	@Override
+	public ImageFloat32 getIntensity() {
+		return intensity;
+	}
+
+	@Override
+	public boolean isBorderProcessed() {
+		return false;
+	}
+
+	@Override
+	public int getOffsetX() {
+		return offsetX;
+	}
+
+	@Override
+	public int getOffsetY() {
+		return offsetY;
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * Selects between a spatial and a frequency domain template matching algorithm depending on which one is
+ * estimated to be faster for the image and template's shape.  Spatial algorithms have a cost proportional to
+ * the template's area and are faster for small templates, while {@link TemplateFourier} is faster for large
+ * templates.
+ *
+ * @author Peter Abeles
+ */
+public class TemplateIntensitySwitch<T extends ImageBase>
+		implements TemplateMatchingIntensity<T>
+{
+	// spatial and frequency domain algorithms
+	private TemplateMatchingIntensity<T> spatial;
+	private TemplateMatchingIntensity<T> fourier;
+
+	// cost of evaluating a single template pixel in the spatial algorithm relative to the cost of one unit
+	// returned by TemplateFourier.estimateCost()
+	private double spatialCost;
+
+	// the algorithm used last
+	private TemplateMatchingIntensity<T> selected;
+
+	/**
+	 * Specifies the algorithms
+	 *
+	 * @param spatial Spatial template matching algorithm
+	 * @param fourier Frequency domain template matching algorithm with an equivalent score
+	 * @param spatialCost Relative cost of evaluating a single template pixel in the spatial algorithm, see
+	 * {@link TemplateFourier#estimateCost}.
+	 */
+	public TemplateIntensitySwitch(TemplateMatchingIntensity<T> spatial,
+								   TemplateMatchingIntensity<T> fourier,
+								   double spatialCost) {
+		this.spatial = spatial;
+		this.fourier = fourier;
+		this.spatialCost = spatialCost;
+		this.selected = spatial;
+	}
+
+	@Override
+	public void process(T image, T template) {
+		if( isFourierFaster(image.width, image.height, template.width, template.height) )
+			selected = fourier;
+		else
+			selected = spatial;
+
+		selected.process(image,template);
+	}
+
+	/**
+	 * Returns true if the frequency domain algorithm is estimated to be faster
+	 */
+	public boolean isFourierFaster( int imageWidth , int imageHeight , int templateWidth , int templateHeight ) {
+		double costSpatial = spatialCost*(imageWidth-templateWidth)*(double)(imageHeight-templateHeight)*
+				templateWidth*templateHeight;
+		double costFourier = TemplateFourier.estimateCost(imageWidth,imageHeight,templateWidth,templateHeight);
+
+		return costFourier < costSpatial;
+	}
+
+	@Override
+	public ImageFloat32 getIntensity() {
+		return selected.getIntensity();
+	}
+
+	@Override
+	public boolean isBorderProcessed() {
+		return selected.isBorderProcessed();
+	}
+
+	@Override
+	public int getOffsetX() {
+		return selected.getOffsetX();
+	}
+
+	@Override
+	public int getOffsetY() {
+		return selected.getOffsetY();
+	}
+
+	/**
+	 * The algorithm which processed the most recent image
+	 */
+	public TemplateMatchingIntensity<T> getSelected() {
+		return selected;
+	}
+
+	public TemplateMatchingIntensity<T> getSpatial() {
+		return spatial;
+	}
+
+	public TemplateMatchingIntensity<T> getFourier() {
+		return fourier;
+	}
+}
@@ -0,0 +1,497 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.transform.fft.FourierTransformReal2D_F64;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.core.image.GConvertImage;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.FastQueue;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.feature.Match;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import georegression.struct.point.Point2D_I16;
+import org.ddogleg.sorting.QuickSelectArray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Searches for a library of templates inside an image at the same time.  Each template can have a different
+ * shape.  Work which only depends on the image is done once per image instead of once per template.  The image
+ * is broken up into tiles, the same as {@link TemplateFourier}, and the spectrum of each tile is computed once.
+ * Integral images of the image and the image squared are also computed once.  The spectrum of each template is
+ * computed when it is added and is only recomputed if the shape of the tiles changes.
+ * </p>
+ *
+ * <p>
+ * Each template is then processed independently and the best local peaks in its intensity image are saved.  Peaks
+ * are found and selected using the same approach as {@link TemplateMatching}.  In concurrent mode, see
+ * {@link #setConcurrent}, the tiles and the templates are processed in parallel.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class TemplateMatchingBatch<T extends ImageSingleBand> {
+
+	// templates which are being searched for
+	private List<Template> templates = new ArrayList<Template>();
+
+	// minimum separation between matches of the same template
+	private int separation = 2;
+
+	// input image converted into floating point
+	private ImageFloat32 imageF = new ImageFloat32(1,1);
+	private ImageFloat32 input;
+
+	// integral images of the input image and the image squared.  First row and column are zero
+	private double integral[] = new double[0];
+	private double integralSq[] = new double[0];
+
+	// shape of a tile and the number of template locations which can be evaluated inside of it
+	private int tileWidth, tileHeight;
+	private int stepX, stepY;
+	private int numTilesX, numTilesY;
+	// spectrum of each tile in the input image
+	private List<double[]> tileSpectra = new ArrayList<double[]>();
+
+	// should it process the image in parallel
+	private boolean concurrent = false;
+	// storage used by each thread
+	private InstancePool<Workspace> workspaces;
+
+	protected TemplateMatchingBatch() {
+		workspaces = new InstancePool<Workspace>(new InstanceFactory<Workspace>() {
+			@Override
+			public Workspace newInstance() {
+				return new Workspace();
+			}
+		});
+	}
+
+	/**
+	 * Adds a template to the library.  The template is copied.
+	 *
+	 * @param template Template being searched for
+	 * @param maxMatches The maximum number of matches it will return for this template
+	 * @return Index of the template
+	 */
+	public int addTemplate( T template , int maxMatches ) {
+		Template t = new Template();
+		t.image = new ImageFloat32(template.width,template.height);
+		GConvertImage.convert(template,t.image);
+		t.score = createScore();
+		t.score.setupTemplate(t.image);
+		t.maxMatches = maxMatches;
+
+		templates.add(t);
+		return templates.size()-1;
+	}
+
+	/**
+	 * Removes all the templates
+	 */
+	public void clearTemplates() {
+		templates.clear();
+	}
+
+	/**
+	 * Adjust how close to objects can be found to each other
+	 *
+	 * @param radius Distance in pixels.  Try using the template's radius or 2
+	 */
+	public void setMinimumSeparation( int radius ) {
+		this.separation = radius;
+		for( Workspace w : workspaces.getAll() )
+			w.extractor.setSearchRadius(radius);
+	}
+
+	/**
+	 * Searches for all the templates inside the image
+	 *
+	 * @param image Image being processed
+	 */
+	public void process( T image ) {
+		if( templates.isEmpty() )
+			return;
+
+		int maxWidth = 0, maxHeight = 0, minWidth = Integer.MAX_VALUE, minHeight = Integer.MAX_VALUE;
+		for( int i = 0; i < templates.size(); i++ ) {
+			ImageFloat32 t = templates.get(i).image;
+			if( t.width > image.width || t.height > image.height )
+				throw new IllegalArgumentException("Template must be equal to or smaller than the input image");
+			maxWidth = Math.max(maxWidth,t.width); maxHeight = Math.max(maxHeight,t.height);
+			minWidth = Math.min(minWidth,t.width); minHeight = Math.min(minHeight,t.height);
+		}
+
+		if( image instanceof ImageFloat32 ) {
+			input = (ImageFloat32)image;
+		} else {
+			imageF.reshape(image.width,image.height);
+			GConvertImage.convert(image,imageF);
+			input = imageF;
+		}
+
+		computeIntegral();
+
+		// tiles are selected so that every template can be evaluated inside of them
+		tileWidth = TemplateFourier.selectTileLength(image.width, maxWidth);
+		tileHeight = TemplateFourier.selectTileLength(image.height, maxHeight);
+		stepX = tileWidth - maxWidth + 1;
+		stepY = tileHeight - maxHeight + 1;
+		numTilesX = (image.width - minWidth + stepX - 1)/stepX;
+		numTilesY = (image.height - minHeight + stepY - 1)/stepY;
+
+		int spectrumLength = (tileWidth/2+1)*tileHeight*2;
+		for( int i = 0; i < numTilesX*numTilesY; i++ ) {
+			if( i == tileSpectra.size() )
+				tileSpectra.add(new double[spectrumLength]);
+			else if( tileSpectra.get(i).length != spectrumLength )
+				tileSpectra.set(i,new double[spectrumLength]);
+		}
+
+		loop(numTilesX*numTilesY, new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				Workspace w = acquire();
+				try {
+					for( int i = start; i < end; i++ )
+						computeTileSpectrum(i, w);
+				} finally {
+					workspaces.release(w);
+				}
+			}
+		});
+
+		loop(templates.size(), new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				Workspace w = acquire();
+				try {
+					for( int i = start; i < end; i++ )
+						processTemplate(templates.get(i), w);
+				} finally {
+					workspaces.release(w);
+				}
+			}
+		});
+	}
+
+	private void loop( int N , IntRangeTask task ) {
+		if( concurrent )
+			BoofConcurrency.loopBlocks(0,N,1,task);
+		else
+			task.process(0,N);
+	}
+
+	/**
+	 * Gets a workspace and makes sure it's configured for the current tile shape
+	 */
+	private Workspace acquire() {
+		Workspace w = workspaces.acquire();
+		if( w.fft == null || w.fft.getWidth() != tileWidth || w.fft.getHeight() != tileHeight ) {
+			w.fft = new FourierTransformReal2D_F64(tileWidth,tileHeight);
+			w.tile = new double[tileWidth*tileHeight];
+			w.spectrum = new double[w.fft.getSpectrumLength()];
+		}
+		return w;
+	}
+
+	/**
+	 * Integral image of the input image and the input image squared
+	 */
+	private void computeIntegral() {
+		int stride = input.width+1;
+		int N = stride*(input.height+1);
+		if( integral.length < N ) {
+			integral = new double[N];
+			integralSq = new double[N];
+		}
+
+		for( int x = 0; x < stride; x++ ) {
+			integral[x] = 0;
+			integralSq[x] = 0;
+		}
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexInput = input.startIndex + y*input.stride;
+			int indexPrev = y*stride;
+			int index = indexPrev + stride;
+
+			integral[index] = 0;
+			integralSq[index] = 0;
+
+			double rowSum = 0, rowSumSq = 0;
+			for( int x = 0; x < input.width; x++ ) {
+				double v = input.data[indexInput++];
+				rowSum += v;
+				rowSumSq += v*v;
+				index++; indexPrev++;
+				integral[index] = integral[indexPrev] + rowSum;
+				integralSq[index] = integralSq[indexPrev] + rowSumSq;
+			}
+		}
+	}
+
+	/**
+	 * Copies a tile from the input image, padding with zeros, and computes its spectrum
+	 */
+	private void computeTileSpectrum( int which , Workspace w ) {
+		int x0 = (which % numTilesX)*stepX;
+		int y0 = (which / numTilesX)*stepY;
+
+		int regionWidth = Math.min(tileWidth, input.width - x0);
+		int regionHeight = Math.min(tileHeight, input.height - y0);
+
+		double tile[] = w.tile;
+		for( int y = 0; y < tileHeight; y++ ) {
+			int indexTile = y*tileWidth;
+			int end = indexTile + tileWidth;
+			if( y < regionHeight ) {
+				int indexInput = input.startIndex + (y0+y)*input.stride + x0;
+				for( int x = 0; x < regionWidth; x++ ) {
+					tile[indexTile++] = input.data[indexInput++];
+				}
+			}
+			while( indexTile < end )
+				tile[indexTile++] = 0;
+		}
+
+		w.fft.forward(tile, tileSpectra.get(which));
+	}
+
+	/**
+	 * Computes the template's intensity image one tile at a time then finds the best matches
+	 */
+	private void processTemplate( Template t , Workspace w ) {
+		if( t.spectrum == null || t.spectrumWidth != tileWidth || t.spectrumHeight != tileHeight )
+			computeTemplateSpectrum(t, w);
+
+		int templateWidth = t.image.width;
+		int templateHeight = t.image.height;
+
+		// number of template locations which are evaluated
+		int outputWidth = input.width - templateWidth;
+		int outputHeight = input.height - templateHeight;
+
+		ImageFloat32 intensity = w.intensity;
+		intensity.reshape(outputWidth, outputHeight);
+
+		double area = templateWidth*templateHeight;
+		int stride = input.width+1;
+
+		for( int tileY = 0; tileY < numTilesY; tileY++ ) {
+			int y0 = tileY*stepY;
+			int tileOutputHeight = Math.min(stepY, outputHeight - y0);
+			if( tileOutputHeight <= 0 )
+				break;
+
+			for( int tileX = 0; tileX < numTilesX; tileX++ ) {
+				int x0 = tileX*stepX;
+				int tileOutputWidth = Math.min(stepX, outputWidth - x0);
+				if( tileOutputWidth <= 0 )
+					break;
+
+				// correlation is computed by multiplying with the complex conjugate of the template's spectrum
+				double spectrumTile[] = tileSpectra.get(tileY*numTilesX + tileX);
+				double spectrum[] = w.spectrum;
+				for( int i = 0; i < spectrum.length; i += 2 ) {
+					double ar = spectrumTile[i], ai = spectrumTile[i+1];
+					double br = t.spectrum[i], bi = t.spectrum[i+1];
+
+					spectrum[i]   = ar*br + ai*bi;
+					spectrum[i+1] = ai*br - ar*bi;
+				}
+				w.fft.inverse(spectrum, w.tile);
+
+				for( int y = 0; y < tileOutputHeight; y++ ) {
+					int indexOut = intensity.startIndex + (y0 + y)*intensity.stride + x0;
+					int indexTile = y*tileWidth;
+					int indexTop = (y0 + y)*stride + x0;
+					int indexBottom = indexTop + templateHeight*stride;
+
+					for( int x = 0; x < tileOutputWidth; x++ , indexTop++ , indexBottom++ ) {
+						double sum = integral[indexBottom+templateWidth] - integral[indexBottom]
+								- integral[indexTop+templateWidth] + integral[indexTop];
+						double sumSq = integralSq[indexBottom+templateWidth] - integralSq[indexBottom]
+								- integralSq[indexTop+templateWidth] + integralSq[indexTop];
+
+						intensity.data[indexOut++] = t.score.computeScore(w.tile[indexTile++],sum,sumSq);
+					}
+				}
+			}
+		}
+
+		selectMatches(t, w);
+	}
+
+	/**
+	 * Pads the template to the tile's shape and computes its spectrum
+	 */
+	private void computeTemplateSpectrum( Template t , Workspace w ) {
+		double offset = t.score.templateOffset();
+
+		double tile[] = w.tile;
+		for( int i = 0; i < tile.length; i++ )
+			tile[i] = 0;
+		for( int y = 0; y < t.image.height; y++ ) {
+			int indexT = y*t.image.width;
+			int indexTile = y*tileWidth;
+			for( int x = 0; x < t.image.width; x++ ) {
+				tile[indexTile++] = t.image.data[indexT++] - offset;
+			}
+		}
+
+		if( t.spectrum == null || t.spectrum.length != w.spectrum.length )
+			t.spectrum = new double[w.spectrum.length];
+		w.fft.forward(tile,t.spectrum);
+		t.spectrumWidth = tileWidth;
+		t.spectrumHeight = tileHeight;
+	}
+
+	/**
+	 * Finds local peaks in the intensity image and saves the best ones
+	 */
+	private void selectMatches( Template t , Workspace w ) {
+		ImageFloat32 intensity = w.intensity;
+		QueueCorner candidates = w.candidates;
+
+		candidates.reset();
+		w.extractor.process(intensity, null, null, null, candidates);
+
+		if (w.scores.length < candidates.size) {
+			w.scores = new float[candidates.size];
+			w.indexes = new int[candidates.size];
+		}
+
+		for (int i = 0; i < candidates.size; i++) {
+			Point2D_I16 p = candidates.get(i);
+
+			w.scores[i] = -intensity.get(p.x, p.y);
+		}
+
+		int N = Math.min(t.maxMatches, candidates.size);
+
+		QuickSelectArray.selectIndex(w.scores, N, candidates.size, w.indexes);
+
+		t.results.reset();
+		for (int i = 0; i < N; i++) {
+			Point2D_I16 p = candidates.get(w.indexes[i]);
+
+			Match m = t.results.grow();
+			m.score = -w.scores[i];
+			m.set(p.x, p.y);
+		}
+	}
+
+	/**
+	 * Creates the class used to compute the score of a single template
+	 */
+	protected abstract TemplateFourier<T> createScore();
+
+	/**
+	 * Returns the found matches for the specified template.  The location is the location of the top left
+	 * corner of the template.  Score is the first score with higher number being better
+	 *
+	 * @param which Index of the template
+	 * @return List of found templates
+	 */
+	public FastQueue<Match> getResults( int which ) {
+		return templates.get(which).results;
+	}
+
+	/**
+	 * Number of templates in the library
+	 */
+	public int getNumTemplates() {
+		return templates.size();
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	/**
+	 * If true then the tiles and the templates are processed in parallel
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Normalized cross correlation.  Equivalent to {@link TemplateNCC}.
+	 */
+	public static class NCC<T extends ImageSingleBand> extends TemplateMatchingBatch<T> {
+		@Override
+		protected TemplateFourier<T> createScore() {
+			return new TemplateFourier.NCC<T>();
+		}
+	}
+
+	/**
+	 * Difference squared error.  Equivalent to {@link TemplateDiffSquared}.
+	 */
+	public static class DiffSquared<T extends ImageSingleBand> extends TemplateMatchingBatch<T> {
+		@Override
+		protected TemplateFourier<T> createScore() {
+			return new TemplateFourier.DiffSquared<T>();
+		}
+	}
+
+	/**
+	 * Template and its matches
+	 */
+	private class Template {
+		// copy of the template
+		ImageFloat32 image;
+		// computes the score and stores statistics of the template
+		TemplateFourier<T> score;
+		// spectrum of the template padded to the shape of a tile
+		double spectrum[];
+		int spectrumWidth, spectrumHeight;
+
+		int maxMatches;
+		FastQueue<Match> results = new FastQueue<Match>(10, Match.class, true);
+	}
+
+	/**
+	 * Storage used by a single thread
+	 */
+	private class Workspace {
+		FourierTransformReal2D_F64 fft;
+		double tile[];
+		double spectrum[];
+
+		// intensity image for a single template.  Pixels are at the template's top left corner
+		ImageFloat32 intensity = new ImageFloat32(1,1);
+
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(
+				new ConfigExtract(separation, -Float.MAX_VALUE, 0, true));
+		QueueCorner candidates = new QueueCorner(10);
+		float scores[] = new float[10];
+		int indexes[] = new int[10];
+	}
+}
@@ -0,0 +1,498 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageInteger;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.pyramid.PyramidDiscrete;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Dense stereo disparity computed coarse to fine.  Disparity is first computed at the top layer of an image
+ * pyramid, which is scaled down by an integer factor 'scale'.  Since the images are smaller and the range of
+ * disparities is divided by the scale this is much faster than searching the full resolution image.  The
+ * coarse image is then broken up into square blocks, see {@link #setBlockSize(int)}, and the full resolution
+ * pixels inside each block search the same range of disparities.  The range is the minimum and maximum valid
+ * coarse disparity inside the block and the pixels bordering it, multiplied by the scale, and expanded by a
+ * margin.  If they are all invalid then the full range is searched.  Close to the left border the coarse search
+ * is truncated by the image border.  If a coarse disparity is the largest it could search then the range is
+ * extended up to the largest possible disparity.
+ * </p>
+ *
+ * <p>
+ * Inside each block the SAD score of a rectangular region is computed for every disparity in its range using
+ * rolling sums along the y and x axes, then the best disparity is selected using winner takes all.  Matches are
+ * rejected if the error is too large or, optionally, the region lacks texture.  A right to left
+ * validation is not done at the full resolution since the full range of scores is not computed.  It can be
+ * done by the coarse algorithm instead.  When the range of disparities is large the speed up is roughly the
+ * ratio of the full range to the size of a block's range.
+ * </p>
+ *
+ * <p>
+ * DISPARITY IMAGE FORMAT: Same as {@link DisparityScoreRowFormat}. Values are offset by minDisparity and invalid
+ * pixels have a value of maxDisparity-minDisparity+1.  The disparity image can be any integer image which can
+ * store that value, e.g. use {@link boofcv.struct.image.ImageUInt16} for more than 254 disparities.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DisparityCoarseToFine<D extends ImageInteger> {
+
+	// image pyramids for the left and right images.  Disparity is computed at the top layer
+	PyramidDiscrete<ImageUInt8> pyramidLeft;
+	PyramidDiscrete<ImageUInt8> pyramidRight;
+	// computes the disparity at the top of the pyramid
+	DisparityScoreRowFormat<ImageUInt8,ImageUInt8> coarseAlg;
+
+	// minimum and maximum disparity at full resolution
+	int minDisparity;
+	int maxDisparity;
+	int rangeDisparity;
+
+	// radius of the region along x and y axis
+	int radiusX, radiusY;
+
+	// maximum allowed error in the region
+	int maxError;
+	// texture threshold, use an integer value for speed.
+	int textureThreshold;
+	static final int discretizer = 10000;
+
+	// how much the disparity range is expanded around the upsampled coarse disparity
+	int margin;
+
+	// scale of the coarse layer relative to the input image
+	int scale;
+	// width of a square block in coarse pixels.  All pixels in a block search the same range of disparities
+	int blockSize = 4;
+	// disparity computed at the coarse layer
+	ImageUInt8 coarseDisparity = new ImageUInt8(1,1);
+
+	// should blocks be processed in parallel
+	boolean concurrent = false;
+
+	// storage used to compute the scores inside a block
+	InstancePool<Workspace> workspaces = new InstancePool<Workspace>(new InstanceFactory<Workspace>() {
+		@Override
+		public Workspace newInstance() {
+			return new Workspace();
+		}
+	});
+
+	// references to the images being processed
+	ImageUInt8 left,right;
+	D disparity;
+
+	/**
+	 * Configures the algorithm
+	 *
+	 * @param minDisparity Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be &gt; 0
+	 * @param radiusX Radius of the rectangular region along x-axis.
+	 * @param radiusY Radius of the rectangular region along y-axis.
+	 * @param maxError The maximum allowed error.  Note this is sum error and not per pixel error.
+	 *                 Set to &le; 0 to disable.
+	 * @param texture Tolerance for how similar optimal region is to other region.  Disable with a value &le; 0.
+	 * @param margin How much the search range of a block is expanded around the upsampled coarse disparity.  Try
+	 *               the scale of the coarse layer.
+	 * @param pyramidLeft Pyramid for the left image.  The scale of its top layer must be an integer &gt; 1.
+	 * @param pyramidRight Pyramid for the right image.  Must have the same structure as pyramidLeft.
+	 * @param coarseAlg Computes disparity at the top layer.  Its range of disparities must include
+	 *                  the full resolution range divided by the scale.
+	 */
+	public DisparityCoarseToFine(int minDisparity, int maxDisparity,
+								 int radiusX, int radiusY, int maxError, double texture, int margin,
+								 PyramidDiscrete<ImageUInt8> pyramidLeft,
+								 PyramidDiscrete<ImageUInt8> pyramidRight,
+								 DisparityScoreRowFormat<ImageUInt8,ImageUInt8> coarseAlg ) {
+		if( minDisparity < 0 || maxDisparity <= minDisparity )
+			throw new IllegalArgumentException("Must obey 0 <= minDisparity < maxDisparity");
+		if( margin < 0 )
+			throw new IllegalArgumentException("margin must be >= 0");
+
+		int top = pyramidLeft.getNumLayers()-1;
+		scale = (int)pyramidLeft.getScale(top);
+		if( scale <= 1 )
+			throw new IllegalArgumentException("Scale of the top layer must be greater than one");
+		if( pyramidRight.getNumLayers() != pyramidLeft.getNumLayers() || pyramidRight.getScale(top) != scale )
+			throw new IllegalArgumentException("Left and right pyramids must have the same structure");
+		if( coarseAlg.getMinDisparity()*scale > minDisparity ||
+				coarseAlg.getMaxDisparity()*scale < maxDisparity )
+			throw new IllegalArgumentException("Coarse disparity range must include the scaled full range");
+
+		this.minDisparity = minDisparity;
+		this.maxDisparity = maxDisparity;
+		this.rangeDisparity = maxDisparity - minDisparity;
+		this.radiusX = radiusX;
+		this.radiusY = radiusY;
+		this.margin = margin;
+		this.pyramidLeft = pyramidLeft;
+		this.pyramidRight = pyramidRight;
+		this.coarseAlg = coarseAlg;
+		this.maxError = maxError <= 0 ? Integer.MAX_VALUE : maxError;
+		this.textureThreshold = (int)(discretizer*texture);
+	}
+
+	/**
+	 * Computes disparity between two stereo images
+	 *
+	 * @param left Left rectified stereo image. Input
+	 * @param right Right rectified stereo image. Input
+	 * @param disparity Disparity between the two images. Output
+	 */
+	public void process( ImageUInt8 left , ImageUInt8 right , D disparity ) {
+		InputSanityCheck.checkSameShape(left, right, disparity);
+
+		this.left = left;
+		this.right = right;
+		this.disparity = disparity;
+
+		// compute the disparity at the coarse layer
+		pyramidLeft.process(left);
+		pyramidRight.process(right);
+
+		int top = pyramidLeft.getNumLayers()-1;
+		ImageUInt8 coarseLeft = pyramidLeft.getLayer(top);
+		ImageUInt8 coarseRight = pyramidRight.getLayer(top);
+
+		coarseDisparity.reshape(coarseLeft.width,coarseLeft.height);
+		ImageMiscOps.fill(coarseDisparity, coarseAlg.getMaxDisparity() - coarseAlg.getMinDisparity() + 1);
+		coarseAlg.process(coarseLeft,coarseRight,coarseDisparity);
+
+		// pixels which are not processed are marked as invalid
+		GImageMiscOps.fill(disparity, rangeDisparity + 1);
+
+		// refine the disparity one row of blocks at a time
+		final int numBlocksX = (coarseDisparity.width+blockSize-1)/blockSize;
+		int numBlocksY = (coarseDisparity.height+blockSize-1)/blockSize;
+		IntRangeTask task = new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				Workspace w = workspaces.acquire();
+				try {
+					for( int blockY = start; blockY < end; blockY++ ) {
+						for( int blockX = 0; blockX < numBlocksX; blockX++ ) {
+							processBlock(blockX,blockY,w);
+						}
+					}
+				} finally {
+					workspaces.release(w);
+				}
+			}
+		};
+
+		if( concurrent )
+			BoofConcurrency.loopBlocks(0,numBlocksY,1,task);
+		else
+			task.process(0,numBlocksY);
+	}
+
+	/**
+	 * Computes the disparity of every pixel inside the block which corresponds to the specified block of
+	 * coarse pixels
+	 */
+	void processBlock( int blockX , int blockY , Workspace w ) {
+		// coarse pixels in the block
+		int cx0 = blockX*blockSize, cx1 = Math.min(coarseDisparity.width,cx0+blockSize);
+		int cy0 = blockY*blockSize, cy1 = Math.min(coarseDisparity.height,cy0+blockSize);
+
+		// pixels in the block.  The last block absorbs pixels which don't map to a coarse pixel
+		int x0 = cx0*scale;
+		int y0 = cy0*scale;
+		int x1 = cx1 == coarseDisparity.width ? left.width : cx1*scale;
+		int y1 = cy1 == coarseDisparity.height ? left.height : cy1*scale;
+
+		// only process pixels where the region is entirely inside the image
+		x0 = Math.max(x0,radiusX);
+		y0 = Math.max(y0,radiusY);
+		x1 = Math.min(x1,left.width-radiusX);
+		y1 = Math.min(y1,left.height-radiusY);
+
+		if( x0 >= x1 || y0 >= y1 )
+			return;
+
+		// the largest disparity which can be considered at any pixel in the block
+		int localMax = Math.min(maxDisparity,x1-radiusX);
+		if( localMax <= minDisparity )
+			return;
+
+		// select the range of disparities which will be searched using the valid coarse disparities in the
+		// block and the pixels around it
+		int coarseMin = coarseAlg.getMinDisparity();
+		int coarseMax = coarseAlg.getMaxDisparity();
+		int coarseInvalid = coarseMax - coarseMin;
+		int coarseBorder = coarseAlg.getBorderX();
+		int coarseLow = Integer.MAX_VALUE;
+		int coarseHigh = -1;
+		boolean truncated = false;
+		for( int cy = Math.max(0,cy0-1); cy < Math.min(coarseDisparity.height,cy1+1); cy++ ) {
+			for( int cx = Math.max(0,cx0-1); cx < Math.min(coarseDisparity.width,cx1+1); cx++ ) {
+				int d = coarseDisparity.unsafe_get(cx,cy);
+				if( d > coarseInvalid )
+					continue;
+				d += coarseMin;
+				if( d < coarseLow ) coarseLow = d;
+				if( d > coarseHigh ) coarseHigh = d;
+
+				// close to the left border the coarse search is truncated by the image border.  If the best
+				// coarse disparity is the largest it could search then the true disparity could be larger
+				int coarseLocalMax = cx - coarseBorder;
+				if( coarseLocalMax < coarseMax-1 && d >= coarseLocalMax )
+					truncated = true;
+			}
+		}
+
+		int lower,upper;
+		if( coarseHigh < 0 ) {
+			// no valid coarse disparity, search everything
+			lower = minDisparity;
+			upper = localMax;
+		} else {
+			lower = Math.max(minDisparity,coarseLow*scale-margin);
+			upper = truncated ? localMax : Math.min(localMax,coarseHigh*scale+margin+1);
+
+			if( lower >= upper )
+				return;
+		}
+
+		computeScores(x0, y0, x1, y1, lower, upper, w);
+		selectDisparity(x0, y0, x1, y1, lower, upper, w);
+	}
+
+	/**
+	 * Computes the SAD score for each pixel in the block and disparity in the range [lower,upper).
+	 * Scores are only valid where the region is inside the right image.  The vertical sum of each column is
+	 * computed for every disparity then summed horizontally.  The inner loops are along the disparity so
+	 * that memory is accessed sequentially.
+	 */
+	void computeScores( int x0 , int y0 , int x1 , int y1 , int lower , int upper , Workspace w ) {
+		int blockWidth = x1-x0;
+		int blockHeight = y1-y0;
+		int range = upper-lower;
+		int regionWidth = 2*radiusX+1;
+
+		// columns which are summed to compute the score of pixels [x0,x1)
+		int c0 = x0-radiusX;
+		int numColumns = blockWidth+2*radiusX;
+
+		w.resize(blockWidth*blockHeight*range,numColumns*range);
+		int[] scores = w.scores;
+		int[] columns = w.columns;
+
+		// vertical sum of the region at the top of the block
+		Arrays.fill(columns,0,numColumns*range,0);
+		for( int y = y0-radiusY; y <= y0+radiusY; y++ ) {
+			addRow(y,c0,numColumns,lower,range,columns,1);
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y > y0 ) {
+				// slide the vertical sum down one row
+				addRow(y+radiusY,c0,numColumns,lower,range,columns,1);
+				addRow(y-radiusY-1,c0,numColumns,lower,range,columns,-1);
+			}
+
+			// sum up the columns for the first pixel in the row
+			int indexScore = (y-y0)*blockWidth*range;
+			for( int k = 0; k < range; k++ )
+				scores[indexScore+k] = 0;
+			for( int i = 0; i < regionWidth; i++ ) {
+				int indexColumn = i*range;
+				for( int k = 0; k < range; k++ )
+					scores[indexScore+k] += columns[indexColumn+k];
+			}
+
+			// slide the region along the x-axis
+			for( int i = 1; i < blockWidth; i++ ) {
+				int indexAdd = (i+regionWidth-1)*range;
+				int indexSub = (i-1)*range;
+				for( int k = 0; k < range; k++ ) {
+					scores[indexScore+range+k] = scores[indexScore+k] + columns[indexAdd+k] - columns[indexSub+k];
+				}
+				indexScore += range;
+			}
+		}
+	}
+
+	/**
+	 * Adds or subtracts the absolute difference between the left and right image for every column and
+	 * disparity along a row.  Disparities which are outside the right image are skipped.
+	 */
+	private void addRow( int y , int c0 , int numColumns , int lower , int range , int[] columns , int sign ) {
+		int indexLeft = left.startIndex + y*left.stride + c0;
+		int startRight = right.startIndex + y*right.stride - lower;
+
+		for( int i = 0; i < numColumns; i++ ) {
+			int c = c0 + i;
+			// disparities up to c are inside the right image
+			int localRange = Math.min(range,c-lower+1);
+			if( localRange <= 0 )
+				continue;
+
+			int valueLeft = left.data[indexLeft+i] & 0xFF;
+			int indexRight = startRight + c;
+			int indexColumn = i*range;
+
+			if( sign > 0 ) {
+				for( int k = 0; k < localRange; k++ ) {
+					columns[indexColumn+k] += Math.abs(valueLeft - (right.data[indexRight-k] & 0xFF));
+				}
+			} else {
+				for( int k = 0; k < localRange; k++ ) {
+					columns[indexColumn+k] -= Math.abs(valueLeft - (right.data[indexRight-k] & 0xFF));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Selects the disparity of each pixel in the block using winner takes all
+	 */
+	void selectDisparity( int x0 , int y0 , int x1 , int y1 , int lower , int upper , Workspace w ) {
+		int blockWidth = x1-x0;
+		int range = upper-lower;
+		int invalid = rangeDisparity+1;
+		int[] scores = w.scores;
+
+		for( int y = y0; y < y1; y++ ) {
+			for( int x = x0; x < x1; x++ ) {
+				// number of disparities in the range which can be considered at this pixel
+				int localRange = Math.min(range,x-radiusX-lower+1);
+				if( localRange <= 0 )
+					continue;
+
+				int indexScore = ((y-y0)*blockWidth + x-x0)*range;
+
+				int best = 0;
+				int scoreBest = scores[indexScore];
+				for( int i = 1; i < localRange; i++ ) {
+					int s = scores[indexScore+i];
+					if( s < scoreBest ) {
+						scoreBest = s;
+						best = i;
+					}
+				}
+
+				int value = best + lower - minDisparity;
+				if( scoreBest > maxError ) {
+					value = invalid;
+				} else if( textureThreshold > 0 && localRange >= 3 ) {
+					// find the second best disparity value and exclude its neighbors
+					int secondBest = Integer.MAX_VALUE;
+					for( int i = 0; i < best-1; i++ ) {
+						if( scores[indexScore+i] < secondBest )
+							secondBest = scores[indexScore+i];
+					}
+					for( int i = best+2; i < localRange; i++ ) {
+						if( scores[indexScore+i] < secondBest )
+							secondBest = scores[indexScore+i];
+					}
+
+					// similar scores indicate lack of texture
+					// C = (C2-C1)/C1
+					if( discretizer*(long)(secondBest-scoreBest) <= textureThreshold*(long)scoreBest )
+						value = invalid;
+				}
+
+				disparity.unsafe_set(x,y,value);
+			}
+		}
+	}
+
+	public int getMinDisparity() {
+		return minDisparity;
+	}
+
+	public int getMaxDisparity() {
+		return maxDisparity;
+	}
+
+	public int getBorderX() {
+		return radiusX;
+	}
+
+	public int getBorderY() {
+		return radiusY;
+	}
+
+	public int getScale() {
+		return scale;
+	}
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	/**
+	 * Specifies the width of the square blocks, in coarse pixels, which share the same range of disparities.
+	 * Larger blocks reduce the overhead of computing the scores along the block's border but the range of
+	 * disparities will be larger if the disparity changes inside the block.  Default is 4.
+	 */
+	public void setBlockSize(int blockSize) {
+		if( blockSize <= 0 )
+			throw new IllegalArgumentException("blockSize must be > 0");
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Disparity computed at the top layer of the pyramid in the most recent call to process
+	 */
+	public ImageUInt8 getCoarseDisparity() {
+		return coarseDisparity;
+	}
+
+	public DisparityScoreRowFormat<ImageUInt8, ImageUInt8> getCoarseAlg() {
+		return coarseAlg;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	/**
+	 * If true then rows of blocks are processed in parallel.  Results are identical to a single thread.
+	 * Concurrency of the coarse algorithm is configured separately.
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Storage for the scores of a single block
+	 */
+	private static class Workspace {
+		int scores[] = new int[0];
+		int columns[] = new int[0];
+
+		public void resize( int lengthScores , int lengthColumns ) {
+			if( scores.length < lengthScores )
+				scores = new int[lengthScores];
+			if( columns.length < lengthColumns )
+				columns = new int[lengthColumns];
+		}
+	}
+}
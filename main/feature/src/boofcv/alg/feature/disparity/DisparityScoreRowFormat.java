@@ -19,6 +19,11 @@
 package boofcv.alg.feature.disparity;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageSingleBand;
 
 /**
@@ -36,6 +41,15 @@ import boofcv.struct.image.ImageSingleBand;
  * when writing.  Performance boost is about 20%-30% depending on max disparity and image size.
  * </p>
  *
+ * <p>
+ * Concurrent mode, see {@link #setConcurrent}: The image is split into horizontal bands which are processed
+ * in parallel.  Each band is processed by its own instance of the algorithm, with its own rolling score
+ * buffers, using sub-images which extend {@link #getBorderY()} rows above and below the band to warm up
+ * the scores.  The output is identical to the single threaded algorithm.  Only integer images are supported.
+ * Scores are summed with a rolling sum, so with floating point images the round off error would depend on
+ * which row a band started at.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public abstract class DisparityScoreRowFormat
@@ -56,6 +70,9 @@ public abstract class DisparityScoreRowFormat
 	// size of the region: radius*2 + 1
 	protected int regionWidth,regionHeight;
 
+	// algorithm instances for each band.  null if not concurrent
+	private InstancePool<DisparityScoreRowFormat<Input,Disparity>> workers;
+
 	/**
 	 * Configures disparity calculation.
 	 *
@@ -99,7 +116,57 @@ public abstract class DisparityScoreRowFormat
 
 		lengthHorizontal = left.width*rangeDisparity;
 
-		_process(left,right,disparity);
+		if( workers != null && BoofConcurrency.isConcurrent() )
+			processConcurrent(left, right, disparity);
+		else
+			_process(left,right,disparity);
+	}
+
+	/**
+	 * Splits the image into horizontal bands and processes each one with a different instance
+	 */
+	@SuppressWarnings("unchecked")
+	private void processConcurrent( final Input left , final Input right , final Disparity disparity ) {
+		final int borderY = getBorderY();
+		// bands smaller than this will spend too much time warming up
+		int minBand = 4*(2*borderY+1);
+
+		BoofConcurrency.loopBlocks(borderY,left.height-borderY,minBand,new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				DisparityScoreRowFormat<Input,Disparity> alg = workers.acquire();
+				try {
+					Input bandLeft = (Input)left.subimage(0,y0-borderY,left.width,y1+borderY);
+					Input bandRight = (Input)right.subimage(0,y0-borderY,right.width,y1+borderY);
+					Disparity bandDisparity = (Disparity)disparity.subimage(0,y0-borderY,disparity.width,y1+borderY);
+					alg.process(bandLeft,bandRight,bandDisparity);
+				} finally {
+					workers.release(alg);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Turns on concurrent processing.  To turn it off pass in null.  The factory must create instances which
+	 * are configured identically to this one, including their {@link DisparitySelect}.  Floating point images
+	 * are not supported.
+	 *
+	 * @param factory Creates an instance of the algorithm for each thread.
+	 */
+	public void setConcurrent( InstanceFactory<DisparityScoreRowFormat<Input,Disparity>> factory ) {
+		if( factory != null && GeneralizedImageOps.isFloatingPoint(getInputType()) )
+			throw new IllegalArgumentException("Concurrent mode can't reproduce the single threaded output " +
+					"for floating point images");
+		if( factory == null ) {
+			workers = null;
+		} else {
+			workers = new InstancePool<DisparityScoreRowFormat<Input,Disparity>>(factory);
+		}
+	}
+
+	public boolean isConcurrent() {
+		return workers != null;
 	}
 
 	/**
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Dense stereo disparity computed using Semi-Global Matching (SGM).  The cost of matching each pixel at each
+ * disparity is computed, see {@link SgmDisparityCost}, then aggregated along several 1D paths through the image,
+ * see {@link SgmCostAggregation}, and the disparity with the lowest aggregated cost is selected,
+ * see {@link SgmDisparitySelector}.  Aggregation along paths enforces smoothness in disparity without
+ * the expense of global optimization, producing more accurate results than local block matching,
+ * especially in regions with little texture.
+ * </p>
+ *
+ * <p>
+ * Cost volumes are stored using shorts.  By default the cost of the whole image is computed before being aggregated,
+ * which requires two volumes with width*height*rangeDisparity elements.  In low memory mode, see
+ * {@link #setStripHeight(int)}, the image is processed in horizontal strips and only paths which
+ * go left, right, or down are used.  Memory is then proportional to the strip height instead of the image height.
+ * Results in low memory mode are not as good since paths coming from below are not considered.
+ * </p>
+ *
+ * <p>
+ * In concurrent mode the cost, each path's scan lines, and disparity selection are computed in parallel.  The
+ * results are identical to those found in a single thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DisparitySgm<T extends ImageSingleBand> {
+
+	// computes the cost of each pixel
+	SgmDisparityCost<T> cost;
+	// aggregates the cost along paths
+	SgmCostAggregation aggregation;
+	// selects the disparity of each pixel
+	SgmDisparitySelector selector;
+
+	// minimum and maximum disparity that will be checked
+	int minDisparity;
+	int maxDisparity;
+	int rangeDisparity;
+
+	// number of rows in a strip.  If <= 0 then the whole image is processed at once
+	int stripHeight = -1;
+
+	// should it process in parallel
+	boolean concurrent = false;
+
+	// cost and aggregated cost volumes
+	short[] volumeCost = new short[0];
+	short[] volumeAggregated = new short[0];
+
+	/**
+	 * Configures the algorithm
+	 *
+	 * @param minDisparity Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be &gt; 0 and
+	 *                     maxDisparity-minDisparity &lt; 255.
+	 * @param cost Computes the cost of each pixel
+	 * @param aggregation Aggregates the cost
+	 * @param selector Selects the disparity
+	 */
+	public DisparitySgm(int minDisparity, int maxDisparity,
+						SgmDisparityCost<T> cost, SgmCostAggregation aggregation, SgmDisparitySelector selector) {
+		if( minDisparity < 0 || maxDisparity <= minDisparity )
+			throw new IllegalArgumentException("Must obey 0 <= minDisparity < maxDisparity");
+		if( maxDisparity - minDisparity >= 255 )
+			throw new IllegalArgumentException("maxDisparity-minDisparity must be less than 255");
+
+		this.minDisparity = minDisparity;
+		this.maxDisparity = maxDisparity;
+		this.rangeDisparity = maxDisparity - minDisparity;
+		this.cost = cost;
+		this.aggregation = aggregation;
+		this.selector = selector;
+	}
+
+	/**
+	 * Computes disparity between two stereo images
+	 *
+	 * @param left Left rectified stereo image. Input
+	 * @param right Right rectified stereo image. Input
+	 * @param disparity Disparity between the two images. Output
+	 */
+	public void process( T left , T right , ImageUInt8 disparity ) {
+		if( left.width != right.width || left.height != right.height )
+			throw new IllegalArgumentException("Left and right images must have the same shape");
+		if( left.width != disparity.width || left.height != disparity.height )
+			throw new IllegalArgumentException("Disparity image must have the same shape as the input");
+
+		cost.setImages(left,right);
+		aggregation.setConcurrent(concurrent);
+
+		if( stripHeight <= 0 )
+			processVolume(disparity);
+		else
+			processStrips(disparity);
+	}
+
+	/**
+	 * Computes the cost of the entire image then aggregates it along all the paths
+	 */
+	private void processVolume( ImageUInt8 disparity ) {
+		final int width = disparity.width;
+		final int height = disparity.height;
+
+		long N = (long)width*height*rangeDisparity;
+		if( N > Integer.MAX_VALUE )
+			throw new IllegalArgumentException("Cost volume is too large.  Use low memory mode.");
+		declareVolumes((int)N);
+
+		computeCost(0,height,width,volumeCost);
+		aggregation.process(volumeCost,volumeAggregated,width,height,rangeDisparity);
+		selectDisparity(0,height,disparity);
+	}
+
+	/**
+	 * Processes the image one strip at a time
+	 */
+	private void processStrips( ImageUInt8 disparity ) {
+		final int width = disparity.width;
+		final int height = disparity.height;
+
+		declareVolumes(width*Math.min(stripHeight,height)*rangeDisparity);
+
+		for( int y0 = 0; y0 < height; y0 += stripHeight ) {
+			int y1 = Math.min(height,y0+stripHeight);
+
+			computeCost(y0,y1,width,volumeCost);
+			aggregation.processStrip(volumeCost,volumeAggregated,width,y1-y0,rangeDisparity,y0==0);
+			selectDisparity(y0,y1,disparity);
+		}
+	}
+
+	private void declareVolumes( int N ) {
+		if( volumeCost.length < N ) {
+			volumeCost = new short[N];
+			volumeAggregated = new short[N];
+		}
+	}
+
+	/**
+	 * Computes the cost of rows [y0,y1) and saves it at the start of the volume
+	 */
+	private void computeCost( final int y0 , int y1 , final int width , final short[] volume ) {
+		loop(y0, y1, new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				cost.process(minDisparity,rangeDisparity,start,end,volume,(start-y0)*width*rangeDisparity);
+			}
+		});
+	}
+
+	/**
+	 * Selects the disparity in rows [y0,y1) using the aggregated cost at the start of the volume
+	 */
+	private void selectDisparity( final int y0 , int y1 , final ImageUInt8 disparity ) {
+		final int width = disparity.width;
+		loop(y0, y1, new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				selector.process(volumeAggregated,(start-y0)*width*rangeDisparity,minDisparity,rangeDisparity,
+						start,end,disparity);
+			}
+		});
+	}
+
+	private void loop( int start , int end , IntRangeTask task ) {
+		if( concurrent )
+			BoofConcurrency.loopBlocks(start,end,8,task);
+		else
+			task.process(start,end);
+	}
+
+	public int getMinDisparity() {
+		return minDisparity;
+	}
+
+	public int getMaxDisparity() {
+		return maxDisparity;
+	}
+
+	public int getStripHeight() {
+		return stripHeight;
+	}
+
+	/**
+	 * Turns on low memory mode by specifying the number of rows in each strip.  Turn off with a value &le; 0.
+	 */
+	public void setStripHeight(int stripHeight) {
+		this.stripHeight = stripHeight;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	/**
+	 * If true then the work is split between threads.  See {@link BoofConcurrency}.
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	public SgmDisparityCost<T> getCost() {
+		return cost;
+	}
+
+	public SgmCostAggregation getAggregation() {
+		return aggregation;
+	}
+
+	public SgmDisparitySelector getSelector() {
+		return selector;
+	}
+
+	public Class<T> getInputType() {
+		return cost.getInputType();
+	}
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Aggregates the cost of each pixel along one dimensional paths across the image, as is done in Semi-Global
+ * Matching (SGM) [1].  Along path r the aggregated cost is found using the following recursive function:
+ * </p>
+ *
+ * <pre>
+ * L<sub>r</sub>(p,d) = C(p,d) + min( L<sub>r</sub>(p-r,d) , L<sub>r</sub>(p-r,d-1) + P1 ,
+ *                  L<sub>r</sub>(p-r,d+1) + P1 , min<sub>i</sub> L<sub>r</sub>(p-r,i) + P2 ) - min<sub>i</sub> L<sub>r</sub>(p-r,i)
+ * </pre>
+ *
+ * <p>
+ * where C is the cost of a single pixel, P1 the penalty for a small change in disparity and P2 the penalty for
+ * a large change.  The output is the sum of L<sub>r</sub> across all the paths.  Costs are stored as shorts in the
+ * format described in {@link SgmDisparityCost}.  Since a single pixel cost can't exceed
+ * {@link SgmDisparityCost#MAX_COST} and P2 is limited to the same value, the sum across 8 paths can't overflow.
+ * </p>
+ *
+ * <p>
+ * Paths are traversed in 4 directions (left, right, up, down) or 8 directions (adding the diagonals).  Each
+ * direction is made up of independent scan lines which don't share any pixels, so the scan lines in a
+ * direction are processed in parallel when in concurrent mode.
+ * </p>
+ *
+ * <p>
+ * Aggregation can be done across the entire image in one pass, see {@link #process}, or in horizontal strips,
+ * see {@link #processStrip}.  When done in strips only paths which go left, right, or down are considered.
+ * The state at the bottom of each strip is saved and used to continue the paths in the next strip.  This way
+ * the entire cost volume never needs to be stored.
+ * </p>
+ *
+ * <p>
+ * [1] Hirschmuller, H. "Stereo processing by semiglobal matching and mutual information."
+ * IEEE Transactions on Pattern Analysis and Machine Intelligence 30.2 (2008): 328-341.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostAggregation {
+
+	// direction of each path.  The first 4 are used in 4-path mode
+	private static final int DIRECTIONS[][] = new int[][]{
+			{1,0},{-1,0},{0,1},{0,-1},{1,1},{-1,1},{1,-1},{-1,-1}};
+
+	// penalty for a disparity change of one
+	int penaltySmall;
+	// penalty for a disparity change of more than one
+	int penaltyLarge;
+	// number of paths.  4 or 8
+	int paths;
+
+	// should scan lines be processed in parallel
+	boolean concurrent = false;
+
+	// shape of the cost volume
+	int width;
+	int rangeDisparity;
+
+	// state at the bottom of the previous strip for each path which goes down
+	short carryPrevious[][] = new short[DIRECTIONS.length][0];
+	short carryNext[][] = new short[DIRECTIONS.length][0];
+
+	// storage for processing a single scan line
+	InstancePool<Workspace> workspaces = new InstancePool<Workspace>(new InstanceFactory<Workspace>() {
+		@Override
+		public Workspace newInstance() {
+			return new Workspace();
+		}
+	});
+
+	// input and output volumes for the strip being processed
+	short[] cost;
+	short[] aggregated;
+	int rows;
+
+	/**
+	 * Configures the algorithm
+	 *
+	 * @param penaltySmall Penalty for a change of one in disparity, P1.  Must be &gt; 0.
+	 * @param penaltyLarge Penalty for a larger change in disparity, P2.  Must be &gt; P1 and &le; MAX_COST.
+	 * @param paths Number of paths.  4 or 8.
+	 */
+	public SgmCostAggregation(int penaltySmall, int penaltyLarge, int paths) {
+		if( paths != 4 && paths != 8 )
+			throw new IllegalArgumentException("Number of paths must be 4 or 8");
+		setPenalties(penaltySmall, penaltyLarge);
+		this.paths = paths;
+	}
+
+	/**
+	 * Changes the penalties
+	 *
+	 * @param penaltySmall Penalty for a change of one in disparity, P1.  Must be &gt; 0.
+	 * @param penaltyLarge Penalty for a larger change in disparity, P2.  Must be &gt; P1 and &le; MAX_COST.
+	 */
+	public void setPenalties( int penaltySmall , int penaltyLarge ) {
+		if( penaltySmall <= 0 || penaltyLarge <= penaltySmall )
+			throw new IllegalArgumentException("Penalties must obey 0 < penaltySmall < penaltyLarge");
+		if( penaltyLarge > SgmDisparityCost.MAX_COST )
+			throw new IllegalArgumentException("penaltyLarge must be <= "+SgmDisparityCost.MAX_COST);
+		this.penaltySmall = penaltySmall;
+		this.penaltyLarge = penaltyLarge;
+	}
+
+	/**
+	 * Aggregates the cost along all the paths across the entire cost volume.
+	 *
+	 * @param cost (input) Cost of each pixel for the whole image
+	 * @param aggregated (output) Aggregated cost.  Same format as cost.
+	 * @param width Image width
+	 * @param height Image height
+	 * @param rangeDisparity Number of disparities
+	 */
+	public void process( short[] cost , short[] aggregated , int width , int height , int rangeDisparity ) {
+		setVolume(cost, aggregated, width, height, rangeDisparity);
+
+		for( int i = 0; i < paths; i++ ) {
+			processDirection(DIRECTIONS[i][0],DIRECTIONS[i][1],null,null);
+		}
+	}
+
+	/**
+	 * Aggregates the cost of a horizontal strip along paths which go left, right, or down.  The strips must be
+	 * processed in order from the top of the image to the bottom.
+	 *
+	 * @param cost (input) Cost of each pixel inside the strip
+	 * @param aggregated (output) Aggregated cost.  Same format as cost.
+	 * @param width Image width
+	 * @param rows Number of rows in the strip
+	 * @param rangeDisparity Number of disparities
+	 * @param first true if this is the first strip at the top of the image
+	 */
+	public void processStrip( short[] cost , short[] aggregated , int width , int rows , int rangeDisparity ,
+							  boolean first ) {
+		setVolume(cost, aggregated, width, rows, rangeDisparity);
+
+		int N = width*rangeDisparity;
+		for( int i = 0; i < paths; i++ ) {
+			int dx = DIRECTIONS[i][0], dy = DIRECTIONS[i][1];
+			if( dy < 0 )
+				continue;
+			if( dy == 0 ) {
+				processDirection(dx,dy,null,null);
+			} else {
+				if( carryNext[i].length < N ) {
+					carryPrevious[i] = new short[N];
+					carryNext[i] = new short[N];
+				}
+				processDirection(dx,dy,first ? null : carryPrevious[i],carryNext[i]);
+
+				short tmp[] = carryPrevious[i];
+				carryPrevious[i] = carryNext[i];
+				carryNext[i] = tmp;
+			}
+		}
+	}
+
+	private void setVolume( short[] cost , short[] aggregated , int width , int rows , int rangeDisparity ) {
+		this.cost = cost;
+		this.aggregated = aggregated;
+		this.width = width;
+		this.rows = rows;
+		this.rangeDisparity = rangeDisparity;
+
+		Arrays.fill(aggregated,0,width*rows*rangeDisparity,(short)0);
+	}
+
+	/**
+	 * Aggregates along every scan line which goes in the specified direction
+	 */
+	private void processDirection( final int dx , final int dy , final short[] carryIn , final short[] carryOut ) {
+		// scan lines start along the top or bottom row and along the left or right column
+		final int numTopBottom = dy != 0 ? width : 0;
+		int numSide = dx != 0 ? rows - (dy != 0 ? 1 : 0) : 0;
+
+		IntRangeTask task = new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				Workspace w = workspaces.acquire();
+				try {
+					w.resize(rangeDisparity);
+					for( int i = start; i < end; i++ ) {
+						int x,y;
+						if( i < numTopBottom ) {
+							x = i;
+							y = dy > 0 ? 0 : rows-1;
+						} else {
+							x = dx > 0 ? 0 : width-1;
+							y = i - numTopBottom + (dy > 0 ? 1 : 0);
+						}
+						processLine(x,y,dx,dy,carryIn,carryOut,w);
+					}
+				} finally {
+					workspaces.release(w);
+				}
+			}
+		};
+
+		if( concurrent )
+			BoofConcurrency.loopBlocks(0,numTopBottom+numSide,16,task);
+		else
+			task.process(0,numTopBottom+numSide);
+	}
+
+	/**
+	 * Aggregates the cost along a single scan line
+	 *
+	 * @param x Column of the first pixel
+	 * @param y Row of the first pixel
+	 * @param carryIn If not null, the state at the bottom of the previous strip
+	 * @param carryOut If not null, the state at the bottom of this strip is written here
+	 */
+	private void processLine( int x , int y , int dx , int dy , short[] carryIn , short[] carryOut , Workspace w ) {
+		final int D = rangeDisparity;
+		int prev[] = w.previous;
+		int curr[] = w.current;
+		int minPrev = 0;
+		boolean hasPrevious = false;
+
+		// continue the path from the previous strip
+		if( carryIn != null && y == 0 ) {
+			int px = x-dx;
+			if( px >= 0 && px < width ) {
+				int index = px*D;
+				minPrev = Integer.MAX_VALUE;
+				for( int i = 0; i < D; i++ ) {
+					int v = prev[i] = carryIn[index+i];
+					if( v < minPrev )
+						minPrev = v;
+				}
+				hasPrevious = true;
+			}
+		}
+
+		while( x >= 0 && x < width && y >= 0 && y < rows ) {
+			int index = (y*width + x)*D;
+			int minCurr = Integer.MAX_VALUE;
+
+			if( hasPrevious ) {
+				// the penalty is subtracted since minPrev is subtracted from everything
+				final int jump = penaltyLarge;
+				final int P1 = penaltySmall - minPrev;
+				int left = Integer.MAX_VALUE;
+				int middle = prev[0] - minPrev;
+				for( int i = 0; i < D-1; i++ ) {
+					int right = prev[i+1] + P1;
+					int best = middle;
+					if( left < best ) best = left;
+					if( right < best ) best = right;
+					if( jump < best ) best = jump;
+
+					left = middle + penaltySmall;
+					middle = right - penaltySmall;
+
+					int v = curr[i] = cost[index+i] + best;
+					aggregated[index+i] += v;
+					if( v < minCurr )
+						minCurr = v;
+				}
+				int best = middle;
+				if( left < best ) best = left;
+				if( jump < best ) best = jump;
+				int v = curr[D-1] = cost[index+D-1] + best;
+				aggregated[index+D-1] += v;
+				if( v < minCurr )
+					minCurr = v;
+			} else {
+				for( int i = 0; i < D; i++ ) {
+					int v = curr[i] = cost[index+i];
+					aggregated[index+i] += v;
+					if( v < minCurr )
+						minCurr = v;
+				}
+				hasPrevious = true;
+			}
+
+			int tmp[] = prev;
+			prev = curr;
+			curr = tmp;
+			minPrev = minCurr;
+
+			x += dx;
+			y += dy;
+		}
+
+		// save the state of the last pixel if it's on the bottom row
+		if( carryOut != null && y-dy == rows-1 ) {
+			int index = (x-dx)*D;
+			for( int i = 0; i < D; i++ ) {
+				carryOut[index+i] = (short)prev[i];
+			}
+		}
+	}
+
+	public int getPenaltySmall() {
+		return penaltySmall;
+	}
+
+	public int getPenaltyLarge() {
+		return penaltyLarge;
+	}
+
+	public int getPaths() {
+		return paths;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	/**
+	 * If true then the scan lines are processed in parallel
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Storage for the aggregated cost of the previous and current pixel along a scan line
+	 */
+	private static class Workspace {
+		int previous[] = new int[0];
+		int current[] = new int[0];
+
+		public void resize( int length ) {
+			if( previous.length < length ) {
+				previous = new int[length];
+				current = new int[length];
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * <p>
+ * Computes the cost of matching individual pixels for {@link DisparitySgm}.  The cost of every disparity
+ * for a block of rows is written into an array of shorts with the following format:
+ * </p>
+ *
+ * <pre>
+ * cost[ offset + ((y-row0)*width + x)*rangeDisparity + i ]
+ * </pre>
+ *
+ * <p>
+ * where i is the disparity minus minDisparity.  Costs must be between 0 and {@link #MAX_COST}, inclusive.  If
+ * a disparity would go outside the right image then its cost is set to {@link #MAX_COST}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface SgmDisparityCost<T extends ImageSingleBand> {
+
+	/**
+	 * Largest possible cost for a single pixel.  Selected so that the sum of aggregated costs along all paths
+	 * will fit inside a short.
+	 */
+	public static final int MAX_COST = 2047;
+
+	/**
+	 * Specifies the input images.  Any pre-processing of the input images is done here.
+	 *
+	 * @param left Left rectified image.
+	 * @param right Right rectified image.
+	 */
+	public void setImages( T left , T right );
+
+	/**
+	 * Computes the cost for each pixel inside of the rows [row0,row1) and each disparity.  Must be
+	 * safe to call from different threads at the same time when the rows do not overlap.
+	 *
+	 * @param minDisparity Minimum disparity
+	 * @param rangeDisparity Number of disparities considered
+	 * @param row0 First row, inclusive
+	 * @param row1 Last row, exclusive
+	 * @param cost (output) Storage for the cost
+	 * @param offset Index in cost which row0 is written to
+	 */
+	public void process( int minDisparity , int rangeDisparity , int row0 , int row1 , short[] cost , int offset );
+
+	/**
+	 * Type of input image
+	 */
+	public Class<T> getInputType();
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Selects the disparity with the lowest aggregated cost for each pixel.  See {@link SgmCostAggregation}.  Output
+ * follows the same format as {@link DisparitySelect}.  Optionally, pixels are marked as invalid if the
+ * disparity is not consistent when going from right to left image or if the best disparity isn't unique enough.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmDisparitySelector {
+
+	// tolerance for right to left validation. if < 0 then it's disabled
+	int rightToLeftTolerance;
+
+	// texture threshold, use an integer value for speed.
+	int textureThreshold;
+	static final int discretizer = 10000;
+
+	/**
+	 * Configures tolerances
+	 *
+	 * @param rightToLeftTolerance Tolerance for how difference the left to right associated values can be.
+	 *                             Disable with a value &lt; 0.  Try 1
+	 * @param texture Tolerance for how similar optimal disparity is to other disparities.  Disable with a
+	 *                value &le; 0.  Closer to zero is more tolerant. Try 0.05
+	 */
+	public SgmDisparitySelector(int rightToLeftTolerance, double texture) {
+		this.rightToLeftTolerance = rightToLeftTolerance;
+		setTexture(texture);
+	}
+
+	public void setTexture( double threshold ) {
+		textureThreshold = (int)(discretizer*threshold);
+	}
+
+	/**
+	 * Selects the disparity of each pixel in the rows [row0,row1)
+	 *
+	 * @param aggregated Aggregated cost.  Format is described in {@link SgmDisparityCost}
+	 * @param offset Index in aggregated of row0
+	 * @param minDisparity Minimum disparity
+	 * @param rangeDisparity Number of disparities
+	 * @param row0 First row, inclusive
+	 * @param row1 Last row, exclusive
+	 * @param disparity (output) Disparity image
+	 */
+	public void process( short[] aggregated , int offset , int minDisparity , int rangeDisparity ,
+						 int row0 , int row1 , ImageUInt8 disparity ) {
+		final int width = disparity.width;
+		final int D = rangeDisparity;
+		final byte invalid = (byte)(rangeDisparity+1);
+
+		for( int y = row0; y < row1; y++ ) {
+			int indexRow = offset + (y-row0)*width*D;
+			int indexOut = disparity.startIndex + y*disparity.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				// number of disparities which are inside the right image
+				int localRange = Math.min(D, x - minDisparity + 1);
+				if( localRange <= 0 ) {
+					disparity.data[indexOut++] = invalid;
+					continue;
+				}
+
+				int index = indexRow + x*D;
+				int best = 0;
+				int scoreBest = aggregated[index];
+				for( int i = 1; i < localRange; i++ ) {
+					int s = aggregated[index+i];
+					if( s < scoreBest ) {
+						scoreBest = s;
+						best = i;
+					}
+				}
+
+				if( rightToLeftTolerance >= 0 ) {
+					int bestRtoL = selectRightToLeft(aggregated,indexRow,width,minDisparity,D,x-minDisparity-best);
+					if( Math.abs(bestRtoL-best) > rightToLeftTolerance ) {
+						disparity.data[indexOut++] = invalid;
+						continue;
+					}
+				}
+
+				if( textureThreshold > 0 && localRange >= 3 ) {
+					// find the second best disparity value and exclude its neighbors
+					int secondBest = Integer.MAX_VALUE;
+					for( int i = 0; i < best-1; i++ ) {
+						if( aggregated[index+i] < secondBest )
+							secondBest = aggregated[index+i];
+					}
+					for( int i = best+2; i < localRange; i++ ) {
+						if( aggregated[index+i] < secondBest )
+							secondBest = aggregated[index+i];
+					}
+
+					// similar scores indicate lack of texture
+					// C = (C2-C1)/C1
+					if( discretizer*(secondBest-scoreBest) <= textureThreshold*scoreBest ) {
+						disparity.data[indexOut++] = invalid;
+						continue;
+					}
+				}
+
+				disparity.data[indexOut++] = (byte)best;
+			}
+		}
+	}
+
+	/**
+	 * Finds the best disparity going from right to left image.
+	 *
+	 * @param colRight Column in the right image
+	 */
+	private int selectRightToLeft( short[] aggregated , int indexRow , int width ,
+								   int minDisparity , int D , int colRight ) {
+		// pixels in the left image which can match the right pixel
+		int localRange = Math.min(D,width-colRight-minDisparity);
+
+		int index = indexRow + (colRight+minDisparity)*D;
+		int best = 0;
+		int scoreBest = aggregated[index];
+		for( int i = 1; i < localRange; i++ ) {
+			index += D+1;
+			int s = aggregated[index];
+			if( s < scoreBest ) {
+				scoreBest = s;
+				best = i;
+			}
+		}
+
+		return best;
+	}
+
+	public int getRightToLeftTolerance() {
+		return rightToLeftTolerance;
+	}
+
+	public void setRightToLeftTolerance(int rightToLeftTolerance) {
+		this.rightToLeftTolerance = rightToLeftTolerance;
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.SgmDisparityCost;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Cost is the absolute difference between the left and right pixel's intensity, scaled so that it fills
+ * the allowed range of costs.
+ *
+ * @author Peter Abeles
+ */
+public class ImplSgmCostAbsoluteDifference_U8 implements SgmDisparityCost<ImageUInt8> {
+
+	// scale factor applied to the absolute difference
+	public static final int SCALE = MAX_COST/255;
+
+	ImageUInt8 left;
+	ImageUInt8 right;
+
+	@Override
+	public void setImages(ImageUInt8 left, ImageUInt8 right) {
+		this.left = left;
+		this.right = right;
+	}
+
+	@Override
+	public void process(int minDisparity, int rangeDisparity, int row0, int row1, short[] cost, int offset) {
+		final int width = left.width;
+
+		int index = offset;
+		for( int y = row0; y < row1; y++ ) {
+			int indexLeft = left.startIndex + y*left.stride;
+			int indexRight = right.startIndex + y*right.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				int valueLeft = left.data[indexLeft+x] & 0xFF;
+
+				// disparities which stay inside the right image
+				int localRange = Math.max(0,Math.min(rangeDisparity, x - minDisparity + 1));
+
+				int indexR = indexRight + x - minDisparity;
+				for( int i = 0; i < localRange; i++ ) {
+					int valueRight = right.data[indexR--] & 0xFF;
+					cost[index+i] = (short)(SCALE*Math.abs(valueLeft-valueRight));
+				}
+				for( int i = localRange; i < rangeDisparity; i++ ) {
+					cost[index+i] = MAX_COST;
+				}
+				index += rangeDisparity;
+			}
+		}
+	}
+
+	@Override
+	public Class<ImageUInt8> getInputType() {
+		return ImageUInt8.class;
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.SgmDisparityCost;
+import boofcv.alg.transform.census.CensusTransform;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Cost is the Hamming distance between the census transform of the left and right pixels.  A 5x5 census
+ * transform is used, see {@link CensusTransform}.  Census is insensitive to differences in exposure between
+ * the two cameras.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplSgmCostCensus_U8 implements SgmDisparityCost<ImageUInt8> {
+
+	// radius of the census region
+	public static final int RADIUS = 2;
+	// number of bits in the census descriptor
+	public static final int BITS = CensusTransform.numberOfBits(RADIUS,RADIUS);
+	// scale factor applied to the Hamming distance
+	public static final int SCALE = MAX_COST/BITS;
+
+	// census transform of left and right images
+	ImageSInt32 censusLeft = new ImageSInt32(1,1);
+	ImageSInt32 censusRight = new ImageSInt32(1,1);
+
+	@Override
+	public void setImages(ImageUInt8 left, ImageUInt8 right) {
+		censusLeft.reshape(left.width,left.height);
+		censusRight.reshape(right.width,right.height);
+
+		CensusTransform.region(left,RADIUS,RADIUS,censusLeft);
+		CensusTransform.region(right,RADIUS,RADIUS,censusRight);
+	}
+
+	@Override
+	public void process(int minDisparity, int rangeDisparity, int row0, int row1, short[] cost, int offset) {
+		final int width = censusLeft.width;
+		final int[] dataLeft = censusLeft.data;
+		final int[] dataRight = censusRight.data;
+
+		int index = offset;
+		for( int y = row0; y < row1; y++ ) {
+			int indexLeft = censusLeft.startIndex + y*censusLeft.stride;
+			int indexRight = censusRight.startIndex + y*censusRight.stride;
+
+			for( int x = 0; x < width; x++ ) {
+				int valueLeft = dataLeft[indexLeft+x];
+
+				// disparities which stay inside the right image
+				int localRange = Math.max(0,Math.min(rangeDisparity, x - minDisparity + 1));
+
+				int indexR = indexRight + x - minDisparity;
+				for( int i = 0; i < localRange; i++ ) {
+					cost[index+i] = (short)(SCALE*Integer.bitCount(valueLeft ^ dataRight[indexR--]));
+				}
+				for( int i = localRange; i < rangeDisparity; i++ ) {
+					cost[index+i] = MAX_COST;
+				}
+				index += rangeDisparity;
+			}
+		}
+	}
+
+	public ImageSInt32 getCensusLeft() {
+		return censusLeft;
+	}
+
+	public ImageSInt32 getCensusRight() {
+		return censusRight;
+	}
+
+	@Override
+	public Class<ImageUInt8> getInputType() {
+		return ImageUInt8.class;
+	}
+}
@@ -20,6 +20,8 @@ package boofcv.alg.feature.disparity.impl;
 
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSInt64;
 import boofcv.struct.image.ImageUInt8;
 
 /**
@@ -235,4 +237,122 @@ public class UtilDisparityScore {
 			elementScore[rCol] = Math.abs(diff);
 		}
 	}
+
+	/**
+	 * Computes disparity score for an entire row from images containing census transforms.  The score
+	 * is the Hamming distance.  See {@link #computeScoreRow(ImageUInt8, ImageUInt8, int, int[], int, int, int, int[])}.
+	 *
+	 * @param left left census image
+	 * @param right Right census image
+	 * @param row Image row being examined
+	 * @param scores Storage for disparity scores.
+	 * @param minDisparity Minimum disparity to consider
+	 * @param maxDisparity Maximum disparity to consider
+	 * @param regionWidth Size of the sample region's width
+	 * @param elementScore Storage for scores of individual pixels
+	 */
+	public static void computeScoreRow(ImageSInt32 left, ImageSInt32 right, int row, int[] scores,
+									   int minDisparity , int maxDisparity , int regionWidth ,
+									   int elementScore[] ) {
+		// disparity as the outer loop to maximize common elements in inner loops, reducing redundant calculations
+		for( int d = minDisparity; d < maxDisparity; d++ ) {
+			int dispFromMin = d - minDisparity;
+
+			// number of individual columns the error is computed in
+			final int colMax = left.width-d;
+			// number of regions that a score/error is computed in
+			final int scoreMax = colMax-regionWidth;
+
+			// indexes that data is read to/from for different data structures
+			int indexScore = left.width*dispFromMin + dispFromMin;
+			int indexLeft = left.startIndex + left.stride*row + d;
+			int indexRight = right.startIndex + right.stride*row;
+
+			// Fill elementScore with scores for individual elements for this row at disparity d
+			computeScoreRowHamming(left, right, colMax, indexLeft, indexRight, elementScore);
+
+			// score at the first column
+			int score = 0;
+			for( int i = 0; i < regionWidth; i++ )
+				score += elementScore[i];
+
+			scores[indexScore++] = score;
+
+			// scores for the remaining columns
+			for( int col = 0; col < scoreMax; col++ , indexScore++ ) {
+				scores[indexScore] = score += elementScore[col+regionWidth] - elementScore[col];
+			}
+		}
+	}
+
+	/**
+	 * Computes the Hamming distance between census descriptors for each element in the row.
+	 */
+	public static void computeScoreRowHamming(ImageSInt32 left, ImageSInt32 right,
+											  int elementMax, int indexLeft, int indexRight,
+											  int elementScore[])
+	{
+		for( int rCol = 0; rCol < elementMax; rCol++ ) {
+			elementScore[rCol] = Integer.bitCount(left.data[ indexLeft++ ] ^ right.data[ indexRight++ ]);
+		}
+	}
+
+	/**
+	 * Computes disparity score for an entire row from images containing census transforms.  The score
+	 * is the Hamming distance.  See {@link #computeScoreRow(ImageUInt8, ImageUInt8, int, int[], int, int, int, int[])}.
+	 *
+	 * @param left left census image
+	 * @param right Right census image
+	 * @param row Image row being examined
+	 * @param scores Storage for disparity scores.
+	 * @param minDisparity Minimum disparity to consider
+	 * @param maxDisparity Maximum disparity to consider
+	 * @param regionWidth Size of the sample region's width
+	 * @param elementScore Storage for scores of individual pixels
+	 */
+	public static void computeScoreRow(ImageSInt64 left, ImageSInt64 right, int row, int[] scores,
+									   int minDisparity , int maxDisparity , int regionWidth ,
+									   int elementScore[] ) {
+		// disparity as the outer loop to maximize common elements in inner loops, reducing redundant calculations
+		for( int d = minDisparity; d < maxDisparity; d++ ) {
+			int dispFromMin = d - minDisparity;
+
+			// number of individual columns the error is computed in
+			final int colMax = left.width-d;
+			// number of regions that a score/error is computed in
+			final int scoreMax = colMax-regionWidth;
+
+			// indexes that data is read to/from for different data structures
+			int indexScore = left.width*dispFromMin + dispFromMin;
+			int indexLeft = left.startIndex + left.stride*row + d;
+			int indexRight = right.startIndex + right.stride*row;
+
+			// Fill elementScore with scores for individual elements for this row at disparity d
+			computeScoreRowHamming(left, right, colMax, indexLeft, indexRight, elementScore);
+
+			// score at the first column
+			int score = 0;
+			for( int i = 0; i < regionWidth; i++ )
+				score += elementScore[i];
+
+			scores[indexScore++] = score;
+
+			// scores for the remaining columns
+			for( int col = 0; col < scoreMax; col++ , indexScore++ ) {
+				scores[indexScore] = score += elementScore[col+regionWidth] - elementScore[col];
+			}
+		}
+	}
+
+	/**
+	 * Computes the Hamming distance between census descriptors for each element in the row.
+	 */
+	public static void computeScoreRowHamming(ImageSInt64 left, ImageSInt64 right,
+											  int elementMax, int indexLeft, int indexRight,
+											  int elementScore[])
+	{
+		for( int rCol = 0; rCol < elementMax; rCol++ ) {
+			elementScore[rCol] = Long.bitCount(left.data[ indexLeft++ ] ^ right.data[ indexRight++ ]);
+		}
+	}
 }
@@ -33,6 +33,9 @@ import boofcv.struct.image.ImageSingleBand;
  * <p>
  * For this particular implementation of KLT, image derivatives is only needed when setDescription() is called.
  * Tracker quality will degrade if features change orientation, but this technique is significantly faster.
+ * Since the template's gradient is used the gradient matrix and its inverse are constant while tracking, which
+ * for a translation only motion model is equivalent to the inverse compositional formulation.  Only the region
+ * around the current location needs to be interpolated each iteration.
  * </p>
  *
  * <p>
@@ -189,6 +192,11 @@ public class KltTracker<InputImage extends ImageSingleBand, DerivativeImage exte
 			return KltTrackFault.FAILED;
 		}
 
+		// inverse of the gradient matrix, it's constant for every iteration
+		float invXX = Gyy / det;
+		float invXY = -Gxy / det;
+		float invYY = Gxx / det;
+
 		// compute the feature's width and temporary storage related to it
 		widthFeature = feature.radius * 2 + 1;
 		lengthFeature = widthFeature * widthFeature;
@@ -200,8 +208,8 @@ public class KltTracker<InputImage extends ImageSingleBand, DerivativeImage exte
 			computeE(feature, feature.x, feature.y);
 
 			// solve for D
-			float dx = (Gyy * Ex - Gxy * Ey) / det;
-			float dy = (Gxx * Ey - Gxy * Ex) / det;
+			float dx = invXX * Ex + invXY * Ey;
+			float dy = invXY * Ex + invYY * Ey;
 
 			feature.x += dx;
 			feature.y += dy;
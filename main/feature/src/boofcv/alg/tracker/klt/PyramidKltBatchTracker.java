@@ -0,0 +1,597 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.tracker.klt;
+
+import boofcv.alg.interpolate.InterpolateRectangle;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.concurrency.InstancePool;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.GrowQueue_I32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.ImagePyramid;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * Pyramidal KLT tracker which tracks a set of features in a single function call.  The results are identical to
+ * tracking each feature individually with {@link PyramidKltTracker}, but it is faster when there are many features.
+ * Instead of storing the description of each feature in its own set of images, the descriptions of all the
+ * features are stored in a few contiguous arrays with one slot for each feature, see
+ * {@link PyramidKltFeature#batchIndex}.  Features are tracked one pyramid layer at a time, from the top layer
+ * down, so that the interpolation of each layer only needs to be set up once.
+ * </p>
+ *
+ * <p>
+ * In concurrent mode, see {@link #setConcurrent}, the set of features is split up and each subset is processed
+ * in a different thread.  Results are identical to the single threaded case.
+ * </p>
+ *
+ * <p>
+ * Usage:  Call {@link #setImage} then {@link #setDescription(java.util.List)} to initialize a set of features.
+ * In the next image call {@link #setImage} and {@link #track} to update their location.  A feature's slot is
+ * assigned the first time its description is set and is kept until {@link #releaseSlot} is called, so the list
+ * of features can be reordered freely.  When a feature is dropped its slot must be released, otherwise storage
+ * will grow with every feature that has been described.  Released slots are given to new features.  A feature
+ * must only be used with a single batch tracker.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PyramidKltBatchTracker<InputImage extends ImageSingleBand, DerivativeImage extends ImageSingleBand> {
+
+	// tracker configuration
+	KltConfig config;
+
+	// radius of each feature's description
+	int radius;
+	// width of the feature
+	int widthFeature;
+	// length of the feature description
+	int lengthFeature;
+
+	// image pyramid for raw input image
+	ImagePyramid<InputImage> image;
+	// image pyramid for image gradient
+	DerivativeImage[] derivX;
+	DerivativeImage[] derivY;
+
+	// number of layers the storage has been declared for
+	int numLayers;
+	// number of slots the storage has been declared for
+	int numSlots;
+	// slots which have been released and can be assigned to new features
+	GrowQueue_I32 freeSlots = new GrowQueue_I32();
+
+	// Description of each feature at each layer.  The description of layer l in slot s starts at
+	// (s*numLayers + l)*lengthFeature
+	float desc[] = new float[0];
+	float descX[] = new float[0];
+	float descY[] = new float[0];
+	// spatial gradient matrix of each feature at each layer.  index = s*numLayers + l
+	float Gxx[] = new float[0];
+	float Gxy[] = new float[0];
+	float Gyy[] = new float[0];
+
+	// state of each feature in the list being processed
+	float trackX[] = new float[0];
+	float trackY[] = new float[0];
+	boolean worked[] = new boolean[0];
+	// maximum layer of each feature when tracking started
+	int startLayer[] = new int[0];
+	// slot of each feature
+	int slots[] = new int[0];
+	// result of tracking each feature
+	KltTrackFault results[] = new KltTrackFault[0];
+
+	// should features be processed in parallel
+	boolean concurrent = false;
+
+	// storage for interpolation and the feature in the current image.  one for each thread
+	InstancePool<Workspace> workspaces;
+
+	/**
+	 * Configures the tracker
+	 *
+	 * @param config KLT configuration
+	 * @param radius Radius of each feature's description
+	 * @param inputType Type of input image
+	 * @param derivType Type of image derivative
+	 */
+	public PyramidKltBatchTracker(KltConfig config, int radius,
+								  final Class<InputImage> inputType, final Class<DerivativeImage> derivType) {
+		this.config = config;
+		this.radius = radius;
+		this.widthFeature = radius*2+1;
+		this.lengthFeature = widthFeature*widthFeature;
+
+		workspaces = new InstancePool<Workspace>(new InstanceFactory<Workspace>() {
+			@Override
+			public Workspace newInstance() {
+				return new Workspace(inputType,derivType);
+			}
+		});
+	}
+
+	/**
+	 * Sets the current input images for the tracker to use.  If the number of layers changes then the description
+	 * of all the features must be set again.
+	 *
+	 * @param image Original image pyramid.
+	 * @param derivX Derivative along x-axis.  Can be null if only tracking.
+	 * @param derivY Derivative along y-axis.  Can be null if only tracking.
+	 */
+	public void setImage(ImagePyramid<InputImage> image,
+						 DerivativeImage[] derivX, DerivativeImage[] derivY) {
+		if( derivX != null && (image.getNumLayers() != derivX.length || image.getNumLayers() != derivY.length) )
+			throw new IllegalArgumentException("Number of layers does not match.");
+
+		this.image = image;
+		this.derivX = derivX;
+		this.derivY = derivY;
+
+		if( numLayers != image.getNumLayers() ) {
+			numLayers = image.getNumLayers();
+			declareStorage(numSlots);
+		}
+	}
+
+	/**
+	 * Sets the description of every feature in the list using the current image.  The feature's (x,y) must
+	 * have already been set.
+	 *
+	 * @param features Features whose description is being set.
+	 */
+	public void setDescription( final List<PyramidKltFeature> features ) {
+		if( derivX == null || derivY == null )
+			throw new IllegalArgumentException("Image derivatives must be set");
+
+		// assign slots to new features
+		int requiredSlots = numSlots;
+		for( int i = 0; i < features.size(); i++ ) {
+			PyramidKltFeature f = features.get(i);
+			if( f.batchIndex < 0 )
+				f.batchIndex = freeSlots.size > 0 ? freeSlots.pop() : requiredSlots++;
+			else if( f.batchIndex >= requiredSlots )
+				requiredSlots = f.batchIndex+1;
+		}
+		if( requiredSlots > numSlots )
+			declareStorage(requiredSlots);
+		declareFeatureState(features.size());
+
+		loop(features.size(), new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				Workspace w = workspaces.acquire();
+				try {
+					describe(features, start, end, w);
+				} finally {
+					workspaces.release(w);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Sets the description of a single feature
+	 *
+	 * @see #setDescription(java.util.List)
+	 */
+	public void setDescription( PyramidKltFeature feature ) {
+		setDescription(Collections.singletonList(feature));
+	}
+
+	/**
+	 * Releases the feature's slot so that it can be used by a new feature.  Call when a feature is dropped.
+	 * The feature's description will need to be set again before it can be tracked.
+	 *
+	 * @param feature Feature which is no longer being tracked.
+	 */
+	public void releaseSlot( PyramidKltFeature feature ) {
+		if( feature.batchIndex < 0 )
+			return;
+		freeSlots.push(feature.batchIndex);
+		feature.batchIndex = -1;
+	}
+
+	/**
+	 * Releases the slots of every feature in the list
+	 *
+	 * @see #releaseSlot(PyramidKltFeature)
+	 */
+	public void releaseSlots( List<PyramidKltFeature> features ) {
+		for( int i = 0; i < features.size(); i++ ) {
+			releaseSlot(features.get(i));
+		}
+	}
+
+	/**
+	 * Number of slots that storage has been declared for.  Includes released slots.
+	 */
+	public int getNumSlots() {
+		return numSlots;
+	}
+
+	/**
+	 * <p>
+	 * Finds the new location of every feature in the list.  The feature's position can be modified even if
+	 * tracking fails.
+	 * </p>
+	 *
+	 * <p>
+	 * NOTE: The features' descriptions are not updated and tracking over several frames can break down
+	 * if their descriptions are not updated.
+	 * </p>
+	 *
+	 * @param features Features which are being tracked.  Their descriptions must have been set.
+	 * @param faults (output) Storage for the result of tracking each feature.  Cleared before being filled.
+	 */
+	public void track( final List<PyramidKltFeature> features , List<KltTrackFault> faults ) {
+		int N = features.size();
+		declareFeatureState(N);
+
+		for( int i = 0; i < N; i++ ) {
+			int slot = features.get(i).batchIndex;
+			if( slot < 0 || slot >= numSlots )
+				throw new IllegalArgumentException("Feature has no description");
+		}
+
+		loop(N, new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				Workspace w = workspaces.acquire();
+				try {
+					track(features, start, end, w);
+				} finally {
+					workspaces.release(w);
+				}
+			}
+		});
+
+		faults.clear();
+		for( int i = 0; i < N; i++ ) {
+			faults.add(results[i]);
+		}
+	}
+
+	private void loop( int N , IntRangeTask task ) {
+		if( concurrent )
+			BoofConcurrency.loopBlocks(0,N,20,task);
+		else
+			task.process(0,N);
+	}
+
+	/**
+	 * Sets the description of features in the range [start,end) one layer at a time
+	 */
+	private void describe( List<PyramidKltFeature> features , int start , int end , Workspace w ) {
+		for( int i = start; i < end; i++ )
+			worked[i] = true;
+
+		for (int layer = 0; layer < numLayers; layer++) {
+			float scale = (float)image.getScale(layer);
+			w.setLayer(layer);
+
+			for( int i = start; i < end; i++ ) {
+				// stop once the feature is outside of a layer
+				if( !worked[i] )
+					continue;
+
+				PyramidKltFeature feature = features.get(i);
+				float x = feature.x / scale;
+				float y = feature.y / scale;
+
+				if( !w.isFullyInside(x, y) ) {
+					worked[i] = false;
+					continue;
+				}
+
+				float tl_x = x - radius;
+				float tl_y = y - radius;
+
+				// interpolate directly into the feature's slot
+				int index = feature.batchIndex*numLayers + layer;
+				int offset = index*lengthFeature;
+				w.interpInput.region(tl_x, tl_y, w.view(w.desc, desc, offset));
+				w.interpDerivX.region(tl_x, tl_y, w.view(w.descX, descX, offset));
+				w.interpDerivY.region(tl_x, tl_y, w.view(w.descY, descY, offset));
+
+				float Gxx = 0, Gyy = 0, Gxy = 0;
+				for (int j = 0; j < lengthFeature; j++) {
+					float dX = descX[offset+j];
+					float dY = descY[offset+j];
+
+					Gxx += dX * dX;
+					Gyy += dY * dY;
+					Gxy += dX * dY;
+				}
+
+				this.Gxx[index] = Gxx;
+				this.Gyy[index] = Gyy;
+				this.Gxy[index] = Gxy;
+
+				feature.maxLayer = layer;
+			}
+		}
+	}
+
+	/**
+	 * Tracks features in the range [start,end) from the top of the pyramid to the bottom one layer at a time.
+	 * See {@link PyramidKltTracker#track(PyramidKltFeature)}.
+	 */
+	private void track( List<PyramidKltFeature> features , int start , int end , Workspace w ) {
+		int topLayer = -1;
+		for( int i = start; i < end; i++ ) {
+			PyramidKltFeature feature = features.get(i);
+			trackX[i] = feature.x;
+			trackY[i] = feature.y;
+			worked[i] = false;
+			results[i] = null;
+			slots[i] = feature.batchIndex;
+			// the feature's max layer can be modified while it's being tracked
+			startLayer[i] = feature.maxLayer;
+			topLayer = Math.max(topLayer,feature.maxLayer);
+		}
+
+		for (int layer = topLayer; layer >= 0; layer--) {
+			float scale = (float)image.getScale(layer);
+			w.setLayer(layer);
+
+			for( int i = start; i < end; i++ ) {
+				if( startLayer[i] < layer || results[i] != null )
+					continue;
+
+				float x = trackX[i] / scale;
+				float y = trackY[i] / scale;
+
+				KltTrackFault ret = trackLayer(slots[i]*numLayers + layer, x, y, w);
+
+				if (ret == KltTrackFault.OUT_OF_BOUNDS) {
+					// if out of bounds try tracking on a lower layer
+					features.get(i).maxLayer = layer-1;
+					worked[i] = false;
+				} else if (ret == KltTrackFault.SUCCESS) {
+					worked[i] = true;
+				} else {
+					// tracking failed
+					results[i] = ret;
+					continue;
+				}
+
+				trackX[i] = w.x * scale;
+				trackY[i] = w.y * scale;
+			}
+		}
+
+		for( int i = start; i < end; i++ ) {
+			if( results[i] != null )
+				continue;
+
+			if( worked[i] ) {
+				features.get(i).setPosition(trackX[i], trackY[i]);
+				results[i] = KltTrackFault.SUCCESS;
+			} else {
+				results[i] = KltTrackFault.OUT_OF_BOUNDS;
+			}
+		}
+	}
+
+	/**
+	 * Tracks a feature inside a single layer.  See {@link KltTracker#track(KltFeature)}.  The final location is
+	 * saved in the workspace.
+	 *
+	 * @param index Index of the feature's description at this layer
+	 */
+	private KltTrackFault trackLayer( int index , float x , float y , Workspace w ) {
+		w.x = x; w.y = y;
+
+		// save the original location so that a drifting fault can be detected
+		float origX = x, origY = y;
+
+		// make sure its inside this image
+		if (!w.isFullyInside(x, y)) {
+			return KltTrackFault.OUT_OF_BOUNDS;
+		}
+
+		// see if the determinant is too small
+		float Gxx = this.Gxx[index];
+		float Gyy = this.Gyy[index];
+		float Gxy = this.Gxy[index];
+		float det = Gxx * Gyy - Gxy * Gxy;
+		if (det < config.minDeterminant) {
+			return KltTrackFault.FAILED;
+		}
+
+		// inverse of the gradient matrix, it's constant for every iteration
+		float invXX = Gyy / det;
+		float invXY = -Gxy / det;
+		float invYY = Gxx / det;
+
+		int offset = index*lengthFeature;
+		float current[] = w.current.data;
+
+		for (int iter = 0; iter < config.maxIterations; iter++) {
+			// extract the region in the current image
+			w.interpInput.region(x - radius, y - radius, w.current);
+
+			float Ex = 0, Ey = 0;
+			for (int i = 0; i < lengthFeature; i++) {
+				// compute the difference between the previous and the current image
+				float d = desc[offset+i] - current[i];
+
+				Ex += d * descX[offset+i];
+				Ey += d * descY[offset+i];
+			}
+
+			// solve for D
+			float dx = invXX * Ex + invXY * Ey;
+			float dy = invXY * Ex + invYY * Ey;
+
+			w.x = x += dx;
+			w.y = y += dy;
+
+			// see if it moved outside of the image
+			if (!w.isFullyInside(x, y))
+				return KltTrackFault.OUT_OF_BOUNDS;
+
+			// see if it has moved more than possible if it is really tracking a target
+			// this happens in regions with little texture
+			if (Math.abs(x - origX) > widthFeature
+					|| Math.abs(y - origY) > widthFeature)
+				return KltTrackFault.DRIFTED;
+
+			// see if it has converged to a solution
+			if (Math.abs(dx) < config.minPositionDelta && Math.abs(dy) < config.minPositionDelta) {
+				break;
+			}
+		}
+
+		float error = 0;
+		for (int i = 0; i < lengthFeature; i++) {
+			// compute the difference between the previous and the current image
+			error += Math.abs(desc[offset+i] - current[i]);
+		}
+		if( error / lengthFeature > config.maxPerPixelError )
+			return KltTrackFault.LARGE_ERROR;
+
+		return KltTrackFault.SUCCESS;
+	}
+
+	/**
+	 * Declares storage for the specified number of slots, saving the previous descriptions
+	 */
+	private void declareStorage( int slots ) {
+		int N = slots*numLayers;
+		if( Gxx.length < N ) {
+			N = Math.max(N,Gxx.length*2);
+			desc = grow(desc,N*lengthFeature);
+			descX = grow(descX,N*lengthFeature);
+			descY = grow(descY,N*lengthFeature);
+			Gxx = grow(Gxx,N);
+			Gxy = grow(Gxy,N);
+			Gyy = grow(Gyy,N);
+		}
+		numSlots = slots;
+	}
+
+	private void declareFeatureState( int N ) {
+		if( trackX.length < N ) {
+			trackX = new float[N];
+			trackY = new float[N];
+			worked = new boolean[N];
+			startLayer = new int[N];
+			slots = new int[N];
+			results = new KltTrackFault[N];
+		}
+	}
+
+	private static float[] grow( float[] a , int length ) {
+		float[] ret = new float[length];
+		System.arraycopy(a,0,ret,0,a.length);
+		return ret;
+	}
+
+	public KltConfig getConfig() {
+		return config;
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
+	/**
+	 * If true then the set of features is split up and processed in parallel
+	 */
+	public void setConcurrent(boolean concurrent) {
+		this.concurrent = concurrent;
+	}
+
+	/**
+	 * Interpolation and storage used by a single thread
+	 */
+	private class Workspace {
+		InterpolateRectangle<InputImage> interpInput;
+		InterpolateRectangle<DerivativeImage> interpDerivX;
+		InterpolateRectangle<DerivativeImage> interpDerivY;
+
+		// sub-images of the description arrays
+		ImageFloat32 desc = new ImageFloat32(widthFeature,widthFeature);
+		ImageFloat32 descX = new ImageFloat32(widthFeature,widthFeature);
+		ImageFloat32 descY = new ImageFloat32(widthFeature,widthFeature);
+		// the feature in the current image
+		ImageFloat32 current = new ImageFloat32(widthFeature,widthFeature);
+
+		// allowed feature bounds in the current layer
+		float allowedLeft;
+		float allowedRight;
+		float allowedTop;
+		float allowedBottom;
+
+		// location of the feature after tracking it inside a layer
+		float x,y;
+
+		Workspace( Class<InputImage> inputType , Class<DerivativeImage> derivType ) {
+			interpInput = FactoryInterpolation.bilinearRectangle(inputType);
+			interpDerivX = FactoryInterpolation.bilinearRectangle(derivType);
+			interpDerivY = FactoryInterpolation.bilinearRectangle(derivType);
+		}
+
+		void setLayer( int layer ) {
+			InputImage layerImage = image.getLayer(layer);
+			interpInput.setImage(layerImage);
+			if( derivX != null ) {
+				interpDerivX.setImage(derivX[layer]);
+				interpDerivY.setImage(derivY[layer]);
+			}
+
+			allowedLeft = radius + config.forbiddenBorder;
+			allowedTop = radius + config.forbiddenBorder;
+			allowedRight = layerImage.width - (radius + config.forbiddenBorder);
+			allowedBottom = layerImage.height - (radius + config.forbiddenBorder);
+		}
+
+		/**
+		 * Adjusts the image so that it references a single description inside of the array
+		 */
+		ImageFloat32 view( ImageFloat32 image , float[] data , int offset ) {
+			image.data = data;
+			image.startIndex = offset;
+			return image;
+		}
+
+		/**
+		 * Returns true if the features is entirely enclosed inside of the layer.
+		 */
+		boolean isFullyInside(float x, float y) {
+			if (x < allowedLeft || x >= allowedRight)
+				return false;
+			if (y < allowedTop || y >= allowedBottom)
+				return false;
+
+			return true;
+		}
+	}
+}
@@ -30,6 +30,8 @@ public class PyramidKltFeature {
 	public float x,y;
 	/** the maximum layer in which this description is valid */
 	public int maxLayer=-1;
+	/** index of the feature's description inside of {@link PyramidKltBatchTracker}.  -1 if not assigned yet */
+	public int batchIndex=-1;
 
 	/** user specified data, not used by the tracker */
 	public Object cookie;
@@ -20,6 +20,7 @@ package boofcv.factory.feature.associate;
 
 import boofcv.abst.feature.associate.*;
 import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.alg.feature.associate.KdForestSearch;
 import boofcv.struct.feature.*;
 import org.ddogleg.nn.FactoryNearestNeighbor;
 import org.ddogleg.nn.NearestNeighbor;
@@ -55,6 +56,33 @@ public class FactoryAssociation {
 		return ret;
 	}
 
+	/**
+	 * Returns a brute force greedy association which optionally applies a ratio test and can process
+	 * the features in parallel.  See {@link AssociateGreedy} for details.
+	 *
+	 * @param score Computes the fit score between two features.  Must be thread safe if concurrent is true.
+	 * @param maxError Maximum allowed error/fit score between two features.  To disable set to Double.MAX_VALUE
+	 * @param ratio Maximum ratio between the best and second best fit score.  Try 0.8.  If &ge; 1 the ratio
+	 *              test is disabled.
+	 * @param backwardsValidation If true associations are validated by associating in the reverse direction.
+	 * @param concurrent If true features are scored in parallel.
+	 * @param <D> Data structure being associated
+	 * @return Association
+	 */
+	public static <D> AssociateDescription<D>
+	greedy( ScoreAssociation<D> score ,
+			double maxError ,
+			double ratio ,
+			boolean backwardsValidation ,
+			boolean concurrent )
+	{
+		AssociateGreedy<D> alg = new AssociateGreedy<D>(score,backwardsValidation);
+		alg.setMaxFitError(maxError);
+		alg.setRatioTest(ratio);
+		alg.setConcurrent(concurrent);
+		return new WrapAssociateGreedy<D>(alg);
+	}
+
 
 	/**
 	 * Approximate association using a K-D tree degree of moderate size (10-15) that uses a best-bin-first search
@@ -99,6 +127,63 @@ public class FactoryAssociation {
 		return new AssociateNearestNeighbor<TupleDesc_F64>(nn,dimension);
 	}
 
+	/**
+	 * Association using a forest of randomized K-D trees which are searched together in best-bin-first order.
+	 * Suitable for large sets of high dimensional descriptors, e.g. SURF or SIFT.  Ambiguous matches can be
+	 * filtered out with a ratio test.  Supports {@link TupleDesc_F64} and {@link TupleDesc_F32} efficiently.
+	 *
+	 * @see AssociateKdForest
+	 * @see KdForestSearch
+	 *
+	 * @param numTrees Number of trees in the forest.  Try 4.
+	 * @param maxChecks Maximum number of descriptors compared for each source feature.  Controls speed and
+	 *                  accuracy.  Try 200.  If &le; 0 the search is exact.
+	 * @param ratio Maximum ratio between the best and second best match distance.  Try 0.8.  If &ge; 1
+	 *              the ratio test is disabled.
+	 * @param randomSeed Seed used by random number generator
+	 * @return Association using approximate nearest neighbor
+	 */
+	public static <D extends TupleDesc> AssociateDescription<D> kdForest( int numTrees ,
+																		  int maxChecks ,
+																		  double ratio ,
+																		  long randomSeed ) {
+		KdForestSearch search = new KdForestSearch(numTrees,5,maxChecks,randomSeed);
+		return new AssociateKdForest<D>(search,ratio);
+	}
+
+	/**
+	 * Exact nearest neighbor association using a single K-D tree.  Produces the same matches as a brute force
+	 * search using the Euclidean distance, but is much faster for large sets of features.
+	 *
+	 * @see AssociateKdForest
+	 *
+	 * @param ratio Maximum ratio between the best and second best match distance.  Try 0.8.  If &ge; 1
+	 *              the ratio test is disabled.
+	 * @return Association using exact nearest neighbor
+	 */
+	public static <D extends TupleDesc> AssociateDescription<D> kdForestExact( double ratio ) {
+		KdForestSearch search = new KdForestSearch(1,1,0,0xBEEF);
+		return new AssociateKdForest<D>(search,ratio);
+	}
+
+	/**
+	 * Exact association of binary descriptors, such as BRIEF, using multi-index hashing.  Much faster than
+	 * {@link #greedy} with {@link ScoreAssociateHamming_B} for large sets of features.
+	 *
+	 * @see AssociateHammingMultiIndex
+	 * @see boofcv.alg.feature.associate.HammingMultiIndex
+	 *
+	 * @param maxError Matches must have a Hamming distance less than this value.  To disable set to Double.MAX_VALUE
+	 * @param ratio Maximum ratio between the best and second best match distance.  Try 0.8.  If &ge; 1
+	 *              the ratio test is disabled.
+	 * @return Association for binary descriptors
+	 */
+	public static AssociateDescription<TupleDesc_B> hammingMultiIndex( double maxError , double ratio ) {
+		AssociateHammingMultiIndex ret = new AssociateHammingMultiIndex(ratio);
+		ret.setThreshold(maxError);
+		return ret;
+	}
+
 	/**
 	 * Given a feature descriptor type it returns a "reasonable" default {@link ScoreAssociation}.
 	 *
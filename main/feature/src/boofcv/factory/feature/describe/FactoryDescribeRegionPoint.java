@@ -110,6 +110,8 @@ public class FactoryDescribeRegionPoint {
 
 		SiftImageScaleSpace ss = new SiftImageScaleSpace(configSS.blurSigma, configSS.numScales, configSS.numOctaves,
 				configSS.doubleInputImage);
+		ss.setConcurrent(configSS.concurrent);
+		ss.setLazyDerivatives(configSS.lazyDerivatives);
 
 		DescribePointSift alg = FactoryDescribePointAlgs.sift(configDescribe);
 
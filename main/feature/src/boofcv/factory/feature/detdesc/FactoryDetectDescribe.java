@@ -38,6 +38,7 @@ import boofcv.alg.feature.detect.interest.SiftDetector;
 import boofcv.alg.feature.detect.interest.SiftImageScaleSpace;
 import boofcv.alg.feature.orientation.OrientationHistogramSift;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.InstanceFactory;
 import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
 import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
 import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
@@ -67,6 +68,26 @@ public class FactoryDetectDescribe {
 		  ConfigSiftDetector configDetector ,
 		  ConfigSiftOrientation configOri ,
 		  ConfigSiftDescribe configDesc) {
+		return sift(configSS,configDetector,configOri,configDesc,false);
+	}
+
+	/**
+	 * Creates a new SIFT feature detector and describer which can optionally estimate orientation and
+	 * describe features in parallel.
+	 *
+	 * @param configSS Configuration for scale-space.  Pass in null for default options.
+	 * @param configDetector Configuration for detector.  Pass in null for default options.
+	 * @param configOri Configuration for region orientation.  Pass in null for default options.
+	 * @param configDesc Configuration for descriptor. Pass in null for default options.
+	 * @param concurrent If true the scale-space is computed and features are described using multiple threads.
+	 * @return SIFT
+	 */
+	public static DetectDescribePoint<ImageFloat32,SurfFeature>
+	sift( ConfigSiftScaleSpace configSS,
+		  ConfigSiftDetector configDetector ,
+		  final ConfigSiftOrientation configOri ,
+		  final ConfigSiftDescribe configDesc ,
+		  boolean concurrent ) {
 
 		if( configSS == null )
 			configSS = new ConfigSiftScaleSpace();
@@ -74,6 +95,8 @@ public class FactoryDetectDescribe {
 
 		SiftImageScaleSpace ss = new SiftImageScaleSpace(configSS.blurSigma, configSS.numScales, configSS.numOctaves,
 				configSS.doubleInputImage);
+		ss.setConcurrent(configSS.concurrent || concurrent);
+		ss.setLazyDerivatives(configSS.lazyDerivatives);
 
 		SiftDetector detector = FactoryInterestPointAlgs.siftDetector(configDetector);
 
@@ -82,6 +105,20 @@ public class FactoryDetectDescribe {
 
 		DetectDescribeSift combined = new DetectDescribeSift(ss,detector,orientation,describe);
 
+		if( concurrent ) {
+			combined.setConcurrent(new InstanceFactory<OrientationHistogramSift>() {
+				@Override
+				public OrientationHistogramSift newInstance() {
+					return FactoryOrientationAlgs.sift(configOri);
+				}
+			}, new InstanceFactory<DescribePointSift>() {
+				@Override
+				public DescribePointSift newInstance() {
+					return FactoryDescribePointAlgs.sift(configDesc);
+				}
+			});
+		}
+
 		return new WrapDetectDescribeSift(combined);
 	}
 
@@ -108,13 +145,44 @@ public class FactoryDetectDescribe {
 												 ConfigSurfDescribe.Speed configDesc,
 												 ConfigAverageIntegral configOrientation,
 												 Class<T> imageType) {
+		return surfFast(configDetector,configDesc,configOrientation,imageType,false);
+	}
+
+	/**
+	 * Same as {@link #surfFast(ConfigFastHessian, ConfigSurfDescribe.Speed, ConfigAverageIntegral, Class)}
+	 * but orientation estimation and describing can optionally be done in parallel.
+	 *
+	 * @param concurrent If true features are described using multiple threads.
+	 */
+	public static <T extends ImageSingleBand, II extends ImageSingleBand>
+	DetectDescribePoint<T,SurfFeature> surfFast( ConfigFastHessian configDetector ,
+												 final ConfigSurfDescribe.Speed configDesc,
+												 final ConfigAverageIntegral configOrientation,
+												 Class<T> imageType ,
+												 boolean concurrent ) {
 
-		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
+		final Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
 		OrientationIntegral<II> orientation = FactoryOrientationAlgs.average_ii(configOrientation, integralType);
 		DescribePointSurf<II> describe = FactoryDescribePointAlgs.surfSpeed(configDesc, integralType);
 		FastHessianFeatureDetector<II> detector = FactoryInterestPointAlgs.fastHessian(configDetector);
 
-		return new WrapDetectDescribeSurf<T,II>( detector, orientation, describe );
+		WrapDetectDescribeSurf<T,II> ret = new WrapDetectDescribeSurf<T,II>( detector, orientation, describe );
+
+		if( concurrent ) {
+			ret.setConcurrent(new InstanceFactory<OrientationIntegral<II>>() {
+				@Override
+				public OrientationIntegral<II> newInstance() {
+					return FactoryOrientationAlgs.average_ii(configOrientation, integralType);
+				}
+			}, new InstanceFactory<DescribePointSurf<II>>() {
+				@Override
+				public DescribePointSurf<II> newInstance() {
+					return FactoryDescribePointAlgs.surfSpeed(configDesc, integralType);
+				}
+			});
+		}
+
+		return ret;
 	}
 
 	/**
@@ -140,13 +208,44 @@ public class FactoryDetectDescribe {
 												   ConfigSurfDescribe.Stablility configDescribe,
 												   ConfigSlidingIntegral configOrientation,
 												   Class<T> imageType) {
+		return surfStable(configDetector,configDescribe,configOrientation,imageType,false);
+	}
 
-		Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
+	/**
+	 * Same as {@link #surfStable(ConfigFastHessian, ConfigSurfDescribe.Stablility, ConfigSlidingIntegral, Class)}
+	 * but orientation estimation and describing can optionally be done in parallel.
+	 *
+	 * @param concurrent If true features are described using multiple threads.
+	 */
+	public static <T extends ImageSingleBand, II extends ImageSingleBand>
+	DetectDescribePoint<T,SurfFeature> surfStable( ConfigFastHessian configDetector,
+												   final ConfigSurfDescribe.Stablility configDescribe,
+												   final ConfigSlidingIntegral configOrientation,
+												   Class<T> imageType ,
+												   boolean concurrent ) {
+
+		final Class<II> integralType = GIntegralImageOps.getIntegralType(imageType);
 		FastHessianFeatureDetector<II> detector = FactoryInterestPointAlgs.fastHessian(configDetector);
 		DescribePointSurf<II> describe = FactoryDescribePointAlgs.surfStability(configDescribe, integralType);
 		OrientationIntegral<II> orientation = FactoryOrientationAlgs.sliding_ii(configOrientation, integralType);
 
-		return new WrapDetectDescribeSurf<T,II>( detector, orientation, describe );
+		WrapDetectDescribeSurf<T,II> ret = new WrapDetectDescribeSurf<T,II>( detector, orientation, describe );
+
+		if( concurrent ) {
+			ret.setConcurrent(new InstanceFactory<OrientationIntegral<II>>() {
+				@Override
+				public OrientationIntegral<II> newInstance() {
+					return FactoryOrientationAlgs.sliding_ii(configOrientation, integralType);
+				}
+			}, new InstanceFactory<DescribePointSurf<II>>() {
+				@Override
+				public DescribePointSurf<II> newInstance() {
+					return FactoryDescribePointAlgs.surfStability(configDescribe, integralType);
+				}
+			});
+		}
+
+		return ret;
 	}
 
 	/**
@@ -22,6 +22,7 @@ import boofcv.abst.filter.blur.BlurFilter;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.feature.detect.edge.CannyEdge;
 import boofcv.alg.feature.detect.edge.CannyEdgeDynamic;
+import boofcv.alg.feature.detect.edge.CannyEdgeFused;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.struct.image.ImageSingleBand;
@@ -41,6 +42,7 @@ public class FactoryEdgeDetectors {
 	 * @see CannyEdgeDynamic
 	 *
 	 * @param blurRadius Size of the kernel used to blur the image. Try 1 or 2
+	 * @param saveTrace Should it save a list of points that compose the objects contour/trace?
 	 * @param dynamicThreshold If true then the thresholds have a range from 0 to 1 and are relative to the
 	 * maximum edge intensity, if false then they are absolute intensity values.
 	 * @param imageType Type of input image.
@@ -58,4 +60,29 @@ public class FactoryEdgeDetectors {
 		else
 			return new CannyEdge<T,D>(blur,gradient,saveTrace);
 	}
+
+	/**
+	 * Creates a canny edge detector which produces the same output as {@link #canny} but fuses several of the
+	 * processing steps together and can process the image in parallel.  Only ImageUInt8 with ImageSInt16
+	 * derivatives and ImageFloat32 with ImageFloat32 derivatives are supported.
+	 *
+	 * @see CannyEdgeFused
+	 *
+	 * @param blurRadius Size of the kernel used to blur the image. Try 1 or 2
+	 * @param saveTrace Should it save a list of points that compose the objects contour/trace?
+	 * @param dynamicThreshold If true then the thresholds have a range from 0 to 1 and are relative to the
+	 * maximum edge intensity, if false then they are absolute intensity values.
+	 * @param concurrent If true then the image is processed in parallel.
+	 * @param imageType Type of input image.
+	 * @param derivType Type of image derivative.
+	 * @return Canny edge detector
+	 */
+	public static <T extends ImageSingleBand, D extends ImageSingleBand>
+	CannyEdgeFused<T,D> cannyFused( int blurRadius , boolean saveTrace , boolean dynamicThreshold, boolean concurrent ,
+									Class<T> imageType , Class<D> derivType )
+	{
+		CannyEdgeFused<T,D> alg = new CannyEdgeFused<T,D>(blurRadius,saveTrace,dynamicThreshold,imageType,derivType);
+		alg.setConcurrent(concurrent);
+		return alg;
+	}
 }
@@ -25,6 +25,7 @@ import boofcv.abst.feature.detect.extract.WrapperNonMaximumBlock;
 import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
 import boofcv.alg.feature.detect.extract.*;
 import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.concurrency.InstanceFactory;
 import boofcv.struct.image.ImageSingleBand;
 
 /**
@@ -66,6 +67,28 @@ public class FactoryFeatureExtractor {
 			config = new ConfigExtract();
 		config.checkValidity();
 
+		NonMaxBlock ret = createBlock(config);
+
+		ret.setSearchRadius(config.radius);
+		ret.setThresholdMax(config.threshold);
+		ret.setThresholdMin(-config.threshold);
+		ret.setBorder(config.ignoreBorder);
+
+		if( config.concurrent ) {
+			final ConfigExtract c = new ConfigExtract();
+			c.setTo(config);
+			ret.setConcurrent(new InstanceFactory<NonMaxBlock>() {
+				@Override
+				public NonMaxBlock newInstance() {
+					return createBlock(c);
+				}
+			});
+		}
+
+		return new WrapperNonMaximumBlock(ret);
+	}
+
+	private static NonMaxBlock createBlock( ConfigExtract config ) {
 		NonMaxBlock ret;
 		if (config.useStrictRule) {
 			if( config.detectMaximums)
@@ -84,13 +107,7 @@ public class FactoryFeatureExtractor {
 			else
 				ret = new NonMaxBlockRelaxed.Min();
 		}
-
-		ret.setSearchRadius(config.radius);
-		ret.setThresholdMax(config.threshold);
-		ret.setThresholdMin(-config.threshold);
-		ret.setBorder(config.ignoreBorder);
-
-		return new WrapperNonMaximumBlock(ret);
+		return ret;
 	}
 
 	/**
@@ -105,13 +122,16 @@ public class FactoryFeatureExtractor {
 			config = new ConfigExtract();
 		config.checkValidity();
 
-		NonMaxCandidate alg;
+		NonMaxCandidate alg = createCandidate(config.useStrictRule);
 
-		// no need to check the detection max/min since these algorithms can handle both
-		if (config.useStrictRule) {
-			alg = new NonMaxCandidateStrict();
-		} else {
-			alg = new NonMaxCandidateRelaxed();
+		if( config.concurrent ) {
+			final boolean strict = config.useStrictRule;
+			alg.setConcurrent(new InstanceFactory<NonMaxCandidate>() {
+				@Override
+				public NonMaxCandidate newInstance() {
+					return createCandidate(strict);
+				}
+			});
 		}
 
 		WrapperNonMaxCandidate ret = new WrapperNonMaxCandidate(alg,false,true);
@@ -123,4 +143,13 @@ public class FactoryFeatureExtractor {
 		return ret;
 	}
 
+	private static NonMaxCandidate createCandidate( boolean strict ) {
+		// no need to check the detection max/min since these algorithms can handle both
+		if (strict) {
+			return new NonMaxCandidateStrict();
+		} else {
+			return new NonMaxCandidateRelaxed();
+		}
+	}
+
 }
@@ -53,6 +53,23 @@ public class FactoryIntensityPoint {
 		return new WrapperFastCornerIntensity<I, D>(alg);
 	}
 
+	/**
+	 * Feature intensity for Fast corner detector.  See {@link FastCornerIntensity} for more details.
+	 *
+	 * @param pixelTol How different pixels need to be to be considered part of a corner. Image dependent.  Try 20 to start.
+	 * @param minCont Minimum number of continue pixels in a circle for it ot be a corner.  11 or 12 are good numbers.
+	 * @param decisionTree If true a faster implementation based on a ternary decision tree is used.  ImageUInt8 only.
+	 * @param imageType Type of input image it is computed form.
+	 * @param <I> Input image type.
+	 * @param <D> Derivative type.
+	 * @return Fast feature intensity
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	GeneralFeatureIntensity<I,D>  fast( int pixelTol, int minCont, boolean decisionTree, Class<I> imageType ) {
+		FastCornerIntensity<I> alg =  FactoryIntensityPointAlg.fast(pixelTol, minCont, decisionTree, imageType);
+		return new WrapperFastCornerIntensity<I, D>(alg);
+	}
+
 	/**
 	 * Feature intensity for Harris corner detector.  See {@link HarrisCornerIntensity} for more details.
 	 *
@@ -70,6 +70,39 @@ public class FactoryIntensityPointAlg {
 		}
 	}
 
+	/**
+	 * Creates a {@link boofcv.alg.feature.detect.intensity.FastCornerIntensity} which can optionally use an
+	 * implementation driven by a single ternary decision tree.  The decision tree implementation produces
+	 * identical results, is faster, but only supports {@link ImageUInt8}.
+	 *
+	 * @param pixelTol How different pixels need to be to be considered part of a corner. Image dependent.  Try 20 to start.
+	 * @param minCont Minimum number of continue pixels in a circle for it ot be a corner.  11 or 12 are good numbers.
+	 * @param decisionTree If true the decision tree implementation is used.
+	 * @param imageType Type of input image it is computed form.
+	 * @return Fast corner
+	 */
+	public static <T extends ImageSingleBand>
+	FastCornerIntensity<T> fast(int pixelTol, int minCont, boolean decisionTree, Class<T> imageType)
+	{
+		if( !decisionTree )
+			return fast(pixelTol, minCont, imageType);
+
+		if( imageType != ImageUInt8.class )
+			throw new IllegalArgumentException("Decision tree FAST only supports ImageUInt8");
+
+		if( minCont == 9 ) {
+			return (FastCornerIntensity)new ImplFastTreeIntensity9_U8(pixelTol);
+		} else if( minCont == 10 ) {
+			return (FastCornerIntensity)new ImplFastTreeIntensity10_U8(pixelTol);
+		} else if( minCont == 11 ) {
+			return (FastCornerIntensity)new ImplFastTreeIntensity11_U8(pixelTol);
+		} else if( minCont == 12 ) {
+			return (FastCornerIntensity)new ImplFastTreeIntensity12_U8(pixelTol);
+		} else {
+			throw new IllegalArgumentException("Specified minCont is not supported");
+		}
+	}
+
 	/**
 	 * Common interface for creating a {@link boofcv.alg.feature.detect.intensity.HarrisCornerIntensity} from different
 	 * image types.
@@ -23,6 +23,7 @@ import boofcv.abst.feature.detect.intensity.*;
 import boofcv.abst.feature.detect.interest.ConfigFast;
 import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
 import boofcv.abst.filter.blur.MedianImageFilter;
+import boofcv.alg.feature.detect.extract.SelectBucketedFeatures;
 import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
 import boofcv.alg.feature.detect.intensity.GradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
@@ -113,10 +114,15 @@ public class FactoryDetectPoint {
 
 		ConfigGeneralDetector d = configDetector;
 
-		FastCornerIntensity<T> alg = FactoryIntensityPointAlg.fast(configFast.pixelTol, configFast.minContinuous, imageType);
+		FastCornerIntensity<T> alg = FactoryIntensityPointAlg.fast(configFast.pixelTol, configFast.minContinuous,
+				configFast.decisionTree, imageType);
 		GeneralFeatureIntensity<T, D> intensity = new WrapperFastCornerIntensity<T, D>(alg);
 		ConfigGeneralDetector configExtract =
 				new ConfigGeneralDetector(d.maxFeatures,d.radius,d.threshold,0,true,false,true);
+		configExtract.bucketWidth = d.bucketWidth;
+		configExtract.maxPerBucket = d.maxPerBucket;
+		configExtract.adaptiveNonMax = d.adaptiveNonMax;
+		configExtract.concurrent = d.concurrent;
 		return createGeneral(intensity, configExtract);
 	}
 
@@ -163,6 +169,8 @@ public class FactoryDetectPoint {
 		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(config);
 		GeneralFeatureDetector<T, D> det = new GeneralFeatureDetector<T, D>(intensity, extractor);
 		det.setMaxFeatures(config.maxFeatures);
+		if( config.bucketWidth > 0 )
+			det.setSelectBucket(new SelectBucketedFeatures(config.bucketWidth,config.maxPerBucket,config.adaptiveNonMax));
 
 		return det;
 	}
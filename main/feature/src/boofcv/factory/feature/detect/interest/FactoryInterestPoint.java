@@ -151,6 +151,8 @@ public class FactoryInterestPoint {
 
 		SiftImageScaleSpace ss = new SiftImageScaleSpace(configSS.blurSigma, configSS.numScales, configSS.numOctaves,
 				configSS.doubleInputImage);
+		ss.setConcurrent(configSS.concurrent);
+		ss.setLazyDerivatives(configSS.lazyDerivatives);
 
 		return new WrapSiftDetector(alg,ss);
 	}
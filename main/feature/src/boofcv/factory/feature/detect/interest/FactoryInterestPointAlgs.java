@@ -31,6 +31,7 @@ import boofcv.alg.feature.detect.intensity.GradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
 import boofcv.alg.feature.detect.interest.*;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.concurrency.InstanceFactory;
 import boofcv.core.image.inst.FactoryImageGenerator;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
@@ -171,10 +172,21 @@ public class FactoryInterestPointAlgs {
 			config = new ConfigFastHessian();
 		config.checkValidity();
 
-		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(
-				new ConfigExtract(config.extractRadius, config.detectThreshold, 5, true));
-		return new FastHessianFeatureDetector<II>(extractor, config.maxFeaturesPerScale,
+		final ConfigExtract configExtract = new ConfigExtract(config.extractRadius, config.detectThreshold, 5, true);
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(configExtract);
+		FastHessianFeatureDetector<II> alg = new FastHessianFeatureDetector<II>(extractor, config.maxFeaturesPerScale,
 				config.initialSampleSize, config.initialSize, config.numberScalesPerOctave, config.numberOfOctaves);
+
+		if( config.concurrent ) {
+			alg.setConcurrent(new InstanceFactory<NonMaxSuppression>() {
+				@Override
+				public NonMaxSuppression newInstance() {
+					return FactoryFeatureExtractor.nonmax(configExtract);
+				}
+			});
+		}
+
+		return alg;
 	}
 
 	/**
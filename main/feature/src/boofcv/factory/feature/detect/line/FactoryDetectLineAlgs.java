@@ -119,6 +119,40 @@ public class FactoryDetectLineAlgs {
 		return new DetectLineHoughFoot<I,D>(localMaxRadius,minCounts,minDistanceFromOrigin,thresholdEdge,maxLines,gradient);
 	}
 
+	/**
+	 * Detects lines using the foot of norm parametrization, see {@link DetectLineHoughFoot}.  The transform
+	 * can be computed in parallel.
+	 *
+	 * @see DetectLineHoughFoot
+	 *
+	 * @param localMaxRadius Lines in transform space must be a local max in a region with this radius. Try 5;
+	 * @param minCounts Minimum number of counts/votes inside the transformed image. Try 5.
+	 * @param minDistanceFromOrigin Lines which are this close to the origin of the transformed image are ignored.  Try 5.
+	 * @param thresholdEdge Threshold for classifying pixels as edge or not.  Try 30.
+	 * @param maxLines Maximum number of lines to return. If <= 0 it will return them all.
+	 * @param concurrent If true then the transform is computed in parallel.
+	 * @param imageType Type of single band input image.
+	 * @param derivType Image derivative type.
+	 * @param <I> Input image type.
+	 * @param <D> Image derivative type.
+	 * @return Line detector.
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	DetectLineHoughFoot<I,D> houghFoot(int localMaxRadius,
+									   int minCounts ,
+									   int minDistanceFromOrigin ,
+									   float thresholdEdge ,
+									   int maxLines ,
+									   boolean concurrent ,
+									   Class<I> imageType ,
+									   Class<D> derivType ) {
+
+		ImageGradient<I,D> gradient = FactoryDerivative.sobel(imageType,derivType);
+
+		return new DetectLineHoughFoot<I,D>(localMaxRadius,minCounts,minDistanceFromOrigin,thresholdEdge,maxLines,
+				concurrent,gradient);
+	}
+
 	/**
 	 * Detects lines using a foot of norm parametrization and sub images to reduce degenerate
 	 * configurations, see {@link DetectLineHoughFootSubimage} for details.
@@ -188,4 +222,43 @@ public class FactoryDetectLineAlgs {
 		return new DetectLineHoughPolar<I,D>(localMaxRadius,minCounts,resolutionRange,resolutionAngle,thresholdEdge,maxLines,gradient);
 	}
 
+	/**
+	 * Creates a Hough line detector based on polar parametrization.  Voting can be constrained by the
+	 * gradient's orientation and the transform can be computed in parallel.
+	 *
+	 * @see DetectLineHoughPolar
+	 *
+	 * @param localMaxRadius Radius for local maximum suppression.  Try 2.
+	 * @param minCounts Minimum number of counts for detected line.  Critical tuning parameter and image dependent.
+	 * @param resolutionRange Resolution of line range in pixels.  Try 2
+	 * @param resolutionAngle Resolution of line angle in radius.  Try PI/180
+	 * @param thresholdEdge Edge detection threshold. Try 50.
+	 * @param maxLines Maximum number of lines to return. If <= 0 it will return them all.
+	 * @param angleTolerance If > 0 then pixels only vote for lines within this angle of their gradient's orientation.
+	 *                       In radians. Try PI/36
+	 * @param concurrent If true then the transform is computed in parallel.
+	 * @param imageType Type of single band input image.
+	 * @param derivType Image derivative type.
+	 * @param <I> Input image type.
+	 * @param <D> Image derivative type.
+	 * @return Line detector.
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	DetectLineHoughPolar<I,D> houghPolar(int localMaxRadius,
+										 int minCounts,
+										 double resolutionRange ,
+										 double resolutionAngle ,
+										 float thresholdEdge,
+										 int maxLines ,
+										 double angleTolerance ,
+										 boolean concurrent ,
+										 Class<I> imageType ,
+										 Class<D> derivType ) {
+
+		ImageGradient<I,D> gradient = FactoryDerivative.sobel(imageType,derivType);
+
+		return new DetectLineHoughPolar<I,D>(localMaxRadius,minCounts,resolutionRange,resolutionAngle,thresholdEdge,
+				maxLines,angleTolerance,concurrent,gradient);
+	}
+
 }
@@ -19,7 +19,10 @@
 package boofcv.factory.feature.detect.template;
 
 import boofcv.alg.feature.detect.template.TemplateDiffSquared;
+import boofcv.alg.feature.detect.template.TemplateFourier;
+import boofcv.alg.feature.detect.template.TemplateIntensitySwitch;
 import boofcv.alg.feature.detect.template.TemplateMatching;
+import boofcv.alg.feature.detect.template.TemplateMatchingBatch;
 import boofcv.alg.feature.detect.template.TemplateMatchingIntensity;
 import boofcv.alg.feature.detect.template.TemplateNCC;
 import boofcv.struct.image.ImageFloat32;
@@ -37,6 +40,10 @@ public class FactoryTemplateMatching {
 	/**
 	 * Creates {@link TemplateMatchingIntensity} of the specified type.  Likely
 	 * matches can be extracted using {@link boofcv.abst.feature.detect.extract.NonMaxSuppression}.
+	 * Each time an image is processed it will automatically switch between a spatial and frequency domain
+	 * algorithm depending on which is estimated to be faster for the template's size.
+	 *
+	 * @see TemplateIntensitySwitch
 	 *
 	 * @param type      Type of error function
 	 * @param imageType Image type being processed
@@ -44,6 +51,25 @@ public class FactoryTemplateMatching {
 	 */
 	public static <T extends ImageSingleBand>
 	TemplateMatchingIntensity<T> createIntensity(TemplateScoreType type, Class<T> imageType) {
+		TemplateMatchingIntensity<T> spatial = createIntensitySpatial(type, imageType);
+		TemplateMatchingIntensity<T> fourier = createIntensityFourier(type, imageType);
+
+		// relative cost of the spatial algorithms was found empirically
+		double spatialCost = type == TemplateScoreType.NCC ? 1.1 : 0.35;
+
+		return new TemplateIntensitySwitch<T>(spatial,fourier,spatialCost);
+	}
+
+	/**
+	 * Creates {@link TemplateMatchingIntensity} of the specified type which evaluates the template
+	 * in the spatial domain.  Fastest for small templates.
+	 *
+	 * @param type      Type of error function
+	 * @param imageType Image type being processed
+	 * @return {@link TemplateMatchingIntensity} of the specified type.
+	 */
+	public static <T extends ImageSingleBand>
+	TemplateMatchingIntensity<T> createIntensitySpatial(TemplateScoreType type, Class<T> imageType) {
 		switch (type) {
 			case SUM_DIFF_SQ:
 				if (imageType == ImageUInt8.class) {
@@ -66,6 +92,31 @@ public class FactoryTemplateMatching {
 		throw new IllegalArgumentException("Type not found: " + type);
 	}
 
+	/**
+	 * Creates {@link TemplateMatchingIntensity} of the specified type which computes the correlation in the
+	 * frequency domain.  Fastest for large templates.
+	 *
+	 * @see TemplateFourier
+	 *
+	 * @param type      Type of error function
+	 * @param imageType Image type being processed
+	 * @return {@link TemplateMatchingIntensity} of the specified type.
+	 */
+	public static <T extends ImageSingleBand>
+	TemplateMatchingIntensity<T> createIntensityFourier(TemplateScoreType type, Class<T> imageType) {
+		if (imageType != ImageUInt8.class && imageType != ImageFloat32.class)
+			throw new IllegalArgumentException("Image type not supported. " + imageType.getSimpleName());
+
+		switch (type) {
+			case SUM_DIFF_SQ:
+				return new TemplateFourier.DiffSquared<T>();
+
+			case NCC:
+				return new TemplateFourier.NCC<T>();
+		}
+		throw new IllegalArgumentException("Type not found: " + type);
+	}
+
 	/**
 	 * Creates an instance of {@link TemplateMatching} for the specified score type.
 	 *
@@ -79,4 +130,27 @@ public class FactoryTemplateMatching {
 
 		return new TemplateMatching<T>(intensity);
 	}
+
+	/**
+	 * Creates an instance of {@link TemplateMatchingBatch} for the specified score type.  Use this when
+	 * searching for many templates inside the same image.
+	 *
+	 * @param type      Type of error function
+	 * @param imageType Image type being processed
+	 * @return {@link TemplateMatchingBatch} of the specified type.
+	 */
+	public static <T extends ImageSingleBand>
+	TemplateMatchingBatch<T> createBatch(TemplateScoreType type, Class<T> imageType) {
+		if (imageType != ImageUInt8.class && imageType != ImageFloat32.class)
+			throw new IllegalArgumentException("Image type not supported. " + imageType.getSimpleName());
+
+		switch (type) {
+			case SUM_DIFF_SQ:
+				return new TemplateMatchingBatch.DiffSquared<T>();
+
+			case NCC:
+				return new TemplateMatchingBatch.NCC<T>();
+		}
+		throw new IllegalArgumentException("Type not found: " + type);
+	}
 }
@@ -18,18 +18,21 @@
 
 package boofcv.factory.feature.disparity;
 
-import boofcv.abst.feature.disparity.StereoDisparity;
-import boofcv.abst.feature.disparity.StereoDisparitySparse;
-import boofcv.abst.feature.disparity.WrapDisparitySadRect;
-import boofcv.abst.feature.disparity.WrapDisparitySparseSadRect;
-import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
-import boofcv.alg.feature.disparity.DisparitySelect;
-import boofcv.alg.feature.disparity.DisparitySparseScoreSadRect;
-import boofcv.alg.feature.disparity.DisparitySparseSelect;
+import boofcv.abst.feature.disparity.*;
+import boofcv.alg.feature.disparity.*;
+import boofcv.alg.feature.disparity.impl.ImplSgmCostAbsoluteDifference_U8;
+import boofcv.alg.feature.disparity.impl.ImplSgmCostCensus_U8;
+import boofcv.alg.transform.census.GCensusTransform;
+import boofcv.alg.transform.pyramid.PyramidDiscreteAverage;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInteger;
 import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.pyramid.PyramidDiscrete;
 
 import static boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs.*;
 
@@ -85,57 +88,55 @@ public class FactoryStereoDisparity {
 			   int validateRtoL ,
 			   double texture ,
 			   Class<T> imageType ) {
+		return regionWta(whichAlg,minDisparity,maxDisparity,regionRadiusX,regionRadiusY,
+				maxPerPixelError,validateRtoL,texture,false,imageType);
+	}
 
-		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
-
-		// 3 regions are used not just one in this case
-		if( whichAlg == DisparityAlgorithms.RECT_FIVE )
-			maxError *= 3;
-
-		DisparitySelect select;
-		if( imageType == ImageUInt8.class || imageType == ImageSInt16.class ) {
-			select = selectDisparity_S32((int) maxError, validateRtoL, texture);
-		} else if( imageType == ImageFloat32.class ) {
-			select = selectDisparity_F32((int) maxError, validateRtoL, texture);
-		} else {
-			throw new IllegalArgumentException("Unknown image type");
-		}
-
-		DisparityScoreRowFormat<T,ImageUInt8> alg = null;
+	/**
+	 * <p>
+	 * Crates algorithms for computing dense disparity images up to pixel level accuracy.
+	 * </p>
+	 *
+	 * <p>
+	 * NOTE: For RECT_FIVE the size of the sub-regions it uses is what is specified.
+	 * </p>
+	 *
+	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be > 0
+	 * @param regionRadiusX Radius of the rectangular region along x-axis.
+	 * @param regionRadiusY Radius of the rectangular region along y-axis.
+	 * @param maxPerPixelError Maximum allowed error in a region per pixel.  Set to < 0 to disable.
+	 * @param validateRtoL Tolerance for how difference the left to right associated values can be.  Try 6
+	 * @param texture Tolerance for how similar optimal region is to other region.  Closer to zero is more tolerant.
+	 *                Try 0.1
+	 * @param concurrent If true the image is split into horizontal bands which are processed in parallel.
+	 *                   Ignored for floating point images.  See {@link DisparityScoreRowFormat}.
+	 * @param imageType Type of input image.
+	 * @return Rectangular region based WTA disparity.algorithm.
+	 */
+	public static <T extends ImageSingleBand> StereoDisparity<T,ImageUInt8>
+	regionWta( final DisparityAlgorithms whichAlg ,
+			   final int minDisparity , final int maxDisparity,
+			   final int regionRadiusX, final int regionRadiusY ,
+			   final double maxPerPixelError ,
+			   final int validateRtoL ,
+			   final double texture ,
+			   boolean concurrent ,
+			   final Class<T> imageType ) {
 
-		switch( whichAlg ) {
-			case RECT:
-				if( imageType == ImageUInt8.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_U8(minDisparity,
-							maxDisparity,regionRadiusX,regionRadiusY,select);
-				} else if( imageType == ImageSInt16.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_S16(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				} else if( imageType == ImageFloat32.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_F32(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				}
-				break;
+		DisparityScoreRowFormat<T,ImageUInt8> alg = createRegionWta(whichAlg, minDisparity, maxDisparity,
+				regionRadiusX, regionRadiusY, maxPerPixelError, validateRtoL, texture, false, imageType);
 
-			case RECT_FIVE:
-				if( imageType == ImageUInt8.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_U8(minDisparity,
-							maxDisparity,regionRadiusX,regionRadiusY,select);
-				} else if( imageType == ImageSInt16.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_S16(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				} else if( imageType == ImageFloat32.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_F32(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
+		// floating point bands can't reproduce the single threaded rolling sums exactly
+		if( concurrent && !GeneralizedImageOps.isFloatingPoint(imageType) ) {
+			alg.setConcurrent(new InstanceFactory<DisparityScoreRowFormat<T, ImageUInt8>>() {
+				@Override
+				public DisparityScoreRowFormat<T, ImageUInt8> newInstance() {
+					return createRegionWta(whichAlg, minDisparity, maxDisparity,
+							regionRadiusX, regionRadiusY, maxPerPixelError, validateRtoL, texture, false, imageType);
 				}
-				break;
-
-			default:
-				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
-
+			});
 		}
-		if( alg == null)
-			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
 
 		return new WrapDisparitySadRect<T,ImageUInt8>(alg);
 	}
@@ -168,6 +169,142 @@ public class FactoryStereoDisparity {
 					   int validateRtoL ,
 					   double texture ,
 					   Class<T> imageType ) {
+		return regionSubpixelWta(whichAlg,minDisparity,maxDisparity,regionRadiusX,regionRadiusY,
+				maxPerPixelError,validateRtoL,texture,false,imageType);
+	}
+
+	/**
+	 * <p>
+	 * Returns an algorithm for computing a dense disparity images with sub-pixel disparity accuracy.
+	 * </p>
+	 *
+	 * <p>
+	 * NOTE: For RECT_FIVE the size of the sub-regions it uses is what is specified.
+	 * </p>
+	 *
+	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be > 0
+	 * @param regionRadiusX Radius of the rectangular region along x-axis. Try 3.
+	 * @param regionRadiusY Radius of the rectangular region along y-axis. Try 3.
+	 * @param maxPerPixelError Maximum allowed error in a region per pixel.  Set to < 0 to disable.
+	 * @param validateRtoL Tolerance for how difference the left to right associated values can be.  Try 6
+	 * @param texture Tolerance for how similar optimal region is to other region.  Disable with a value <= 0.
+	 *                Closer to zero is more tolerant. Try 0.1
+	 * @param concurrent If true the image is split into horizontal bands which are processed in parallel.
+	 *                   Ignored for floating point images.  See {@link DisparityScoreRowFormat}.
+	 * @param imageType Type of input image.
+	 * @return Rectangular region based WTA disparity.algorithm.
+	 */
+	public static <T extends ImageSingleBand> StereoDisparity<T,ImageFloat32>
+	regionSubpixelWta( final DisparityAlgorithms whichAlg ,
+					   final int minDisparity , final int maxDisparity,
+					   final int regionRadiusX, final int regionRadiusY ,
+					   final double maxPerPixelError ,
+					   final int validateRtoL ,
+					   final double texture ,
+					   boolean concurrent ,
+					   final Class<T> imageType ) {
+
+		DisparityScoreRowFormat<T,ImageFloat32> alg = createRegionWta(whichAlg, minDisparity, maxDisparity,
+				regionRadiusX, regionRadiusY, maxPerPixelError, validateRtoL, texture, true, imageType);
+
+		// floating point bands can't reproduce the single threaded rolling sums exactly
+		if( concurrent && !GeneralizedImageOps.isFloatingPoint(imageType) ) {
+			alg.setConcurrent(new InstanceFactory<DisparityScoreRowFormat<T, ImageFloat32>>() {
+				@Override
+				public DisparityScoreRowFormat<T, ImageFloat32> newInstance() {
+					return createRegionWta(whichAlg, minDisparity, maxDisparity,
+							regionRadiusX, regionRadiusY, maxPerPixelError, validateRtoL, texture, true, imageType);
+				}
+			});
+		}
+
+		return new WrapDisparitySadRect<T,ImageFloat32>(alg);
+	}
+
+	/**
+	 * <p>
+	 * Crates algorithms for computing dense disparity images up to pixel level accuracy using the census transform.
+	 * The census transform of each image is computed and the score of a region is the sum of the Hamming distance
+	 * between census descriptors inside the region.  Census is robust to differences in exposure between the two
+	 * cameras.  Depending on the size of the census region it's packed into 32 or 64-bit integers.
+	 * </p>
+	 *
+	 * @see boofcv.alg.transform.census.CensusTransform
+	 *
+	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be > 0
+	 * @param regionRadiusX Radius of the rectangular region along x-axis.
+	 * @param regionRadiusY Radius of the rectangular region along y-axis.
+	 * @param censusRadiusX Radius of the census region along x-axis.
+	 * @param censusRadiusY Radius of the census region along y-axis.  Try 2 for a 5x5 census region.
+	 * @param maxPerPixelError Maximum allowed Hamming distance in a region per pixel.  Set to < 0 to disable.
+	 * @param validateRtoL Tolerance for how difference the left to right associated values can be.  Try 6
+	 * @param texture Tolerance for how similar optimal region is to other region.  Closer to zero is more tolerant.
+	 *                Try 0.1
+	 * @param concurrent If true the image is split into horizontal bands which are processed in parallel.
+	 *                   See {@link DisparityScoreRowFormat}.
+	 * @return Census based WTA disparity algorithm.
+	 */
+	public static StereoDisparity<ImageUInt8,ImageUInt8>
+	regionCensusWta( final int minDisparity , final int maxDisparity,
+					 final int regionRadiusX, final int regionRadiusY ,
+					 int censusRadiusX , int censusRadiusY ,
+					 final double maxPerPixelError ,
+					 final int validateRtoL ,
+					 final double texture ,
+					 boolean concurrent ) {
+
+		final Class censusType = GCensusTransform.getCensusType(censusRadiusX,censusRadiusY);
+
+		DisparityScoreRowFormat alg = createRegionCensus(minDisparity, maxDisparity,
+				regionRadiusX, regionRadiusY, maxPerPixelError, validateRtoL, texture, censusType);
+
+		if( concurrent ) {
+			alg.setConcurrent(new InstanceFactory<DisparityScoreRowFormat>() {
+				@Override
+				public DisparityScoreRowFormat newInstance() {
+					return createRegionCensus(minDisparity, maxDisparity,
+							regionRadiusX, regionRadiusY, maxPerPixelError, validateRtoL, texture, censusType);
+				}
+			});
+		}
+
+		return new WrapDisparityCensus(new WrapDisparitySadRect(alg),censusRadiusX,censusRadiusY);
+	}
+
+	/**
+	 * Creates the dense region based WTA algorithm which processes census images
+	 */
+	private static DisparityScoreRowFormat
+	createRegionCensus( int minDisparity , int maxDisparity,
+						int regionRadiusX, int regionRadiusY ,
+						double maxPerPixelError ,
+						int validateRtoL ,
+						double texture ,
+						Class censusType ) {
+		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
+
+		DisparitySelect select = selectDisparity_S32((int) maxError, validateRtoL, texture);
+
+		if( censusType == ImageSInt32.class )
+			return scoreDisparityHammingRect_S32(minDisparity, maxDisparity, regionRadiusX, regionRadiusY, select);
+		else
+			return scoreDisparityHammingRect_S64(minDisparity, maxDisparity, regionRadiusX, regionRadiusY, select);
+	}
+
+	/**
+	 * Creates the dense region based WTA algorithm along with its disparity selector
+	 */
+	private static <T extends ImageSingleBand, D extends ImageSingleBand> DisparityScoreRowFormat<T,D>
+	createRegionWta( DisparityAlgorithms whichAlg ,
+					 int minDisparity , int maxDisparity,
+					 int regionRadiusX, int regionRadiusY ,
+					 double maxPerPixelError ,
+					 int validateRtoL ,
+					 double texture ,
+					 boolean subpixel ,
+					 Class<T> imageType ) {
 
 		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
 
@@ -177,14 +314,20 @@ public class FactoryStereoDisparity {
 
 		DisparitySelect select;
 		if( imageType == ImageUInt8.class || imageType == ImageSInt16.class ) {
-			select = selectDisparitySubpixel_S32((int) maxError, validateRtoL, texture);
+			if( subpixel )
+				select = selectDisparitySubpixel_S32((int) maxError, validateRtoL, texture);
+			else
+				select = selectDisparity_S32((int) maxError, validateRtoL, texture);
 		} else if( imageType == ImageFloat32.class ) {
-			select = selectDisparitySubpixel_F32((int) maxError, validateRtoL, texture);
+			if( subpixel )
+				select = selectDisparitySubpixel_F32((int) maxError, validateRtoL, texture);
+			else
+				select = selectDisparity_F32((int) maxError, validateRtoL, texture);
 		} else {
 			throw new IllegalArgumentException("Unknown image type");
 		}
 
-		DisparityScoreRowFormat<T,ImageFloat32> alg = null;
+		DisparityScoreRowFormat<T,D> alg = null;
 
 		switch( whichAlg ) {
 			case RECT:
@@ -220,7 +363,124 @@ public class FactoryStereoDisparity {
 		if( alg == null)
 			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
 
-		return new WrapDisparitySadRect<T,ImageFloat32>(alg);
+		return alg;
+	}
+
+	/**
+	 * <p>
+	 * Creates a dense disparity algorithm which uses Semi-Global Matching (SGM).  The cost of each pixel is
+	 * aggregated along several paths through the image, which enforces smoothness and tends to produce
+	 * more accurate results than region based WTA algorithms, at the cost of additional computations and memory.
+	 * </p>
+	 *
+	 * @see DisparitySgm
+	 *
+	 * @param config Configuration.  If null then the default is used.
+	 * @param imageType Type of input image.  Only ImageUInt8 is supported.
+	 * @return SGM disparity algorithm
+	 */
+	public static <T extends ImageSingleBand> StereoDisparity<T,ImageUInt8>
+	sgm( ConfigDisparitySgm config , Class<T> imageType ) {
+		if( config == null )
+			config = new ConfigDisparitySgm();
+		config.checkValidity();
+
+		if( imageType != ImageUInt8.class )
+			throw new IllegalArgumentException("Image type not supported: "+imageType.getSimpleName());
+
+		SgmDisparityCost cost;
+		switch( config.cost ) {
+			case ABSOLUTE_DIFFERENCE:
+				cost = new ImplSgmCostAbsoluteDifference_U8();
+				break;
+
+			case CENSUS:
+				cost = new ImplSgmCostCensus_U8();
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unknown cost "+config.cost);
+		}
+
+		SgmCostAggregation aggregation = new SgmCostAggregation(config.penaltySmall,config.penaltyLarge,config.paths);
+		SgmDisparitySelector selector = new SgmDisparitySelector(config.validateRtoL,config.texture);
+
+		DisparitySgm<T> alg = new DisparitySgm<T>(config.minDisparity,config.maxDisparity,cost,aggregation,selector);
+		alg.setStripHeight(config.stripHeight);
+		alg.setConcurrent(config.concurrent);
+
+		return new WrapDisparitySgm<T>(alg);
+	}
+
+	/**
+	 * <p>
+	 * Creates a dense region based WTA algorithm which searches for the disparity coarse to fine.  The disparity is
+	 * first computed in images which have been down sampled by 'scale'.  At full resolution only a narrow range
+	 * around the coarse disparity is searched, or the full range if the coarse disparity is invalid.  Much faster
+	 * than {@link #regionWta} when the range of disparities is large.
+	 * </p>
+	 *
+	 * @see DisparityCoarseToFine
+	 *
+	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be > 0
+	 * @param regionRadiusX Radius of the rectangular region along x-axis.
+	 * @param regionRadiusY Radius of the rectangular region along y-axis.
+	 * @param maxPerPixelError Maximum allowed error in a region per pixel.  Set to < 0 to disable.
+	 * @param validateRtoL Tolerance for how difference the left to right associated values can be in the coarse
+	 *                     image.  Try 1
+	 * @param texture Tolerance for how similar optimal region is to other region.  Closer to zero is more tolerant.
+	 *                Try 0.1
+	 * @param scale How much the coarse image is down sampled by.  Try 4
+	 * @param concurrent If true the coarse and full resolution images are processed in parallel.
+	 * @param disparityType Type of disparity image.  Use ImageUInt16 if there are more than 254 disparities.
+	 * @return Coarse to fine WTA disparity algorithm.
+	 */
+	public static <D extends ImageInteger> StereoDisparity<ImageUInt8,D>
+	regionCoarseToFineWta( int minDisparity , int maxDisparity,
+						   final int regionRadiusX, final int regionRadiusY ,
+						   final double maxPerPixelError ,
+						   final int validateRtoL ,
+						   final double texture ,
+						   int scale ,
+						   boolean concurrent ,
+						   Class<D> disparityType ) {
+		if( scale <= 1 )
+			throw new IllegalArgumentException("scale must be greater than one");
+		if( disparityType == ImageUInt8.class && maxDisparity-minDisparity >= 255 )
+			throw new IllegalArgumentException("ImageUInt8 can't store more than 254 disparities");
+
+		// range of disparities in the coarse image which includes the full range
+		final int coarseMin = minDisparity/scale;
+		final int coarseMax = (maxDisparity+scale-1)/scale;
+
+		DisparityScoreRowFormat<ImageUInt8,ImageUInt8> coarse = createRegionWta(DisparityAlgorithms.RECT,
+				coarseMin, coarseMax, regionRadiusX, regionRadiusY, maxPerPixelError, validateRtoL, texture,
+				false, ImageUInt8.class);
+
+		if( concurrent ) {
+			coarse.setConcurrent(new InstanceFactory<DisparityScoreRowFormat<ImageUInt8, ImageUInt8>>() {
+				@Override
+				public DisparityScoreRowFormat<ImageUInt8, ImageUInt8> newInstance() {
+					return createRegionWta(DisparityAlgorithms.RECT, coarseMin, coarseMax,
+							regionRadiusX, regionRadiusY, maxPerPixelError, validateRtoL, texture,
+							false, ImageUInt8.class);
+				}
+			});
+		}
+
+		PyramidDiscrete<ImageUInt8> pyramidLeft =
+				new PyramidDiscreteAverage<ImageUInt8>(ImageUInt8.class,true,1,scale);
+		PyramidDiscrete<ImageUInt8> pyramidRight =
+				new PyramidDiscreteAverage<ImageUInt8>(ImageUInt8.class,true,1,scale);
+
+		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
+
+		DisparityCoarseToFine<D> alg = new DisparityCoarseToFine<D>(minDisparity,maxDisparity,
+				regionRadiusX,regionRadiusY,(int)maxError,texture,scale,pyramidLeft,pyramidRight,coarse);
+		alg.setConcurrent(concurrent);
+
+		return new WrapDisparityCoarseToFine<D>(alg,disparityType);
 	}
 
 	/**
@@ -273,4 +533,46 @@ public class FactoryStereoDisparity {
 		} else
 			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
 	}
+
+	/**
+	 * WTA algorithms that computes disparity on a sparse per-pixel basis as requested using the census transform.
+	 * See {@link #regionCensusWta}.
+	 *
+	 * @param minDisparity Minimum disparity that it will check. Must be >= 0 and < maxDisparity
+	 * @param maxDisparity Maximum disparity that it will calculate. Must be > 0
+	 * @param regionRadiusX Radius of the rectangular region along x-axis.
+	 * @param regionRadiusY Radius of the rectangular region along y-axis.
+	 * @param censusRadiusX Radius of the census region along x-axis.
+	 * @param censusRadiusY Radius of the census region along y-axis.  Try 2 for a 5x5 census region.
+	 * @param maxPerPixelError Maximum allowed Hamming distance in a region per pixel.  Set to < 0 to disable.
+	 * @param texture Tolerance for how similar optimal region is to other region.  Closer to zero is more tolerant.
+	 *                Try 0.1
+	 * @param subpixelInterpolation If true then sub-pixel interpolation is used
+	 * @return Sparse disparity algorithm
+	 */
+	public static StereoDisparitySparse<ImageUInt8>
+	regionSparseCensusWta( int minDisparity , int maxDisparity,
+						   int regionRadiusX, int regionRadiusY ,
+						   int censusRadiusX , int censusRadiusY ,
+						   double maxPerPixelError ,
+						   double texture ,
+						   boolean subpixelInterpolation ) {
+
+		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
+
+		DisparitySparseSelect<int[]> select;
+		if( subpixelInterpolation)
+			select = selectDisparitySparseSubpixel_S32((int) maxError, texture);
+		else
+			select = selectDisparitySparse_S32((int) maxError, texture);
+
+		Class censusType = GCensusTransform.getCensusType(censusRadiusX,censusRadiusY);
+		DisparitySparseScoreSadRect<int[],?> score;
+		if( censusType == ImageSInt32.class )
+			score = scoreDisparitySparseHammingRect_S32(minDisparity,maxDisparity, regionRadiusX, regionRadiusY);
+		else
+			score = scoreDisparitySparseHammingRect_S64(minDisparity,maxDisparity, regionRadiusX, regionRadiusY);
+
+		return new WrapDisparitySparseCensus(new WrapDisparitySparseSadRect(score,select),censusRadiusX,censusRadiusY);
+	}
 }
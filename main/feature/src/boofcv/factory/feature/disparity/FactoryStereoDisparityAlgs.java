@@ -22,6 +22,8 @@ import boofcv.alg.feature.disparity.*;
 import boofcv.alg.feature.disparity.impl.*;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSInt64;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.ImageUInt8;
 
@@ -109,6 +111,24 @@ public class FactoryStereoDisparityAlgs {
 				maxDisparity,regionRadiusX,regionRadiusY,computeDisparity);
 	}
 
+	public static <T extends ImageSingleBand> DisparityScoreSadRect<ImageSInt32,T>
+	scoreDisparityHammingRect_S32( int minDisparity , int maxDisparity,
+								   int regionRadiusX, int regionRadiusY,
+								   DisparitySelect<int[],T> computeDisparity)
+	{
+		return new ImplDisparityScoreHammingRect_S32<T>(minDisparity,
+				maxDisparity,regionRadiusX,regionRadiusY,computeDisparity);
+	}
+
+	public static <T extends ImageSingleBand> DisparityScoreSadRect<ImageSInt64,T>
+	scoreDisparityHammingRect_S64( int minDisparity , int maxDisparity,
+								   int regionRadiusX, int regionRadiusY,
+								   DisparitySelect<int[],T> computeDisparity)
+	{
+		return new ImplDisparityScoreHammingRect_S64<T>(minDisparity,
+				maxDisparity,regionRadiusX,regionRadiusY,computeDisparity);
+	}
+
 	public static <T extends ImageSingleBand> DisparityScoreWindowFive<ImageUInt8,T>
 	scoreDisparitySadRectFive_U8( int minDisparity , int maxDisparity,
 								  int regionRadiusX, int regionRadiusY,
@@ -151,4 +171,20 @@ public class FactoryStereoDisparityAlgs {
 		return new ImplDisparitySparseScoreSadRect_F32(minDisparity,
 				maxDisparity,regionRadiusX,regionRadiusY);
 	}
+
+	public static DisparitySparseScoreSadRect<int[],ImageSInt32>
+	scoreDisparitySparseHammingRect_S32( int minDisparity, int maxDisparity,
+										 int regionRadiusX, int regionRadiusY )
+	{
+		return new ImplDisparitySparseScoreHammingRect_S32(minDisparity,
+				maxDisparity,regionRadiusX,regionRadiusY);
+	}
+
+	public static DisparitySparseScoreSadRect<int[],ImageSInt64>
+	scoreDisparitySparseHammingRect_S64( int minDisparity, int maxDisparity,
+										 int regionRadiusX, int regionRadiusY )
+	{
+		return new ImplDisparitySparseScoreHammingRect_S64(minDisparity,
+				maxDisparity,regionRadiusX,regionRadiusY);
+	}
 }
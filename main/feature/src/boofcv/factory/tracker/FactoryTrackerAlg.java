@@ -25,6 +25,7 @@ import boofcv.alg.tracker.combined.CombinedTrackerScalePoint;
 import boofcv.alg.tracker.combined.PyramidKltForCombined;
 import boofcv.alg.tracker.klt.KltConfig;
 import boofcv.alg.tracker.klt.KltTracker;
+import boofcv.alg.tracker.klt.PyramidKltBatchTracker;
 import boofcv.alg.tracker.klt.PyramidKltTracker;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.feature.TupleDesc;
@@ -82,6 +83,32 @@ public class FactoryTrackerAlg {
 		return new PyramidKltTracker<I, D>(klt);
 	}
 
+	/**
+	 * Creates a {@link PyramidKltBatchTracker}, which tracks a set of features at once.
+	 *
+	 * NOTE: The pyramid's structure is determined by the input pyramid that is processed.
+	 *
+	 * @param config KLT configuration
+	 * @param featureRadius Radius of each feature's description
+	 * @param concurrent If true then the set of features is split up and processed in parallel
+	 * @param imageType Type of input image
+	 * @param derivType Type of image derivative
+	 * @param <I> Input image type.
+	 * @param <D> Derivative image type.
+	 * @return Tracker
+	 */
+	public static <I extends ImageSingleBand, D extends ImageSingleBand>
+	PyramidKltBatchTracker<I, D> kltPyramidBatch( KltConfig config,
+												  int featureRadius ,
+												  boolean concurrent ,
+												  Class<I> imageType ,
+												  Class<D> derivType )
+	{
+		PyramidKltBatchTracker<I, D> tracker = new PyramidKltBatchTracker<I, D>(config,featureRadius,imageType,derivType);
+		tracker.setConcurrent(concurrent);
+		return tracker;
+	}
+
 	/**
 	 * Creates a tracker that is a hybrid between KLT and Detect-Describe-Associate (DDA) trackers.
 	 *
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_B;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateHammingMultiIndex {
+
+	Random rand = new Random(234);
+
+	FastQueue<TupleDesc_B> src = new FastQueue<TupleDesc_B>(TupleDesc_B.class,false);
+	FastQueue<TupleDesc_B> dst = new FastQueue<TupleDesc_B>(TupleDesc_B.class,false);
+
+	/**
+	 * Without a ratio test the match distances should be the same as greedy association
+	 */
+	@Test
+	public void compareToGreedy() {
+		for( int i = 0; i < 200; i++ ) {
+			dst.add(random(256));
+			TupleDesc_B s = dst.get(i).copy();
+			flip(s,rand.nextInt(60));
+			src.add(s);
+		}
+
+		for( double threshold : new double[]{Double.MAX_VALUE,20,20.5} ) {
+			AssociateDescription<TupleDesc_B> greedy =
+					FactoryAssociation.greedy(new ScoreAssociateHamming_B(),threshold,false);
+			AssociateDescription<TupleDesc_B> alg = FactoryAssociation.hammingMultiIndex(threshold,1);
+
+			greedy.setSource(src); greedy.setDestination(dst); greedy.associate();
+			alg.setSource(src); alg.setDestination(dst); alg.associate();
+
+			FastQueue<AssociatedIndex> expected = greedy.getMatches();
+			FastQueue<AssociatedIndex> found = alg.getMatches();
+			assertEquals(expected.size,found.size);
+			for( int i = 0; i < expected.size; i++ ) {
+				assertEquals(expected.get(i).src,found.get(i).src);
+				assertEquals(expected.get(i).fitScore,found.get(i).fitScore,1e-8);
+			}
+		}
+	}
+
+	@Test
+	public void ratioTest() {
+		TupleDesc_B a = random(128);
+		TupleDesc_B b = random(128);
+		src.add(a);
+		src.add(b);
+
+		// first source has two similar matches
+		dst.add(flip(a.copy(),4));
+		dst.add(flip(a.copy(),6));
+		dst.add(flip(b.copy(),2));
+
+		AssociateHammingMultiIndex alg = new AssociateHammingMultiIndex(0.5);
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+
+		assertEquals(1,alg.getMatches().size);
+		assertEquals(1,alg.getMatches().get(0).src);
+		assertEquals(2,alg.getMatches().get(0).dst);
+		assertEquals(2,alg.getMatches().get(0).fitScore,1e-8);
+
+		// the second best of the first source is beyond the threshold, but the ratio test should still see it
+		alg.setThreshold(5);
+		alg.associate();
+		assertEquals(1,alg.getMatches().size);
+		assertEquals(1,alg.getMatches().get(0).src);
+
+		alg.setRatio(1);
+		alg.associate();
+		assertEquals(2,alg.getMatches().size);
+	}
+
+	private TupleDesc_B random( int numBits ) {
+		TupleDesc_B d = new TupleDesc_B(numBits);
+		for( int i = 0; i < d.data.length; i++ )
+			d.data[i] = rand.nextInt();
+		return d;
+	}
+
+	private TupleDesc_B flip( TupleDesc_B d , int numFlips ) {
+		for( int i = 0; i < numFlips; i++ ) {
+			int bit = i*7 % d.numBits;
+			d.data[bit/32] ^= 1 << (bit%32);
+		}
+		return d;
+	}
+}
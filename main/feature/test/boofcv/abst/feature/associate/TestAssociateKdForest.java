@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.KdForestSearch;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F32;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateKdForest extends StandardAssociateDescriptionChecks<TupleDesc_F64> {
+
+	Random rand = new Random(234);
+
+	public TestAssociateKdForest() {
+		super(TupleDesc_F64.class);
+	}
+
+	@Override
+	public AssociateDescription<TupleDesc_F64> createAlg() {
+		return new AssociateKdForest<TupleDesc_F64>(new KdForestSearch(1,1,0,234),1);
+	}
+
+	@Override
+	protected TupleDesc_F64 c(double value) {
+		TupleDesc_F64 s = new TupleDesc_F64(1);
+		s.value[0] = value;
+		return s;
+	}
+
+	/**
+	 * Exact search should produce the same results as greedy association
+	 */
+	@Test
+	public void compareToGreedy() {
+		FastQueue<TupleDesc_F64> src = new FastQueue<TupleDesc_F64>(TupleDesc_F64.class,false);
+		FastQueue<TupleDesc_F64> dst = new FastQueue<TupleDesc_F64>(TupleDesc_F64.class,false);
+		for( int i = 0; i < 300; i++ ) {
+			src.add(random64(20));
+			dst.add(random64(20));
+		}
+
+		AssociateDescription<TupleDesc_F64> greedy = FactoryAssociation.greedy(
+				new ScoreAssociateEuclidean_F64(),Double.MAX_VALUE,false);
+		AssociateDescription<TupleDesc_F64> alg = FactoryAssociation.kdForestExact(1);
+
+		greedy.setSource(src); greedy.setDestination(dst); greedy.associate();
+		alg.setSource(src); alg.setDestination(dst); alg.associate();
+
+		FastQueue<AssociatedIndex> expected = greedy.getMatches();
+		FastQueue<AssociatedIndex> found = alg.getMatches();
+		assertEquals(expected.size,found.size);
+		for( int i = 0; i < expected.size; i++ ) {
+			assertEquals(expected.get(i).src,found.get(i).src);
+			assertEquals(expected.get(i).dst,found.get(i).dst);
+			assertEquals(expected.get(i).fitScore,found.get(i).fitScore,1e-8);
+		}
+	}
+
+	/**
+	 * Only matches which pass the ratio test should be returned
+	 */
+	@Test
+	public void ratioTest() {
+		listSrc.reset();
+		listDst.reset();
+
+		listSrc.add(c(1));
+		listSrc.add(c(5));
+		listDst.add(c(1.1));
+		listDst.add(c(1.2));
+		listDst.add(c(5.1));
+		listDst.add(c(8));
+
+		AssociateKdForest<TupleDesc_F64> alg = new AssociateKdForest<TupleDesc_F64>(new KdForestSearch(1,1,0,234),0.8);
+		alg.setSource(listSrc);
+		alg.setDestination(listDst);
+		alg.associate();
+
+		// first source is ambiguous, 0.1/0.2 < 0.8, so it should pass.  Second is not ambiguous
+		assertEquals(2,alg.getMatches().size);
+
+		// first source fails with a more strict ratio
+		alg.setRatio(0.4);
+		alg.associate();
+		assertEquals(1,alg.getMatches().size);
+		assertEquals(1,alg.getMatches().get(0).src);
+		assertEquals(2,alg.getMatches().get(0).dst);
+	}
+
+	/**
+	 * Makes sure float descriptors are handled
+	 */
+	@Test
+	public void descriptorF32() {
+		FastQueue<TupleDesc_F32> src = new FastQueue<TupleDesc_F32>(TupleDesc_F32.class,false);
+		FastQueue<TupleDesc_F32> dst = new FastQueue<TupleDesc_F32>(TupleDesc_F32.class,false);
+		for( int i = 0; i < 50; i++ ) {
+			TupleDesc_F32 d = new TupleDesc_F32(10);
+			for( int j = 0; j < 10; j++ )
+				d.value[j] = rand.nextFloat();
+			dst.add(d);
+		}
+		// source is the destination in reverse order
+		for( int i = 49; i >= 0; i-- )
+			src.add(dst.get(i));
+
+		AssociateDescription<TupleDesc_F32> alg = FactoryAssociation.kdForest(4,100,0.8,234);
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+
+		assertEquals(50,alg.getMatches().size);
+		for( AssociatedIndex a : alg.getMatches().toList() ) {
+			assertEquals(49-a.src,a.dst);
+			assertEquals(0,a.fitScore,1e-8);
+		}
+	}
+
+	private TupleDesc_F64 random64( int dof ) {
+		TupleDesc_F64 d = new TupleDesc_F64(dof);
+		for( int i = 0; i < dof; i++ )
+			d.value[i] = rand.nextDouble();
+		return d;
+	}
+}
@@ -19,6 +19,7 @@
 package boofcv.abst.feature.detdesc;
 
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageSingleBand;
@@ -71,6 +72,41 @@ public abstract class GenericTestsDetectDescribePoint<T extends ImageSingleBand,
 
 	public abstract DetectDescribePoint<T,D> createDetDesc();
 
+	/**
+	 * Processes the image with both algorithms and checks to see if the results are identical.  Used to
+	 * compare single threaded and concurrent implementations.  The number of threads is temporarily increased.
+	 */
+	public static <T extends ImageSingleBand, D extends TupleDesc>
+	void checkIdentical( DetectDescribePoint<T,D> expected , DetectDescribePoint<T,D> found , T image ) {
+		int before = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		try {
+			expected.detect(image);
+			found.detect(image);
+			// second call to make sure recycled storage is handled correctly
+			found.detect(image);
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+
+		int N = expected.getNumberOfFeatures();
+		assertTrue(N > 0);
+		assertEquals(N,found.getNumberOfFeatures());
+
+		for( int i = 0; i < N; i++ ) {
+			assertEquals(0,expected.getLocation(i).distance(found.getLocation(i)),1e-8);
+			assertEquals(expected.getScale(i),found.getScale(i),1e-8);
+			assertEquals(expected.getOrientation(i),found.getOrientation(i),1e-8);
+
+			D a = expected.getDescription(i);
+			D b = found.getDescription(i);
+			assertEquals(a.size(),b.size());
+			for( int j = 0; j < a.size(); j++ ) {
+				assertEquals(a.getDouble(j),b.getDouble(j),1e-8);
+			}
+		}
+	}
+
 
 	/**
 	 * Detects features inside the image and checks to see if it is in compliance of its reported capabilities
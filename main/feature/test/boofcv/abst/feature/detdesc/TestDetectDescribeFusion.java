@@ -21,6 +21,9 @@ package boofcv.abst.feature.detdesc;
 import boofcv.abst.feature.describe.DescribeRegionPoint;
 import boofcv.abst.feature.detect.interest.InterestPointDetector;
 import boofcv.abst.feature.orientation.OrientationImage;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
 import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
 import boofcv.factory.feature.detect.interest.FactoryInterestPoint;
 import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
@@ -31,6 +34,10 @@ import boofcv.struct.image.ImageSingleBand;
 import georegression.struct.point.Point2D_F64;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -92,6 +99,109 @@ public class TestDetectDescribeFusion {
 		}.allTests();
 	}
 
+	@Test
+	public void concurrent() {
+		InterestPointDetector<ImageFloat32> detector = FactoryInterestPoint.fastHessian(null);
+		OrientationImage<ImageFloat32> ori = FactoryOrientationAlgs.nogradient(5,ImageFloat32.class);
+		DescribeRegionPoint<ImageFloat32,SurfFeature> desc = FactoryDescribeRegionPoint.surfStable(null, ImageFloat32.class);
+
+		DetectDescribeFusion<ImageFloat32,SurfFeature> expected =
+				new DetectDescribeFusion<ImageFloat32,SurfFeature>(detector,ori,desc);
+		DetectDescribeFusion<ImageFloat32,SurfFeature> found =
+				new DetectDescribeFusion<ImageFloat32,SurfFeature>(detector,
+						FactoryOrientationAlgs.nogradient(5,ImageFloat32.class),
+						FactoryDescribeRegionPoint.surfStable(null, ImageFloat32.class));
+
+		found.setConcurrent(new InstanceFactory<OrientationImage<ImageFloat32>>() {
+			@Override
+			public OrientationImage<ImageFloat32> newInstance() {
+				return FactoryOrientationAlgs.nogradient(5,ImageFloat32.class);
+			}
+		}, new InstanceFactory<DescribeRegionPoint<ImageFloat32, SurfFeature>>() {
+			@Override
+			public DescribeRegionPoint<ImageFloat32, SurfFeature> newInstance() {
+				return FactoryDescribeRegionPoint.surfStable(null, ImageFloat32.class);
+			}
+		});
+
+		ImageFloat32 image = new ImageFloat32(100,120);
+		GImageMiscOps.fillUniform(image, new Random(234), 0, 100);
+
+		GenericTestsDetectDescribePoint.checkIdentical(expected,found,image);
+	}
+
+	/**
+	 * Features which can't be described should be removed from the concurrent output too
+	 */
+	@Test
+	public void checkFeatureNotInBounds_concurrent() {
+		DetectDescribeFusion alg = new DetectDescribeFusion(new DummyDetector(),null,new DummyRegionPoint());
+		alg.setConcurrent(null,new InstanceFactory<DescribeRegionPoint>() {
+			@Override
+			public DescribeRegionPoint newInstance() {
+				return new DummyRegionPoint();
+			}
+		});
+
+		alg.detect(new ImageFloat32(2,2));
+
+		assertEquals(9, alg.getNumberOfFeatures());
+	}
+
+	/**
+	 * In concurrent mode the image should only be passed to each worker once per image
+	 */
+	@Test
+	public void concurrent_setImageOnce() {
+		int original = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+
+			final List<CountingRegionPoint> created = new ArrayList<CountingRegionPoint>();
+			CountingRegionPoint primary = new CountingRegionPoint();
+			DummyDetector detector = new DummyDetector() {
+				@Override
+				public int getNumberOfFeatures() {
+					return 200;
+				}
+			};
+			DetectDescribeFusion alg = new DetectDescribeFusion(detector,null,primary);
+			alg.setConcurrent(null,new InstanceFactory<DescribeRegionPoint>() {
+				@Override
+				public synchronized DescribeRegionPoint newInstance() {
+					CountingRegionPoint d = new CountingRegionPoint();
+					created.add(d);
+					return d;
+				}
+			});
+
+			for( int i = 0; i < 3; i++ ) {
+				alg.detect(new ImageFloat32(2,2));
+				assertEquals(200, alg.getNumberOfFeatures());
+			}
+
+			assertEquals(3,primary.setImageCalls);
+			for( CountingRegionPoint d : created )
+				assertTrue(d.setImageCalls <= 3);
+		} finally {
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	public static class CountingRegionPoint extends DummyRegionPoint {
+		int setImageCalls = 0;
+
+		@Override
+		public void setImage(ImageSingleBand image) {
+			setImageCalls++;
+		}
+
+		@Override
+		public boolean isInBounds(double x, double y, double orientation, double scale) {
+			return true;
+		}
+	}
+
 	public static class DummyDetector implements InterestPointDetector {
 
 		@Override
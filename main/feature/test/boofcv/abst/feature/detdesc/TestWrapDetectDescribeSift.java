@@ -22,6 +22,7 @@ import boofcv.abst.feature.detect.interest.ConfigSiftDetector;
 import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
 
 /**
  * @author Peter Abeles
@@ -36,4 +37,14 @@ public class TestWrapDetectDescribeSift extends GenericTestsDetectDescribePoint<
 	public DetectDescribePoint<ImageFloat32, SurfFeature> createDetDesc() {
 		return FactoryDetectDescribe.sift(null,new ConfigSiftDetector(2,0,500,5),null,null);
 	}
+
+	@Test
+	public void concurrent() {
+		DetectDescribePoint<ImageFloat32, SurfFeature> expected =
+				FactoryDetectDescribe.sift(null,new ConfigSiftDetector(2,0,500,5),null,null);
+		DetectDescribePoint<ImageFloat32, SurfFeature> found =
+				FactoryDetectDescribe.sift(null,new ConfigSiftDetector(2,0,500,5),null,null,true);
+
+		checkIdentical(expected,found,image);
+	}
 }
@@ -21,6 +21,7 @@ package boofcv.abst.feature.detdesc;
 import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
 
 /**
  * @author Peter Abeles
@@ -36,4 +37,14 @@ public class TestWrapDetectDescribeSurf extends GenericTestsDetectDescribePoint<
 	public DetectDescribePoint<ImageFloat32, SurfFeature> createDetDesc() {
 		return FactoryDetectDescribe.surfStable(null,null,null, ImageFloat32.class);
 	}
+
+	@Test
+	public void concurrent() {
+		DetectDescribePoint<ImageFloat32, SurfFeature> expected =
+				FactoryDetectDescribe.surfStable(null,null,null, ImageFloat32.class);
+		DetectDescribePoint<ImageFloat32, SurfFeature> found =
+				FactoryDetectDescribe.surfStable(null,null,null, ImageFloat32.class,true);
+
+		checkIdentical(expected,found,image);
+	}
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWrapDisparityCensus {
+
+	Random rand = new Random(234);
+	int w = 60;
+	int h = 70;
+	int r = 2;
+
+	int shift = 5;
+
+	ImageUInt8 left = new ImageUInt8(w,h);
+	ImageUInt8 right = new ImageUInt8(w,h);
+
+	public TestWrapDisparityCensus() {
+		ImageMiscOps.fillUniform(left, rand, 0, 100);
+		// shift the right image and change its exposure
+		for( int y = 0; y < h; y++ )
+			for( int x = 0; x < w-shift; x++ )
+				right.set(x,y,(int)(left.get(x+shift,y)*1.5+10));
+	}
+
+	/**
+	 * Should find the correct disparity even though the exposure is different.  Tests 32 and 64-bit census
+	 */
+	@Test
+	public void differentExposure() {
+		checkKnown(2, 2);
+		checkKnown(3, 3);
+	}
+
+	private void checkKnown( int censusRadiusX , int censusRadiusY ) {
+		StereoDisparity<ImageUInt8,ImageUInt8> alg =
+				FactoryStereoDisparity.regionCensusWta(0,20,r,r,censusRadiusX,censusRadiusY,-1,-1,-1,false);
+
+		alg.process(left,right);
+		ImageUInt8 found = alg.getDisparity();
+
+		// the right most columns can't be matched
+		int border = Math.max(censusRadiusX,r);
+		for( int y = r; y < h-r; y++ ) {
+			for( int x = r+shift; x < w-border-shift; x++ ) {
+				assertEquals(x+" "+y,shift,found.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * The concurrent algorithm should produce identical results to the single threaded one
+	 */
+	@Test
+	public void concurrent() {
+		checkConcurrent(2, 2);
+		checkConcurrent(3, 3);
+	}
+
+	private void checkConcurrent( int censusRadiusX , int censusRadiusY ) {
+		StereoDisparity<ImageUInt8,ImageUInt8> serial =
+				FactoryStereoDisparity.regionCensusWta(0,20,r,r,censusRadiusX,censusRadiusY,-1,2,0.1,false);
+		StereoDisparity<ImageUInt8,ImageUInt8> concurrent =
+				FactoryStereoDisparity.regionCensusWta(0,20,r,r,censusRadiusX,censusRadiusY,-1,2,0.1,true);
+
+		serial.process(left,right);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			concurrent.process(left,right);
+			BoofTesting.assertEquals(serial.getDisparity(), concurrent.getDisparity(), 0);
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+}
@@ -20,11 +20,15 @@ package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.FastQueue;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -101,6 +105,127 @@ public class TestAssociateGreedy {
 		assertEquals(2,fitScore[3],1e-5);
 	}
 
+	/**
+	 * Compare against a brute force implementation which stores the entire score matrix.  Values are
+	 * integers so that there are lots of ties.  Sizes are selected so that there are partial tiles.
+	 */
+	@Test
+	public void compareToFullMatrix() {
+		Random rand = new Random(234);
+
+		for( int trial = 0; trial < 4; trial++ ) {
+			FastQueue<TupleDesc_F64> a = createRandom(rand,37+trial*50);
+			FastQueue<TupleDesc_F64> b = createRandom(rand,150+trial*20);
+
+			for( int i = 0; i < 2; i++ ) {
+				boolean backwards = i == 1;
+				AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<TupleDesc_F64>(score,backwards);
+				alg.setMaxFitError(2);
+				alg.associate(a,b);
+
+				checkFullMatrix(a, b, alg, 2, backwards);
+			}
+		}
+	}
+
+	@Test
+	public void compareToFullMatrix_concurrent() {
+		int before = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		try {
+			Random rand = new Random(234);
+			FastQueue<TupleDesc_F64> a = createRandom(rand,301);
+			FastQueue<TupleDesc_F64> b = createRandom(rand,257);
+
+			AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<TupleDesc_F64>(score,true);
+			alg.setConcurrent(true);
+			alg.setMaxFitError(2);
+			// call twice to make sure internal storage is correctly recycled
+			alg.associate(b,a);
+			alg.associate(a,b);
+
+			checkFullMatrix(a, b, alg, 2, true);
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	@Test
+	public void ratioTest() {
+		FastQueue<TupleDesc_F64> a = createData(1,5,10);
+		FastQueue<TupleDesc_F64> b = createData(1.1,2,5.5,6,20);
+
+		AssociateGreedy<TupleDesc_F64> alg = new AssociateGreedy<TupleDesc_F64>(score,false);
+		alg.setRatioTest(0.5);
+		alg.associate(a,b);
+
+		int pairs[] = alg.getPairs();
+		assertEquals(0,pairs[0]);  // 0.1 vs 1.0
+		assertEquals(-1,pairs[1]); // 0.5 vs 1.0
+		assertEquals(-1,pairs[2]); // 4 vs 4.5
+		assertEquals(Double.MAX_VALUE,alg.getFitQuality()[1],1e-8);
+	}
+
+	/**
+	 * Original implementation of the algorithm, which computes and saves every score
+	 */
+	private void checkFullMatrix( FastQueue<TupleDesc_F64> src , FastQueue<TupleDesc_F64> dst ,
+								  AssociateGreedy<TupleDesc_F64> alg ,
+								  double maxFitError , boolean backwards ) {
+		double matrix[] = new double[src.size*dst.size];
+		int pairs[] = new int[src.size];
+		double fitQuality[] = new double[src.size];
+
+		for( int i = 0; i < src.size; i++ ) {
+			double bestScore = maxFitError;
+			int bestIndex = -1;
+			for( int j = 0; j < dst.size; j++ ) {
+				double fit = score.score(src.get(i),dst.get(j));
+				matrix[i*dst.size+j] = fit;
+				if( fit < bestScore ) {
+					bestScore = fit;
+					bestIndex = j;
+				}
+			}
+			pairs[i] = bestIndex;
+			fitQuality[i] = bestScore;
+		}
+
+		if( backwards ) {
+			for( int i = 0; i < src.size; i++ ) {
+				int match = pairs[i];
+				if( match == -1 )
+					continue;
+				for( int j = 0; j < src.size; j++ ) {
+					if( j != i && matrix[j*dst.size+match] <= fitQuality[i] ) {
+						pairs[i] = -1;
+						fitQuality[i] = Double.MAX_VALUE;
+						break;
+					}
+				}
+			}
+		}
+
+		int numMatched = 0;
+		for( int i = 0; i < src.size; i++ ) {
+			assertEquals(pairs[i],alg.getPairs()[i]);
+			assertEquals(fitQuality[i],alg.getFitQuality()[i],1e-8);
+			if( pairs[i] != -1 )
+				numMatched++;
+		}
+		// sanity check the test data
+		assertTrue(numMatched > 0);
+		assertTrue(numMatched < src.size);
+	}
+
+	private FastQueue<TupleDesc_F64> createRandom( Random rand , int total ) {
+		double values[] = new double[total];
+		for( int i = 0; i < total; i++ ) {
+			values[i] = rand.nextInt(500);
+		}
+		return createData(values);
+	}
+
 	private FastQueue<TupleDesc_F64> createData( double ...values )
 	{
 		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(10,TupleDesc_F64.class, true) {
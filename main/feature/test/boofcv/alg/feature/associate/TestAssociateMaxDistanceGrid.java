@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F64;
+import georegression.struct.point.Point2D_F64;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateMaxDistanceGrid {
+
+	Random rand = new Random(234);
+
+	ScoreAssociation<TupleDesc_F64> score = new ScoreAssociateEuclidean_F64();
+
+	/**
+	 * Should produce the same results as the naive implementation.  Descriptors are integers so that there
+	 * are lots of ties
+	 */
+	@Test
+	public void compareToNaive() {
+		FastQueue<Point2D_F64> locSrc = createPoints(300);
+		FastQueue<Point2D_F64> locDst = createPoints(350);
+		FastQueue<TupleDesc_F64> descSrc = createDescriptions(300);
+		FastQueue<TupleDesc_F64> descDst = createDescriptions(350);
+
+		for( int i = 0; i < 2; i++ ) {
+			boolean backwards = i == 1;
+			AssociateMaxDistanceNaive<TupleDesc_F64> naive =
+					new AssociateMaxDistanceNaive<TupleDesc_F64>(score,backwards,3,25);
+			AssociateMaxDistanceGrid<TupleDesc_F64> grid =
+					new AssociateMaxDistanceGrid<TupleDesc_F64>(score,backwards,3,25);
+
+			naive.setSource(locSrc,descSrc);
+			naive.setDestination(locDst,descDst);
+			grid.setSource(locSrc,descSrc);
+			grid.setDestination(locDst,descDst);
+
+			naive.associate();
+			grid.associate();
+
+			FastQueue<AssociatedIndex> expected = naive.getMatches();
+			FastQueue<AssociatedIndex> found = grid.getMatches();
+
+			assertTrue(expected.size > 10);
+			assertEquals(expected.size,found.size);
+			for( int j = 0; j < expected.size; j++ ) {
+				AssociatedIndex e = expected.get(j);
+				AssociatedIndex f = found.get(j);
+				assertEquals(e.src,f.src);
+				assertEquals(e.dst,f.dst);
+				assertEquals(e.fitScore,f.fitScore,1e-8);
+			}
+			assertEquals(naive.getUnassociatedSource().size,grid.getUnassociatedSource().size);
+		}
+	}
+
+	/**
+	 * With no distance limit it should consider every pair
+	 */
+	@Test
+	public void noMaxDistance() {
+		FastQueue<Point2D_F64> locSrc = createPoints(1);
+		FastQueue<Point2D_F64> locDst = createPoints(1);
+		locSrc.get(0).set(0,0);
+		locDst.get(0).set(1e8,1e8);
+		FastQueue<TupleDesc_F64> desc = createDescriptions(1);
+
+		AssociateMaxDistanceGrid<TupleDesc_F64> alg =
+				new AssociateMaxDistanceGrid<TupleDesc_F64>(score,true,3,Double.MAX_VALUE);
+		alg.setSource(locSrc,desc);
+		alg.setDestination(locDst,desc);
+		alg.associate();
+
+		assertEquals(1,alg.getMatches().size);
+	}
+
+	private FastQueue<Point2D_F64> createPoints( int total ) {
+		FastQueue<Point2D_F64> points = new FastQueue<Point2D_F64>(Point2D_F64.class,true);
+		for( int i = 0; i < total; i++ ) {
+			points.grow().set(rand.nextDouble()*400,rand.nextDouble()*300);
+		}
+		return points;
+	}
+
+	private FastQueue<TupleDesc_F64> createDescriptions( int total ) {
+		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(10,TupleDesc_F64.class, true) {
+			@Override
+			protected TupleDesc_F64 createInstance() {
+				return new TupleDesc_F64(1);
+			}
+		};
+		for( int i = 0; i < total; i++ ) {
+			ret.grow().set(rand.nextInt(100));
+		}
+		return ret;
+	}
+}
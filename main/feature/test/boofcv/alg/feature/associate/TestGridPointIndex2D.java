@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.FastQueue;
+import boofcv.struct.GrowQueue_I32;
+import georegression.struct.point.Point2D_F64;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestGridPointIndex2D {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Every point inside the radius must be found, each point at most once, and only a fraction of the
+	 * points should be returned
+	 */
+	@Test
+	public void findNearby_compareToBruteForce() {
+		FastQueue<Point2D_F64> points = createPoints(500,640,480);
+
+		GridPointIndex2D alg = new GridPointIndex2D();
+		alg.build(points,20);
+		assertEquals(20,alg.getCellSize(),1e-8);
+
+		GrowQueue_I32 found = new GrowQueue_I32();
+		for( int trial = 0; trial < 100; trial++ ) {
+			double x = rand.nextDouble()*700-30;
+			double y = rand.nextDouble()*540-30;
+
+			alg.findNearby(x,y,20,found);
+			checkContainsAll(points, found, x, y, 20);
+			assertTrue(found.size < 100);
+		}
+	}
+
+	/**
+	 * Points are spread out over a huge area.  The number of cells should be limited but the search
+	 * still needs to be correct
+	 */
+	@Test
+	public void spreadOut() {
+		FastQueue<Point2D_F64> points = createPoints(50,1e6,1e6);
+
+		GridPointIndex2D alg = new GridPointIndex2D();
+		alg.build(points,1);
+
+		assertTrue(alg.getCols()*alg.getRows() <= 50*4);
+		assertTrue(alg.getCellSize() > 1);
+
+		GrowQueue_I32 found = new GrowQueue_I32();
+		for( int i = 0; i < points.size; i++ ) {
+			Point2D_F64 p = points.get(i);
+			alg.findNearby(p.x,p.y,1,found);
+			checkContainsAll(points, found, p.x, p.y, 1);
+		}
+	}
+
+	@Test
+	public void empty() {
+		GridPointIndex2D alg = new GridPointIndex2D();
+		alg.build(createPoints(10,100,100),5);
+		alg.build(createPoints(0,100,100),5);
+
+		GrowQueue_I32 found = new GrowQueue_I32();
+		found.add(2);
+		alg.findNearby(10,10,5,found);
+		assertEquals(0,found.size);
+	}
+
+	private void checkContainsAll( FastQueue<Point2D_F64> points , GrowQueue_I32 found ,
+								   double x , double y , double radius ) {
+		int count[] = new int[points.size];
+		for( int i = 0; i < found.size; i++ ) {
+			count[found.get(i)]++;
+		}
+		for( int i = 0; i < points.size; i++ ) {
+			assertTrue(count[i] <= 1);
+			if( points.get(i).distance(new Point2D_F64(x,y)) <= radius )
+				assertEquals(1,count[i]);
+		}
+	}
+
+	private FastQueue<Point2D_F64> createPoints( int total , double width , double height ) {
+		FastQueue<Point2D_F64> points = new FastQueue<Point2D_F64>(Point2D_F64.class,true);
+		for( int i = 0; i < total; i++ ) {
+			points.grow().set(rand.nextDouble()*width,rand.nextDouble()*height);
+		}
+		return points;
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.TupleDesc_B;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestHammingMultiIndex {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against brute force for queries which are close to a descriptor and queries which are random
+	 */
+	@Test
+	public void compareToBruteForce() {
+		for( int numBits : new int[]{256,100} ) {
+			FastQueue<TupleDesc_B> list = createList(1500, numBits);
+
+			HammingMultiIndex alg = new HammingMultiIndex();
+			alg.setDescriptors(list);
+
+			for( int i = 0; i < 100; i++ ) {
+				TupleDesc_B query = list.get(rand.nextInt(list.size)).copy();
+				flip(query, rand.nextInt(numBits/8));
+				check(alg, list, query, numBits+1);
+				check(alg, list, query, numBits/4);
+
+				checkRatio(alg, list, query, numBits+1, 0.8);
+				checkRatio(alg, list, query, numBits/4, 0.5);
+
+				// the best match is much closer than a random descriptor.  Only a fraction should be checked
+				alg.search(query,numBits+1,1);
+				assertTrue(alg.getNumChecks() < list.size/2);
+
+				check(alg, list, random(numBits), numBits+1);
+				check(alg, list, random(numBits), numBits/3);
+			}
+		}
+	}
+
+	private void check( HammingMultiIndex alg , FastQueue<TupleDesc_B> list , TupleDesc_B query , int threshold ) {
+		int best = threshold, second = threshold;
+		for( int i = 0; i < list.size; i++ ) {
+			int d = DescriptorDistance.hamming(query,list.get(i));
+			if( d < best ) {
+				second = best;
+				best = d;
+			} else if( d < second ) {
+				second = d;
+			}
+		}
+
+		assertEquals(best < threshold, alg.search(query,threshold));
+		assertEquals(best,alg.getBestDistance());
+		assertEquals(second,alg.getSecondDistance());
+		if( alg.getBestIndex() >= 0 )
+			assertEquals(best,DescriptorDistance.hamming(query,list.get(alg.getBestIndex())));
+		if( alg.getSecondIndex() >= 0 ) {
+			assertEquals(second,DescriptorDistance.hamming(query,list.get(alg.getSecondIndex())));
+			assertTrue(alg.getBestIndex() != alg.getSecondIndex());
+		}
+	}
+
+	/**
+	 * When a ratio is specified the best match and the result of the ratio test must be the same as brute force
+	 */
+	private void checkRatio( HammingMultiIndex alg , FastQueue<TupleDesc_B> list , TupleDesc_B query ,
+							 int threshold , double ratio ) {
+		int best = threshold, second = threshold;
+		for( int i = 0; i < list.size; i++ ) {
+			int d = DescriptorDistance.hamming(query,list.get(i));
+			if( d < best ) {
+				second = best;
+				best = d;
+			} else if( d < second ) {
+				second = d;
+			}
+		}
+
+		assertEquals(best < threshold, alg.search(query,threshold,ratio));
+		assertEquals(best,alg.getBestDistance());
+		assertEquals(best < ratio*second, best < ratio*alg.getSecondDistance());
+	}
+
+	@Test
+	public void computeDistances() {
+		FastQueue<TupleDesc_B> list = createList(50, 512);
+		HammingMultiIndex alg = new HammingMultiIndex();
+		alg.setDescriptors(list);
+
+		TupleDesc_B query = random(512);
+		long packed[] = new long[3+8];
+		HammingMultiIndex.pack(query,packed,3);
+
+		int found[] = new int[40];
+		alg.computeDistances(packed,3,10,50,found);
+		for( int i = 10; i < 50; i++ ) {
+			assertEquals(DescriptorDistance.hamming(query,list.get(i)),found[i-10]);
+		}
+	}
+
+	/**
+	 * Bits past the end of the descriptor should be ignored
+	 */
+	@Test
+	public void pack() {
+		TupleDesc_B desc = new TupleDesc_B(70);
+		desc.data[0] = 0xF0F0F0F0;
+		desc.data[1] = 0x12345678;
+		desc.data[2] = 0xFFFFFFFF;
+
+		long found[] = new long[2];
+		HammingMultiIndex.pack(desc,found,0);
+
+		assertEquals(0x12345678F0F0F0F0L,found[0]);
+		assertEquals(0x3FL,found[1]);
+	}
+
+	@Test
+	public void empty() {
+		HammingMultiIndex alg = new HammingMultiIndex();
+		alg.setDescriptors(new FastQueue<TupleDesc_B>(TupleDesc_B.class,false));
+		assertFalse(alg.search(random(256),100));
+		assertEquals(-1,alg.getBestIndex());
+	}
+
+	private FastQueue<TupleDesc_B> createList( int N , int numBits ) {
+		FastQueue<TupleDesc_B> list = new FastQueue<TupleDesc_B>(TupleDesc_B.class,false);
+		for( int i = 0; i < N; i++ )
+			list.add(random(numBits));
+		return list;
+	}
+
+	private TupleDesc_B random( int numBits ) {
+		TupleDesc_B d = new TupleDesc_B(numBits);
+		for( int i = 0; i < numBits; i++ ) {
+			if( rand.nextBoolean() )
+				d.data[i/32] |= 1 << (i%32);
+		}
+		return d;
+	}
+
+	private void flip( TupleDesc_B d , int numFlips ) {
+		for( int i = 0; i < numFlips; i++ ) {
+			int bit = rand.nextInt(d.numBits);
+			d.data[bit/32] ^= 1 << (bit%32);
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestKdForestSearch {
+
+	Random rand = new Random(234);
+	int dof = 16;
+
+	/**
+	 * In exact mode the results should be the same as brute force
+	 */
+	@Test
+	public void exact() {
+		double points[] = random(1000);
+		double queries[] = random(200);
+
+		for( int numTrees = 1; numTrees <= 3; numTrees++ ) {
+			KdForestSearch alg = new KdForestSearch(numTrees,numTrees == 1 ? 1 : 5,0,234);
+			alg.setPoints(points,1000,dof);
+
+			for( int i = 0; i < 200; i++ ) {
+				assertTrue(alg.findNearest(queries,i*dof));
+				checkBruteForce(alg,points,1000,queries,i*dof);
+			}
+		}
+	}
+
+	/**
+	 * With a reasonable budget the approximate search should usually find the closest point while checking
+	 * only a fraction of the points
+	 */
+	@Test
+	public void approximate() {
+		int N = 2000;
+		double points[] = random(N);
+		double queries[] = new double[200*dof];
+		// queries are points with a little bit of noise
+		for( int i = 0; i < 200; i++ ) {
+			int target = rand.nextInt(N);
+			for( int j = 0; j < dof; j++ )
+				queries[i*dof+j] = points[target*dof+j] + rand.nextGaussian()*0.01;
+		}
+
+		KdForestSearch alg = new KdForestSearch(4,5,200,234);
+		alg.setPoints(points,N,dof);
+
+		int correct = 0;
+		for( int i = 0; i < 200; i++ ) {
+			assertTrue(alg.findNearest(queries,i*dof));
+			assertTrue(alg.getNumChecks() < N/4);
+			if( alg.getBestIndex() == bruteForce(points,N,queries,i*dof)[0] )
+				correct++;
+		}
+		assertTrue(correct > 190);
+	}
+
+	/**
+	 * Many identical points and a few different ones
+	 */
+	@Test
+	public void duplicatePoints() {
+		int N = 300;
+		double points[] = new double[N*dof];
+		for( int i = 290; i < N; i++ )
+			for( int j = 0; j < dof; j++ )
+				points[i*dof+j] = rand.nextDouble();
+
+		KdForestSearch alg = new KdForestSearch(1,1,0,234);
+		alg.setPoints(points,N,dof);
+
+		double queries[] = random(20);
+		for( int i = 0; i < 20; i++ ) {
+			assertTrue(alg.findNearest(queries,i*dof));
+			checkBruteForce(alg,points,N,queries,i*dof);
+		}
+	}
+
+	@Test
+	public void noPoints() {
+		KdForestSearch alg = new KdForestSearch(2,5,10,234);
+		alg.setPoints(new double[0],0,dof);
+		assertFalse(alg.findNearest(random(1),0));
+		assertEquals(-1,alg.getBestIndex());
+	}
+
+	@Test
+	public void onePoint() {
+		KdForestSearch alg = new KdForestSearch(2,5,10,234);
+		alg.setPoints(random(1),1,dof);
+		assertTrue(alg.findNearest(random(1),0));
+		assertEquals(0,alg.getBestIndex());
+		assertEquals(-1,alg.getSecondIndex());
+		assertEquals(Double.MAX_VALUE,alg.getSecondDistance(),0);
+	}
+
+	private void checkBruteForce( KdForestSearch alg , double points[] , int N , double query[] , int offset ) {
+		int expected[] = bruteForce(points, N, query, offset);
+		assertEquals(distance(points,expected[0],query,offset),alg.getBestDistance(),1e-8);
+		assertEquals(distance(points,expected[1],query,offset),alg.getSecondDistance(),1e-8);
+		assertEquals(alg.getBestDistance(),distance(points,alg.getBestIndex(),query,offset),1e-8);
+		assertEquals(alg.getSecondDistance(),distance(points,alg.getSecondIndex(),query,offset),1e-8);
+		assertTrue(alg.getBestIndex() != alg.getSecondIndex());
+	}
+
+	private int[] bruteForce( double points[] , int N , double query[] , int offset ) {
+		int best = -1, second = -1;
+		double bestD = Double.MAX_VALUE, secondD = Double.MAX_VALUE;
+		for( int i = 0; i < N; i++ ) {
+			double d = distance(points,i,query,offset);
+			if( d < bestD ) {
+				second = best; secondD = bestD;
+				best = i; bestD = d;
+			} else if( d < secondD ) {
+				second = i; secondD = d;
+			}
+		}
+		return new int[]{best,second};
+	}
+
+	private double distance( double points[] , int index , double query[] , int offset ) {
+		double total = 0;
+		for( int j = 0; j < dof; j++ ) {
+			double d = points[index*dof+j] - query[offset+j];
+			total += d*d;
+		}
+		return total;
+	}
+
+	private double[] random( int N ) {
+		double ret[] = new double[N*dof];
+		for( int i = 0; i < ret.length; i++ )
+			ret[i] = rand.nextDouble();
+		return ret;
+	}
+}
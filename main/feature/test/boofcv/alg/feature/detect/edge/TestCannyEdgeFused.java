@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.detect.edge;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.detect.edge.FactoryEdgeDetectors;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCannyEdgeFused {
+
+	int width = 150;
+	int height = 200;
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare the marked output against the standard implementation
+	 */
+	@Test
+	public void compareToCannyEdge_mark() {
+		compare(ImageUInt8.class, ImageSInt16.class, false, false);
+		compare(ImageUInt8.class, ImageSInt16.class, false, true);
+		compare(ImageFloat32.class, ImageFloat32.class, false, false);
+		compare(ImageFloat32.class, ImageFloat32.class, false, true);
+	}
+
+	/**
+	 * Compare the contours against the standard implementation
+	 */
+	@Test
+	public void compareToCannyEdge_trace() {
+		compare(ImageUInt8.class, ImageSInt16.class, true, false);
+		compare(ImageUInt8.class, ImageSInt16.class, true, true);
+		compare(ImageFloat32.class, ImageFloat32.class, true, false);
+		compare(ImageFloat32.class, ImageFloat32.class, true, true);
+	}
+
+	private <T extends ImageSingleBand, D extends ImageSingleBand>
+	void compare( Class<T> imageType , Class<D> derivType , boolean saveTrace , boolean dynamic ) {
+		int before = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		try {
+			compareThreads(imageType, derivType, saveTrace, dynamic);
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	private <T extends ImageSingleBand, D extends ImageSingleBand>
+	void compareThreads( Class<T> imageType , Class<D> derivType , boolean saveTrace , boolean dynamic ) {
+		float low = dynamic ? 0.1f : 20;
+		float high = dynamic ? 0.4f : 100;
+
+		for( int blurRadius = 1; blurRadius <= 3; blurRadius++ ) {
+			CannyEdge<T,D> expected = FactoryEdgeDetectors.canny(blurRadius, saveTrace, dynamic, imageType, derivType);
+
+			// band heights which force many bands, the last of which is very small
+			for( int bandHeight : new int[]{1,7,1000} ) {
+				for( boolean concurrent : new boolean[]{false,true} ) {
+					CannyEdgeFused<T,D> alg = FactoryEdgeDetectors.cannyFused(blurRadius, saveTrace, dynamic,
+							concurrent, imageType, derivType);
+					alg.setBandHeight(bandHeight);
+
+					T input = GeneralizedImageOps.createSingleBand(imageType, width, height);
+					ImageUInt8 found = new ImageUInt8(width,height);
+					ImageUInt8 truth = new ImageUInt8(width,height);
+
+					GImageMiscOps.fillUniform(input, rand, 0, 200);
+					GImageMiscOps.fillRectangle(input, 255, 20, 30, 40, 50);
+
+					expected.process(input, low, high, truth);
+					alg.process(input, low, high, found);
+
+					BoofTesting.assertEquals(truth, found, 0);
+					if( saveTrace )
+						compareContours(expected.getContours(), alg.getContours());
+
+					// process it again to make sure internal state is reset
+					alg.process(input, low, high, found);
+					BoofTesting.assertEquals(truth, found, 0);
+				}
+			}
+		}
+	}
+
+	private void compareContours( List<EdgeContour> expected , List<EdgeContour> found ) {
+		assertEquals(expected.size(), found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			EdgeContour a = expected.get(i);
+			EdgeContour b = found.get(i);
+			assertEquals(a.segments.size(), b.segments.size());
+			for( int j = 0; j < a.segments.size(); j++ ) {
+				EdgeSegment sa = a.segments.get(j);
+				EdgeSegment sb = b.segments.get(j);
+				assertEquals(sa.parent, sb.parent);
+				assertEquals(sa.parentPixel, sb.parentPixel);
+				assertEquals(sa.points.size(), sb.points.size());
+				for( int k = 0; k < sa.points.size(); k++ ) {
+					assertEquals(sa.points.get(k).x, sb.points.get(k).x);
+					assertEquals(sa.points.get(k).y, sb.points.get(k).y);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Images which are smaller than the blur kernel
+	 */
+	@Test
+	public void smallImages() {
+		CannyEdge<ImageUInt8,ImageSInt16> expected = FactoryEdgeDetectors.canny(2, false, false, ImageUInt8.class, ImageSInt16.class);
+		CannyEdgeFused<ImageUInt8,ImageSInt16> alg = FactoryEdgeDetectors.cannyFused(2, false, false, false,
+				ImageUInt8.class, ImageSInt16.class);
+		alg.setBandHeight(1);
+
+		for( int size = 1; size <= 8; size++ ) {
+			ImageUInt8 input = new ImageUInt8(size+2,size);
+			ImageUInt8 found = new ImageUInt8(size+2,size);
+			ImageUInt8 truth = new ImageUInt8(size+2,size);
+			ImageMiscOps.fillUniform(input, rand, 0, 200);
+
+			expected.process(input, 5, 20, truth);
+			alg.process(input, 5, 20, found);
+
+			BoofTesting.assertEquals(truth, found, 0);
+		}
+	}
+
+	/**
+	 * Make sure it can handle sub-images
+	 */
+	@Test
+	public void checkSubImage() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageUInt8 output = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input,rand,0,200);
+
+		BoofTesting.checkSubImage(this,"checkSubImage",true,input,output);
+	}
+
+	public void checkSubImage( ImageUInt8 input , ImageUInt8 output ) {
+		CannyEdgeFused<ImageUInt8,ImageSInt16> alg = FactoryEdgeDetectors.cannyFused(1, false, false, false,
+				ImageUInt8.class, ImageSInt16.class);
+		alg.process(input,1,100,output);
+	}
+}
@@ -18,6 +18,7 @@
 
 package boofcv.alg.feature.detect.extract;
 
+import boofcv.concurrency.InstanceFactory;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
 import org.junit.Test;
@@ -84,4 +85,29 @@ public class TestNonMaxBlockRelaxed {
 
 		checks.allStandard();
 	}
+
+	/**
+	 * The concurrent output should be identical to the single threaded output
+	 */
+	@Test
+	public void concurrent() {
+		TestNonMaxBlockStrict.checkConcurrent(new InstanceFactory<NonMaxBlock>() {
+			@Override
+			public NonMaxBlock newInstance() {
+				return new NonMaxBlockRelaxed.Max();
+			}
+		});
+		TestNonMaxBlockStrict.checkConcurrent(new InstanceFactory<NonMaxBlock>() {
+			@Override
+			public NonMaxBlock newInstance() {
+				return new NonMaxBlockRelaxed.Min();
+			}
+		});
+		TestNonMaxBlockStrict.checkConcurrent(new InstanceFactory<NonMaxBlock>() {
+			@Override
+			public NonMaxBlock newInstance() {
+				return new NonMaxBlockRelaxed.MinMax();
+			}
+		});
+	}
 }
@@ -18,10 +18,18 @@
 
 package boofcv.alg.feature.detect.extract;
 
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
 import org.junit.Test;
 
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
  * @author Peter Abeles
  */
@@ -84,4 +92,65 @@ public class TestNonMaxBlockStrict {
 
 		checks.allStandard();
 	}
+
+	/**
+	 * The concurrent output should be identical to the single threaded output
+	 */
+	@Test
+	public void concurrent() {
+		checkConcurrent(new InstanceFactory<NonMaxBlock>() {
+			@Override
+			public NonMaxBlock newInstance() {
+				return new NonMaxBlockStrict.MinMax();
+			}
+		});
+	}
+
+	/**
+	 * Compares the concurrent output against the single threaded output
+	 *
+	 * @param factory Creates the algorithm being tested
+	 */
+	public static void checkConcurrent( InstanceFactory<NonMaxBlock> factory ) {
+		ImageFloat32 intensity = new ImageFloat32(200,150);
+		ImageMiscOps.fillUniform(intensity,new Random(234),-10,10);
+
+		NonMaxBlock alg = factory.newInstance();
+		alg.setThresholdMin(-5);
+		alg.setThresholdMax(5);
+		alg.setBorder(3);
+		alg.setSearchRadius(2);
+
+		QueueCorner expectedMin = new QueueCorner();
+		QueueCorner expectedMax = new QueueCorner();
+		alg.process(intensity,expectedMin,expectedMax);
+		assertTrue(expectedMin.size > 20 || !alg.detectsMinimum);
+		assertTrue(expectedMax.size > 20 || !alg.detectsMaximum);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			alg.setConcurrent(factory);
+
+			// process twice to make sure storage is recycled correctly
+			for( int trial = 0; trial < 2; trial++ ) {
+				QueueCorner foundMin = new QueueCorner();
+				QueueCorner foundMax = new QueueCorner();
+				alg.process(intensity,foundMin,foundMax);
+
+				checkIdentical(expectedMin, foundMin);
+				checkIdentical(expectedMax, foundMax);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	public static void checkIdentical( QueueCorner expected , QueueCorner found ) {
+		assertEquals(expected.size,found.size);
+		for( int i = 0; i < expected.size; i++ ) {
+			assertEquals(expected.get(i).x,found.get(i).x);
+			assertEquals(expected.get(i).y,found.get(i).y);
+		}
+	}
 }
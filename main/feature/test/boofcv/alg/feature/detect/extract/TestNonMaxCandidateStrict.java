@@ -18,8 +18,16 @@
 
 package boofcv.alg.feature.detect.extract;
 
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Peter Abeles
@@ -43,4 +51,53 @@ public class TestNonMaxCandidateStrict extends GenericNonMaxCandidateTests {
 
 		alg.process(intensity,candidatesMin,candidatesMax,foundMinimum,foundMaximum);
 	}
+
+	/**
+	 * The concurrent output should be identical to the single threaded output
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 intensity = new ImageFloat32(200,150);
+		ImageMiscOps.fillUniform(intensity,new Random(234),-10,10);
+
+		// every pixel is a candidate, so there are several chunks
+		QueueCorner candidates = new QueueCorner();
+		for( int y = 0; y < intensity.height; y++ )
+			for( int x = 0; x < intensity.width; x++ )
+				candidates.add(x,y);
+
+		NonMaxCandidateStrict alg = new NonMaxCandidateStrict();
+		alg.radius = 2;
+		alg.ignoreBorder = 3;
+		alg.thresholdMin = -5;
+		alg.thresholdMax = 5;
+
+		QueueCorner expectedMin = new QueueCorner();
+		QueueCorner expectedMax = new QueueCorner();
+		alg.process(intensity,candidates,candidates,expectedMin,expectedMax);
+		assertTrue(expectedMin.size > 20 && expectedMax.size > 20);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			alg.setConcurrent(new InstanceFactory<NonMaxCandidate>() {
+				@Override
+				public NonMaxCandidate newInstance() {
+					return new NonMaxCandidateStrict();
+				}
+			});
+
+			// process twice to make sure storage is recycled correctly
+			for( int trial = 0; trial < 2; trial++ ) {
+				QueueCorner foundMin = new QueueCorner();
+				QueueCorner foundMax = new QueueCorner();
+				alg.process(intensity,candidates,candidates,foundMin,foundMax);
+
+				TestNonMaxBlockStrict.checkIdentical(expectedMin, foundMin);
+				TestNonMaxBlockStrict.checkIdentical(expectedMax, foundMax);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
 }
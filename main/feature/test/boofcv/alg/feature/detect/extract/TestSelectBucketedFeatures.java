@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageFloat32;
+import georegression.struct.point.Point2D_I16;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSelectBucketedFeatures {
+
+	Random rand = new Random(234);
+
+	int width = 60;
+	int height = 50;
+
+	/**
+	 * Each bucket should contain the most intense features, up to the limit
+	 */
+	@Test
+	public void bucketLimit() {
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		QueueCorner corners = createCorners(intensity, 300);
+
+		for( int maxPerBucket = 1; maxPerBucket <= 3; maxPerBucket++ ) {
+			SelectBucketedFeatures alg = new SelectBucketedFeatures(10,maxPerBucket,false);
+
+			for( int sign = 0; sign < 2; sign++ ) {
+				boolean positive = sign == 0;
+				alg.process(intensity,corners,positive,null,-1);
+				QueueCorner found = alg.getBestCorners();
+
+				int total = 0;
+				for( int y = 0; y < height; y += 10 ) {
+					for( int x = 0; x < width; x += 10 ) {
+						int numFound = countInside(found,x,y,10);
+						int numAll = countInside(corners,x,y,10);
+						assertEquals(Math.min(maxPerBucket,numAll),numFound);
+						total += numFound;
+
+						// nothing which was skipped should be better than what was selected
+						float worst = worstInside(intensity,found,x,y,10,positive);
+						for( int i = 0; i < corners.size; i++ ) {
+							Point2D_I16 p = corners.get(i);
+							if( inside(p,x,y,10) && !contains(found,p) ) {
+								float v = intensity.get(p.x,p.y);
+								assertTrue(positive ? v <= worst : v >= worst);
+							}
+						}
+					}
+				}
+				assertEquals(total,found.size);
+			}
+		}
+	}
+
+	/**
+	 * Excluded features should reduce the number of features which can be added to a bucket
+	 */
+	@Test
+	public void exclude() {
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		QueueCorner corners = createCorners(intensity, 300);
+
+		QueueCorner exclude = new QueueCorner();
+		exclude.add(2,3);
+		exclude.add(12,3);
+		exclude.add(15,4);
+
+		SelectBucketedFeatures alg = new SelectBucketedFeatures(10,2,false);
+		alg.process(intensity,corners,true,exclude,-1);
+		QueueCorner found = alg.getBestCorners();
+
+		assertEquals(Math.min(1,countInside(corners,0,0,10)),countInside(found,0,0,10));
+		assertEquals(0,countInside(found,10,0,10));
+		assertEquals(Math.min(2,countInside(corners,20,0,10)),countInside(found,20,0,10));
+	}
+
+	/**
+	 * The total number of features is reduced by selecting the most intense
+	 */
+	@Test
+	public void target_intense() {
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		QueueCorner corners = createCorners(intensity, 300);
+
+		SelectBucketedFeatures alg = new SelectBucketedFeatures(10,2,false);
+		alg.process(intensity,corners,true,null,-1);
+		QueueCorner all = new QueueCorner();
+		all.addAll(alg.getBestCorners());
+
+		alg.process(intensity,corners,true,null,15);
+		QueueCorner found = alg.getBestCorners();
+		assertEquals(15,found.size);
+
+		float worst = Float.MAX_VALUE;
+		for( int i = 0; i < found.size; i++ ) {
+			Point2D_I16 p = found.get(i);
+			assertTrue(contains(all,p));
+			worst = Math.min(worst,intensity.get(p.x,p.y));
+		}
+		for( int i = 0; i < all.size; i++ ) {
+			Point2D_I16 p = all.get(i);
+			if( !contains(found,p))
+				assertTrue(intensity.get(p.x,p.y) <= worst);
+		}
+	}
+
+	/**
+	 * Adaptive non-maximal suppression should always keep the most intense feature and prefer isolated
+	 * features over ones next to a more intense feature.
+	 */
+	@Test
+	public void target_adaptive() {
+		ImageFloat32 intensity = new ImageFloat32(width,height);
+		QueueCorner corners = new QueueCorner();
+
+		// a cluster of strong features
+		addCorner(intensity,corners,5,5,100);
+		addCorner(intensity,corners,6,5,90);
+		addCorner(intensity,corners,5,6,80);
+		// weak isolated features
+		addCorner(intensity,corners,50,40,10);
+		addCorner(intensity,corners,50,5,5);
+
+		SelectBucketedFeatures alg = new SelectBucketedFeatures(width,10,true);
+		alg.process(intensity,corners,true,null,3);
+		QueueCorner found = alg.getBestCorners();
+
+		assertEquals(3,found.size);
+		assertTrue(contains(found,new Point2D_I16((short)5,(short)5)));
+		assertTrue(contains(found,new Point2D_I16((short)50,(short)40)));
+		assertTrue(contains(found,new Point2D_I16((short)50,(short)5)));
+
+		// without adaptive the cluster should be selected
+		alg = new SelectBucketedFeatures(width,10,false);
+		alg.process(intensity,corners,true,null,3);
+		found = alg.getBestCorners();
+		assertTrue(contains(found,new Point2D_I16((short)5,(short)5)));
+		assertTrue(contains(found,new Point2D_I16((short)6,(short)5)));
+		assertTrue(contains(found,new Point2D_I16((short)5,(short)6)));
+	}
+
+	private void addCorner( ImageFloat32 intensity , QueueCorner corners , int x , int y , float value ) {
+		intensity.set(x,y,value);
+		corners.add(x,y);
+	}
+
+	private QueueCorner createCorners( ImageFloat32 intensity , int N ) {
+		QueueCorner corners = new QueueCorner();
+		for( int i = 0; i < N; i++ ) {
+			int x = rand.nextInt(width);
+			int y = rand.nextInt(height);
+			Point2D_I16 p = new Point2D_I16((short)x,(short)y);
+			if( contains(corners,p))
+				continue;
+			intensity.set(x,y,(float)rand.nextGaussian()*5);
+			corners.add(x,y);
+		}
+		return corners;
+	}
+
+	private static boolean inside( Point2D_I16 p , int x0 , int y0 , int w ) {
+		return p.x >= x0 && p.x < x0+w && p.y >= y0 && p.y < y0+w;
+	}
+
+	private static int countInside( QueueCorner list , int x0 , int y0 , int w ) {
+		int total = 0;
+		for( int i = 0; i < list.size; i++ ) {
+			if( inside(list.get(i),x0,y0,w) )
+				total++;
+		}
+		return total;
+	}
+
+	private static float worstInside( ImageFloat32 intensity , QueueCorner list , int x0 , int y0 , int w ,
+									  boolean positive ) {
+		float worst = positive ? Float.MAX_VALUE : -Float.MAX_VALUE;
+		for( int i = 0; i < list.size; i++ ) {
+			Point2D_I16 p = list.get(i);
+			if( !inside(p,x0,y0,w) )
+				continue;
+			float v = intensity.get(p.x,p.y);
+			worst = positive ? Math.min(worst,v) : Math.max(worst,v);
+		}
+		return worst;
+	}
+
+	private static boolean contains( QueueCorner list , Point2D_I16 p ) {
+		for( int i = 0; i < list.size; i++ ) {
+			Point2D_I16 q = list.get(i);
+			if( q.x == p.x && q.y == p.y )
+				return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity.impl;
+
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplFastTreeIntensity11_U8 extends GenericImplFastIntensity {
+	public TestImplFastTreeIntensity11_U8() {
+		super(new ImplFastTreeIntensity11_U8(20), 11, 20);
+	}
+}
@@ -20,9 +20,20 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.feature.detect.extract.ConfigExtract;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -49,4 +60,49 @@ public class TestFastHessianFeatureDetector extends GenericFeatureDetector {
 
 		return alg.getFoundPoints().size();
 	}
+
+	/**
+	 * Concurrent and single threaded modes should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 input = new ImageFloat32(150,130);
+		ImageMiscOps.fillUniform(input,new Random(234),0,100);
+		ImageFloat32 integral = IntegralImageOps.transform(input,null);
+
+		for( int maxFeatures : new int[]{-1,5} ) {
+			FastHessianFeatureDetector<ImageFloat32> expected = (FastHessianFeatureDetector)createDetector(maxFeatures);
+			FastHessianFeatureDetector<ImageFloat32> found = (FastHessianFeatureDetector)createDetector(maxFeatures);
+			found.setConcurrent(new InstanceFactory<NonMaxSuppression>() {
+				@Override
+				public NonMaxSuppression newInstance() {
+					return FactoryFeatureExtractor.nonmax(new ConfigExtract(1, 1, 5, true));
+				}
+			});
+
+			int before = BoofConcurrency.getMaxThreads();
+			BoofConcurrency.setMaxThreads(4);
+			try {
+				expected.detect(integral);
+				// process twice to make sure recycled data is handled correctly
+				found.detect(integral);
+				found.detect(integral);
+			} finally {
+				BoofConcurrency.setMaxThreads(before);
+			}
+
+			List<ScalePoint> listE = expected.getFoundPoints();
+			List<ScalePoint> listF = found.getFoundPoints();
+
+			assertTrue(listE.size() > 0);
+			assertEquals(listE.size(),listF.size());
+			for( int i = 0; i < listE.size(); i++ ) {
+				ScalePoint e = listE.get(i);
+				ScalePoint f = listF.get(i);
+				assertEquals(e.x,f.x,1e-8);
+				assertEquals(e.y,f.y,1e-8);
+				assertEquals(e.scale,f.scale,1e-8);
+			}
+		}
+	}
 }
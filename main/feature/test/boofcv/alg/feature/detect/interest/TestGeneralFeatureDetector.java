@@ -21,6 +21,7 @@ package boofcv.alg.feature.detect.interest;
 import boofcv.abst.feature.detect.extract.ConfigExtract;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
+import boofcv.alg.feature.detect.extract.SelectBucketedFeatures;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.image.ImageFloat32;
@@ -240,6 +241,36 @@ public class TestGeneralFeatureDetector {
 		assertEquals(2, detector.getMaximums().size());
 	}
 
+	/**
+	 * Bucketed selection should limit the number of features in each bucket, even if max features is not set
+	 */
+	@Test
+	public void selectBucket() {
+		HelperIntensity intensity = new HelperIntensity(false, false, true);
+		HelperExtractor extractor = new HelperExtractor(true, true);
+
+		GeneralFeatureDetector<ImageFloat32, ImageFloat32> detector =
+				new GeneralFeatureDetector<ImageFloat32, ImageFloat32>(intensity, extractor);
+
+		// both features are in the same bucket
+		detector.setSelectBucket(new SelectBucketedFeatures(5,1,false));
+		detector.process(new ImageFloat32(width, height), null, null, null, null, null);
+		assertEquals(1, detector.getMaximums().size());
+
+		// each feature is in its own bucket
+		detector.setSelectBucket(new SelectBucketedFeatures(2,1,false));
+		detector.process(new ImageFloat32(width, height), null, null, null, null, null);
+		assertEquals(2, detector.getMaximums().size());
+
+		// features which are excluded count against the bucket
+		QueueCorner exclude = new QueueCorner();
+		exclude.add(3,3);
+		detector.setExcludeMaximum(exclude);
+		detector.process(new ImageFloat32(width, height), null, null, null, null, null);
+		assertEquals(1, detector.getMaximums().size());
+		assertEquals(1, detector.getMaximums().get(0).x);
+	}
+
 	/**
 	 * Makes sure flags that indicate the presence of local minimums and maximums are handled correctly
 	 */
@@ -20,6 +20,8 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageStatistics;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
@@ -192,4 +194,115 @@ public class TestSiftImageScaleSpace {
 			assertEquals(sum1,sum2,1e-6);
 		}
 	}
+
+	/**
+	 * Concurrent and single threaded should produce identical images
+	 */
+	@Test
+	public void concurrent() {
+		for( boolean doubleInput : new boolean[]{false,true} ) {
+			ImageFloat32 input = new ImageFloat32(90,75);
+			GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			SiftImageScaleSpace expected = new SiftImageScaleSpace(1.6f, 5, 4, doubleInput);
+			SiftImageScaleSpace found = new SiftImageScaleSpace(1.6f, 5, 4, doubleInput);
+			found.setConcurrent(true);
+
+			int before = BoofConcurrency.getMaxThreads();
+			BoofConcurrency.setMaxThreads(4);
+			try {
+				process(expected, input);
+				process(found, input);
+			} finally {
+				BoofConcurrency.setMaxThreads(before);
+			}
+
+			assertEquals(expected.actualOctaves,found.actualOctaves);
+			for( int i = 0; i < expected.scale.length; i++ ) {
+				BoofTesting.assertEquals(expected.scale[i],found.scale[i],1e-8);
+				BoofTesting.assertEquals(expected.derivX[i],found.derivX[i],1e-8);
+				BoofTesting.assertEquals(expected.derivY[i],found.derivY[i],1e-8);
+			}
+			for( int i = 0; i < expected.dog.length; i++ ) {
+				BoofTesting.assertEquals(expected.dog[i],found.dog[i],1e-8);
+			}
+		}
+	}
+
+	/**
+	 * Derivatives should only be computed when requested and match the regular mode
+	 */
+	@Test
+	public void lazyDerivatives() {
+		ImageFloat32 input = new ImageFloat32(60,50);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		SiftImageScaleSpace expected = new SiftImageScaleSpace(1.6f, 5, 2, false);
+		SiftImageScaleSpace found = new SiftImageScaleSpace(1.6f, 5, 2, false);
+		found.setLazyDerivatives(true);
+
+		process(expected, input);
+		process(found, input);
+
+		// not computed yet
+		assertEquals(1,found.derivX[3].width);
+
+		BoofTesting.assertEquals(expected.getDerivativeX(3),found.getDerivativeX(3),1e-8);
+		BoofTesting.assertEquals(expected.getDerivativeY(3),found.getDerivativeY(3),1e-8);
+		assertEquals(1,found.derivX[4].width);
+
+		// should be recomputed after the next image
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		process(expected, input);
+		process(found, input);
+		BoofTesting.assertEquals(expected.getDerivativeX(3),found.getDerivativeX(3),1e-8);
+	}
+
+	/**
+	 * Derivatives requested by several threads at once should match the regular mode
+	 */
+	@Test
+	public void lazyDerivatives_concurrent() {
+		int original = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+
+			ImageFloat32 input = new ImageFloat32(60,50);
+			GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+			SiftImageScaleSpace expected = new SiftImageScaleSpace(1.6f, 5, 2, false);
+			final SiftImageScaleSpace found = new SiftImageScaleSpace(1.6f, 5, 2, false);
+			found.setLazyDerivatives(true);
+			found.setConcurrent(true);
+
+			process(expected, input);
+			process(found, input);
+
+			// every thread requests every layer, in a different order
+			final int total = expected.scale.length;
+			BoofConcurrency.loopBlocks(0,4,new IntRangeTask() {
+				@Override
+				public void process(int start, int end) {
+					for( int i = start; i < end; i++ ) {
+						for( int j = 0; j < total; j++ ) {
+							found.getDerivativeX((i+j)%total);
+						}
+					}
+				}
+			});
+
+			for( int i = 0; i < total; i++ ) {
+				BoofTesting.assertEquals(expected.getDerivativeX(i),found.derivX[i],1e-8);
+				BoofTesting.assertEquals(expected.getDerivativeY(i),found.derivY[i],1e-8);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	private void process( SiftImageScaleSpace ss , ImageFloat32 input ) {
+		ss.constructPyramid(input);
+		ss.computeFeatureIntensity();
+		ss.computeDerivatives();
+	}
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTemplateFourier {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void instanceNCC() {
+		new GeneralTemplateMatchTests<ImageFloat32>(new TemplateFourier.NCC<ImageFloat32>(), ImageFloat32.class) {
+		}.allTests();
+		new GeneralTemplateMatchTests<ImageUInt8>(new TemplateFourier.NCC<ImageUInt8>(), ImageUInt8.class) {
+		}.allTests();
+	}
+
+	@Test
+	public void instanceDiffSquared() {
+		new GeneralTemplateMatchTests<ImageFloat32>(new TemplateFourier.DiffSquared<ImageFloat32>(), ImageFloat32.class) {
+		}.allTests();
+		new GeneralTemplateMatchTests<ImageUInt8>(new TemplateFourier.DiffSquared<ImageUInt8>(), ImageUInt8.class) {
+		}.allTests();
+	}
+
+	/**
+	 * Compare against the spatial implementation when the image is split across multiple tiles
+	 */
+	@Test
+	public void compareToSpatial() {
+		compare(new TemplateNCC.U8(), new TemplateFourier.NCC<ImageUInt8>(), ImageUInt8.class, 1e-3);
+		compare(new TemplateNCC.F32(), new TemplateFourier.NCC<ImageFloat32>(), ImageFloat32.class, 1e-3);
+		compare(new TemplateDiffSquared.U8(), new TemplateFourier.DiffSquared<ImageUInt8>(), ImageUInt8.class, 1e-5);
+		compare(new TemplateDiffSquared.F32(), new TemplateFourier.DiffSquared<ImageFloat32>(), ImageFloat32.class, 1e-5);
+	}
+
+	/**
+	 * In flat regions the spatial NCC is NaN.  The Fourier version should return zero instead of large values from
+	 * round off error, which would then be selected as the best match.
+	 */
+	@Test
+	public void flatRegionNCC() {
+		ImageUInt8 image = new ImageUInt8(200,150);
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+		GImageMiscOps.fillRectangle(image, 100, 0, 0, 100, 150);
+		ImageUInt8 template = image.subimage(130,60,170,100).clone();
+
+		TemplateNCC.U8 spatial = new TemplateNCC.U8();
+		TemplateFourier.NCC<ImageUInt8> fourier = new TemplateFourier.NCC<ImageUInt8>();
+		spatial.process(image, template);
+		fourier.process(image, template);
+
+		ImageFloat32 expected = spatial.getIntensity();
+		ImageFloat32 found = fourier.getIntensity();
+
+		int x0 = spatial.getOffsetX(), y0 = spatial.getOffsetY();
+		int numFlat = 0;
+		for( int y = 0; y <= image.height - template.height; y++ ) {
+			for( int x = 0; x <= image.width - template.width; x++ ) {
+				float e = expected.get(x+x0,y+y0);
+				float f = found.get(x+x0,y+y0);
+				if( Float.isNaN(e) ) {
+					assertEquals(0, f, 0);
+					numFlat++;
+				} else {
+					assertEquals(e, f, Math.max(1,Math.abs(e))*1e-3);
+				}
+			}
+		}
+		assertTrue(numFlat > 0);
+
+		checkSameBest(expected,found);
+	}
+
+	/**
+	 * Checks to see if the location of the best score is the same.  NaN is skipped
+	 */
+	public static void checkSameBest( ImageFloat32 expected , ImageFloat32 found ) {
+		int bestExpected = -1, bestFound = -1;
+		float valueExpected = -Float.MAX_VALUE, valueFound = -Float.MAX_VALUE;
+		for( int y = 0; y < expected.height; y++ ) {
+			for( int x = 0; x < expected.width; x++ ) {
+				float e = expected.get(x,y);
+				float f = found.get(x,y);
+				if( e > valueExpected ) {
+					valueExpected = e;
+					bestExpected = y*expected.width + x;
+				}
+				if( f > valueFound ) {
+					valueFound = f;
+					bestFound = y*expected.width + x;
+				}
+			}
+		}
+		assertEquals(bestExpected,bestFound);
+	}
+
+	private <T extends ImageSingleBand>
+	void compare( TemplateMatchingIntensity<T> spatial , TemplateMatchingIntensity<T> fourier ,
+				  Class<T> imageType , double tol ) {
+		T image = GeneralizedImageOps.createSingleBand(imageType, 100, 70);
+		T template = GeneralizedImageOps.createSingleBand(imageType, 9, 6);
+
+		// the tile will be smaller than the image
+		assertEquals(64,TemplateFourier.selectTileLength(image.width,template.width));
+		assertEquals(32,TemplateFourier.selectTileLength(image.height,template.height));
+
+		// process several images with the same template and then change the template's values
+		for( int trial = 0; trial < 3; trial++ ) {
+			GImageMiscOps.fillUniform(image, rand, 0, 200);
+			if( trial != 1 )
+				GImageMiscOps.fillUniform(template, rand, 0, 200);
+
+			spatial.process(image, template);
+			fourier.process(image, template);
+
+			assertEquals(spatial.getOffsetX(), fourier.getOffsetX());
+			assertEquals(spatial.getOffsetY(), fourier.getOffsetY());
+
+			ImageFloat32 expected = spatial.getIntensity();
+			ImageFloat32 found = fourier.getIntensity();
+
+			int x0 = spatial.getOffsetX(), y0 = spatial.getOffsetY();
+			for( int y = 0; y < image.height - template.height; y++ ) {
+				for( int x = 0; x < image.width - template.width; x++ ) {
+					float e = expected.get(x+x0,y+y0);
+					float f = found.get(x+x0,y+y0);
+					assertEquals(e, f, Math.max(1,Math.abs(e))*tol);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTemplateIntensitySwitch {
+
+	Random rand = new Random(234);
+
+	TemplateNCC.U8 spatial = new TemplateNCC.U8();
+	TemplateFourier.NCC<ImageUInt8> fourier = new TemplateFourier.NCC<ImageUInt8>();
+
+	@Test
+	public void standardTests() {
+		new GeneralTemplateMatchTests<ImageUInt8>(
+				new TemplateIntensitySwitch<ImageUInt8>(spatial,fourier,1), ImageUInt8.class) {
+		}.allTests();
+	}
+
+	/**
+	 * Small templates should be processed in the spatial domain and large ones in the frequency domain
+	 */
+	@Test
+	public void selectsAlgorithm() {
+		TemplateIntensitySwitch<ImageUInt8> alg = new TemplateIntensitySwitch<ImageUInt8>(spatial,fourier,1);
+
+		ImageUInt8 image = new ImageUInt8(200,150);
+		ImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		ImageUInt8 small = new ImageUInt8(2,2);
+		ImageMiscOps.fillUniform(small, rand, 0, 200);
+		alg.process(image, small);
+		assertTrue(alg.getSelected() == spatial);
+		assertTrue(spatial.getIntensity() == alg.getIntensity());
+
+		ImageUInt8 large = new ImageUInt8(30,30);
+		ImageMiscOps.fillUniform(large, rand, 0, 200);
+		alg.process(image, large);
+		assertTrue(alg.getSelected() == fourier);
+		assertTrue(fourier.getIntensity() == alg.getIntensity());
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.template;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.FastQueue;
+import boofcv.struct.feature.Match;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTemplateMatchingBatch {
+
+	Random rand = new Random(234);
+
+	// templates with different shapes and where they are in the image
+	int shapes[][] = new int[][]{{5,8},{12,10},{20,20},{7,3}};
+	int locations[][] = new int[][]{{10,12},{150,20},{100,110},{60,70}};
+
+	ImageUInt8 image = new ImageUInt8(200,150);
+	ImageUInt8 templates[] = new ImageUInt8[shapes.length];
+
+	public TestTemplateMatchingBatch() {
+		ImageMiscOps.fillUniform(image, rand, 0, 200);
+		for( int i = 0; i < shapes.length; i++ ) {
+			templates[i] = new ImageUInt8(shapes[i][0],shapes[i][1]);
+			ImageMiscOps.fillUniform(templates[i], rand, 0, 200);
+			int x = locations[i][0], y = locations[i][1];
+			image.subimage(x, y, x + templates[i].width, y + templates[i].height).setTo(templates[i]);
+		}
+	}
+
+	/**
+	 * Each template should be found at its location and have the same score as the spatial implementation
+	 */
+	@Test
+	public void findTemplates() {
+		check(new TemplateMatchingBatch.NCC<ImageUInt8>(), new TemplateNCC.U8(), 1e-3);
+		check(new TemplateMatchingBatch.DiffSquared<ImageUInt8>(), new TemplateDiffSquared.U8(), 1e-5);
+	}
+
+	private void check( TemplateMatchingBatch<ImageUInt8> alg , TemplateMatchingIntensity<ImageUInt8> spatial ,
+						double tol ) {
+		for( int i = 0; i < templates.length; i++ ) {
+			assertEquals(i, alg.addTemplate(templates[i], 3));
+		}
+		assertEquals(templates.length, alg.getNumTemplates());
+
+		// process it twice to see if the cached data is handled correctly
+		for( int trial = 0; trial < 2; trial++ ) {
+			alg.process(image);
+
+			for( int i = 0; i < templates.length; i++ ) {
+				FastQueue<Match> found = alg.getResults(i);
+				assertEquals(3, found.size);
+
+				// find the best match
+				Match best = found.get(0);
+				for( int j = 1; j < found.size; j++ ) {
+					if( found.get(j).score > best.score )
+						best = found.get(j);
+				}
+				assertEquals(locations[i][0], best.x);
+				assertEquals(locations[i][1], best.y);
+
+				// compare the score of every match to the spatial implementation
+				spatial.process(image, templates[i]);
+				for( int j = 0; j < found.size; j++ ) {
+					Match m = found.get(j);
+					double expected = spatial.getIntensity().get(m.x + spatial.getOffsetX(), m.y + spatial.getOffsetY());
+					assertEquals(expected, m.score, Math.max(1, Math.abs(expected))*tol);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The NCC score is undefined in flat regions and should not produce false matches there
+	 */
+	@Test
+	public void flatRegionNCC() {
+		ImageUInt8 image = new ImageUInt8(200,150);
+		ImageMiscOps.fillUniform(image, rand, 0, 200);
+		ImageMiscOps.fillRectangle(image, 100, 0, 0, 100, 150);
+		ImageUInt8 template = image.subimage(130,60,170,100).clone();
+
+		TemplateMatchingBatch<ImageUInt8> alg = new TemplateMatchingBatch.NCC<ImageUInt8>();
+		alg.addTemplate(template, 5);
+		alg.process(image);
+
+		FastQueue<Match> found = alg.getResults(0);
+		assertTrue(found.size > 0);
+		Match best = found.get(0);
+		for( int i = 0; i < found.size; i++ ) {
+			Match m = found.get(i);
+			assertFalse(Float.isInfinite((float)m.score) || Double.isNaN(m.score));
+			if( m.score > best.score )
+				best = m;
+		}
+		assertEquals(130, best.x);
+		assertEquals(60, best.y);
+
+		// compare against the spatial implementation
+		TemplateNCC.U8 spatial = new TemplateNCC.U8();
+		spatial.process(image, template);
+		double expected = spatial.getIntensity().get(best.x + spatial.getOffsetX(), best.y + spatial.getOffsetY());
+		assertEquals(expected, best.score, Math.abs(expected)*1e-3);
+	}
+
+	/**
+	 * Results should be identical when computed concurrently
+	 */
+	@Test
+	public void concurrent() {
+		TemplateMatchingBatch<ImageUInt8> serial = new TemplateMatchingBatch.NCC<ImageUInt8>();
+		TemplateMatchingBatch<ImageUInt8> parallel = new TemplateMatchingBatch.NCC<ImageUInt8>();
+		parallel.setConcurrent(true);
+
+		for( int i = 0; i < templates.length; i++ ) {
+			serial.addTemplate(templates[i], 5);
+			parallel.addTemplate(templates[i], 5);
+		}
+
+		int before = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			serial.process(image);
+			parallel.process(image);
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+
+		for( int i = 0; i < templates.length; i++ ) {
+			FastQueue<Match> expected = serial.getResults(i);
+			FastQueue<Match> found = parallel.getResults(i);
+			assertEquals(expected.size, found.size);
+			for( int j = 0; j < expected.size; j++ ) {
+				assertEquals(expected.get(j).x, found.get(j).x);
+				assertEquals(expected.get(j).y, found.get(j).y);
+				assertEquals(expected.get(j).score, found.get(j).score, 0);
+			}
+		}
+	}
+}
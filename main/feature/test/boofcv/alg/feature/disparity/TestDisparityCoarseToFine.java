@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.feature.disparity;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.pyramid.PyramidDiscreteAverage;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs;
+import boofcv.struct.image.ImageInteger;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparityCoarseToFine {
+
+	Random rand = new Random(234);
+
+	int r = 2;
+	int scale = 4;
+
+	/**
+	 * See if it finds the known disparity when the shift isn't a multiple of the scale
+	 */
+	@Test
+	public void knownDisparity() {
+		int width = 120, height = 60;
+		ImageUInt8 left = new ImageUInt8(width,height);
+		ImageUInt8 right = new ImageUInt8(width,height);
+		createShifted(left, right, 13);
+
+		StereoDisparity<ImageUInt8,ImageUInt8> alg = FactoryStereoDisparity.
+				regionCoarseToFineWta(2, 40, r, r, -1, 1, -1, scale, false, ImageUInt8.class);
+		alg.process(left,right);
+
+		checkKnown(alg.getDisparity(), 13 - 2, 13);
+	}
+
+	/**
+	 * More disparities than can be stored in ImageUInt8
+	 */
+	@Test
+	public void largeRange() {
+		int width = 400, height = 40;
+		ImageUInt8 left = new ImageUInt8(width,height);
+		ImageUInt8 right = new ImageUInt8(width,height);
+		createShifted(left, right, 270);
+
+		StereoDisparity<ImageUInt8,ImageUInt16> alg = FactoryStereoDisparity.
+				regionCoarseToFineWta(0, 300, r, r, -1, 1, -1, 8, false, ImageUInt16.class);
+		alg.process(left,right);
+
+		checkKnown(alg.getDisparity(), 270, 270);
+	}
+
+	/**
+	 * If the coarse disparity is invalid everywhere then it should produce the same results as a full search
+	 */
+	@Test
+	public void fallbackFullSearch() {
+		int width = 80, height = 50;
+		int minDisparity = 3, maxDisparity = 30;
+		ImageUInt8 left = new ImageUInt8(width,height);
+		ImageUInt8 right = new ImageUInt8(width,height);
+		createShifted(left, right, 9);
+		// add noise so that the scores are different at each pixel
+		ImageMiscOps.addUniform(right, rand, 0, 20);
+
+		// the noise ensures that the error of every coarse pixel is too large and marked as invalid
+		DisparityScoreRowFormat<ImageUInt8,ImageUInt8> coarse = FactoryStereoDisparityAlgs.scoreDisparitySadRect_U8(
+				0, 8, r, r, FactoryStereoDisparityAlgs.selectDisparity_S32(1, -1, -1));
+
+		DisparityCoarseToFine<ImageUInt8> alg = new DisparityCoarseToFine<ImageUInt8>(minDisparity,maxDisparity,
+				r,r,-1,-1,scale,createPyramid(),createPyramid(),coarse);
+
+		ImageUInt8 found = new ImageUInt8(width,height);
+		alg.process(left,right,found);
+
+		StereoDisparity<ImageUInt8,ImageUInt8> full = FactoryStereoDisparity.regionWta(DisparityAlgorithms.RECT,
+				minDisparity, maxDisparity, r, r, -1, -1, -1, ImageUInt8.class);
+		full.process(left,right);
+
+		// invalid pixels can have different values
+		int range = maxDisparity-minDisparity;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				int expected = full.getDisparity().get(x,y);
+				if( expected > range )
+					assertTrue(found.get(x,y) > range);
+				else
+					assertEquals(x+" "+y,expected,found.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * The concurrent algorithm should produce identical results to the single threaded one
+	 */
+	@Test
+	public void concurrent() {
+		int width = 120, height = 70;
+		ImageUInt8 left = new ImageUInt8(width,height);
+		ImageUInt8 right = new ImageUInt8(width,height);
+		createShifted(left, right, 10);
+		ImageMiscOps.addUniform(right, rand, 0, 20);
+
+		StereoDisparity<ImageUInt8,ImageUInt8> serial = FactoryStereoDisparity.
+				regionCoarseToFineWta(0, 40, r, r, -1, 1, 0.1, scale, false, ImageUInt8.class);
+		StereoDisparity<ImageUInt8,ImageUInt8> concurrent = FactoryStereoDisparity.
+				regionCoarseToFineWta(0, 40, r, r, -1, 1, 0.1, scale, true, ImageUInt8.class);
+
+		serial.process(left,right);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			// process twice to make sure storage is recycled correctly
+			for( int trial = 0; trial < 2; trial++ ) {
+				concurrent.process(left,right);
+				BoofTesting.assertEquals(serial.getDisparity(), concurrent.getDisparity(), 0);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	/**
+	 * The right image is the left image shifted by the disparity
+	 */
+	private void createShifted( ImageUInt8 left , ImageUInt8 right , int shift ) {
+		ImageMiscOps.fillUniform(left, rand, 0, 100);
+		for( int y = 0; y < left.height; y++ )
+			for( int x = 0; x < left.width-shift; x++ )
+				right.set(x,y,left.get(x+shift,y));
+	}
+
+	private void checkKnown( ImageInteger found , int expected , int shift ) {
+		for( int y = r; y < found.height-r; y++ ) {
+			for( int x = r+shift; x < found.width-r-shift; x++ ) {
+				assertEquals(x+" "+y,expected,found.get(x,y));
+			}
+		}
+	}
+
+	private PyramidDiscreteAverage<ImageUInt8> createPyramid() {
+		return new PyramidDiscreteAverage<ImageUInt8>(ImageUInt8.class,true,1,scale);
+	}
+}
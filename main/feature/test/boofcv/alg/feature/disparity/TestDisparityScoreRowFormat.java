@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.InstanceFactory;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.factory.feature.disparity.FactoryStereoDisparityAlgs;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparityScoreRowFormat {
+
+	Random rand = new Random(234);
+
+	int width = 120;
+	int height = 200;
+
+	/**
+	 * The concurrent algorithm should produce identical results to the single threaded one
+	 */
+	@Test
+	public void concurrent() {
+		for( DisparityAlgorithms which : DisparityAlgorithms.values() ) {
+			checkConcurrent(which, false, ImageUInt8.class);
+			checkConcurrent(which, true, ImageUInt8.class);
+			checkConcurrent(which, false, ImageSInt16.class);
+			// floating point images fall back on the single threaded code and must still be identical
+			checkConcurrent(which, false, ImageFloat32.class);
+			checkConcurrent(which, true, ImageFloat32.class);
+		}
+	}
+
+	/**
+	 * Floating point bands can't reproduce the single threaded output, so concurrent mode should be refused
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void concurrent_floatRefused() {
+		DisparityScoreRowFormat<ImageFloat32,ImageUInt8> alg =
+				FactoryStereoDisparityAlgs.scoreDisparitySadRect_F32(0,20,2,3,
+						FactoryStereoDisparityAlgs.selectDisparity_F32(-1,2,0.1));
+		alg.setConcurrent(new InstanceFactory<DisparityScoreRowFormat<ImageFloat32, ImageUInt8>>() {
+			@Override
+			public DisparityScoreRowFormat<ImageFloat32, ImageUInt8> newInstance() {
+				return null;
+			}
+		});
+	}
+
+	private <T extends ImageSingleBand> void checkConcurrent( DisparityAlgorithms which , boolean subpixel ,
+															   Class<T> imageType ) {
+		T left = GeneralizedImageOps.createSingleBand(imageType,width,height);
+		T right = GeneralizedImageOps.createSingleBand(imageType,width,height);
+		GImageMiscOps.fillUniform(left, rand, 0, 100);
+		// shift the right image so that there is a meaningful disparity
+		for( int y = 0; y < height; y++ )
+			for( int x = 0; x < width-5; x++ )
+				GeneralizedImageOps.set(right,x,y,GeneralizedImageOps.get(left,x+5,y));
+
+		StereoDisparity<T,?> serial = create(which, subpixel, false, imageType);
+		StereoDisparity<T,?> concurrent = create(which, subpixel, true, imageType);
+
+		serial.process(left,right);
+		ImageSingleBand expected = serial.getDisparity();
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			// process twice to make sure storage is recycled correctly
+			for( int trial = 0; trial < 2; trial++ ) {
+				concurrent.process(left,right);
+				BoofTesting.assertEquals(expected, concurrent.getDisparity(), 0);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+
+		// sanity check to make sure the test isn't trivial
+		int count = 0;
+		for( int y = 0; y < height; y++ )
+			for( int x = 0; x < width; x++ )
+				if( Math.abs(GeneralizedImageOps.get(expected,x,y)-5) < 0.5 )
+					count++;
+		assertTrue(count > width*height/4);
+	}
+
+	private <T extends ImageSingleBand> StereoDisparity<T,?> create( DisparityAlgorithms which , boolean subpixel ,
+																   boolean concurrent , Class<T> imageType ) {
+		if( subpixel )
+			return FactoryStereoDisparity.regionSubpixelWta(which, 0, 20, 2, 3, -1, 2, 0.1, concurrent, imageType);
+		else
+			return FactoryStereoDisparity.regionWta(which, 0, 20, 2, 3, -1, 2, 0.1, concurrent, imageType);
+	}
+}
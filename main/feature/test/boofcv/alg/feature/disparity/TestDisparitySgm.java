@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.abst.feature.disparity.ConfigDisparitySgm;
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.disparity.DisparitySgmCost;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparitySgm {
+
+	Random rand = new Random(234);
+
+	int width = 80;
+	int height = 60;
+
+	int minDisparity = 2;
+	int maxDisparity = 20;
+	int shift = 5;
+
+	ImageUInt8 left = new ImageUInt8(width,height);
+	ImageUInt8 right = new ImageUInt8(width,height);
+
+	public TestDisparitySgm() {
+		ImageMiscOps.fillUniform(left, rand, 0, 100);
+		// shift the right image so that there is a meaningful disparity
+		for( int y = 0; y < height; y++ )
+			for( int x = 0; x < width-shift; x++ )
+				right.set(x,y,left.get(x+shift,y));
+	}
+
+	/**
+	 * See if it finds the known disparity for all the different configurations
+	 */
+	@Test
+	public void knownDisparity() {
+		for( DisparitySgmCost cost : DisparitySgmCost.values() ) {
+			for( int paths = 4; paths <= 8; paths += 4 ) {
+				checkKnown(createConfig(cost, paths, -1, false));
+				checkKnown(createConfig(cost, paths, 7, false));
+			}
+		}
+	}
+
+	private void checkKnown( ConfigDisparitySgm config ) {
+		StereoDisparity<ImageUInt8,ImageUInt8> alg = FactoryStereoDisparity.sgm(config,ImageUInt8.class);
+		alg.process(left,right);
+		ImageUInt8 found = alg.getDisparity();
+
+		int total = 0;
+		int correct = 0;
+		for( int y = 0; y < height; y++ ) {
+			// pixels which can't be matched since they are outside the right image
+			for( int x = 0; x < minDisparity; x++ )
+				assertTrue(found.get(x,y) > maxDisparity-minDisparity);
+
+			for( int x = shift; x < width; x++ ) {
+				total++;
+				if( found.get(x,y) == shift-minDisparity )
+					correct++;
+			}
+		}
+		assertTrue(correct > total*0.95);
+	}
+
+	/**
+	 * Processing in strips should produce the same results no matter the strip height
+	 */
+	@Test
+	public void stripHeight() {
+		for( DisparitySgmCost cost : DisparitySgmCost.values() ) {
+			StereoDisparity<ImageUInt8,ImageUInt8> whole =
+					FactoryStereoDisparity.sgm(createConfig(cost, 8, height, false), ImageUInt8.class);
+			StereoDisparity<ImageUInt8,ImageUInt8> strips =
+					FactoryStereoDisparity.sgm(createConfig(cost, 8, 1, false), ImageUInt8.class);
+
+			whole.process(left,right);
+			strips.process(left,right);
+
+			BoofTesting.assertEquals(whole.getDisparity(), strips.getDisparity(), 0);
+		}
+	}
+
+	/**
+	 * The concurrent algorithm should produce identical results to the single threaded one
+	 */
+	@Test
+	public void concurrent() {
+		for( int paths = 4; paths <= 8; paths += 4 ) {
+			checkConcurrent(createConfig(DisparitySgmCost.CENSUS, paths, -1, false));
+			checkConcurrent(createConfig(DisparitySgmCost.ABSOLUTE_DIFFERENCE, paths, 13, false));
+		}
+	}
+
+	private void checkConcurrent( ConfigDisparitySgm config ) {
+		StereoDisparity<ImageUInt8,ImageUInt8> serial = FactoryStereoDisparity.sgm(config,ImageUInt8.class);
+		config.concurrent = true;
+		StereoDisparity<ImageUInt8,ImageUInt8> concurrent = FactoryStereoDisparity.sgm(config,ImageUInt8.class);
+
+		serial.process(left,right);
+
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			// process twice to make sure storage is recycled correctly
+			for( int trial = 0; trial < 2; trial++ ) {
+				concurrent.process(left,right);
+				BoofTesting.assertEquals(serial.getDisparity(), concurrent.getDisparity(), 0);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	/**
+	 * Images of different sizes should be processed correctly
+	 */
+	@Test
+	public void changeShape() {
+		StereoDisparity<ImageUInt8,ImageUInt8> alg =
+				FactoryStereoDisparity.sgm(createConfig(DisparitySgmCost.CENSUS, 8, -1, false), ImageUInt8.class);
+
+		alg.process(left,right);
+		ImageUInt8 expected = alg.getDisparity().clone();
+
+		alg.process(left.subimage(0,0,width/2,height/2),right.subimage(0,0,width/2,height/2));
+		assertEquals(width/2,alg.getDisparity().width);
+		assertEquals(height/2,alg.getDisparity().height);
+
+		alg.process(left,right);
+		BoofTesting.assertEquals(expected, alg.getDisparity(), 0);
+	}
+
+	private ConfigDisparitySgm createConfig( DisparitySgmCost cost , int paths , int stripHeight , boolean concurrent ) {
+		ConfigDisparitySgm config = new ConfigDisparitySgm(minDisparity,maxDisparity,cost);
+		config.paths = paths;
+		config.stripHeight = stripHeight;
+		config.concurrent = concurrent;
+		return config;
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostAggregation {
+
+	Random rand = new Random(234);
+
+	int width = 9;
+	int height = 7;
+	int D = 5;
+
+	int penaltySmall = 30;
+	int penaltyLarge = 400;
+
+	/**
+	 * Compare against a straightforward recursive implementation
+	 */
+	@Test
+	public void process() {
+		short cost[] = randomCost(width*height*D);
+
+		for( int paths = 4; paths <= 8; paths += 4 ) {
+			SgmCostAggregation alg = new SgmCostAggregation(penaltySmall,penaltyLarge,paths);
+			short found[] = new short[cost.length];
+			alg.process(cost,found,width,height,D);
+
+			int expected[] = naive(cost,paths,false);
+			for( int i = 0; i < expected.length; i++ )
+				assertEquals(expected[i],found[i]);
+		}
+	}
+
+	/**
+	 * Processes the volume in strips and compares against the straightforward implementation which only uses
+	 * paths that go left, right, or down.
+	 */
+	@Test
+	public void processStrip() {
+		short cost[] = randomCost(width*height*D);
+
+		for( int paths = 4; paths <= 8; paths += 4 ) {
+			int expected[] = naive(cost,paths,true);
+
+			for( int stripHeight = 1; stripHeight <= height; stripHeight++ ) {
+				SgmCostAggregation alg = new SgmCostAggregation(penaltySmall,penaltyLarge,paths);
+				short strip[] = new short[width*stripHeight*D];
+				short found[] = new short[width*stripHeight*D];
+
+				for( int y0 = 0; y0 < height; y0 += stripHeight ) {
+					int rows = Math.min(height-y0,stripHeight);
+					System.arraycopy(cost,y0*width*D,strip,0,rows*width*D);
+					alg.processStrip(strip,found,width,rows,D,y0==0);
+
+					for( int i = 0; i < rows*width*D; i++ )
+						assertEquals(expected[y0*width*D+i],found[i]);
+				}
+			}
+		}
+	}
+
+	private short[] randomCost( int N ) {
+		short cost[] = new short[N];
+		for( int i = 0; i < N; i++ )
+			cost[i] = (short)rand.nextInt(SgmDisparityCost.MAX_COST+1);
+		return cost;
+	}
+
+	private int[] naive( short[] cost , int paths , boolean downOnly ) {
+		int directions[][] = new int[][]{{1,0},{-1,0},{0,1},{0,-1},{1,1},{-1,1},{1,-1},{-1,-1}};
+		int sum[] = new int[cost.length];
+
+		for( int i = 0; i < paths; i++ ) {
+			int dx = directions[i][0], dy = directions[i][1];
+			if( downOnly && dy < 0 )
+				continue;
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					int L[] = pathCost(cost,x,y,dx,dy);
+					for( int d = 0; d < D; d++ )
+						sum[(y*width+x)*D+d] += L[d];
+				}
+			}
+		}
+		return sum;
+	}
+
+	private int[] pathCost( short[] cost , int x , int y , int dx , int dy ) {
+		int L[] = new int[D];
+		int index = (y*width+x)*D;
+
+		int px = x-dx, py = y-dy;
+		if( px < 0 || px >= width || py < 0 || py >= height ) {
+			for( int d = 0; d < D; d++ )
+				L[d] = cost[index+d];
+			return L;
+		}
+
+		int prev[] = pathCost(cost,px,py,dx,dy);
+		int minPrev = Integer.MAX_VALUE;
+		for( int d = 0; d < D; d++ )
+			minPrev = Math.min(minPrev,prev[d]);
+
+		for( int d = 0; d < D; d++ ) {
+			int best = Math.min(prev[d],minPrev+penaltyLarge);
+			if( d > 0 )
+				best = Math.min(best,prev[d-1]+penaltySmall);
+			if( d < D-1 )
+				best = Math.min(best,prev[d+1]+penaltySmall);
+			L[d] = cost[index+d] + best - minPrev;
+		}
+		return L;
+	}
+}
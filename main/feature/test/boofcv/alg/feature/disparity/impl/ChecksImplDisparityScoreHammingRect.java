@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSInt64;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Compares algorithms which process census images against a simplistic implementation which uses the
+ * Hamming distance.
+ *
+ * @author Peter Abeles
+ */
+public abstract class ChecksImplDisparityScoreHammingRect<Image extends ImageSingleBand>
+		extends ChecksImplDisparityScoreSadRect<Image,ImageUInt8>
+{
+	public ChecksImplDisparityScoreHammingRect(Class<Image> imageType) {
+		super(imageType, ImageUInt8.class);
+	}
+
+	/**
+	 * Only the gradient check is used since Hamming distance between raw image values doesn't increase with
+	 * the change in disparity, which {@link BasicDisparityTests#checkMinimumDisparity()} assumes.
+	 */
+	@Override
+	protected void runBasicChecks(BasicDisparityTests<Image, ImageUInt8> checks) {
+		checks.checkGradient();
+	}
+
+	@Override
+	protected StereoDisparityWtoNaive<Image> createNaive(int minDisparity, int maxDisparity, int radiusX, int radiusY) {
+		return new StereoDisparityWtoNaive<Image>(minDisparity,maxDisparity,radiusX,radiusY) {
+			@Override
+			protected double computeScore(int leftX, int rightX, int centerY) {
+				int ret = 0;
+				for( int y = -radiusY; y <= radiusY; y++ ) {
+					for( int x = -radiusX; x <= radiusX; x++ ) {
+						if( imageLeft instanceof ImageSInt32 ) {
+							int l = ((ImageSInt32)imageLeft).get(leftX+x,centerY+y);
+							int r = ((ImageSInt32)imageRight).get(rightX+x,centerY+y);
+							ret += Integer.bitCount(l^r);
+						} else {
+							long l = ((ImageSInt64)imageLeft).get(leftX+x,centerY+y);
+							long r = ((ImageSInt64)imageRight).get(rightX+x,centerY+y);
+							ret += Long.bitCount(l^r);
+						}
+					}
+				}
+				return ret;
+			}
+		};
+	}
+}
@@ -23,9 +23,7 @@ import boofcv.alg.feature.disparity.DisparitySelect;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageSInt16;
 import boofcv.struct.image.ImageSingleBand;
-import boofcv.struct.image.ImageUInt8;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
@@ -46,16 +44,23 @@ public abstract class ChecksImplDisparityScoreSadRect<Image extends ImageSingleB
 		this.imageType = imageType;
 		this.disparityType = disparityType;
 
-		if( imageType == ImageUInt8.class || imageType == ImageSInt16.class ) {
-			compDisp = (DisparitySelect)new ImplSelectRectBasicWta_S32_U8();
-		} else {
+		if( imageType == ImageFloat32.class ) {
 			compDisp = (DisparitySelect)new ImplSelectRectBasicWta_F32_U8();
+		} else {
+			compDisp = (DisparitySelect)new ImplSelectRectBasicWta_S32_U8();
 		}
 	}
 
 	protected abstract DisparityScoreSadRect<Image,Disparity>
 	createAlg( int minDisparity , int maxDisparity , int radiusX, int radiusY, DisparitySelect compDisp);
 
+	/**
+	 * Creates a simplistic implementation which the algorithm is compared against
+	 */
+	protected StereoDisparityWtoNaive<Image> createNaive( int minDisparity , int maxDisparity , int radiusX, int radiusY ) {
+		return new StereoDisparityWtoNaive<Image>(minDisparity,maxDisparity,radiusX,radiusY);
+	}
+
 	/**
 	 * Basic generic disparity calculation tests
 	 */
@@ -85,7 +90,14 @@ public abstract class ChecksImplDisparityScoreSadRect<Image extends ImageSingleB
 					@Override public int getBorderY() { return 4; }
 				};
 
-		alg.allChecks();
+		runBasicChecks(alg);
+	}
+
+	/**
+	 * Runs the basic checks which are applicable to this algorithm
+	 */
+	protected void runBasicChecks( BasicDisparityTests<Image,Disparity> checks ) {
+		checks.allChecks();
 	}
 
 	/**
@@ -122,8 +134,7 @@ public abstract class ChecksImplDisparityScoreSadRect<Image extends ImageSingleB
 		int h = left.height;
 
 		DisparityScoreSadRect<Image,Disparity> alg = createAlg(minDisparity,maxDisparity,radiusX,radiusY,compDisp);
-		StereoDisparityWtoNaive<Image> naive =
-				new StereoDisparityWtoNaive<Image>(minDisparity,maxDisparity,radiusX,radiusY);
+		StereoDisparityWtoNaive<Image> naive = createNaive(minDisparity,maxDisparity,radiusX,radiusY);
 
 		Disparity found = GeneralizedImageOps.createSingleBand(disparityType,w,h);
 		ImageFloat32 expected = new ImageFloat32(w,h);
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.impl;
+
+import boofcv.alg.feature.disparity.SgmDisparityCost;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplSgmCostCensus_U8 {
+
+	Random rand = new Random(234);
+
+	int width = 20;
+	int height = 15;
+
+	@Test
+	public void process() {
+		ImageUInt8 left = new ImageUInt8(width,height);
+		ImageUInt8 right = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(left, rand, 0, 100);
+		ImageMiscOps.fillUniform(right, rand, 0, 100);
+
+		int minDisparity = 2;
+		int D = 6;
+		int row0 = 3, row1 = 7;
+		int offset = 10;
+
+		ImplSgmCostCensus_U8 alg = new ImplSgmCostCensus_U8();
+		alg.setImages(left,right);
+		ImageSInt32 censusLeft = alg.getCensusLeft();
+		ImageSInt32 censusRight = alg.getCensusRight();
+
+		short cost[] = new short[offset+(row1-row0)*width*D];
+		alg.process(minDisparity,D,row0,row1,cost,offset);
+
+		for( int y = row0; y < row1; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				for( int i = 0; i < D; i++ ) {
+					int xr = x-minDisparity-i;
+					int expected;
+					if( xr < 0 )
+						expected = SgmDisparityCost.MAX_COST;
+					else
+						expected = ImplSgmCostCensus_U8.SCALE*
+								Integer.bitCount(censusLeft.get(x,y)^censusRight.get(xr,y));
+					assertEquals(expected,cost[offset+((y-row0)*width+x)*D+i]);
+				}
+			}
+		}
+	}
+}
@@ -21,13 +21,19 @@ package boofcv.alg.feature.line;
 import boofcv.abst.feature.detect.extract.ConfigExtract;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.alg.feature.detect.line.HoughTransformLineFootOfNorm;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.struct.FastQueue;
 import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
 import georegression.struct.line.LineParametric2D_F32;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 
 
@@ -75,4 +81,53 @@ public class TestHoughTransformLineFootOfNorm {
 		assertEquals(0,Math.abs(l.slope.x),0);
 		assertEquals(1,Math.abs(l.slope.y), 0.1);
 	}
+
+	/**
+	 * The transform and found lines should be the same when computed in parallel
+	 */
+	@Test
+	public void concurrent() {
+		int before = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		try {
+			concurrent(ImageFloat32.class);
+			concurrent(ImageSInt16.class);
+			concurrent(ImageSInt32.class);
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
+
+	private <D extends ImageSingleBand> void concurrent( Class<D> derivType ) {
+		Random rand = new Random(234);
+		int width = 200, height = 150;
+		ImageUInt8 binary = new ImageUInt8(width,height);
+		D derivX = GeneralizedImageOps.createSingleBand(derivType, width, height);
+		D derivY = GeneralizedImageOps.createSingleBand(derivType, width, height);
+		ImageMiscOps.fillUniform(binary,rand,0,2);
+		GImageMiscOps.fillUniform(derivX,rand,-100,100);
+		GImageMiscOps.fillUniform(derivY,rand,-100,100);
+
+		HoughTransformLineFootOfNorm expected = new HoughTransformLineFootOfNorm(
+				FactoryFeatureExtractor.nonmaxCandidate(new ConfigExtract(4, 2, 0, false)),2);
+		HoughTransformLineFootOfNorm alg = new HoughTransformLineFootOfNorm(
+				FactoryFeatureExtractor.nonmaxCandidate(new ConfigExtract(4, 2, 0, false)),2);
+		alg.setConcurrent(true);
+
+		for( int trial = 0; trial < 2; trial++ ) {
+			expected.transform(derivX,derivY,binary);
+			alg.transform(derivX,derivY,binary);
+
+			BoofTesting.assertEquals(expected.getTransform(),alg.getTransform(),1e-8);
+
+			FastQueue<LineParametric2D_F32> linesA = expected.extractLines();
+			FastQueue<LineParametric2D_F32> linesB = alg.extractLines();
+
+			assertEquals(linesA.size(),linesB.size());
+			for( int i = 0; i < linesA.size(); i++ ) {
+				assertEquals(linesA.get(i).p.x,linesB.get(i).p.x,1e-8);
+				assertEquals(linesA.get(i).p.y,linesB.get(i).p.y,1e-8);
+			}
+		}
+	}
 }
@@ -21,12 +21,20 @@ package boofcv.alg.feature.line;
 import boofcv.abst.feature.detect.extract.ConfigExtract;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.alg.feature.detect.line.HoughTransformLinePolar;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.struct.FastQueue;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
 import georegression.struct.line.LineParametric2D_F32;
 import org.junit.Test;
 
+import java.util.Random;
+
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -66,4 +74,108 @@ public class TestHoughTransformLinePolar {
 			assertEquals(Math.abs(l.slope.y),1,0.1);
 		}
 	}
+
+	/**
+	 * Only vote for angles close to the gradient's orientation
+	 */
+	@Test
+	public void obviousLines_angleTolerance() {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		ImageSInt16 derivX = new ImageSInt16(width,height);
+		ImageSInt16 derivY = new ImageSInt16(width,height);
+
+		for( int i = 0; i < height; i++ ) {
+			image.set(5,i,1);
+			derivX.set(5,i,20);
+		}
+
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(4,5,0, true));
+		HoughTransformLinePolar alg = new HoughTransformLinePolar(extractor,40,180);
+		alg.setAngleTolerance(Math.PI/36);
+
+		alg.transform(image,derivX,derivY);
+
+		FastQueue<LineParametric2D_F32> lines =  alg.extractLines();
+
+		assertTrue(lines.size() > 0);
+
+		for( int i = 0; i < lines.size(); i++ ) {
+			LineParametric2D_F32 l = lines.get(i);
+			assertEquals(l.p.x,5,0.1);
+			assertEquals(Math.abs(l.slope.x),0,1e-4);
+			assertEquals(Math.abs(l.slope.y),1,0.1);
+		}
+
+		// angles far from vertical lines should have no votes
+		ImageFloat32 transform = alg.getTransform();
+		for( int y = 10; y < 170; y++ ) {
+			for( int x = 0; x < transform.width; x++ ) {
+				assertEquals(0,transform.get(x,y),1e-8);
+			}
+		}
+	}
+
+	/**
+	 * When the window covers every angle it should be the same as not using the gradient
+	 */
+	@Test
+	public void angleTolerance_everyAngle() {
+		Random rand = new Random(234);
+		ImageUInt8 image = new ImageUInt8(width,height);
+		ImageSInt16 derivX = new ImageSInt16(width,height);
+		ImageSInt16 derivY = new ImageSInt16(width,height);
+		ImageMiscOps.fillUniform(image,rand,0,2);
+		ImageMiscOps.fillUniform(derivX,rand,-100,100);
+		ImageMiscOps.fillUniform(derivY,rand,-100,100);
+
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(4,5,0, true));
+		HoughTransformLinePolar expected = new HoughTransformLinePolar(extractor,40,180);
+		HoughTransformLinePolar alg = new HoughTransformLinePolar(extractor,40,180);
+		alg.setAngleTolerance(Math.PI);
+
+		expected.transform(image);
+		alg.transform(image,derivX,derivY);
+
+		BoofTesting.assertEquals(expected.getTransform(),alg.getTransform(),1e-8);
+	}
+
+	/**
+	 * The transform should be the same when computed in parallel
+	 */
+	@Test
+	public void concurrent() {
+		int before = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		try {
+			Random rand = new Random(234);
+			ImageUInt8 image = new ImageUInt8(200,150);
+			ImageSInt16 derivX = new ImageSInt16(200,150);
+			ImageSInt16 derivY = new ImageSInt16(200,150);
+			ImageMiscOps.fillUniform(image,rand,0,2);
+			ImageMiscOps.fillUniform(derivX,rand,-100,100);
+			ImageMiscOps.fillUniform(derivY,rand,-100,100);
+
+			NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(new ConfigExtract(4,5,0, true));
+			HoughTransformLinePolar expected = new HoughTransformLinePolar(extractor,100,180);
+			HoughTransformLinePolar alg = new HoughTransformLinePolar(extractor,100,180);
+			alg.setConcurrent(true);
+
+			// process it twice to make sure the votes are reset
+			for( int i = 0; i < 2; i++ ) {
+				expected.transform(image);
+				alg.transform(image);
+				BoofTesting.assertEquals(expected.getTransform(),alg.getTransform(),1e-8);
+			}
+
+			expected.setAngleTolerance(0.2);
+			alg.setAngleTolerance(0.2);
+			for( int i = 0; i < 2; i++ ) {
+				expected.transform(image,derivX,derivY);
+				alg.transform(image,derivX,derivY);
+				BoofTesting.assertEquals(expected.getTransform(),alg.getTransform(),1e-8);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(before);
+		}
+	}
 }
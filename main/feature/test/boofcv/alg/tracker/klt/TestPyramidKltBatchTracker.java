@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.tracker.klt;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.tracker.FactoryTrackerAlg;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidKltBatchTracker {
+
+	Random rand = new Random(234);
+
+	int width = 160;
+	int height = 120;
+	int radius = 3;
+
+	KltConfig config = KltConfig.createDefault();
+
+	PyramidDiscrete<ImageFloat32> pyramid;
+	ImageFloat32[] derivX;
+	ImageFloat32[] derivY;
+
+	public TestPyramidKltBatchTracker() {
+		ImageFloat32 noise = new ImageFloat32(width,height);
+		ImageFloat32 image = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(noise, rand, 0, 255);
+		BlurImageOps.gaussian(noise, image, -1, 2, null);
+
+		pyramid = FactoryPyramid.discreteGaussian(new int[]{1,2,4},-1,2,false,ImageFloat32.class);
+		pyramid.process(image);
+
+		derivX = PyramidOps.declareOutput(pyramid,ImageFloat32.class);
+		derivY = PyramidOps.declareOutput(pyramid,ImageFloat32.class);
+
+		ImageGradient<ImageFloat32,ImageFloat32> gradient = FactoryDerivative.sobel(ImageFloat32.class,ImageFloat32.class);
+		PyramidOps.gradient(pyramid,gradient,derivX,derivY);
+	}
+
+	/**
+	 * The results should be identical to tracking each feature individually using {@link PyramidKltTracker}.
+	 * Features are then removed and reordered, which should not affect the results.
+	 */
+	@Test
+	public void compareToPyramidKlt() {
+		compareToPyramidKlt(false);
+	}
+
+	/**
+	 * Results in concurrent mode should be identical too
+	 */
+	@Test
+	public void concurrent() {
+		int maxThreads = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			compareToPyramidKlt(true);
+		} finally {
+			BoofConcurrency.setMaxThreads(maxThreads);
+		}
+	}
+
+	private void compareToPyramidKlt( boolean concurrent ) {
+		PyramidKltTracker<ImageFloat32,ImageFloat32> single =
+				FactoryTrackerAlg.kltPyramid(config, ImageFloat32.class, ImageFloat32.class);
+		PyramidKltBatchTracker<ImageFloat32,ImageFloat32> batch =
+				FactoryTrackerAlg.kltPyramidBatch(config, radius, concurrent, ImageFloat32.class, ImageFloat32.class);
+
+		single.setImage(pyramid,derivX,derivY);
+		batch.setImage(pyramid,derivX,derivY);
+
+		// features are spread across the image, including close to the border
+		List<PyramidKltFeature> expected = new ArrayList<PyramidKltFeature>();
+		List<PyramidKltFeature> found = new ArrayList<PyramidKltFeature>();
+		for( int i = 0; i < 300; i++ ) {
+			float x = rand.nextFloat()*(width-2*radius) + radius;
+			float y = rand.nextFloat()*(height-2*radius) + radius;
+
+			expected.add(createFeature(x, y));
+			found.add(createFeature(x, y));
+			single.setDescription(expected.get(i));
+		}
+		batch.setDescription(found);
+
+		for( int i = 0; i < expected.size(); i++ ) {
+			assertEquals(expected.get(i).maxLayer,found.get(i).maxLayer);
+			assertTrue(found.get(i).batchIndex >= 0);
+		}
+
+		List<KltTrackFault> faults = new ArrayList<KltTrackFault>();
+		for( int trial = 0; trial < 3; trial++ ) {
+			// move the features away from their true location
+			for( int i = 0; i < expected.size(); i++ ) {
+				float dx = (rand.nextFloat()-0.5f)*8;
+				float dy = (rand.nextFloat()-0.5f)*8;
+				PyramidKltFeature e = expected.get(i);
+				PyramidKltFeature f = found.get(i);
+				e.setPosition(e.x+dx,e.y+dy);
+				f.setPosition(e.x,e.y);
+			}
+
+			batch.track(found,faults);
+			assertEquals(expected.size(),faults.size());
+
+			int numSuccess = 0;
+			for( int i = 0; i < expected.size(); i++ ) {
+				PyramidKltFeature e = expected.get(i);
+				PyramidKltFeature f = found.get(i);
+				KltTrackFault fault = single.track(e);
+
+				assertTrue(fault == faults.get(i));
+				assertEquals(e.x,f.x,0);
+				assertEquals(e.y,f.y,0);
+				assertEquals(e.maxLayer,f.maxLayer);
+				if( fault == KltTrackFault.SUCCESS )
+					numSuccess++;
+			}
+			assertTrue(numSuccess > expected.size()/2);
+
+			// remove some features and change the order
+			for( int i = expected.size()-1; i >= 0; i -= 5 ) {
+				expected.remove(i);
+				found.remove(i);
+			}
+			long seed = rand.nextLong();
+			Collections.shuffle(expected,new Random(seed));
+			Collections.shuffle(found,new Random(seed));
+		}
+	}
+
+	/**
+	 * Features are dropped and new ones spawned many times.  Released slots should be reused so that storage
+	 * doesn't grow and the new features should be described correctly.
+	 */
+	@Test
+	public void releaseSlot_respawn() {
+		PyramidKltTracker<ImageFloat32,ImageFloat32> single =
+				FactoryTrackerAlg.kltPyramid(config, ImageFloat32.class, ImageFloat32.class);
+		PyramidKltBatchTracker<ImageFloat32,ImageFloat32> batch =
+				FactoryTrackerAlg.kltPyramidBatch(config, radius, false, ImageFloat32.class, ImageFloat32.class);
+
+		single.setImage(pyramid,derivX,derivY);
+		batch.setImage(pyramid,derivX,derivY);
+
+		List<PyramidKltFeature> expected = new ArrayList<PyramidKltFeature>();
+		List<PyramidKltFeature> found = new ArrayList<PyramidKltFeature>();
+		spawn(50, single, batch, expected, found);
+		assertEquals(50,batch.getNumSlots());
+
+		List<KltTrackFault> faults = new ArrayList<KltTrackFault>();
+		for( int trial = 0; trial < 20; trial++ ) {
+			// drop some features
+			for( int i = 0; i < 10; i++ ) {
+				int index = rand.nextInt(found.size());
+				expected.remove(index);
+				batch.releaseSlot(found.remove(index));
+			}
+			spawn(10, single, batch, expected, found);
+			assertEquals(50,batch.getNumSlots());
+
+			batch.track(found,faults);
+			for( int i = 0; i < expected.size(); i++ ) {
+				PyramidKltFeature e = expected.get(i);
+				PyramidKltFeature f = found.get(i);
+				assertTrue(single.track(e) == faults.get(i));
+				assertEquals(e.x,f.x,0);
+				assertEquals(e.y,f.y,0);
+			}
+		}
+	}
+
+	private void spawn( int total ,
+						PyramidKltTracker<ImageFloat32,ImageFloat32> single ,
+						PyramidKltBatchTracker<ImageFloat32,ImageFloat32> batch ,
+						List<PyramidKltFeature> expected , List<PyramidKltFeature> found ) {
+		List<PyramidKltFeature> spawned = new ArrayList<PyramidKltFeature>();
+		for( int i = 0; i < total; i++ ) {
+			float x = rand.nextFloat()*(width-2*radius) + radius;
+			float y = rand.nextFloat()*(height-2*radius) + radius;
+
+			PyramidKltFeature e = createFeature(x, y);
+			single.setDescription(e);
+			expected.add(e);
+			spawned.add(createFeature(x, y));
+		}
+		batch.setDescription(spawned);
+		found.addAll(spawned);
+	}
+
+	private PyramidKltFeature createFeature( float x , float y ) {
+		PyramidKltFeature f = new PyramidKltFeature(pyramid.getNumLayers(),radius);
+		f.setPosition(x,y);
+		return f;
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.feature.detect.interest;
+
+import boofcv.abst.feature.detect.interest.ConfigFast;
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFactoryDetectPoint {
+
+	/**
+	 * createFast creates its own configuration for the extractor.  Make sure bucketing is still turned on
+	 */
+	@Test
+	public void createFast_bucket() {
+		ConfigGeneralDetector config = new ConfigGeneralDetector(200,2,10);
+		config.bucketWidth = 20;
+		config.maxPerBucket = 3;
+
+		GeneralFeatureDetector<ImageUInt8,ImageFloat32> alg =
+				FactoryDetectPoint.createFast(new ConfigFast(),config,ImageUInt8.class);
+
+		assertTrue(alg.getSelectBucket() != null);
+
+		config = new ConfigGeneralDetector(200,2,10);
+		alg = FactoryDetectPoint.createFast(new ConfigFast(),config,ImageUInt8.class);
+		assertNull(alg.getSelectBucket());
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo;
+
+import boofcv.misc.BenchmarkRegressionRunner;
+
+/**
+ * Regression suite for the performance critical geometric vision operations.  See {@link BenchmarkRegressionRunner}.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkRegressionGeo {
+
+	public static Class[] benchmarks = new Class[]{
+			BenchmarkRuntimePose.class,
+			BenchmarkRuntimeRefineHomography.class};
+
+	public static void main( String args[] ) {
+		BenchmarkRegressionRunner.run(args,benchmarks);
+	}
+}
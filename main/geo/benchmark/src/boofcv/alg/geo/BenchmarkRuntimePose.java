@@ -20,12 +20,11 @@ package boofcv.alg.geo;
 
 import boofcv.abst.geo.Estimate1ofPnP;
 import boofcv.alg.geo.pose.PnPLepetitEPnP;
-import boofcv.alg.geo.pose.PoseFromPairLinear6;
 import boofcv.factory.geo.EnumPNP;
 import boofcv.factory.geo.FactoryMultiView;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.geo.Point2D3D;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
 import georegression.struct.se.Se3_F64;
 
 import java.util.ArrayList;
@@ -34,87 +33,59 @@ import java.util.List;
 /**
  * @author Peter Abeles
  */
-public class BenchmarkRuntimePose extends ArtificialStereoScene {
-	static final long TEST_TIME = 1000;
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkRuntimePose extends SimpleBenchmark {
 	static final int NUM_POINTS = 5;
 	static final boolean FUNDAMENTAL = false;
 
-	Se3_F64 found = new Se3_F64();
-
-	public class EPnP extends PerformerBase {
-
-		PnPLepetitEPnP alg;
+	ArtificialStereoScene scene = new ArtificialStereoScene();
 
-		public EPnP( int numIterations ) {
-			alg = new PnPLepetitEPnP();
-			alg.setNumIterations(numIterations);
-		}
-
-		@Override
-		public void process() {
-			alg.process(worldPoints,observationCurrent,found);
-		}
-	}
-
-	public class InterfacePNP extends PerformerBase {
-
-		Estimate1ofPnP alg;
-		String name;
+	Se3_F64 found = new Se3_F64();
 
-		List<Point2D3D> obs = new ArrayList<Point2D3D>();
+	PnPLepetitEPnP epnp0 = new PnPLepetitEPnP();
+	PnPLepetitEPnP epnp5 = new PnPLepetitEPnP();
+	Estimate1ofPnP grunert = FactoryMultiView.computePnP_1(EnumPNP.P3P_GRUNERT,-1,1);
+	Estimate1ofPnP finster = FactoryMultiView.computePnP_1(EnumPNP.P3P_FINSTERWALDER,-1,1);
 
-		public InterfacePNP(String name , Estimate1ofPnP alg) {
-			this.alg = alg;
-			this.name = name;
+	List<Point2D3D> obs = new ArrayList<Point2D3D>();
 
-			for( int i = 0; i < alg.getMinimumPoints(); i++ )
-				obs.add(observationPose.get(i));
-		}
+	public BenchmarkRuntimePose() {
+		scene.init(NUM_POINTS, FUNDAMENTAL, false);
 
-		@Override
-		public void process() {
-			alg.process(obs,found);
-		}
+		epnp0.setNumIterations(0);
+		epnp5.setNumIterations(5);
 
-		@Override
-		public String getName() {
-			return name;
-		}
+		for( int i = 0; i < grunert.getMinimumPoints(); i++ )
+			obs.add(scene.observationPose.get(i));
 	}
 
-
-	public class PairLinear extends PerformerBase {
-
-		PoseFromPairLinear6 alg = new PoseFromPairLinear6();
-
-		@Override
-		public void process() {
-			alg.process(pairs,worldPoints);
-		}
+	public int timeEPnP_0(int reps) {
+		for( int i = 0; i < reps; i++ )
+			epnp0.process(scene.worldPoints,scene.observationCurrent,found);
+		return 0;
 	}
-	
-	public void runAll() {
-		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
-		System.out.println();
-
-		init(NUM_POINTS, FUNDAMENTAL, false);
 
-		Estimate1ofPnP grunert = FactoryMultiView.computePnP_1(EnumPNP.P3P_GRUNERT,-1,1);
-		Estimate1ofPnP finster = FactoryMultiView.computePnP_1(EnumPNP.P3P_FINSTERWALDER,-1,1);
+	public int timeEPnP_5(int reps) {
+		for( int i = 0; i < reps; i++ )
+			epnp5.process(scene.worldPoints,scene.observationCurrent,found);
+		return 0;
+	}
 
-		ProfileOperation.printOpsPerSec(new EPnP(0), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new EPnP(5), TEST_TIME);
-//		ProfileOperation.printOpsPerSec(new PairLinear(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new InterfacePNP("grunert",grunert), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new InterfacePNP("finster",finster), TEST_TIME);
+	public int timeGrunert(int reps) {
+		for( int i = 0; i < reps; i++ )
+			grunert.process(obs,found);
+		return 0;
+	}
 
-		System.out.println();
-		System.out.println("Done");
+	public int timeFinsterwalder(int reps) {
+		for( int i = 0; i < reps; i++ )
+			finster.process(obs,found);
+		return 0;
 	}
-	
+
 	public static void main( String args[] ) {
-		BenchmarkRuntimePose alg = new BenchmarkRuntimePose();
+		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
 
-		alg.runAll();
+		Runner.main(BenchmarkRuntimePose.class, args);
 	}
 }
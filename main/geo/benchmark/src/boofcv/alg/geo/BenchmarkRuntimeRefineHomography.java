@@ -22,11 +22,10 @@ import boofcv.abst.geo.Estimate1ofEpipolar;
 import boofcv.alg.geo.h.HomographyLinear4;
 import boofcv.factory.geo.EpipolarError;
 import boofcv.factory.geo.FactoryMultiView;
-import boofcv.misc.Performer;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.geo.AssociatedPair;
 import boofcv.struct.geo.GeoModelRefine;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
 import org.ejml.data.DenseMatrix64F;
 
 import static boofcv.factory.geo.FactoryMultiView.refineHomography;
@@ -34,73 +33,53 @@ import static boofcv.factory.geo.FactoryMultiView.refineHomography;
 /**
  * @author Peter Abeles
  */
-public class BenchmarkRuntimeRefineHomography extends ArtificialStereoScene{
-	static final long TEST_TIME = 1000;
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkRuntimeRefineHomography extends SimpleBenchmark {
 	static final int NUM_POINTS = 500;
 	static final boolean PIXELS = false;
-	
-	protected DenseMatrix64F initialF;
-	DenseMatrix64F refinedF = new DenseMatrix64F(3,3);
-
-	public class Refine implements Performer {
-
-		GeoModelRefine<DenseMatrix64F,AssociatedPair> alg;
-		String name;
-
-		public Refine(String name ,GeoModelRefine<DenseMatrix64F,AssociatedPair> alg) {
-			this.name = name;
-			this.alg = alg;
-		}
-
-		@Override
-		public void process() {
-			alg.process(initialF, pairs, refinedF);
-		}
-
-		@Override
-		public String getName() {
-			return name;
-		}
-	}
-
-	public class Linear4 extends PerformerBase {
+	static final double tol = 1e-16;
+	static final int MAX_ITER = 200;
 
-		HomographyLinear4 alg = new HomographyLinear4(true);
+	ArtificialStereoScene scene = new ArtificialStereoScene();
 
-		@Override
-		public void process() {
-			alg.process(pairs,refinedF);
-		}
-	}
-	
-	public void runAll() {
-		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
-		System.out.println();
+	DenseMatrix64F initialF = new DenseMatrix64F(3,3);
+	DenseMatrix64F refinedF = new DenseMatrix64F(3,3);
 
-		double tol = 1e-16;
-		int MAX_ITER = 200;
+	GeoModelRefine<DenseMatrix64F,AssociatedPair> simple = refineHomography(tol, MAX_ITER, EpipolarError.SIMPLE);
+	GeoModelRefine<DenseMatrix64F,AssociatedPair> sampson = refineHomography(tol, MAX_ITER, EpipolarError.SAMPSON);
+	HomographyLinear4 linear4 = new HomographyLinear4(true);
 
-		init(NUM_POINTS, PIXELS, true);
+	public BenchmarkRuntimeRefineHomography() {
+		scene.init(NUM_POINTS, PIXELS, true);
 
 		Estimate1ofEpipolar computeAlg = FactoryMultiView.computeHomography(true);
-		computeAlg.process(pairs,initialF);
+		computeAlg.process(scene.pairs,initialF);
 		initialF.data[0] += 0.1;
 		initialF.data[4] -= 0.15;
 		initialF.data[7] -= 0.2;
+	}
 
+	public int timeRefineSimple(int reps) {
+		for( int i = 0; i < reps; i++ )
+			simple.process(initialF, scene.pairs, refinedF);
+		return 0;
+	}
 
-		ProfileOperation.printOpsPerSec(new Refine("Simple",refineHomography(tol, MAX_ITER, EpipolarError.SIMPLE)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Refine("Sampson",refineHomography(tol, MAX_ITER, EpipolarError.SAMPSON)), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Linear4(), TEST_TIME);
+	public int timeRefineSampson(int reps) {
+		for( int i = 0; i < reps; i++ )
+			sampson.process(initialF, scene.pairs, refinedF);
+		return 0;
+	}
 
-		
-		System.out.println();
-		System.out.println("Done");
+	public int timeLinear4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			linear4.process(scene.pairs,refinedF);
+		return 0;
 	}
-	
+
 	public static void main( String args[] ) {
-		BenchmarkRuntimeRefineHomography alg = new BenchmarkRuntimeRefineHomography();
+		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
 
-		alg.runAll();
+		Runner.main(BenchmarkRuntimeRefineHomography.class, args);
 	}
 }
@@ -19,6 +19,8 @@
 package boofcv.abst.feature.tracker;
 
 import boofcv.abst.feature.detdesc.DetectDescribePoint;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.FastQueue;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageSingleBand;
@@ -34,7 +36,7 @@ import georegression.struct.point.Point2D_F64;
  * @author Peter Abeles
  */
 public class DdaManagerDetectDescribePoint<I extends ImageSingleBand, Desc extends TupleDesc>
-		implements DdaFeatureManager<I, Desc> {
+		implements DdaFeatureManager<I, Desc>, ProfileStages {
 
 	// Feature detector and describer
 	protected DetectDescribePoint<I, Desc> detDesc;
@@ -74,4 +76,9 @@ public class DdaManagerDetectDescribePoint<I extends ImageSingleBand, Desc exten
 		return detDesc.getDescriptionType();
 	}
 
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		if( detDesc instanceof ProfileStages )
+			((ProfileStages)detDesc).setStageProfiler(profiler);
+	}
 }
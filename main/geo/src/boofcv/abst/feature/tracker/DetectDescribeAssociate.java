@@ -19,6 +19,9 @@
 package boofcv.abst.feature.tracker;
 
 import boofcv.abst.feature.associate.AssociateDescription2D;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
+import boofcv.misc.StageTimer;
 import boofcv.struct.FastQueue;
 import boofcv.struct.feature.AssociatedIndex;
 import boofcv.struct.feature.TupleDesc;
@@ -38,7 +41,7 @@ import java.util.List;
  * @author Peter Abeles
  */
 public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends TupleDesc>
-		implements PointTracker<I>, ExtractTrackDescription<Desc> {
+		implements PointTracker<I>, ExtractTrackDescription<Desc>, ProfileStages {
 
 	// associates features between two images together
 	protected AssociateDescription2D<Desc> associate;
@@ -79,6 +82,9 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 	// indicates if a feature was associated or not
 	protected boolean isAssociated[] = new boolean[1];
 
+	// reports how long each stage takes
+	protected StageTimer timer = new StageTimer(this);
+
 	/**
 	 * Configures tracker
 	 *
@@ -131,12 +137,17 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 		featDst.reset();
 		locDst.reset();
 
+		timer.start();
 		manager.detectFeatures(input, locDst, featDst);
+		timer.stop("detectDescribe");
+		timer.count("detected",featDst.size);
 
 		// skip if there are no features
 		if( !tracksAll.isEmpty() ) {
 
 			performTracking();
+			timer.stop("associate");
+			timer.count("associated",matches.size);
 
 			// add unassociated to the list
 			for( int i = 0; i < tracksAll.size(); i++ ) {
@@ -371,4 +382,11 @@ public class DetectDescribeAssociate<I extends ImageSingleBand, Desc extends Tup
 	public Class<Desc> getDescriptionType() {
 		return manager.getDescriptionType();
 	}
+
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		timer.setProfiler(profiler);
+		if( manager instanceof ProfileStages )
+			((ProfileStages)manager).setStageProfiler(profiler);
+	}
 }
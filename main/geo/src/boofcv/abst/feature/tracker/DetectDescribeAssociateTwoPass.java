@@ -69,7 +69,10 @@ public class DetectDescribeAssociateTwoPass<I extends ImageSingleBand, Desc exte
 		featDst.reset();
 		locDst.reset();
 
+		timer.start();
 		manager.detectFeatures(input, locDst, featDst);
+		timer.stop("detectDescribe");
+		timer.count("detected",featDst.size);
 
 		// skip if there are no features
 		if( !tracksAll.isEmpty() ) {
@@ -80,6 +83,8 @@ public class DetectDescribeAssociateTwoPass<I extends ImageSingleBand, Desc exte
 			associate.associate();
 
 			updateTrackLocation(associate.getMatches());
+			timer.stop("associate");
+			timer.count("associated",associate.getMatches().size);
 		}
 	}
 
@@ -94,10 +99,12 @@ public class DetectDescribeAssociateTwoPass<I extends ImageSingleBand, Desc exte
 			sourceSet2 = true;
 			associate.setSource(locSrc, featSrc);
 		}
+		timer.start();
 		associate2.setDestination(locDst, featDst);
 		associate2.associate();
 
 		updateTrackLocation(associate2.getMatches());
+		timer.stop("associateSecondPass");
 	}
 
 	@Override
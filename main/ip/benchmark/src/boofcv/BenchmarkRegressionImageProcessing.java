@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv;
+
+import boofcv.alg.distort.BenchmarkImageDistort;
+import boofcv.alg.filter.convolve.BenchmarkConvolve;
+import boofcv.alg.filter.convolve.BenchmarkConvolveWithBorder;
+import boofcv.alg.filter.derivative.BenchmarkImageDerivative;
+import boofcv.alg.interpolate.BenchmarkInterpolatePixel;
+import boofcv.misc.BenchmarkRegressionRunner;
+
+/**
+ * Regression suite for the performance critical image processing operations.  See {@link BenchmarkRegressionRunner}.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkRegressionImageProcessing {
+
+	public static Class[] benchmarks = new Class[]{
+			BenchmarkConvolve.class,
+			BenchmarkConvolveWithBorder.class,
+			BenchmarkImageDerivative.class,
+			BenchmarkInterpolatePixel.class,
+			BenchmarkImageDistort.class};
+
+	public static void main( String args[] ) {
+		BenchmarkRegressionRunner.run(args,benchmarks);
+	}
+}
@@ -19,17 +19,16 @@
 package boofcv.alg.distort;
 
 import boofcv.alg.interpolate.InterpolatePixel;
-import boofcv.core.image.GeneralizedImageOps;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.core.image.border.BorderType;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.factory.distort.FactoryDistort;
 import boofcv.factory.interpolate.FactoryInterpolation;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.distort.PixelTransform_F32;
 import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageSingleBand;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
 import georegression.struct.homo.Homography2D_F32;
 
 import java.util.Random;
@@ -37,98 +36,58 @@ import java.util.Random;
 /**
  * @author Peter Abeles
  */
-public class BenchmarkImageDistort<T extends ImageSingleBand> {
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkImageDistort extends SimpleBenchmark {
 	public static final int imgWidth = 640;
 	public static final int imgHeight = 480;
 
-	public static final int TEST_TIME = 1000;
+	ImageFloat32 src_F32 = new ImageFloat32(imgWidth,imgHeight);
+	ImageFloat32 dst_F32 = new ImageFloat32(imgWidth,imgHeight);
 
-	Class<T> imageType;
-	
-	public T src_F32;
-	public T dst_F32;
+	ImageDistort<ImageFloat32> homography;
+	ImageDistort<ImageFloat32> map;
 
-	public BenchmarkImageDistort(Class<T> imageType) {
-		this.imageType = imageType;
-		src_F32 = GeneralizedImageOps.createSingleBand(imageType,imgWidth,imgHeight);
-		dst_F32 = GeneralizedImageOps.createSingleBand(imageType,imgWidth,imgHeight);
-	}
-
-	public class HomographyBilinear_F32 extends PerformerBase {
-		ImageDistort<T> alg;
-
-		public HomographyBilinear_F32(Homography2D_F32 affine) {
-			PixelTransform_F32 tran = new PixelTransformHomography_F32(affine);
-			InterpolatePixel<T> interp = FactoryInterpolation.bilinearPixel(imageType);
-			ImageBorder<T> border = FactoryImageBorder.general(imageType, BorderType.EXTENDED);
-			
-			alg = FactoryDistort.distort(interp, border, imageType);
-			alg.setModel(tran);
-		}
-
-		@Override
-		public void process() {
-			alg.apply(src_F32, dst_F32);
-		}
-	}
-
-	public class HomographyBilinearCrop_F32 extends PerformerBase {
-		ImageDistort<T> alg;
-
-		public HomographyBilinearCrop_F32(Homography2D_F32 affine) {
-			PixelTransform_F32 tran = new PixelTransformHomography_F32(affine);
-			InterpolatePixel<T> interp = FactoryInterpolation.bilinearPixel(imageType);
-			ImageBorder<T> border = FactoryImageBorder.general(imageType, BorderType.EXTENDED);
-
-			alg = FactoryDistort.distort(interp,border,imageType);
-			alg.setModel(tran);
-		}
-
-		@Override
-		public void process() {
-			alg.apply(src_F32, dst_F32,0,0,imgWidth,imgHeight);
-		}
-	}
-
-	public class MapBilinear_F32 extends PerformerBase {
-		ImageDistort<T> alg;
-
-		public MapBilinear_F32( Homography2D_F32 homography ) {
-			PixelTransform_F32 tran = new PixelTransformHomography_F32(homography);
-			InterpolatePixel<T> interp = FactoryInterpolation.bilinearPixel(imageType);
-			ImageBorder<T> border = FactoryImageBorder.general(imageType, BorderType.EXTENDED);
-
-			alg = FactoryDistort.distortCached(interp,border,imageType);
-			alg.setModel(tran);
-		}
-
-		@Override
-		public void process() {
-			alg.apply(src_F32, dst_F32,0,0,imgWidth,imgHeight);
-		}
-	}
-
-	private void benchmark() {
+	public BenchmarkImageDistort() {
 		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(src_F32, rand, 0, 200);
 
 		Homography2D_F32 affine = new Homography2D_F32((float)rand.nextGaussian(),(float)rand.nextGaussian(),
 				(float)rand.nextGaussian(),(float)rand.nextGaussian(),(float)rand.nextGaussian(),
 				(float)rand.nextGaussian(),(float)rand.nextGaussian(),(float)rand.nextGaussian(),
 				(float)rand.nextGaussian());
 
-		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
-		System.out.println();
+		PixelTransform_F32 tran = new PixelTransformHomography_F32(affine);
+		InterpolatePixel<ImageFloat32> interp = FactoryInterpolation.bilinearPixel(ImageFloat32.class);
+		ImageBorder<ImageFloat32> border = FactoryImageBorder.general(ImageFloat32.class, BorderType.EXTENDED);
+
+		homography = FactoryDistort.distort(interp, border, ImageFloat32.class);
+		homography.setModel(tran);
 
-		ProfileOperation.printOpsPerSec(new MapBilinear_F32(affine),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HomographyBilinear_F32(affine),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HomographyBilinearCrop_F32(affine),TEST_TIME);
+		map = FactoryDistort.distortCached(interp, border, ImageFloat32.class);
+		map.setModel(tran);
+	}
 
+	public int timeHomographyBilinear_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			homography.apply(src_F32, dst_F32);
+		return 0;
 	}
 
+	public int timeHomographyBilinearCrop_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			homography.apply(src_F32, dst_F32,0,0,imgWidth,imgHeight);
+		return 0;
+	}
+
+	public int timeMapBilinear_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			map.apply(src_F32, dst_F32,0,0,imgWidth,imgHeight);
+		return 0;
+	}
 
 	public static void main( String args[] ) {
-		BenchmarkImageDistort benchmark = new BenchmarkImageDistort(ImageFloat32.class);
+		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 
-		benchmark.benchmark();
+		Runner.main(BenchmarkImageDistort.class, args);
 	}
 }
@@ -19,153 +19,131 @@
 package boofcv.alg.filter.derivative;
 
 import boofcv.alg.filter.derivative.impl.HessianThree_Standard;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.border.*;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+
+import java.util.Random;
 
 /**
  * Benchmarks related to computing image derivatives
  * 
  * @author Peter Abeles
  */
-public class BenchmarkImageDerivative extends BenchmarkDerivativeBase {
-
-	public static class Sobel_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkImageDerivative extends SimpleBenchmark {
+	static int imgWidth = 640;
+	static int imgHeight = 480;
+
+	ImageBorder_I32 borderI32 = new ImageBorder1D_I32(BorderIndex1D_Extend.class);
+	ImageBorder_F32 borderF32 = new ImageBorder1D_F32(BorderIndex1D_Extend.class);
+
+	ImageUInt8 imgInt8 = new ImageUInt8(imgWidth,imgHeight);
+	ImageSInt16 derivX_I16 = new ImageSInt16(imgWidth,imgHeight);
+	ImageSInt16 derivY_I16 = new ImageSInt16(imgWidth,imgHeight);
+	ImageSInt16 derivXY_I16 = new ImageSInt16(imgWidth,imgHeight);
+	ImageFloat32 imgFloat32 = new ImageFloat32(imgWidth,imgHeight);
+	ImageFloat32 derivX_F32 = new ImageFloat32(imgWidth,imgHeight);
+	ImageFloat32 derivY_F32 = new ImageFloat32(imgWidth,imgHeight);
+	ImageFloat32 derivXY_F32 = new ImageFloat32(imgWidth,imgHeight);
+
+	public BenchmarkImageDerivative() {
+		Random rand = new Random(123);
+		GImageMiscOps.fillUniform(imgInt8, rand, 0, 100);
+		GImageMiscOps.fillUniform(imgFloat32,rand,0,100);
+	}
+
+	public int timeSobel_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
 			GradientSobel.process(imgInt8,derivX_I16,derivY_I16,borderI32);
-		}
+		return 0;
 	}
 
-	public static class Sobel_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
+	public int timeSobel_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
 			GradientSobel.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
-		}
+		return 0;
 	}
 
-	public static class DerivativeThree_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientThree.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
-		}
+	public int timeDerivativeThree_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GradientThree.process(imgInt8,derivX_I16,derivY_I16,borderI32);
+		return 0;
 	}
 
-	public static class DerivativeThree_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			GradientThree.process(imgInt8,derivX_I16,derivY_I16,borderI32);
-		}
+	public int timeDerivativeThree_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GradientThree.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
+		return 0;
 	}
 
-	public static class HessianThree_Std_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
+	public int timeHessianThree_Std_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
 			HessianThree_Standard.process(imgInt8,derivX_I16,derivY_I16,derivXY_I16);
-		}
+		return 0;
 	}
 
-	public static class HessianThree_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
+	public int timeHessianThree_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
 			HessianThree.process(imgInt8,derivX_I16,derivY_I16,derivXY_I16,borderI32);
-		}
+		return 0;
 	}
 
-	public static class HessianThree_Std_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
+	public int timeHessianThree_Std_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
 			HessianThree_Standard.process(imgFloat32,derivX_F32,derivY_F32,derivXY_F32);
-		}
+		return 0;
 	}
 
-	public static class HessianThree_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
+	public int timeHessianThree_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
 			HessianThree.process(imgFloat32,derivX_F32,derivY_F32,derivXY_F32,borderF32);
-		}
+		return 0;
 	}
 
-	public static class HessianSobel_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
+	public int timeHessianSobel_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
 			HessianSobel.process(imgInt8,derivX_I16,derivY_I16,derivXY_I16,borderI32);
-		}
+		return 0;
 	}
 
-	public static class HessianSobel_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
+	public int timeHessianSobel_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
 			HessianSobel.process(imgFloat32,derivX_F32,derivY_F32,derivXY_F32,borderF32);
-		}
+		return 0;
 	}
 
-	public static class LaplacianEdge_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			LaplacianEdge.process(imgFloat32,derivX_F32);
-		}
+	public int timeLaplacianEdge_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			LaplacianEdge.process(imgInt8,derivX_I16);
+		return 0;
 	}
 
-	public static class LaplacianEdge_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
-			LaplacianEdge.process(imgInt8,derivX_I16);
-		}
+	public int timeLaplacianEdge_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			LaplacianEdge.process(imgFloat32,derivX_F32);
+		return 0;
 	}
 
-	public static class Prewitt_I8 extends PerformerBase
-	{
-		@Override
-		public void process() {
+	public int timePrewitt_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
 			GradientPrewitt.process(imgInt8,derivX_I16,derivY_I16,borderI32);
-		}
+		return 0;
 	}
 
-	public static class Prewitt_F32 extends PerformerBase
-	{
-		@Override
-		public void process() {
+	public int timePrewitt_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
 			GradientPrewitt.process(imgFloat32,derivX_F32,derivY_F32,borderF32);
-		}
-	}
-
-	@Override
-	public void profile_I8() {
-		ProfileOperation.printOpsPerSec(new Sobel_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Prewitt_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new DerivativeThree_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HessianThree_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HessianSobel_I8(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new LaplacianEdge_I8(),TEST_TIME);
-	}
-
-	@Override
-	public void profile_F32() {
-		ProfileOperation.printOpsPerSec(new Sobel_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Prewitt_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new DerivativeThree_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HessianThree_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new HessianSobel_F32(),TEST_TIME);
-		ProfileOperation.printOpsPerSec(new LaplacianEdge_F32(),TEST_TIME);
+		return 0;
 	}
 
 	public static void main( String args[] ) {
-		BenchmarkImageDerivative benchmark = new BenchmarkImageDerivative();
+		System.out.println("=========  Profile Image Size "+imgWidth+" x "+imgHeight+" ==========");
 
-		BenchmarkImageDerivative.border = true;
-		benchmark.process();
+		Runner.main(BenchmarkImageDerivative.class, args);
 	}
-
 }
@@ -24,10 +24,9 @@ import boofcv.alg.interpolate.impl.ImplPolynomialPixel_F32;
 import boofcv.alg.interpolate.impl.NearestNeighborPixel_F32;
 import boofcv.alg.interpolate.kernel.BicubicKernel_F32;
 import boofcv.alg.misc.ImageMiscOps;
-import boofcv.misc.PerformerBase;
-import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageUInt8;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
 
 import java.util.Random;
 
@@ -36,91 +35,79 @@ import java.util.Random;
  *
  * @author Peter Abeles
  */
-public class BenchmarkInterpolatePixel {
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkInterpolatePixel extends SimpleBenchmark {
 	static int imgWidth = 640;
 	static int imgHeight = 480;
-	static long TEST_TIME = 1000;
 
-	static ImageFloat32 imgFloat32;
-	static ImageUInt8 imgInt8;
+	static ImageFloat32 imgFloat32 = new ImageFloat32(imgWidth, imgHeight);
 
 	// defines the region its interpolation
 	static float start = 10.1f;
 	static float end = 310.1f;
 	static float step = 1f;
 
-	public static class Bilinear_Safe_F32 extends PerformerBase {
-		ImplBilinearPixel_F32 alg = new ImplBilinearPixel_F32(imgFloat32);
+	ImplBilinearPixel_F32 bilinear = new ImplBilinearPixel_F32(imgFloat32);
+	NearestNeighborPixel_F32 nearest = new NearestNeighborPixel_F32(imgFloat32);
+	ImplInterpolatePixelConvolution_F32 bicubic = new ImplInterpolatePixelConvolution_F32(new BicubicKernel_F32(-0.5f),0,255);
+	ImplPolynomialPixel_F32 polynomial = new ImplPolynomialPixel_F32(5,0,255);
 
-		@Override
-		public void process() {
+	public BenchmarkInterpolatePixel() {
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(imgFloat32, rand, 0, 200);
+
+		bicubic.setImage(imgFloat32);
+		polynomial.setImage(imgFloat32);
+	}
+
+	public float timeBilinear_Safe_F32(int reps) {
+		float total = 0;
+		for( int i = 0; i < reps; i++ )
 			for (float x = start; x <= end; x += step)
 				for (float y = start; y <= end; y += step)
-					alg.get(x, y);
-		}
+					total += bilinear.get(x, y);
+		return total;
 	}
 
-	public static class Bilinear_UnSafe_F32 extends PerformerBase {
-		ImplBilinearPixel_F32 alg = new ImplBilinearPixel_F32(imgFloat32);
-
-		@Override
-		public void process() {
+	public float timeBilinear_UnSafe_F32(int reps) {
+		float total = 0;
+		for( int i = 0; i < reps; i++ )
 			for (float x = start; x <= end; x += step)
 				for (float y = start; y <= end; y += step)
-					alg.get_unsafe(x, y);
-		}
+					total += bilinear.get_unsafe(x, y);
+		return total;
 	}
 
-	public static class NearestNeighbor_Safe_F32 extends PerformerBase {
-		NearestNeighborPixel_F32 alg = new NearestNeighborPixel_F32(imgFloat32);
-
-		@Override
-		public void process() {
+	public float timeNearestNeighbor_Safe_F32(int reps) {
+		float total = 0;
+		for( int i = 0; i < reps; i++ )
 			for (float x = start; x <= end; x += step)
 				for (float y = start; y <= end; y += step)
-					alg.get(x, y);
-		}
+					total += nearest.get(x, y);
+		return total;
 	}
 
-	public static class BilinearConvolution_Safe_F32 extends PerformerBase {
-		ImplInterpolatePixelConvolution_F32 alg = new ImplInterpolatePixelConvolution_F32(new BicubicKernel_F32(-0.5f),0,255);
-
-		@Override
-		public void process() {
-			alg.setImage(imgFloat32);
+	public float timeBicubicConvolution_Safe_F32(int reps) {
+		float total = 0;
+		for( int i = 0; i < reps; i++ )
 			for (float x = start; x <= end; x += step)
 				for (float y = start; y <= end; y += step)
-					alg.get(x, y);
-		}
+					total += bicubic.get(x, y);
+		return total;
 	}
 
-	public static class Polynomial_Safe_F32 extends PerformerBase {
-		ImplPolynomialPixel_F32 alg = new ImplPolynomialPixel_F32(5,0,255);
-
-		@Override
-		public void process() {
-			alg.setImage(imgFloat32);
+	public float timePolynomial_Safe_F32(int reps) {
+		float total = 0;
+		for( int i = 0; i < reps; i++ )
 			for (float x = start; x <= end; x += step)
 				for (float y = start; y <= end; y += step)
-					alg.get(x, y);
-		}
+					total += polynomial.get(x, y);
+		return total;
 	}
 
 	public static void main(String args[]) {
-		imgInt8 = new ImageUInt8(imgWidth, imgHeight);
-		imgFloat32 = new ImageFloat32(imgWidth, imgHeight);
-
-		Random rand = new Random(234);
-		ImageMiscOps.fillUniform(imgInt8, rand, 0, 100);
-		ImageMiscOps.fillUniform(imgFloat32, rand, 0, 200);
-
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
-		System.out.println();
 
-		ProfileOperation.printOpsPerSec(new Bilinear_Safe_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Bilinear_UnSafe_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new NearestNeighbor_Safe_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new BilinearConvolution_Safe_F32(), TEST_TIME);
-		ProfileOperation.printOpsPerSec(new Polynomial_Safe_F32(), TEST_TIME);
+		Runner.main(BenchmarkInterpolatePixel.class, args);
 	}
 }
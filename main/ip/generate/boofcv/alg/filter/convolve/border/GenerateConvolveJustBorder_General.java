@@ -133,27 +133,28 @@ public class GenerateConvolveJustBorder_General {
 				"\t\tfinal "+dataKernel+"[] dataKer = kernel.data;\n" +
 				"\n" +
 				"\t\tfinal int radius = kernel.getRadius();\n"+
+				"\t\tfinal int kernelWidth = kernel.getWidth();\n"+
 				"\t\tfinal int width = output.getWidth();\n" +
 				"\t\tfinal int height = output.getHeight();\n" +
 				"\n" +
+				"\t\t// each input pixel along the border is read once into the padded work buffer\n" +
+				"\t\tfinal int widthPad = border + 2*radius;\n" +
+				"\t\tfinal "+dataKernel+"[] work = input.getWorkSpace(widthPad);\n" +
+				"\n" +
 				"\t\tfor (int y = 0; y < height; y++) {\n" +
-				"\t\t\tint indexDest = output.startIndex + y * output.stride;\n" +
+				"\t\t\tfor( int side = 0; side < 2; side++ ) {\n" +
+				"\t\t\t\tint x0 = side == 0 ? 0 : width-border;\n" +
 				"\n" +
-				"\t\t\tfor ( int x = 0; x < border; x++ ) {\n" +
-				"\t\t\t\t"+sumType+" total = 0;\n" +
-				"\t\t\t\tfor (int k = -radius; k <= radius; k++) {\n" +
-				"\t\t\t\t\ttotal += input.get(x+k,y) * dataKer[k+radius];\n" +
-				"\t\t\t\t}\n" +
-				"\t\t\t\tdataDst[indexDest++] = "+typeCast+"total;\n" +
-				"\t\t\t}\n" +
+				"\t\t\t\tinput.getRow(y,x0-radius,widthPad,work,0);\n" +
 				"\n" +
-				"\t\t\tindexDest = output.startIndex + y * output.stride + width-border;\n" +
-				"\t\t\tfor ( int x = width-border; x < width; x++ ) {\n" +
-				"\t\t\t\t"+sumType+" total = 0;\n" +
-				"\t\t\t\tfor (int k = -radius; k <= radius; k++) {\n" +
-				"\t\t\t\t\ttotal += input.get(x+k,y) * dataKer[k+radius];\n" +
+				"\t\t\t\tint indexDest = output.startIndex + y * output.stride + x0;\n" +
+				"\t\t\t\tfor ( int x = 0; x < border; x++ ) {\n" +
+				"\t\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\t\tfor (int k = 0; k < kernelWidth; k++) {\n" +
+				"\t\t\t\t\t\ttotal += work[x+k] * dataKer[k];\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t\tdataDst[indexDest++] = "+typeCast+"total;\n" +
 				"\t\t\t\t}\n" +
-				"\t\t\t\tdataDst[indexDest++] = "+typeCast+"total;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -168,27 +169,31 @@ public class GenerateConvolveJustBorder_General {
 				"\t\tfinal "+dataKernel+"[] dataKer = kernel.data;\n" +
 				"\n" +
 				"\t\tfinal int radius = kernel.getRadius();\n"+
+				"\t\tfinal int kernelWidth = kernel.getWidth();\n"+
 				"\t\tfinal int width = output.getWidth();\n" +
 				"\t\tfinal int height = output.getHeight();\n" +
 				"\n" +
-				"\t\tfor ( int x = 0; x < width; x++ ) {\n" +
-				"\t\t\tint indexDest = output.startIndex + x;\n" +
+				"\t\t// each input pixel along the border is read once into the padded work buffer\n" +
+				"\t\tfinal int heightPad = border + 2*radius;\n" +
+				"\t\tfinal "+dataKernel+"[] work = input.getWorkSpace(heightPad*width);\n" +
 				"\n" +
-				"\t\t\tfor (int y = 0; y < border; y++, indexDest += output.stride) {\n" +
-				"\t\t\t\t"+sumType+" total = 0;\n" +
-				"\t\t\t\tfor (int k = -radius; k <= radius; k++) {\n" +
-				"\t\t\t\t\ttotal += input.get(x,y+k) * dataKer[k+radius];\n" +
-				"\t\t\t\t}\n" +
-				"\t\t\t\tdataDst[indexDest] = "+typeCast+"total;\n" +
+				"\t\tfor( int side = 0; side < 2; side++ ) {\n" +
+				"\t\t\tint y0 = side == 0 ? 0 : height-border;\n" +
+				"\n" +
+				"\t\t\tfor( int i = 0; i < heightPad; i++ ) {\n" +
+				"\t\t\t\tinput.getRow(y0+i-radius,0,width,work,i*width);\n" +
 				"\t\t\t}\n" +
 				"\n" +
-				"\t\t\tindexDest = output.startIndex + (height-border) * output.stride + x;\n" +
-				"\t\t\tfor (int y = height-border; y < height; y++, indexDest += output.stride) {\n" +
-				"\t\t\t\t"+sumType+" total = 0;\n" +
-				"\t\t\t\tfor (int k = -radius; k <= radius; k++ ) {\n" +
-				"\t\t\t\t\ttotal += input.get(x,y+k) * dataKer[k+radius];\n" +
+				"\t\t\tfor( int y = 0; y < border; y++ ) {\n" +
+				"\t\t\t\tint indexDest = output.startIndex + (y0+y) * output.stride;\n" +
+				"\t\t\t\tfor ( int x = 0; x < width; x++ ) {\n" +
+				"\t\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\t\tint indexWork = y*width + x;\n" +
+				"\t\t\t\t\tfor (int k = 0; k < kernelWidth; k++, indexWork += width) {\n" +
+				"\t\t\t\t\t\ttotal += work[indexWork] * dataKer[k];\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t\tdataDst[indexDest++] = "+typeCast+"total;\n" +
 				"\t\t\t\t}\n" +
-				"\t\t\t\tdataDst[indexDest] = "+typeCast+"total;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
@@ -203,62 +208,65 @@ public class GenerateConvolveJustBorder_General {
 				"\t\tfinal "+dataKernel+"[] dataKer = kernel.data;\n" +
 				"\n" +
 				"\t\tfinal int radius = kernel.getRadius();\n"+
+				"\t\tfinal int kernelWidth = kernel.getWidth();\n"+
 				"\t\tfinal int width = output.getWidth();\n" +
 				"\t\tfinal int height = output.getHeight();\n" +
 				"\n" +
+				"\t\t// each input pixel along the border is read once into the padded work buffer\n" +
+				"\t\tfinal int borderPad = border + 2*radius;\n" +
+				"\t\tfinal int heightPad = height + 2*radius;\n" +
+				"\t\tfinal int widthInner = Math.max(0,width - 2*border);\n" +
+				"\t\tfinal int widthInnerPad = widthInner + 2*radius;\n" +
+				"\t\tfinal "+dataKernel+"[] work = input.getWorkSpace(borderPad*Math.max(heightPad,widthInnerPad));\n" +
+				"\n" +
 				"\t\t// convolve along the left and right borders\n" +
-				"\t\tfor (int y = 0; y < height; y++) {\n" +
-				"\t\t\tint indexDest = output.startIndex + y * output.stride;\n" +
+				"\t\tfor( int side = 0; side < 2; side++ ) {\n" +
+				"\t\t\tint x0 = side == 0 ? 0 : width-border;\n" +
 				"\n" +
-				"\t\t\tfor ( int x = 0; x < border; x++ ) {\n" +
-				"\t\t\t\t"+sumType+" total = 0;\n" +
-				"\t\t\t\tint indexKer = 0;\n" +
-				"\t\t\t\tfor( int i = -radius; i <= radius; i++ ) {\n" +
-				"\t\t\t\t\tfor (int j = -radius; j <= radius; j++) {\n" +
-				"\t\t\t\t\t\ttotal += input.get(x+j,y+i) * dataKer[indexKer++];\n" +
-				"\t\t\t\t\t}\n" +
-				"\t\t\t\t}\n" +
-				"\t\t\t\tdataDst[indexDest++] = "+typeCast+"total;\n" +
+				"\t\t\tfor( int i = 0; i < heightPad; i++ ) {\n" +
+				"\t\t\t\tinput.getRow(i-radius,x0-radius,borderPad,work,i*borderPad);\n" +
 				"\t\t\t}\n" +
 				"\n" +
-				"\t\t\tindexDest = output.startIndex + y * output.stride + width-border;\n" +
-				"\t\t\tfor ( int x = width-border; x < width; x++ ) {\n" +
-				"\t\t\t\t"+sumType+" total = 0;\n" +
-				"\t\t\t\tint indexKer = 0;\n" +
-				"\t\t\t\tfor( int i = -radius; i <= radius; i++ ) {\n" +
-				"\t\t\t\t\tfor (int j = -radius; j <= radius; j++) {\n" +
-				"\t\t\t\t\t\ttotal += input.get(x+j,y+i) * dataKer[indexKer++];\n" +
+				"\t\t\tfor (int y = 0; y < height; y++) {\n" +
+				"\t\t\t\tint indexDest = output.startIndex + y * output.stride + x0;\n" +
+				"\t\t\t\tfor ( int x = 0; x < border; x++ ) {\n" +
+				"\t\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\t\tint indexKer = 0;\n" +
+				"\t\t\t\t\tfor( int i = 0; i < kernelWidth; i++ ) {\n" +
+				"\t\t\t\t\t\tint indexWork = (y+i)*borderPad + x;\n" +
+				"\t\t\t\t\t\tfor (int j = 0; j < kernelWidth; j++) {\n" +
+				"\t\t\t\t\t\t\ttotal += work[indexWork++] * dataKer[indexKer++];\n" +
+				"\t\t\t\t\t\t}\n" +
 				"\t\t\t\t\t}\n" +
+				"\t\t\t\t\tdataDst[indexDest++] = "+typeCast+"total;\n" +
 				"\t\t\t\t}\n" +
-				"\t\t\t\tdataDst[indexDest++] = "+typeCast+"total;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\n" +
+				"\t\tif( widthInner == 0 )\n" +
+				"\t\t\treturn;\n" +
+				"\n" +
 				"\t\t// convolve along the top and bottom borders\n" +
-				"\t\tfor ( int x = border; x < width-border; x++ ) {\n" +
-				"\t\t\tint indexDest = output.startIndex + x;\n" +
+				"\t\tfor( int side = 0; side < 2; side++ ) {\n" +
+				"\t\t\tint y0 = side == 0 ? 0 : height-border;\n" +
 				"\n" +
-				"\t\t\tfor (int y = 0; y < border; y++, indexDest += output.stride) {\n" +
-				"\t\t\t\t"+sumType+" total = 0;\n" +
-				"\t\t\t\tint indexKer = 0;\n" +
-				"\t\t\t\tfor( int i = -radius; i <= radius; i++ ) {\n" +
-				"\t\t\t\t\tfor (int j = -radius; j <= radius; j++) {\n" +
-				"\t\t\t\t\t\ttotal += input.get(x+j,y+i) * dataKer[indexKer++];\n" +
-				"\t\t\t\t\t}\n" +
-				"\t\t\t\t}\n" +
-				"\t\t\t\tdataDst[indexDest] = "+typeCast+"total;\n" +
+				"\t\t\tfor( int i = 0; i < borderPad; i++ ) {\n" +
+				"\t\t\t\tinput.getRow(y0+i-radius,border-radius,widthInnerPad,work,i*widthInnerPad);\n" +
 				"\t\t\t}\n" +
 				"\n" +
-				"\t\t\tindexDest = output.startIndex + (height-border) * output.stride + x;\n" +
-				"\t\t\tfor (int y = height-border; y < height; y++, indexDest += output.stride) {\n" +
-				"\t\t\t\t"+sumType+" total = 0;\n" +
-				"\t\t\t\tint indexKer = 0;\n" +
-				"\t\t\t\tfor( int i = -radius; i <= radius; i++ ) {\n" +
-				"\t\t\t\t\tfor (int j = -radius; j <= radius; j++) {\n" +
-				"\t\t\t\t\t\ttotal += input.get(x+j,y+i) * dataKer[indexKer++];\n" +
+				"\t\t\tfor (int y = 0; y < border; y++) {\n" +
+				"\t\t\t\tint indexDest = output.startIndex + (y0+y) * output.stride + border;\n" +
+				"\t\t\t\tfor ( int x = 0; x < widthInner; x++ ) {\n" +
+				"\t\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\t\tint indexKer = 0;\n" +
+				"\t\t\t\t\tfor( int i = 0; i < kernelWidth; i++ ) {\n" +
+				"\t\t\t\t\t\tint indexWork = (y+i)*widthInnerPad + x;\n" +
+				"\t\t\t\t\t\tfor (int j = 0; j < kernelWidth; j++) {\n" +
+				"\t\t\t\t\t\t\ttotal += work[indexWork++] * dataKer[indexKer++];\n" +
+				"\t\t\t\t\t\t}\n" +
 				"\t\t\t\t\t}\n" +
+				"\t\t\t\t\tdataDst[indexDest++] = "+typeCast+"total;\n" +
 				"\t\t\t\t}\n" +
-				"\t\t\t\tdataDst[indexDest] = "+typeCast+"total;\n" +
 				"\t\t\t}\n" +
 				"\t\t}\n" +
 				"\t}\n\n");
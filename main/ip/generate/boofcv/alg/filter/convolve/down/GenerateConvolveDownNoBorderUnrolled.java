@@ -32,7 +32,7 @@ import java.io.PrintStream;
  */
 public class GenerateConvolveDownNoBorderUnrolled {
 
-	final static int numUnrolled = 5;
+	final static int numUnrolled = 7;
 
 	PrintStream out;
 	String className;
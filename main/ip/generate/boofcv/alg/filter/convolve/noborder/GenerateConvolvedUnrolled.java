@@ -28,7 +28,7 @@ import java.io.FileNotFoundException;
  */
 public class GenerateConvolvedUnrolled extends CodeGeneratorBase {
 
-	final static int numUnrolled = 5;
+	final static int numUnrolled = 7;
 
 	String typeKernel;
 	String typeInput;
@@ -45,6 +45,7 @@ public class GenerateConvolvedUnrolled extends CodeGeneratorBase {
 		create(AutoTypeImage.F32,AutoTypeImage.F32,false);
 		create(AutoTypeImage.U8,AutoTypeImage.I8,true);
 		create(AutoTypeImage.U8,AutoTypeImage.I16,false);
+		create(AutoTypeImage.U8,AutoTypeImage.S32,false);
 		create(AutoTypeImage.S16,AutoTypeImage.I16,false);
 		create(AutoTypeImage.S16,AutoTypeImage.I16,true);
 		create(AutoTypeImage.S32,AutoTypeImage.S32,false);
@@ -119,8 +119,8 @@ public class ConvolveImageNoBorder {
 								  ImageUInt8 input, ImageSInt32 output, boolean includeVerticalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		// todo add unroll
-		ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
+		if (!ConvolveImageUnrolled_U8_S32.horizontal(kernel, input, output, includeVerticalBorder))
+			ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
 	}
 
 	/**
@@ -160,6 +160,24 @@ public class ConvolveImageNoBorder {
 			ConvolveImageStandard.horizontal(kernel, input, output, divisor, includeVerticalBorder);
 	}
 
+	/**
+	 * Performs a horizontal 1D convolution across the image.  The horizontal border
+	 * is not processed and the vertical border is optionally processed.  The border is as wide
+	 * as the radius of the kernel.
+	 *
+	 * @param input		The original image. Not modified.
+	 * @param output	Where the resulting image is written to. Modified.
+	 * @param kernel	The kernel that is being convolved. Not modified.
+	 * @param includeVerticalBorder Should the vertical border of the image be processed?
+	 */
+	public static void horizontal(Kernel1D_I32 kernel,
+								  ImageSInt32 input, ImageSInt32 output, boolean includeVerticalBorder) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		if (!ConvolveImageUnrolled_S32_S32.horizontal(kernel, input, output, includeVerticalBorder))
+			ConvolveImageStandard.horizontal(kernel, input, output, includeVerticalBorder);
+	}
+
 	/**
 	 * Performs a horizontal 1D convolution across the image.  The horizontal border
 	 * is not processed and the vertical border is optionally processed.  The border is as wide
@@ -251,8 +269,8 @@ public class ConvolveImageNoBorder {
 								boolean includeHorizontalBorder) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		// todo add unroll
-		ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
+		if (!ConvolveImageUnrolled_U8_S32.vertical(kernel, input,  output, includeHorizontalBorder))
+			ConvolveImageStandard.vertical(kernel, input,  output, includeHorizontalBorder);
 	}
 
 	/**
@@ -294,6 +312,25 @@ public class ConvolveImageNoBorder {
 			ConvolveImageStandard.vertical(kernel, input, output, divisor, includeHorizontalBorder);
 	}
 
+	/**
+	 * Performs a vertical 1D convolution across the image.  The vertical border
+	 * is not processed and the horizontal border is optionally processed.  The border is as wide
+	 * as the radius of the kernel.
+	 *
+	 * @param input		 The original image. Not modified.
+	 * @param output		  Where the resulting image is written to. Modified.
+	 * @param kernel		The kernel that is being convolved. Not modified.
+	 * @param includeHorizontalBorder Should the horizontal border of the image be processed?
+	 */
+	public static void vertical(Kernel1D_I32 kernel,
+								ImageSInt32 input,  ImageSInt32 output,
+								boolean includeHorizontalBorder) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		if (!ConvolveImageUnrolled_S32_S32.vertical(kernel, input, output, includeHorizontalBorder))
+			ConvolveImageStandard.vertical(kernel, input, output, includeHorizontalBorder);
+	}
+
 	/**
 	 * Performs a vertical 1D convolution across the image.  The vertical border
 	 * is not processed and the horizontal border is optionally processed.  The border is as wide
@@ -368,8 +405,8 @@ public class ConvolveImageNoBorder {
 	public static void convolve(Kernel2D_I32 kernel, ImageUInt8 input,  ImageSInt32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		// todo add unrolled
-		ConvolveImageStandard.convolve(kernel, input,  output);
+		if( !ConvolveImageUnrolled_U8_S32.convolve(kernel,input,output))
+			ConvolveImageStandard.convolve(kernel, input,  output);
 	}
 
 	/**
@@ -400,4 +437,33 @@ public class ConvolveImageNoBorder {
 		if( !ConvolveImageUnrolled_S16_I16_Div.convolve(kernel,input,output,divisor))
 			ConvolveImageStandard.convolve(kernel, input,  output, divisor);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output   The results of the convolution
+	 */
+	public static void convolve(Kernel2D_I32 kernel, ImageSInt32 input,  ImageSInt32 output ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		if( !ConvolveImageUnrolled_S32_S32.convolve(kernel,input,output))
+			ConvolveImageStandard.convolve(kernel, input,  output);
+	}
+
+	/**
+	 * Performs a 2D convolution across the image.  The image's borders are not processed.
+	 *
+	 * @param kernel A square kernel that will be convolved across the source image
+	 * @param input  The source image that is to be convolved
+	 * @param output   The results of the convolution
+	 * @param divisor The value that the convolved image is divided by.
+	 */
+	public static void convolve(Kernel2D_I32 kernel, ImageSInt32 input,  ImageSInt32 output, int divisor ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		if( !ConvolveImageUnrolled_S32_S32_Div.convolve(kernel,input,output,divisor))
+			ConvolveImageStandard.convolve(kernel, input,  output, divisor);
+	}
+}
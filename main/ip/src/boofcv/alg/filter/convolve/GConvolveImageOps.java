@@ -125,6 +125,8 @@ public class GConvolveImageOps {
 				ConvolveImageNoBorder.horizontal((Kernel1D_I32)kernel,(ImageUInt8)input,(ImageSInt32)output,includeVerticalBorder);
 		} else if( input instanceof ImageSInt16 ) {
 			ConvolveImageNoBorder.horizontal((Kernel1D_I32)kernel,(ImageSInt16)input,(ImageInt16)output,includeVerticalBorder);
+		} else if( input instanceof ImageSInt32 ) {
+			ConvolveImageNoBorder.horizontal((Kernel1D_I32)kernel,(ImageSInt32)input,(ImageSInt32)output,includeVerticalBorder);
 		} else {
 			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
 		}
@@ -151,6 +153,8 @@ public class GConvolveImageOps {
 				ConvolveImageNoBorder.vertical((Kernel1D_I32) kernel, (ImageUInt8) input, (ImageSInt32) output, includeHorizontalBorder);
 		} else if( input instanceof ImageSInt16 ) {
 			ConvolveImageNoBorder.vertical((Kernel1D_I32) kernel, (ImageSInt16) input, (ImageInt16) output, includeHorizontalBorder);
+		} else if( input instanceof ImageSInt32 ) {
+			ConvolveImageNoBorder.vertical((Kernel1D_I32) kernel, (ImageSInt32) input, (ImageSInt32) output, includeHorizontalBorder);
 		} else {
 			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
 		}
@@ -174,6 +178,8 @@ public class GConvolveImageOps {
 				ConvolveImageNoBorder.convolve((Kernel2D_I32) kernel, (ImageUInt8) input, (ImageSInt32) output);
 		} else if( input instanceof ImageSInt16 ) {
 			ConvolveImageNoBorder.convolve((Kernel2D_I32) kernel, (ImageSInt16) input, (ImageInt16) output);
+		} else if( input instanceof ImageSInt32 ) {
+			ConvolveImageNoBorder.convolve((Kernel2D_I32) kernel, (ImageSInt32) input, (ImageSInt32) output);
 		} else {
 			throw new IllegalArgumentException("Unknown image type: "+input.getClass().getName());
 		}
@@ -47,27 +47,28 @@ public class ConvolveJustBorder_General {
 		final float[] dataKer = kernel.data;
 
 		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
 		final int width = output.getWidth();
 		final int height = output.getHeight();
 
+		// each input pixel along the border is read once into the padded work buffer
+		final int widthPad = border + 2*radius;
+		final float[] work = input.getWorkSpace(widthPad);
+
 		for (int y = 0; y < height; y++) {
-			int indexDest = output.startIndex + y * output.stride;
+			for( int side = 0; side < 2; side++ ) {
+				int x0 = side == 0 ? 0 : width-border;
 
-			for ( int x = 0; x < border; x++ ) {
-				float total = 0;
-				for (int k = -radius; k <= radius; k++) {
-					total += input.get(x+k,y) * dataKer[k+radius];
-				}
-				dataDst[indexDest++] = total;
-			}
+				input.getRow(y,x0-radius,widthPad,work,0);
 
-			indexDest = output.startIndex + y * output.stride + width-border;
-			for ( int x = width-border; x < width; x++ ) {
-				float total = 0;
-				for (int k = -radius; k <= radius; k++) {
-					total += input.get(x+k,y) * dataKer[k+radius];
+				int indexDest = output.startIndex + y * output.stride + x0;
+				for ( int x = 0; x < border; x++ ) {
+					float total = 0;
+					for (int k = 0; k < kernelWidth; k++) {
+						total += work[x+k] * dataKer[k];
+					}
+					dataDst[indexDest++] = total;
 				}
-				dataDst[indexDest++] = total;
 			}
 		}
 	}
@@ -77,27 +78,31 @@ public class ConvolveJustBorder_General {
 		final float[] dataKer = kernel.data;
 
 		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
 		final int width = output.getWidth();
 		final int height = output.getHeight();
 
-		for ( int x = 0; x < width; x++ ) {
-			int indexDest = output.startIndex + x;
+		// each input pixel along the border is read once into the padded work buffer
+		final int heightPad = border + 2*radius;
+		final float[] work = input.getWorkSpace(heightPad*width);
 
-			for (int y = 0; y < border; y++, indexDest += output.stride) {
-				float total = 0;
-				for (int k = -radius; k <= radius; k++) {
-					total += input.get(x,y+k) * dataKer[k+radius];
-				}
-				dataDst[indexDest] = total;
+		for( int side = 0; side < 2; side++ ) {
+			int y0 = side == 0 ? 0 : height-border;
+
+			for( int i = 0; i < heightPad; i++ ) {
+				input.getRow(y0+i-radius,0,width,work,i*width);
 			}
 
-			indexDest = output.startIndex + (height-border) * output.stride + x;
-			for (int y = height-border; y < height; y++, indexDest += output.stride) {
-				float total = 0;
-				for (int k = -radius; k <= radius; k++ ) {
-					total += input.get(x,y+k) * dataKer[k+radius];
+			for( int y = 0; y < border; y++ ) {
+				int indexDest = output.startIndex + (y0+y) * output.stride;
+				for ( int x = 0; x < width; x++ ) {
+					float total = 0;
+					int indexWork = y*width + x;
+					for (int k = 0; k < kernelWidth; k++, indexWork += width) {
+						total += work[indexWork] * dataKer[k];
+					}
+					dataDst[indexDest++] = total;
 				}
-				dataDst[indexDest] = total;
 			}
 		}
 	}
@@ -107,62 +112,65 @@ public class ConvolveJustBorder_General {
 		final float[] dataKer = kernel.data;
 
 		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
 		final int width = output.getWidth();
 		final int height = output.getHeight();
 
+		// each input pixel along the border is read once into the padded work buffer
+		final int borderPad = border + 2*radius;
+		final int heightPad = height + 2*radius;
+		final int widthInner = Math.max(0,width - 2*border);
+		final int widthInnerPad = widthInner + 2*radius;
+		final float[] work = input.getWorkSpace(borderPad*Math.max(heightPad,widthInnerPad));
+
 		// convolve along the left and right borders
-		for (int y = 0; y < height; y++) {
-			int indexDest = output.startIndex + y * output.stride;
-
-			for ( int x = 0; x < border; x++ ) {
-				float total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
-					}
-				}
-				dataDst[indexDest++] = total;
+		for( int side = 0; side < 2; side++ ) {
+			int x0 = side == 0 ? 0 : width-border;
+
+			for( int i = 0; i < heightPad; i++ ) {
+				input.getRow(i-radius,x0-radius,borderPad,work,i*borderPad);
 			}
 
-			indexDest = output.startIndex + y * output.stride + width-border;
-			for ( int x = width-border; x < width; x++ ) {
-				float total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
+			for (int y = 0; y < height; y++) {
+				int indexDest = output.startIndex + y * output.stride + x0;
+				for ( int x = 0; x < border; x++ ) {
+					float total = 0;
+					int indexKer = 0;
+					for( int i = 0; i < kernelWidth; i++ ) {
+						int indexWork = (y+i)*borderPad + x;
+						for (int j = 0; j < kernelWidth; j++) {
+							total += work[indexWork++] * dataKer[indexKer++];
+						}
 					}
+					dataDst[indexDest++] = total;
 				}
-				dataDst[indexDest++] = total;
 			}
 		}
 
+		if( widthInner == 0 )
+			return;
+
 		// convolve along the top and bottom borders
-		for ( int x = border; x < width-border; x++ ) {
-			int indexDest = output.startIndex + x;
-
-			for (int y = 0; y < border; y++, indexDest += output.stride) {
-				float total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
-					}
-				}
-				dataDst[indexDest] = total;
+		for( int side = 0; side < 2; side++ ) {
+			int y0 = side == 0 ? 0 : height-border;
+
+			for( int i = 0; i < borderPad; i++ ) {
+				input.getRow(y0+i-radius,border-radius,widthInnerPad,work,i*widthInnerPad);
 			}
 
-			indexDest = output.startIndex + (height-border) * output.stride + x;
-			for (int y = height-border; y < height; y++, indexDest += output.stride) {
-				float total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
+			for (int y = 0; y < border; y++) {
+				int indexDest = output.startIndex + (y0+y) * output.stride + border;
+				for ( int x = 0; x < widthInner; x++ ) {
+					float total = 0;
+					int indexKer = 0;
+					for( int i = 0; i < kernelWidth; i++ ) {
+						int indexWork = (y+i)*widthInnerPad + x;
+						for (int j = 0; j < kernelWidth; j++) {
+							total += work[indexWork++] * dataKer[indexKer++];
+						}
 					}
+					dataDst[indexDest++] = total;
 				}
-				dataDst[indexDest] = total;
 			}
 		}
 	}
@@ -172,27 +180,28 @@ public class ConvolveJustBorder_General {
 		final int[] dataKer = kernel.data;
 
 		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
 		final int width = output.getWidth();
 		final int height = output.getHeight();
 
+		// each input pixel along the border is read once into the padded work buffer
+		final int widthPad = border + 2*radius;
+		final int[] work = input.getWorkSpace(widthPad);
+
 		for (int y = 0; y < height; y++) {
-			int indexDest = output.startIndex + y * output.stride;
+			for( int side = 0; side < 2; side++ ) {
+				int x0 = side == 0 ? 0 : width-border;
 
-			for ( int x = 0; x < border; x++ ) {
-				int total = 0;
-				for (int k = -radius; k <= radius; k++) {
-					total += input.get(x+k,y) * dataKer[k+radius];
-				}
-				dataDst[indexDest++] = (short)total;
-			}
+				input.getRow(y,x0-radius,widthPad,work,0);
 
-			indexDest = output.startIndex + y * output.stride + width-border;
-			for ( int x = width-border; x < width; x++ ) {
-				int total = 0;
-				for (int k = -radius; k <= radius; k++) {
-					total += input.get(x+k,y) * dataKer[k+radius];
+				int indexDest = output.startIndex + y * output.stride + x0;
+				for ( int x = 0; x < border; x++ ) {
+					int total = 0;
+					for (int k = 0; k < kernelWidth; k++) {
+						total += work[x+k] * dataKer[k];
+					}
+					dataDst[indexDest++] = (short)total;
 				}
-				dataDst[indexDest++] = (short)total;
 			}
 		}
 	}
@@ -202,27 +211,31 @@ public class ConvolveJustBorder_General {
 		final int[] dataKer = kernel.data;
 
 		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
 		final int width = output.getWidth();
 		final int height = output.getHeight();
 
-		for ( int x = 0; x < width; x++ ) {
-			int indexDest = output.startIndex + x;
+		// each input pixel along the border is read once into the padded work buffer
+		final int heightPad = border + 2*radius;
+		final int[] work = input.getWorkSpace(heightPad*width);
 
-			for (int y = 0; y < border; y++, indexDest += output.stride) {
-				int total = 0;
-				for (int k = -radius; k <= radius; k++) {
-					total += input.get(x,y+k) * dataKer[k+radius];
-				}
-				dataDst[indexDest] = (short)total;
+		for( int side = 0; side < 2; side++ ) {
+			int y0 = side == 0 ? 0 : height-border;
+
+			for( int i = 0; i < heightPad; i++ ) {
+				input.getRow(y0+i-radius,0,width,work,i*width);
 			}
 
-			indexDest = output.startIndex + (height-border) * output.stride + x;
-			for (int y = height-border; y < height; y++, indexDest += output.stride) {
-				int total = 0;
-				for (int k = -radius; k <= radius; k++ ) {
-					total += input.get(x,y+k) * dataKer[k+radius];
+			for( int y = 0; y < border; y++ ) {
+				int indexDest = output.startIndex + (y0+y) * output.stride;
+				for ( int x = 0; x < width; x++ ) {
+					int total = 0;
+					int indexWork = y*width + x;
+					for (int k = 0; k < kernelWidth; k++, indexWork += width) {
+						total += work[indexWork] * dataKer[k];
+					}
+					dataDst[indexDest++] = (short)total;
 				}
-				dataDst[indexDest] = (short)total;
 			}
 		}
 	}
@@ -232,62 +245,65 @@ public class ConvolveJustBorder_General {
 		final int[] dataKer = kernel.data;
 
 		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
 		final int width = output.getWidth();
 		final int height = output.getHeight();
 
+		// each input pixel along the border is read once into the padded work buffer
+		final int borderPad = border + 2*radius;
+		final int heightPad = height + 2*radius;
+		final int widthInner = Math.max(0,width - 2*border);
+		final int widthInnerPad = widthInner + 2*radius;
+		final int[] work = input.getWorkSpace(borderPad*Math.max(heightPad,widthInnerPad));
+
 		// convolve along the left and right borders
-		for (int y = 0; y < height; y++) {
-			int indexDest = output.startIndex + y * output.stride;
-
-			for ( int x = 0; x < border; x++ ) {
-				int total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
-					}
-				}
-				dataDst[indexDest++] = (short)total;
+		for( int side = 0; side < 2; side++ ) {
+			int x0 = side == 0 ? 0 : width-border;
+
+			for( int i = 0; i < heightPad; i++ ) {
+				input.getRow(i-radius,x0-radius,borderPad,work,i*borderPad);
 			}
 
-			indexDest = output.startIndex + y * output.stride + width-border;
-			for ( int x = width-border; x < width; x++ ) {
-				int total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
+			for (int y = 0; y < height; y++) {
+				int indexDest = output.startIndex + y * output.stride + x0;
+				for ( int x = 0; x < border; x++ ) {
+					int total = 0;
+					int indexKer = 0;
+					for( int i = 0; i < kernelWidth; i++ ) {
+						int indexWork = (y+i)*borderPad + x;
+						for (int j = 0; j < kernelWidth; j++) {
+							total += work[indexWork++] * dataKer[indexKer++];
+						}
 					}
+					dataDst[indexDest++] = (short)total;
 				}
-				dataDst[indexDest++] = (short)total;
 			}
 		}
 
+		if( widthInner == 0 )
+			return;
+
 		// convolve along the top and bottom borders
-		for ( int x = border; x < width-border; x++ ) {
-			int indexDest = output.startIndex + x;
-
-			for (int y = 0; y < border; y++, indexDest += output.stride) {
-				int total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
-					}
-				}
-				dataDst[indexDest] = (short)total;
+		for( int side = 0; side < 2; side++ ) {
+			int y0 = side == 0 ? 0 : height-border;
+
+			for( int i = 0; i < borderPad; i++ ) {
+				input.getRow(y0+i-radius,border-radius,widthInnerPad,work,i*widthInnerPad);
 			}
 
-			indexDest = output.startIndex + (height-border) * output.stride + x;
-			for (int y = height-border; y < height; y++, indexDest += output.stride) {
-				int total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
+			for (int y = 0; y < border; y++) {
+				int indexDest = output.startIndex + (y0+y) * output.stride + border;
+				for ( int x = 0; x < widthInner; x++ ) {
+					int total = 0;
+					int indexKer = 0;
+					for( int i = 0; i < kernelWidth; i++ ) {
+						int indexWork = (y+i)*widthInnerPad + x;
+						for (int j = 0; j < kernelWidth; j++) {
+							total += work[indexWork++] * dataKer[indexKer++];
+						}
 					}
+					dataDst[indexDest++] = (short)total;
 				}
-				dataDst[indexDest] = (short)total;
 			}
 		}
 	}
@@ -297,27 +313,28 @@ public class ConvolveJustBorder_General {
 		final int[] dataKer = kernel.data;
 
 		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
 		final int width = output.getWidth();
 		final int height = output.getHeight();
 
+		// each input pixel along the border is read once into the padded work buffer
+		final int widthPad = border + 2*radius;
+		final int[] work = input.getWorkSpace(widthPad);
+
 		for (int y = 0; y < height; y++) {
-			int indexDest = output.startIndex + y * output.stride;
+			for( int side = 0; side < 2; side++ ) {
+				int x0 = side == 0 ? 0 : width-border;
 
-			for ( int x = 0; x < border; x++ ) {
-				int total = 0;
-				for (int k = -radius; k <= radius; k++) {
-					total += input.get(x+k,y) * dataKer[k+radius];
-				}
-				dataDst[indexDest++] = total;
-			}
+				input.getRow(y,x0-radius,widthPad,work,0);
 
-			indexDest = output.startIndex + y * output.stride + width-border;
-			for ( int x = width-border; x < width; x++ ) {
-				int total = 0;
-				for (int k = -radius; k <= radius; k++) {
-					total += input.get(x+k,y) * dataKer[k+radius];
+				int indexDest = output.startIndex + y * output.stride + x0;
+				for ( int x = 0; x < border; x++ ) {
+					int total = 0;
+					for (int k = 0; k < kernelWidth; k++) {
+						total += work[x+k] * dataKer[k];
+					}
+					dataDst[indexDest++] = total;
 				}
-				dataDst[indexDest++] = total;
 			}
 		}
 	}
@@ -327,27 +344,31 @@ public class ConvolveJustBorder_General {
 		final int[] dataKer = kernel.data;
 
 		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
 		final int width = output.getWidth();
 		final int height = output.getHeight();
 
-		for ( int x = 0; x < width; x++ ) {
-			int indexDest = output.startIndex + x;
+		// each input pixel along the border is read once into the padded work buffer
+		final int heightPad = border + 2*radius;
+		final int[] work = input.getWorkSpace(heightPad*width);
 
-			for (int y = 0; y < border; y++, indexDest += output.stride) {
-				int total = 0;
-				for (int k = -radius; k <= radius; k++) {
-					total += input.get(x,y+k) * dataKer[k+radius];
-				}
-				dataDst[indexDest] = total;
+		for( int side = 0; side < 2; side++ ) {
+			int y0 = side == 0 ? 0 : height-border;
+
+			for( int i = 0; i < heightPad; i++ ) {
+				input.getRow(y0+i-radius,0,width,work,i*width);
 			}
 
-			indexDest = output.startIndex + (height-border) * output.stride + x;
-			for (int y = height-border; y < height; y++, indexDest += output.stride) {
-				int total = 0;
-				for (int k = -radius; k <= radius; k++ ) {
-					total += input.get(x,y+k) * dataKer[k+radius];
+			for( int y = 0; y < border; y++ ) {
+				int indexDest = output.startIndex + (y0+y) * output.stride;
+				for ( int x = 0; x < width; x++ ) {
+					int total = 0;
+					int indexWork = y*width + x;
+					for (int k = 0; k < kernelWidth; k++, indexWork += width) {
+						total += work[indexWork] * dataKer[k];
+					}
+					dataDst[indexDest++] = total;
 				}
-				dataDst[indexDest] = total;
 			}
 		}
 	}
@@ -357,64 +378,66 @@ public class ConvolveJustBorder_General {
 		final int[] dataKer = kernel.data;
 
 		final int radius = kernel.getRadius();
+		final int kernelWidth = kernel.getWidth();
 		final int width = output.getWidth();
 		final int height = output.getHeight();
 
+		// each input pixel along the border is read once into the padded work buffer
+		final int borderPad = border + 2*radius;
+		final int heightPad = height + 2*radius;
+		final int widthInner = Math.max(0,width - 2*border);
+		final int widthInnerPad = widthInner + 2*radius;
+		final int[] work = input.getWorkSpace(borderPad*Math.max(heightPad,widthInnerPad));
+
 		// convolve along the left and right borders
-		for (int y = 0; y < height; y++) {
-			int indexDest = output.startIndex + y * output.stride;
-
-			for ( int x = 0; x < border; x++ ) {
-				int total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
-					}
-				}
-				dataDst[indexDest++] = total;
+		for( int side = 0; side < 2; side++ ) {
+			int x0 = side == 0 ? 0 : width-border;
+
+			for( int i = 0; i < heightPad; i++ ) {
+				input.getRow(i-radius,x0-radius,borderPad,work,i*borderPad);
 			}
 
-			indexDest = output.startIndex + y * output.stride + width-border;
-			for ( int x = width-border; x < width; x++ ) {
-				int total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
+			for (int y = 0; y < height; y++) {
+				int indexDest = output.startIndex + y * output.stride + x0;
+				for ( int x = 0; x < border; x++ ) {
+					int total = 0;
+					int indexKer = 0;
+					for( int i = 0; i < kernelWidth; i++ ) {
+						int indexWork = (y+i)*borderPad + x;
+						for (int j = 0; j < kernelWidth; j++) {
+							total += work[indexWork++] * dataKer[indexKer++];
+						}
 					}
+					dataDst[indexDest++] = total;
 				}
-				dataDst[indexDest++] = total;
 			}
 		}
 
+		if( widthInner == 0 )
+			return;
+
 		// convolve along the top and bottom borders
-		for ( int x = border; x < width-border; x++ ) {
-			int indexDest = output.startIndex + x;
-
-			for (int y = 0; y < border; y++, indexDest += output.stride) {
-				int total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
-					}
-				}
-				dataDst[indexDest] = total;
+		for( int side = 0; side < 2; side++ ) {
+			int y0 = side == 0 ? 0 : height-border;
+
+			for( int i = 0; i < borderPad; i++ ) {
+				input.getRow(y0+i-radius,border-radius,widthInnerPad,work,i*widthInnerPad);
 			}
 
-			indexDest = output.startIndex + (height-border) * output.stride + x;
-			for (int y = height-border; y < height; y++, indexDest += output.stride) {
-				int total = 0;
-				int indexKer = 0;
-				for( int i = -radius; i <= radius; i++ ) {
-					for (int j = -radius; j <= radius; j++) {
-						total += input.get(x+j,y+i) * dataKer[indexKer++];
+			for (int y = 0; y < border; y++) {
+				int indexDest = output.startIndex + (y0+y) * output.stride + border;
+				for ( int x = 0; x < widthInner; x++ ) {
+					int total = 0;
+					int indexKer = 0;
+					for( int i = 0; i < kernelWidth; i++ ) {
+						int indexWork = (y+i)*widthInnerPad + x;
+						for (int j = 0; j < kernelWidth; j++) {
+							total += work[indexWork++] * dataKer[indexKer++];
+						}
 					}
+					dataDst[indexDest++] = total;
 				}
-				dataDst[indexDest] = total;
 			}
 		}
 	}
-
 }
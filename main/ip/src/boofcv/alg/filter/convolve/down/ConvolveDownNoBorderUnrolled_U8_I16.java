@@ -58,6 +58,14 @@ public class ConvolveDownNoBorderUnrolled_U8_I16 {
 				horizontal11(kernel,image,dest,skip);
 				break;
 
+			case 13:
+				horizontal13(kernel,image,dest,skip);
+				break;
+
+			case 15:
+				horizontal15(kernel,image,dest,skip);
+				break;
+
 			default:
 				return false;
 		}
@@ -87,6 +95,14 @@ public class ConvolveDownNoBorderUnrolled_U8_I16 {
 				vertical11(kernel,image,dest,skip);
 				break;
 
+			case 13:
+				vertical13(kernel,image,dest,skip);
+				break;
+
+			case 15:
+				vertical15(kernel,image,dest,skip);
+				break;
+
 			default:
 				return false;
 		}
@@ -116,6 +132,14 @@ public class ConvolveDownNoBorderUnrolled_U8_I16 {
 				convolve11(kernel,image,dest,skip);
 				break;
 
+			case 13:
+				convolve13(kernel,image,dest,skip);
+				break;
+
+			case 15:
+				convolve15(kernel,image,dest,skip);
+				break;
+
 			default:
 				return false;
 		}
@@ -332,6 +356,118 @@ public class ConvolveDownNoBorderUnrolled_U8_I16 {
 		}
 	}
 
+	public static void horizontal13( Kernel1D_I32 kernel ,
+									ImageUInt8 input, ImageInt16 output ,
+									int skip ) {
+		final byte[] dataSrc = input.data;
+		final short[] dataDst = output.data;
+
+		final int k1 = kernel.data[0];
+		final int k2 = kernel.data[1];
+		final int k3 = kernel.data[2];
+		final int k4 = kernel.data[3];
+		final int k5 = kernel.data[4];
+		final int k6 = kernel.data[5];
+		final int k7 = kernel.data[6];
+		final int k8 = kernel.data[7];
+		final int k9 = kernel.data[8];
+		final int k10 = kernel.data[9];
+		final int k11 = kernel.data[10];
+		final int k12 = kernel.data[11];
+		final int k13 = kernel.data[12];
+
+		final int radius = kernel.getRadius();
+
+		final int widthEnd = UtilDownConvolve.computeMaxSide(input.width,skip,radius);
+		final int height = input.getHeight();
+
+		final int offsetX = UtilDownConvolve.computeOffset(skip,radius);
+
+		for( int i = 0; i < height; i++ ) {
+			int indexDst = output.startIndex + i*output.stride + offsetX/skip;
+			int j = input.startIndex + i*input.stride - radius;
+			final int jEnd = j+widthEnd;
+
+			for( j += offsetX; j <= jEnd; j += skip ) {
+				int indexSrc = j;
+
+				int total = (dataSrc[indexSrc++]  & 0xFF) * k1;
+				total += (dataSrc[indexSrc++] & 0xFF)*k2;
+				total += (dataSrc[indexSrc++] & 0xFF)*k3;
+				total += (dataSrc[indexSrc++] & 0xFF)*k4;
+				total += (dataSrc[indexSrc++] & 0xFF)*k5;
+				total += (dataSrc[indexSrc++] & 0xFF)*k6;
+				total += (dataSrc[indexSrc++] & 0xFF)*k7;
+				total += (dataSrc[indexSrc++] & 0xFF)*k8;
+				total += (dataSrc[indexSrc++] & 0xFF)*k9;
+				total += (dataSrc[indexSrc++] & 0xFF)*k10;
+				total += (dataSrc[indexSrc++] & 0xFF)*k11;
+				total += (dataSrc[indexSrc++] & 0xFF)*k12;
+				total += (dataSrc[indexSrc] & 0xFF)*k13;
+
+				dataDst[indexDst++] = ( short )total;
+			}
+		}
+	}
+
+	public static void horizontal15( Kernel1D_I32 kernel ,
+									ImageUInt8 input, ImageInt16 output ,
+									int skip ) {
+		final byte[] dataSrc = input.data;
+		final short[] dataDst = output.data;
+
+		final int k1 = kernel.data[0];
+		final int k2 = kernel.data[1];
+		final int k3 = kernel.data[2];
+		final int k4 = kernel.data[3];
+		final int k5 = kernel.data[4];
+		final int k6 = kernel.data[5];
+		final int k7 = kernel.data[6];
+		final int k8 = kernel.data[7];
+		final int k9 = kernel.data[8];
+		final int k10 = kernel.data[9];
+		final int k11 = kernel.data[10];
+		final int k12 = kernel.data[11];
+		final int k13 = kernel.data[12];
+		final int k14 = kernel.data[13];
+		final int k15 = kernel.data[14];
+
+		final int radius = kernel.getRadius();
+
+		final int widthEnd = UtilDownConvolve.computeMaxSide(input.width,skip,radius);
+		final int height = input.getHeight();
+
+		final int offsetX = UtilDownConvolve.computeOffset(skip,radius);
+
+		for( int i = 0; i < height; i++ ) {
+			int indexDst = output.startIndex + i*output.stride + offsetX/skip;
+			int j = input.startIndex + i*input.stride - radius;
+			final int jEnd = j+widthEnd;
+
+			for( j += offsetX; j <= jEnd; j += skip ) {
+				int indexSrc = j;
+
+				int total = (dataSrc[indexSrc++]  & 0xFF) * k1;
+				total += (dataSrc[indexSrc++] & 0xFF)*k2;
+				total += (dataSrc[indexSrc++] & 0xFF)*k3;
+				total += (dataSrc[indexSrc++] & 0xFF)*k4;
+				total += (dataSrc[indexSrc++] & 0xFF)*k5;
+				total += (dataSrc[indexSrc++] & 0xFF)*k6;
+				total += (dataSrc[indexSrc++] & 0xFF)*k7;
+				total += (dataSrc[indexSrc++] & 0xFF)*k8;
+				total += (dataSrc[indexSrc++] & 0xFF)*k9;
+				total += (dataSrc[indexSrc++] & 0xFF)*k10;
+				total += (dataSrc[indexSrc++] & 0xFF)*k11;
+				total += (dataSrc[indexSrc++] & 0xFF)*k12;
+				total += (dataSrc[indexSrc++] & 0xFF)*k13;
+				total += (dataSrc[indexSrc++] & 0xFF)*k14;
+				total += (dataSrc[indexSrc] & 0xFF)*k15;
+
+				dataDst[indexDst++] = ( short )total;
+			}
+		}
+	}
+
 	public static void vertical3( Kernel1D_I32 kernel,
 								 ImageUInt8 input, ImageInt16 output,
 									int skip ) {
@@ -567,6 +703,142 @@ public class ConvolveDownNoBorderUnrolled_U8_I16 {
 		}
 	}
 
+	public static void vertical13( Kernel1D_I32 kernel,
+								 ImageUInt8 input, ImageInt16 output,
+									int skip ) {
+		final byte[] dataSrc = input.data;
+		final short[] dataDst = output.data;
+
+		final int k1 = kernel.data[0];
+		final int k2 = kernel.data[1];
+		final int k3 = kernel.data[2];
+		final int k4 = kernel.data[3];
+		final int k5 = kernel.data[4];
+		final int k6 = kernel.data[5];
+		final int k7 = kernel.data[6];
+		final int k8 = kernel.data[7];
+		final int k9 = kernel.data[8];
+		final int k10 = kernel.data[9];
+		final int k11 = kernel.data[10];
+		final int k12 = kernel.data[11];
+		final int k13 = kernel.data[12];
+
+		final int radius = kernel.getRadius();
+
+		final int width = input.width;
+		final int heightEnd = UtilDownConvolve.computeMaxSide(input.height,skip,radius);
+
+		final int offsetY = UtilDownConvolve.computeOffset(skip,radius);
+
+		for( int y = offsetY; y <= heightEnd; y += skip ) {
+			int indexDst = output.startIndex + (y/skip)*output.stride;
+			int i = input.startIndex + (y-radius)*input.stride;
+			final int iEnd = i + width;
+
+			for( ; i < iEnd; i++ ) {
+				int indexSrc = i;
+				int total = (dataSrc[indexSrc]  & 0xFF)*k1;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k2;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k3;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k4;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k5;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k6;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k7;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k8;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k9;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k10;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k11;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k12;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k13;
+
+				dataDst[indexDst++] = ( short )total;
+			}
+		}
+	}
+
+	public static void vertical15( Kernel1D_I32 kernel,
+								 ImageUInt8 input, ImageInt16 output,
+									int skip ) {
+		final byte[] dataSrc = input.data;
+		final short[] dataDst = output.data;
+
+		final int k1 = kernel.data[0];
+		final int k2 = kernel.data[1];
+		final int k3 = kernel.data[2];
+		final int k4 = kernel.data[3];
+		final int k5 = kernel.data[4];
+		final int k6 = kernel.data[5];
+		final int k7 = kernel.data[6];
+		final int k8 = kernel.data[7];
+		final int k9 = kernel.data[8];
+		final int k10 = kernel.data[9];
+		final int k11 = kernel.data[10];
+		final int k12 = kernel.data[11];
+		final int k13 = kernel.data[12];
+		final int k14 = kernel.data[13];
+		final int k15 = kernel.data[14];
+
+		final int radius = kernel.getRadius();
+
+		final int width = input.width;
+		final int heightEnd = UtilDownConvolve.computeMaxSide(input.height,skip,radius);
+
+		final int offsetY = UtilDownConvolve.computeOffset(skip,radius);
+
+		for( int y = offsetY; y <= heightEnd; y += skip ) {
+			int indexDst = output.startIndex + (y/skip)*output.stride;
+			int i = input.startIndex + (y-radius)*input.stride;
+			final int iEnd = i + width;
+
+			for( ; i < iEnd; i++ ) {
+				int indexSrc = i;
+				int total = (dataSrc[indexSrc]  & 0xFF)*k1;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k2;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k3;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k4;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k5;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k6;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k7;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k8;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k9;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k10;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k11;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k12;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k13;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k14;
+				indexSrc += input.stride;
+				total += (dataSrc[indexSrc] & 0xFF)*k15;
+
+				dataDst[indexDst++] = ( short )total;
+			}
+		}
+	}
+
 	public static void convolve3( Kernel2D_I32 kernel, ImageUInt8 input, ImageInt16 output, int skip )
 	{
 		final byte[] dataSrc = input.data;
@@ -917,4 +1189,200 @@ public class ConvolveDownNoBorderUnrolled_U8_I16 {
 		}
 	}
 
+	public static void convolve13( Kernel2D_I32 kernel, ImageUInt8 input, ImageInt16 output, int skip )
+	{
+		final byte[] dataSrc = input.data;
+		final short[] dataDst = output.data;
+
+		final int radius = kernel.getRadius();
+		final int widthEnd = UtilDownConvolve.computeMaxSide(input.width,skip,radius);
+		final int heightEnd = UtilDownConvolve.computeMaxSide(input.height,skip,radius);
+
+		final int offset = UtilDownConvolve.computeOffset(skip,radius);
+
+		for( int y = offset; y <= heightEnd; y += skip) {
+
+			// first time through the value needs to be set
+			int k1 = kernel.data[0];
+			int k2 = kernel.data[1];
+			int k3 = kernel.data[2];
+			int k4 = kernel.data[3];
+			int k5 = kernel.data[4];
+			int k6 = kernel.data[5];
+			int k7 = kernel.data[6];
+			int k8 = kernel.data[7];
+			int k9 = kernel.data[8];
+			int k10 = kernel.data[9];
+			int k11 = kernel.data[10];
+			int k12 = kernel.data[11];
+			int k13 = kernel.data[12];
+
+			int indexDst = output.startIndex + (y/skip)*output.stride + offset/skip;
+			int indexSrcRow = input.startIndex + (y-radius)*input.stride - radius;
+			for( int x = offset; x <= widthEnd; x += skip ) {
+				int indexSrc = indexSrcRow + x;
+
+				int total = 0;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k1;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k2;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k3;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k4;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k5;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k6;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k7;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k8;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k9;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k10;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k11;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k12;
+				total += (dataSrc[indexSrc]  & 0xFF)* k13;
+
+				dataDst[indexDst++] = ( short )total;
+			}
+
+			// rest of the convolution rows are an addition
+			for( int i = 1; i < 13; i++ ) {
+				indexDst = output.startIndex + (y/skip)*output.stride + offset/skip;
+				indexSrcRow = input.startIndex + (y+i-radius)*input.stride - radius;
+				
+				k1 = kernel.data[i*13 + 0];
+				k2 = kernel.data[i*13 + 1];
+				k3 = kernel.data[i*13 + 2];
+				k4 = kernel.data[i*13 + 3];
+				k5 = kernel.data[i*13 + 4];
+				k6 = kernel.data[i*13 + 5];
+				k7 = kernel.data[i*13 + 6];
+				k8 = kernel.data[i*13 + 7];
+				k9 = kernel.data[i*13 + 8];
+				k10 = kernel.data[i*13 + 9];
+				k11 = kernel.data[i*13 + 10];
+				k12 = kernel.data[i*13 + 11];
+				k13 = kernel.data[i*13 + 12];
+
+				for( int x = offset; x <= widthEnd; x += skip ) {
+					int indexSrc = indexSrcRow+x;
+
+					int total = 0;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k1;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k2;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k3;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k4;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k5;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k6;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k7;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k8;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k9;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k10;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k11;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k12;
+					total += (dataSrc[indexSrc]  & 0xFF)* k13;
+
+					dataDst[indexDst++] += ( short )total;
+				}
+			}
+		}
+	}
+
+	public static void convolve15( Kernel2D_I32 kernel, ImageUInt8 input, ImageInt16 output, int skip )
+	{
+		final byte[] dataSrc = input.data;
+		final short[] dataDst = output.data;
+
+		final int radius = kernel.getRadius();
+		final int widthEnd = UtilDownConvolve.computeMaxSide(input.width,skip,radius);
+		final int heightEnd = UtilDownConvolve.computeMaxSide(input.height,skip,radius);
+
+		final int offset = UtilDownConvolve.computeOffset(skip,radius);
+
+		for( int y = offset; y <= heightEnd; y += skip) {
+
+			// first time through the value needs to be set
+			int k1 = kernel.data[0];
+			int k2 = kernel.data[1];
+			int k3 = kernel.data[2];
+			int k4 = kernel.data[3];
+			int k5 = kernel.data[4];
+			int k6 = kernel.data[5];
+			int k7 = kernel.data[6];
+			int k8 = kernel.data[7];
+			int k9 = kernel.data[8];
+			int k10 = kernel.data[9];
+			int k11 = kernel.data[10];
+			int k12 = kernel.data[11];
+			int k13 = kernel.data[12];
+			int k14 = kernel.data[13];
+			int k15 = kernel.data[14];
+
+			int indexDst = output.startIndex + (y/skip)*output.stride + offset/skip;
+			int indexSrcRow = input.startIndex + (y-radius)*input.stride - radius;
+			for( int x = offset; x <= widthEnd; x += skip ) {
+				int indexSrc = indexSrcRow + x;
+
+				int total = 0;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k1;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k2;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k3;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k4;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k5;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k6;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k7;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k8;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k9;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k10;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k11;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k12;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k13;
+				total += (dataSrc[indexSrc++]  & 0xFF)* k14;
+				total += (dataSrc[indexSrc]  & 0xFF)* k15;
+
+				dataDst[indexDst++] = ( short )total;
+			}
+
+			// rest of the convolution rows are an addition
+			for( int i = 1; i < 15; i++ ) {
+				indexDst = output.startIndex + (y/skip)*output.stride + offset/skip;
+				indexSrcRow = input.startIndex + (y+i-radius)*input.stride - radius;
+				
+				k1 = kernel.data[i*15 + 0];
+				k2 = kernel.data[i*15 + 1];
+				k3 = kernel.data[i*15 + 2];
+				k4 = kernel.data[i*15 + 3];
+				k5 = kernel.data[i*15 + 4];
+				k6 = kernel.data[i*15 + 5];
+				k7 = kernel.data[i*15 + 6];
+				k8 = kernel.data[i*15 + 7];
+				k9 = kernel.data[i*15 + 8];
+				k10 = kernel.data[i*15 + 9];
+				k11 = kernel.data[i*15 + 10];
+				k12 = kernel.data[i*15 + 11];
+				k13 = kernel.data[i*15 + 12];
+				k14 = kernel.data[i*15 + 13];
+				k15 = kernel.data[i*15 + 14];
+
+				for( int x = offset; x <= widthEnd; x += skip ) {
+					int indexSrc = indexSrcRow+x;
+
+					int total = 0;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k1;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k2;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k3;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k4;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k5;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k6;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k7;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k8;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k9;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k10;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k11;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k12;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k13;
+					total += (dataSrc[indexSrc++]  & 0xFF)* k14;
+					total += (dataSrc[indexSrc]  & 0xFF)* k15;
+
+					dataDst[indexDst++] += ( short )total;
+				}
+			}
+		}
+	}
+
 }
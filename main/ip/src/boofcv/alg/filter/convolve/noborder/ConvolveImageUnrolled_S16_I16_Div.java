@@ -65,6 +65,14 @@ public class ConvolveImageUnrolled_S16_I16_Div {
 				horizontal11(kernel,image,dest,divisor,includeBorder);
 				break;
 
+			case 13:
+				horizontal13(kernel,image,dest,divisor,includeBorder);
+				break;
+
+			case 15:
+				horizontal15(kernel,image,dest,divisor,includeBorder);
+				break;
+
 			default:
 				return false;
 		}
@@ -95,6 +103,14 @@ public class ConvolveImageUnrolled_S16_I16_Div {
 				vertical11(kernel,image,dest,divisor,includeBorder);
 				break;
 
+			case 13:
+				vertical13(kernel,image,dest,divisor,includeBorder);
+				break;
+
+			case 15:
+				vertical15(kernel,image,dest,divisor,includeBorder);
+				break;
+
 			default:
 				return false;
 		}
@@ -124,6 +140,14 @@ public class ConvolveImageUnrolled_S16_I16_Div {
 				convolve11(kernel,image,dest,divisor);
 				break;
 
+			case 13:
+				convolve13(kernel,image,dest,divisor);
+				break;
+
+			case 15:
+				convolve15(kernel,image,dest,divisor);
+				break;
+
 			default:
 				return false;
 		}
@@ -335,6 +359,116 @@ public class ConvolveImageUnrolled_S16_I16_Div {
 		}
 	}
 
+	public static void horizontal13( Kernel1D_I32 kernel ,
+									ImageSInt16 image, ImageInt16 dest,
+									int divisor, boolean includeBorder) {
+		final short[] dataSrc = image.data;
+		final short[] dataDst = dest.data;
+
+		final int k1 = kernel.data[0];
+		final int k2 = kernel.data[1];
+		final int k3 = kernel.data[2];
+		final int k4 = kernel.data[3];
+		final int k5 = kernel.data[4];
+		final int k6 = kernel.data[5];
+		final int k7 = kernel.data[6];
+		final int k8 = kernel.data[7];
+		final int k9 = kernel.data[8];
+		final int k10 = kernel.data[9];
+		final int k11 = kernel.data[10];
+		final int k12 = kernel.data[11];
+		final int k13 = kernel.data[12];
+
+		final int radius = kernel.getRadius();
+
+		final int yBorder = includeBorder ? 0 : radius;
+
+		final int width = image.getWidth();
+		final int height = image.getHeight()-yBorder;
+
+		for( int i = yBorder; i < height; i++ ) {
+			int indexDst = dest.startIndex + i*dest.stride+radius;
+			int j = image.startIndex + i*image.stride - radius;
+			final int jEnd = j+width-radius;
+
+			for( j += radius; j < jEnd; j++ ) {
+				int indexSrc = j;
+				int total = (dataSrc[indexSrc++])*k1;
+				total += (dataSrc[indexSrc++])*k2;
+				total += (dataSrc[indexSrc++])*k3;
+				total += (dataSrc[indexSrc++])*k4;
+				total += (dataSrc[indexSrc++])*k5;
+				total += (dataSrc[indexSrc++])*k6;
+				total += (dataSrc[indexSrc++])*k7;
+				total += (dataSrc[indexSrc++])*k8;
+				total += (dataSrc[indexSrc++])*k9;
+				total += (dataSrc[indexSrc++])*k10;
+				total += (dataSrc[indexSrc++])*k11;
+				total += (dataSrc[indexSrc++])*k12;
+				total += (dataSrc[indexSrc])*k13;
+
+				dataDst[indexDst++] = ( short )(total/divisor);
+			}
+		}
+	}
+
+	public static void horizontal15( Kernel1D_I32 kernel ,
+									ImageSInt16 image, ImageInt16 dest,
+									int divisor, boolean includeBorder) {
+		final short[] dataSrc = image.data;
+		final short[] dataDst = dest.data;
+
+		final int k1 = kernel.data[0];
+		final int k2 = kernel.data[1];
+		final int k3 = kernel.data[2];
+		final int k4 = kernel.data[3];
+		final int k5 = kernel.data[4];
+		final int k6 = kernel.data[5];
+		final int k7 = kernel.data[6];
+		final int k8 = kernel.data[7];
+		final int k9 = kernel.data[8];
+		final int k10 = kernel.data[9];
+		final int k11 = kernel.data[10];
+		final int k12 = kernel.data[11];
+		final int k13 = kernel.data[12];
+		final int k14 = kernel.data[13];
+		final int k15 = kernel.data[14];
+
+		final int radius = kernel.getRadius();
+
+		final int yBorder = includeBorder ? 0 : radius;
+
+		final int width = image.getWidth();
+		final int height = image.getHeight()-yBorder;
+
+		for( int i = yBorder; i < height; i++ ) {
+			int indexDst = dest.startIndex + i*dest.stride+radius;
+			int j = image.startIndex + i*image.stride - radius;
+			final int jEnd = j+width-radius;
+
+			for( j += radius; j < jEnd; j++ ) {
+				int indexSrc = j;
+				int total = (dataSrc[indexSrc++])*k1;
+				total += (dataSrc[indexSrc++])*k2;
+				total += (dataSrc[indexSrc++])*k3;
+				total += (dataSrc[indexSrc++])*k4;
+				total += (dataSrc[indexSrc++])*k5;
+				total += (dataSrc[indexSrc++])*k6;
+				total += (dataSrc[indexSrc++])*k7;
+				total += (dataSrc[indexSrc++])*k8;
+				total += (dataSrc[indexSrc++])*k9;
+				total += (dataSrc[indexSrc++])*k10;
+				total += (dataSrc[indexSrc++])*k11;
+				total += (dataSrc[indexSrc++])*k12;
+				total += (dataSrc[indexSrc++])*k13;
+				total += (dataSrc[indexSrc++])*k14;
+				total += (dataSrc[indexSrc])*k15;
+
+				dataDst[indexDst++] = ( short )(total/divisor);
+			}
+		}
+	}
+
 	public static void vertical3( Kernel1D_I32 kernel,
 								 ImageSInt16 image, ImageInt16 dest,
 								 int divisor , boolean includeBorder)
@@ -590,6 +724,150 @@ public class ConvolveImageUnrolled_S16_I16_Div {
 		}
 	}
 
+	public static void vertical13( Kernel1D_I32 kernel,
+								 ImageSInt16 image, ImageInt16 dest,
+								 int divisor , boolean includeBorder)
+	{
+		final short[] dataSrc = image.data;
+		final short[] dataDst = dest.data;
+
+		final int k1 = kernel.data[0];
+		final int k2 = kernel.data[1];
+		final int k3 = kernel.data[2];
+		final int k4 = kernel.data[3];
+		final int k5 = kernel.data[4];
+		final int k6 = kernel.data[5];
+		final int k7 = kernel.data[6];
+		final int k8 = kernel.data[7];
+		final int k9 = kernel.data[8];
+		final int k10 = kernel.data[9];
+		final int k11 = kernel.data[10];
+		final int k12 = kernel.data[11];
+		final int k13 = kernel.data[12];
+
+		final int radius = kernel.getRadius();
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-radius;
+
+		final int xBorder = includeBorder ? 0 : radius;
+
+		for( int y = radius; y < yEnd; y++ ) {
+			int indexDst = dest.startIndex+y*dest.stride+xBorder;
+			int i = image.startIndex + (y-radius)*image.stride;
+			final int iEnd = i+imgWidth-xBorder;
+
+			for( i += xBorder; i < iEnd; i++ ) {
+				int indexSrc = i;
+
+				int total = (dataSrc[indexSrc]) * k1;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k2;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k3;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k4;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k5;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k6;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k7;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k8;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k9;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k10;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k11;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k12;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k13;
+
+				dataDst[indexDst++] = ( short )(total/divisor);
+			}
+		}
+	}
+
+	public static void vertical15( Kernel1D_I32 kernel,
+								 ImageSInt16 image, ImageInt16 dest,
+								 int divisor , boolean includeBorder)
+	{
+		final short[] dataSrc = image.data;
+		final short[] dataDst = dest.data;
+
+		final int k1 = kernel.data[0];
+		final int k2 = kernel.data[1];
+		final int k3 = kernel.data[2];
+		final int k4 = kernel.data[3];
+		final int k5 = kernel.data[4];
+		final int k6 = kernel.data[5];
+		final int k7 = kernel.data[6];
+		final int k8 = kernel.data[7];
+		final int k9 = kernel.data[8];
+		final int k10 = kernel.data[9];
+		final int k11 = kernel.data[10];
+		final int k12 = kernel.data[11];
+		final int k13 = kernel.data[12];
+		final int k14 = kernel.data[13];
+		final int k15 = kernel.data[14];
+
+		final int radius = kernel.getRadius();
+
+		final int imgWidth = dest.getWidth();
+		final int imgHeight = dest.getHeight();
+
+		final int yEnd = imgHeight-radius;
+
+		final int xBorder = includeBorder ? 0 : radius;
+
+		for( int y = radius; y < yEnd; y++ ) {
+			int indexDst = dest.startIndex+y*dest.stride+xBorder;
+			int i = image.startIndex + (y-radius)*image.stride;
+			final int iEnd = i+imgWidth-xBorder;
+
+			for( i += xBorder; i < iEnd; i++ ) {
+				int indexSrc = i;
+
+				int total = (dataSrc[indexSrc]) * k1;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k2;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k3;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k4;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k5;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k6;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k7;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k8;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k9;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k10;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k11;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k12;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k13;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k14;
+				indexSrc += image.stride;
+				total += (dataSrc[indexSrc])*k15;
+
+				dataDst[indexDst++] = ( short )(total/divisor);
+			}
+		}
+	}
+
 	public static void convolve3( Kernel2D_I32 kernel, ImageSInt16 src, ImageInt16 dest , int divisor )
 	{
 		final short[] dataSrc = src.data;
@@ -950,4 +1228,204 @@ public class ConvolveImageUnrolled_S16_I16_Div {
 		}
 	}
 
+	public static void convolve13( Kernel2D_I32 kernel, ImageSInt16 src, ImageInt16 dest , int divisor )
+	{
+		final short[] dataSrc = src.data;
+		final short[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		final int kernelRadius = kernel.getRadius();
+		final int totalRow[] = new int[ width ];
+
+		for( int y = kernelRadius; y < height-kernelRadius; y++ ) {
+
+			// first time through the value needs to be set
+			int k1 = kernel.data[0];
+			int k2 = kernel.data[1];
+			int k3 = kernel.data[2];
+			int k4 = kernel.data[3];
+			int k5 = kernel.data[4];
+			int k6 = kernel.data[5];
+			int k7 = kernel.data[6];
+			int k8 = kernel.data[7];
+			int k9 = kernel.data[8];
+			int k10 = kernel.data[9];
+			int k11 = kernel.data[10];
+			int k12 = kernel.data[11];
+			int k13 = kernel.data[12];
+
+			int indexSrcRow = src.startIndex+(y-kernelRadius)*src.stride-kernelRadius;
+			for( int x = kernelRadius; x < width-kernelRadius; x++ ) {
+				int indexSrc = indexSrcRow + x;
+
+				int total = 0;
+				total += (dataSrc[indexSrc++] )* k1;
+				total += (dataSrc[indexSrc++] )* k2;
+				total += (dataSrc[indexSrc++] )* k3;
+				total += (dataSrc[indexSrc++] )* k4;
+				total += (dataSrc[indexSrc++] )* k5;
+				total += (dataSrc[indexSrc++] )* k6;
+				total += (dataSrc[indexSrc++] )* k7;
+				total += (dataSrc[indexSrc++] )* k8;
+				total += (dataSrc[indexSrc++] )* k9;
+				total += (dataSrc[indexSrc++] )* k10;
+				total += (dataSrc[indexSrc++] )* k11;
+				total += (dataSrc[indexSrc++] )* k12;
+				total += (dataSrc[indexSrc] )* k13;
+
+				totalRow[x] = total;
+			}
+
+			// rest of the convolution rows are an addition
+			for( int i = 1; i < 13; i++ ) {
+				indexSrcRow = src.startIndex+(y+i-kernelRadius)*src.stride-kernelRadius;
+				
+				k1 = kernel.data[i*13 + 0];
+				k2 = kernel.data[i*13 + 1];
+				k3 = kernel.data[i*13 + 2];
+				k4 = kernel.data[i*13 + 3];
+				k5 = kernel.data[i*13 + 4];
+				k6 = kernel.data[i*13 + 5];
+				k7 = kernel.data[i*13 + 6];
+				k8 = kernel.data[i*13 + 7];
+				k9 = kernel.data[i*13 + 8];
+				k10 = kernel.data[i*13 + 9];
+				k11 = kernel.data[i*13 + 10];
+				k12 = kernel.data[i*13 + 11];
+				k13 = kernel.data[i*13 + 12];
+
+				for( int x = kernelRadius; x < width-kernelRadius; x++ ) {
+					int indexSrc = indexSrcRow+x;
+
+					int total = 0;
+					total += (dataSrc[indexSrc++] )* k1;
+					total += (dataSrc[indexSrc++] )* k2;
+					total += (dataSrc[indexSrc++] )* k3;
+					total += (dataSrc[indexSrc++] )* k4;
+					total += (dataSrc[indexSrc++] )* k5;
+					total += (dataSrc[indexSrc++] )* k6;
+					total += (dataSrc[indexSrc++] )* k7;
+					total += (dataSrc[indexSrc++] )* k8;
+					total += (dataSrc[indexSrc++] )* k9;
+					total += (dataSrc[indexSrc++] )* k10;
+					total += (dataSrc[indexSrc++] )* k11;
+					total += (dataSrc[indexSrc++] )* k12;
+					total += (dataSrc[indexSrc] )* k13;
+
+					totalRow[x] += total;
+				}
+			}
+			int indexDst = dest.startIndex + y*dest.stride+kernelRadius;
+			for( int x = kernelRadius; x < width-kernelRadius; x++ ) {
+				dataDst[indexDst++] = ( short )(totalRow[x] / divisor);
+			}
+		}
+	}
+
+	public static void convolve15( Kernel2D_I32 kernel, ImageSInt16 src, ImageInt16 dest , int divisor )
+	{
+		final short[] dataSrc = src.data;
+		final short[] dataDst = dest.data;
+
+		final int width = src.getWidth();
+		final int height = src.getHeight();
+
+		final int kernelRadius = kernel.getRadius();
+		final int totalRow[] = new int[ width ];
+
+		for( int y = kernelRadius; y < height-kernelRadius; y++ ) {
+
+			// first time through the value needs to be set
+			int k1 = kernel.data[0];
+			int k2 = kernel.data[1];
+			int k3 = kernel.data[2];
+			int k4 = kernel.data[3];
+			int k5 = kernel.data[4];
+			int k6 = kernel.data[5];
+			int k7 = kernel.data[6];
+			int k8 = kernel.data[7];
+			int k9 = kernel.data[8];
+			int k10 = kernel.data[9];
+			int k11 = kernel.data[10];
+			int k12 = kernel.data[11];
+			int k13 = kernel.data[12];
+			int k14 = kernel.data[13];
+			int k15 = kernel.data[14];
+
+			int indexSrcRow = src.startIndex+(y-kernelRadius)*src.stride-kernelRadius;
+			for( int x = kernelRadius; x < width-kernelRadius; x++ ) {
+				int indexSrc = indexSrcRow + x;
+
+				int total = 0;
+				total += (dataSrc[indexSrc++] )* k1;
+				total += (dataSrc[indexSrc++] )* k2;
+				total += (dataSrc[indexSrc++] )* k3;
+				total += (dataSrc[indexSrc++] )* k4;
+				total += (dataSrc[indexSrc++] )* k5;
+				total += (dataSrc[indexSrc++] )* k6;
+				total += (dataSrc[indexSrc++] )* k7;
+				total += (dataSrc[indexSrc++] )* k8;
+				total += (dataSrc[indexSrc++] )* k9;
+				total += (dataSrc[indexSrc++] )* k10;
+				total += (dataSrc[indexSrc++] )* k11;
+				total += (dataSrc[indexSrc++] )* k12;
+				total += (dataSrc[indexSrc++] )* k13;
+				total += (dataSrc[indexSrc++] )* k14;
+				total += (dataSrc[indexSrc] )* k15;
+
+				totalRow[x] = total;
+			}
+
+			// rest of the convolution rows are an addition
+			for( int i = 1; i < 15; i++ ) {
+				indexSrcRow = src.startIndex+(y+i-kernelRadius)*src.stride-kernelRadius;
+				
+				k1 = kernel.data[i*15 + 0];
+				k2 = kernel.data[i*15 + 1];
+				k3 = kernel.data[i*15 + 2];
+				k4 = kernel.data[i*15 + 3];
+				k5 = kernel.data[i*15 + 4];
+				k6 = kernel.data[i*15 + 5];
+				k7 = kernel.data[i*15 + 6];
+				k8 = kernel.data[i*15 + 7];
+				k9 = kernel.data[i*15 + 8];
+				k10 = kernel.data[i*15 + 9];
+				k11 = kernel.data[i*15 + 10];
+				k12 = kernel.data[i*15 + 11];
+				k13 = kernel.data[i*15 + 12];
+				k14 = kernel.data[i*15 + 13];
+				k15 = kernel.data[i*15 + 14];
+
+				for( int x = kernelRadius; x < width-kernelRadius; x++ ) {
+					int indexSrc = indexSrcRow+x;
+
+					int total = 0;
+					total += (dataSrc[indexSrc++] )* k1;
+					total += (dataSrc[indexSrc++] )* k2;
+					total += (dataSrc[indexSrc++] )* k3;
+					total += (dataSrc[indexSrc++] )* k4;
+					total += (dataSrc[indexSrc++] )* k5;
+					total += (dataSrc[indexSrc++] )* k6;
+					total += (dataSrc[indexSrc++] )* k7;
+					total += (dataSrc[indexSrc++] )* k8;
+					total += (dataSrc[indexSrc++] )* k9;
+					total += (dataSrc[indexSrc++] )* k10;
+					total += (dataSrc[indexSrc++] )* k11;
+					total += (dataSrc[indexSrc++] )* k12;
+					total += (dataSrc[indexSrc++] )* k13;
+					total += (dataSrc[indexSrc++] )* k14;
+					total += (dataSrc[indexSrc] )* k15;
+
+					totalRow[x] += total;
+				}
+			}
+			int indexDst = dest.startIndex + y*dest.stride+kernelRadius;
+			for( int x = kernelRadius; x < width-kernelRadius; x++ ) {
+				dataDst[indexDst++] = ( short )(totalRow[x] / divisor);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.kernel;
+
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.filter.convolve.ConvolveWithBorder;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * <p>
+ * Evaluates a steerable filter at many orientations by convolving the image with each basis kernel only
+ * once.  The response at any angle is then a linear combination of the basis responses, see
+ * {@link SteerableKernel}.  Multi-orientation analysis costs one pass per basis kernel instead of one
+ * convolution per angle.
+ * </p>
+ *
+ * <p>
+ * The basis can either be a set of 2D kernels or a set of separable kernels, e.g. x and y Gaussian derivatives.
+ * Basis responses are computed in parallel using {@link BoofConcurrency}.  Coefficients for the angles
+ * specified in {@link #setAngles(double...)} are computed once and cached.
+ * </p>
+ *
+ * <p>
+ * Usage:
+ * <ol>
+ * <li>Call {@link #setAngles(double...)} to specify which orientations are commonly used.</li>
+ * <li>Call {@link #process(ImageFloat32)} to compute the basis responses.</li>
+ * <li>Steer the responses for all pixels or individual pixels using the steer functions.</li>
+ * </ol>
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SteerableFilterBank_F32 {
+
+	// computes the coefficient of each basis for an angle
+	private SteerableCoefficients coef;
+
+	// 2D basis kernels.  null if separable
+	private Kernel2D_F32 basis[];
+	// separable basis kernels.  null if 2D
+	private Kernel1D_F32 basisX[];
+	private Kernel1D_F32 basisY[];
+
+	// how the image border is handled.  If null the border is skipped
+	private BorderType borderType;
+
+	// response of the image to each basis kernel
+	private ImageFloat32 responses[];
+	// storage for the horizontal pass of separable kernels
+	private ImageFloat32 storage[];
+
+	// cached coefficients for each angle.  [angle][basis]
+	private double angles[] = new double[0];
+	private float coefAngles[][] = new float[0][];
+	// storage for coefficients of angles which are not cached
+	private float coefWork[];
+	// used to steer a single angle without creating a new array
+	private float coefSingle[][] = new float[1][];
+
+	// input image
+	private ImageFloat32 image;
+
+	/**
+	 * Configures the filter bank for a 2D basis.
+	 *
+	 * @param coef Coefficients for steering the basis.
+	 * @param borderType How the image border is handled.  If {@link BorderType#SKIP} the border is zero.
+	 * @param basis Kernels which form the basis.
+	 */
+	public SteerableFilterBank_F32( SteerableCoefficients coef , BorderType borderType , Kernel2D_F32 ...basis ) {
+		this.coef = coef;
+		this.basis = basis;
+		init(basis.length,borderType);
+	}
+
+	/**
+	 * Configures the filter bank for a separable basis.  Each basis kernel is the outer product of a
+	 * horizontal and vertical kernel.
+	 *
+	 * @param coef Coefficients for steering the basis.
+	 * @param borderType How the image border is handled.  If {@link BorderType#SKIP} the border is zero.
+	 * @param basisX Horizontal component of each basis kernel.
+	 * @param basisY Vertical component of each basis kernel.
+	 */
+	public SteerableFilterBank_F32( SteerableCoefficients coef , BorderType borderType ,
+									Kernel1D_F32 basisX[] , Kernel1D_F32 basisY[] ) {
+		if( basisX.length != basisY.length )
+			throw new IllegalArgumentException("The number of horizontal and vertical kernels must be the same");
+		this.coef = coef;
+		this.basisX = basisX;
+		this.basisY = basisY;
+		init(basisX.length, borderType);
+
+		storage = new ImageFloat32[basisX.length];
+		for( int i = 0; i < storage.length; i++ )
+			storage[i] = new ImageFloat32(1,1);
+	}
+
+	private void init( int numBasis , BorderType borderType ) {
+		if( borderType != BorderType.SKIP )
+			this.borderType = borderType;
+
+		responses = new ImageFloat32[numBasis];
+		for( int i = 0; i < numBasis; i++ )
+			responses[i] = new ImageFloat32(1,1);
+		coefWork = new float[numBasis];
+	}
+
+	/**
+	 * Specifies a set of angles which will be used frequently and computes their coefficients.
+	 *
+	 * @param angles Angles in radians.
+	 */
+	public void setAngles( double ...angles ) {
+		this.angles = angles.clone();
+		coefAngles = new float[angles.length][];
+		for( int i = 0; i < angles.length; i++ ) {
+			coefAngles[i] = new float[responses.length];
+			computeCoefficients(angles[i],coefAngles[i]);
+		}
+	}
+
+	private void computeCoefficients( double angle , float[] output ) {
+		for( int i = 0; i < output.length; i++ )
+			output[i] = (float)coef.compute(angle,i);
+	}
+
+	/**
+	 * Computes the response of the image to each basis kernel.
+	 *
+	 * @param image Input image.  Not modified.
+	 */
+	public void process( final ImageFloat32 image ) {
+		this.image = image;
+		for( int i = 0; i < responses.length; i++ ) {
+			responses[i].reshape(image.width,image.height);
+			if( storage != null )
+				storage[i].reshape(image.width,image.height);
+		}
+
+		BoofConcurrency.loopBlocks(0,responses.length,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				ImageBorder_F32 border = borderType == null ? null :
+						(ImageBorder_F32)FactoryImageBorder.general(ImageFloat32.class, borderType);
+				for( int i = start; i < end; i++ ) {
+					computeBasis(i, image, border);
+				}
+			}
+		});
+	}
+
+	private void computeBasis( int index , ImageFloat32 image , ImageBorder_F32 border ) {
+		ImageFloat32 output = responses[index];
+
+		if( border == null )
+			ImageMiscOps.fill(output,0);
+
+		if( basis != null ) {
+			if( border == null ) {
+				ConvolveImageNoBorder.convolve(basis[index], image, output);
+			} else {
+				ConvolveWithBorder.convolve(basis[index], image, output, border);
+			}
+		} else {
+			ImageFloat32 temp = storage[index];
+			if( border == null ) {
+				ConvolveImageNoBorder.horizontal(basisX[index], image, temp, true);
+				ConvolveImageNoBorder.vertical(basisY[index], temp, output, false);
+			} else {
+				ConvolveWithBorder.horizontal(basisX[index], image, temp, border);
+				ConvolveWithBorder.vertical(basisY[index], temp, output, border);
+			}
+		}
+	}
+
+	/**
+	 * Computes the steered response for every pixel in the image at one of the angles specified in
+	 * {@link #setAngles(double...)}.
+	 *
+	 * @param angleIndex Index of the angle.
+	 * @param output Storage for the steered response.  Modified.
+	 */
+	public void steer( int angleIndex , ImageFloat32 output ) {
+		coefSingle[0] = coefAngles[angleIndex];
+		steerAll(coefSingle,output);
+	}
+
+	/**
+	 * Computes the steered response for every pixel in the image at an arbitrary angle.
+	 *
+	 * @param angle Angle in radians.
+	 * @param output Storage for the steered response.  Modified.
+	 */
+	public void steer( double angle , ImageFloat32 output ) {
+		computeCoefficients(angle,coefWork);
+		coefSingle[0] = coefWork;
+		steerAll(coefSingle,output);
+	}
+
+	/**
+	 * Computes the steered response for every pixel in the image at every angle specified in
+	 * {@link #setAngles(double...)}.  All the angles are computed in a single pass through the basis responses.
+	 *
+	 * @param outputs Storage for the steered response of each angle.  Modified.
+	 */
+	public void steerAll( ImageFloat32 ...outputs ) {
+		if( outputs.length != coefAngles.length )
+			throw new IllegalArgumentException("Expected one output image for each angle");
+		steerAll(coefAngles,outputs);
+	}
+
+	private void steerAll( final float[][] coefs , final ImageFloat32 ...outputs ) {
+		for( ImageFloat32 o : outputs )
+			o.reshape(image.width,image.height);
+
+		BoofConcurrency.loopBlocks(0,image.height,16,new IntRangeTask() {
+			@Override
+			public void process(int start, int end) {
+				final int numBasis = responses.length;
+				final int width = image.width;
+				float sums[] = new float[coefs.length];
+
+				for( int y = start; y < end; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						for( int a = 0; a < coefs.length; a++ )
+							sums[a] = 0;
+
+						for( int i = 0; i < numBasis; i++ ) {
+							ImageFloat32 r = responses[i];
+							float value = r.data[r.startIndex + y*r.stride + x];
+							for( int a = 0; a < coefs.length; a++ ) {
+								sums[a] += coefs[a][i]*value;
+							}
+						}
+
+						for( int a = 0; a < coefs.length; a++ ) {
+							ImageFloat32 o = outputs[a];
+							o.data[o.startIndex + y*o.stride + x] = sums[a];
+						}
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Computes the steered response at a single pixel for one of the angles specified in
+	 * {@link #setAngles(double...)}.
+	 *
+	 * @param angleIndex Index of the angle.
+	 * @param x Pixel x-coordinate.
+	 * @param y Pixel y-coordinate.
+	 * @return The steered response.
+	 */
+	public float steer( int angleIndex , int x , int y ) {
+		return steer(coefAngles[angleIndex],x,y);
+	}
+
+	/**
+	 * Computes the steered response at a single pixel for an arbitrary angle.
+	 *
+	 * @param angle Angle in radians.
+	 * @param x Pixel x-coordinate.
+	 * @param y Pixel y-coordinate.
+	 * @return The steered response.
+	 */
+	public float steer( double angle , int x , int y ) {
+		computeCoefficients(angle,coefWork);
+		return steer(coefWork,x,y);
+	}
+
+	private float steer( float[] c , int x , int y ) {
+		float total = 0;
+		for( int i = 0; i < responses.length; i++ ) {
+			ImageFloat32 r = responses[i];
+			total += c[i]*r.data[r.startIndex + y*r.stride + x];
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the image's response to the specified basis kernel
+	 */
+	public ImageFloat32 getBasisResponse( int index ) {
+		return responses[index];
+	}
+
+	public int getBasisSize() {
+		return responses.length;
+	}
+
+	public double[] getAngles() {
+		return angles;
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.census;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSInt64;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * The census transform encodes the local structure around each pixel as a bit string.  Each bit corresponds
+ * to a pixel inside a rectangular region around the center pixel and is set to 1 if that pixel's value is less
+ * than the center.  Bits are packed in row-major order with the first pixel in the most significant used bit.
+ * The rank transform instead counts the number of pixels which are less than the center.  Since only the order
+ * of values matters, both transforms are invariant to changes in gain and bias.  Census images are typically
+ * compared using the Hamming distance.
+ * </p>
+ *
+ * <p>
+ * Pixels outside the image are assigned the value of the closest pixel inside the image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CensusTransform {
+
+	/**
+	 * Number of bits required to encode a region with the specified radius
+	 */
+	public static int numberOfBits( int radiusX , int radiusY ) {
+		return (2*radiusX+1)*(2*radiusY+1)-1;
+	}
+
+	/**
+	 * Census transform which is packed into a 32-bit integer.  The region must have at most 32 pixels around
+	 * the center, e.g. 3x3, 5x5, or 7x3.
+	 *
+	 * @param input Input image
+	 * @param radiusX Radius of the region along the x-axis
+	 * @param radiusY Radius of the region along the y-axis
+	 * @param output Census image.  Same shape as input.
+	 */
+	public static void region( ImageUInt8 input , int radiusX , int radiusY , ImageSInt32 output ) {
+		InputSanityCheck.checkSameShape(input,output);
+		if( numberOfBits(radiusX,radiusY) > 32 )
+			throw new IllegalArgumentException("Region is too large for 32-bits");
+
+		final int width = input.width;
+		final int height = input.height;
+		int offsets[] = createOffsets(input.stride,radiusX,radiusY);
+
+		for( int y = 0; y < height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			boolean borderY = y < radiusY || y >= height-radiusY;
+
+			for( int x = 0; x < width; x++ , indexIn++ ) {
+				int center = input.data[indexIn] & 0xFF;
+				int census = 0;
+
+				if( borderY || x < radiusX || x >= width-radiusX ) {
+					for( int i = -radiusY; i <= radiusY; i++ ) {
+						int indexRow = input.startIndex + clamp(y+i,height)*input.stride;
+						for( int j = -radiusX; j <= radiusX; j++ ) {
+							if( i == 0 && j == 0 )
+								continue;
+							census <<= 1;
+							if( (input.data[indexRow + clamp(x+j,width)] & 0xFF) < center )
+								census |= 1;
+						}
+					}
+				} else {
+					for( int i = 0; i < offsets.length; i++ ) {
+						census <<= 1;
+						if( (input.data[indexIn+offsets[i]] & 0xFF) < center )
+							census |= 1;
+					}
+				}
+
+				output.data[indexOut+x] = census;
+			}
+		}
+	}
+
+	/**
+	 * Census transform which is packed into a 64-bit integer.  The region must have at most 64 pixels around
+	 * the center, e.g. 7x7 or 9x7.
+	 *
+	 * @param input Input image
+	 * @param radiusX Radius of the region along the x-axis
+	 * @param radiusY Radius of the region along the y-axis
+	 * @param output Census image.  Same shape as input.
+	 */
+	public static void region( ImageUInt8 input , int radiusX , int radiusY , ImageSInt64 output ) {
+		InputSanityCheck.checkSameShape(input,output);
+		if( numberOfBits(radiusX,radiusY) > 64 )
+			throw new IllegalArgumentException("Region is too large for 64-bits");
+
+		final int width = input.width;
+		final int height = input.height;
+		int offsets[] = createOffsets(input.stride,radiusX,radiusY);
+
+		for( int y = 0; y < height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			boolean borderY = y < radiusY || y >= height-radiusY;
+
+			for( int x = 0; x < width; x++ , indexIn++ ) {
+				int center = input.data[indexIn] & 0xFF;
+				long census = 0;
+
+				if( borderY || x < radiusX || x >= width-radiusX ) {
+					for( int i = -radiusY; i <= radiusY; i++ ) {
+						int indexRow = input.startIndex + clamp(y+i,height)*input.stride;
+						for( int j = -radiusX; j <= radiusX; j++ ) {
+							if( i == 0 && j == 0 )
+								continue;
+							census <<= 1;
+							if( (input.data[indexRow + clamp(x+j,width)] & 0xFF) < center )
+								census |= 1;
+						}
+					}
+				} else {
+					for( int i = 0; i < offsets.length; i++ ) {
+						census <<= 1;
+						if( (input.data[indexIn+offsets[i]] & 0xFF) < center )
+							census |= 1;
+					}
+				}
+
+				output.data[indexOut+x] = census;
+			}
+		}
+	}
+
+	/**
+	 * Rank transform.  The output is the number of pixels inside the region which are less than the center
+	 * pixel.  The region can have at most 255 pixels around the center.
+	 *
+	 * @param input Input image
+	 * @param radiusX Radius of the region along the x-axis
+	 * @param radiusY Radius of the region along the y-axis
+	 * @param output Rank image.  Same shape as input.
+	 */
+	public static void rank( ImageUInt8 input , int radiusX , int radiusY , ImageUInt8 output ) {
+		InputSanityCheck.checkSameShape(input,output);
+		if( numberOfBits(radiusX,radiusY) > 255 )
+			throw new IllegalArgumentException("Region is too large for 8-bits");
+
+		final int width = input.width;
+		final int height = input.height;
+		int offsets[] = createOffsets(input.stride,radiusX,radiusY);
+
+		for( int y = 0; y < height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			boolean borderY = y < radiusY || y >= height-radiusY;
+
+			for( int x = 0; x < width; x++ , indexIn++ ) {
+				int center = input.data[indexIn] & 0xFF;
+				int count = 0;
+
+				if( borderY || x < radiusX || x >= width-radiusX ) {
+					for( int i = -radiusY; i <= radiusY; i++ ) {
+						int indexRow = input.startIndex + clamp(y+i,height)*input.stride;
+						for( int j = -radiusX; j <= radiusX; j++ ) {
+							if( (input.data[indexRow + clamp(x+j,width)] & 0xFF) < center )
+								count++;
+						}
+					}
+				} else {
+					for( int i = 0; i < offsets.length; i++ ) {
+						if( (input.data[indexIn+offsets[i]] & 0xFF) < center )
+							count++;
+					}
+				}
+
+				output.data[indexOut+x] = (byte)count;
+			}
+		}
+	}
+
+	/**
+	 * Offset of each pixel in the region, excluding the center, relative to the center
+	 */
+	private static int[] createOffsets( int stride , int radiusX , int radiusY ) {
+		int offsets[] = new int[numberOfBits(radiusX,radiusY)];
+		int n = 0;
+		for( int i = -radiusY; i <= radiusY; i++ ) {
+			for( int j = -radiusX; j <= radiusX; j++ ) {
+				if( i != 0 || j != 0 )
+					offsets[n++] = i*stride + j;
+			}
+		}
+		return offsets;
+	}
+
+	private static int clamp( int value , int length ) {
+		if( value < 0 )
+			return 0;
+		if( value >= length )
+			return length-1;
+		return value;
+	}
+}
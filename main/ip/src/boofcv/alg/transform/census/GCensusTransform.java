@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.census;
+
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSInt64;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Provides a mechanism to call {@link CensusTransform} with unknown types at compile time.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"unchecked"})
+public class GCensusTransform {
+
+	/**
+	 * Returns the smallest image type which can store the census transform of a region with the specified radius.
+	 */
+	public static <C extends ImageSingleBand> Class<C> getCensusType( int radiusX , int radiusY ) {
+		int bits = CensusTransform.numberOfBits(radiusX,radiusY);
+		if( bits <= 32 )
+			return (Class<C>)ImageSInt32.class;
+		else if( bits <= 64 )
+			return (Class<C>)ImageSInt64.class;
+		else
+			throw new IllegalArgumentException("Region is too large.  Must have 64 or fewer pixels around the center");
+	}
+
+	/**
+	 * Computes the census transform.  See {@link CensusTransform#region}.
+	 *
+	 * @param input Input image
+	 * @param radiusX Radius of the region along the x-axis
+	 * @param radiusY Radius of the region along the y-axis
+	 * @param output Census image.  {@link ImageSInt32} or {@link ImageSInt64}
+	 */
+	public static void region( ImageUInt8 input , int radiusX , int radiusY , ImageSingleBand output ) {
+		if( output instanceof ImageSInt32 ) {
+			CensusTransform.region(input,radiusX,radiusY,(ImageSInt32)output);
+		} else if( output instanceof ImageSInt64 ) {
+			CensusTransform.region(input,radiusX,radiusY,(ImageSInt64)output);
+		} else {
+			throw new IllegalArgumentException("Unknown output image type: "+output.getClass().getSimpleName());
+		}
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+/**
+ * <p>
+ * Fast Fourier Transform (FFT) of a one dimensional complex signal whose length is a power of two.  An iterative
+ * radix-2 decimation in time algorithm is used with twiddle factors and bit reversal indexes computed once in
+ * the constructor.  The transform is done in place.  Complex numbers are stored in interleaved format, i.e.
+ * [real,imaginary,real,imaginary,...].
+ * </p>
+ *
+ * <p>
+ * The forward transform is not scaled and the inverse transform is scaled by 1/N so that
+ * inverse(forward(x)) = x.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FourierTransformComplex_F64 {
+
+	// number of complex elements in the signal
+	private int length;
+
+	// twiddle factors, cos(2*pi*k/N) and sin(2*pi*k/N) for k = 0 to N/2-1
+	private double cos[];
+	private double sin[];
+
+	// index of each element after the bit reversal permutation
+	private int reverse[];
+
+	/**
+	 * Declares internal data structures for a signal of the specified length
+	 *
+	 * @param length Number of complex elements in the signal.  Must be a power of two.
+	 */
+	public FourierTransformComplex_F64( int length ) {
+		if( !isPowerOfTwo(length) )
+			throw new IllegalArgumentException("Length must be a power of two. "+length);
+
+		this.length = length;
+
+		int half = Math.max(1,length/2);
+		cos = new double[half];
+		sin = new double[half];
+		for( int k = 0; k < half; k++ ) {
+			double theta = 2.0*Math.PI*k/length;
+			cos[k] = Math.cos(theta);
+			sin[k] = Math.sin(theta);
+		}
+
+		int bits = Integer.numberOfTrailingZeros(length);
+		reverse = new int[length];
+		for( int i = 0; i < length; i++ ) {
+			reverse[i] = bits == 0 ? 0 : Integer.reverse(i) >>> (32-bits);
+		}
+	}
+
+	/**
+	 * Computes the forward transform.
+	 *
+	 * @param data Array containing the interleaved complex signal.  Modified.
+	 * @param offset Index of the first element in the signal
+	 */
+	public void forward( double data[] , int offset ) {
+		transform(data,offset,-1);
+	}
+
+	/**
+	 * Computes the inverse transform, which is scaled by 1/N.
+	 *
+	 * @param data Array containing the interleaved complex spectrum.  Modified.
+	 * @param offset Index of the first element in the spectrum
+	 */
+	public void inverse( double data[] , int offset ) {
+		transform(data,offset,1);
+
+		double scale = 1.0/length;
+		int end = offset + length*2;
+		for( int i = offset; i < end; i++ ) {
+			data[i] *= scale;
+		}
+	}
+
+	/**
+	 * In place transform.
+	 *
+	 * @param sign Sign of the exponent.  -1 for forward and 1 for inverse.
+	 */
+	private void transform( double data[] , int offset , int sign ) {
+		// bit reversal permutation
+		for( int i = 0; i < length; i++ ) {
+			int j = reverse[i];
+			if( j > i ) {
+				int indexI = offset + i*2;
+				int indexJ = offset + j*2;
+				double tmp = data[indexI]; data[indexI] = data[indexJ]; data[indexJ] = tmp;
+				tmp = data[indexI+1]; data[indexI+1] = data[indexJ+1]; data[indexJ+1] = tmp;
+			}
+		}
+
+		// the first level of butterflies has a twiddle factor of one
+		int end = length >= 2 ? offset + length*2 : offset;
+		for( int indexA = offset; indexA < end; indexA += 4 ) {
+			double ar = data[indexA], ai = data[indexA+1];
+			double br = data[indexA+2], bi = data[indexA+3];
+			data[indexA]   = ar + br;
+			data[indexA+1] = ai + bi;
+			data[indexA+2] = ar - br;
+			data[indexA+3] = ai - bi;
+		}
+
+		// combine transforms of increasing size
+		for( int size = 4; size <= length; size *= 2 ) {
+			int half = size/2;
+			int step = length/size;
+
+			for( int start = 0; start < length; start += size ) {
+				int indexA = offset + start*2;
+				int indexB = indexA + half*2;
+
+				for( int k = 0; k < half; k++ , indexA += 2, indexB += 2 ) {
+					double wr = cos[k*step];
+					double wi = sign*sin[k*step];
+
+					double br = data[indexB], bi = data[indexB+1];
+					double tr = wr*br - wi*bi;
+					double ti = wr*bi + wi*br;
+
+					double ar = data[indexA], ai = data[indexA+1];
+					data[indexA]   = ar + tr;
+					data[indexA+1] = ai + ti;
+					data[indexB]   = ar - tr;
+					data[indexB+1] = ai - ti;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the value is a power of two and greater than zero
+	 */
+	public static boolean isPowerOfTwo( int value ) {
+		return value > 0 && (value & (value-1)) == 0;
+	}
+
+	/**
+	 * Returns the smallest power of two which is greater than or equal to the value
+	 */
+	public static int nextPowerOfTwo( int value ) {
+		int ret = 1;
+		while( ret < value )
+			ret *= 2;
+		return ret;
+	}
+
+	/**
+	 * Number of complex elements in the signal
+	 */
+	public int getLength() {
+		return length;
+	}
+}
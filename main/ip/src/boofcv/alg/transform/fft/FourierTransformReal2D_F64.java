@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+/**
+ * <p>
+ * Fast Fourier Transform (FFT) of a real valued two dimensional signal, e.g. an image, whose width and height are
+ * both powers of two.  Since the spectrum of a real signal is Hermitian symmetric only the first width/2+1 columns
+ * of the spectrum are computed and stored.  Each row is transformed by packing it into a complex signal of half
+ * the length, then the columns are transformed using a complex FFT.
+ * </p>
+ *
+ * <p>
+ * The real signal is stored in a row-major array with a stride equal to its width.  The spectrum is stored in a
+ * row-major array of interleaved complex numbers with {@link #getSpectrumWidth()} complex elements in each row.
+ * The forward transform is not scaled and the inverse transform is scaled by 1/(width*height).
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FourierTransformReal2D_F64 {
+
+	// shape of the real signal
+	private int width;
+	private int height;
+
+	// transform of a row packed as complex numbers and a column
+	private FourierTransformComplex_F64 fftRow;
+	private FourierTransformComplex_F64 fftColumn;
+
+	// twiddle factors used to separate the packed row transform.  exp(-2*pi*i*k/width)
+	private double cos[];
+	private double sin[];
+
+	// work space for transforming a column
+	private double column[];
+
+	/**
+	 * Declares internal data structures for a signal with the specified shape
+	 *
+	 * @param width Width of the signal.  Power of two and &ge; 2.
+	 * @param height Height of the signal.  Power of two.
+	 */
+	public FourierTransformReal2D_F64( int width , int height ) {
+		if( width < 2 || !FourierTransformComplex_F64.isPowerOfTwo(width) )
+			throw new IllegalArgumentException("Width must be a power of two and at least 2. "+width);
+		if( !FourierTransformComplex_F64.isPowerOfTwo(height) )
+			throw new IllegalArgumentException("Height must be a power of two. "+height);
+
+		this.width = width;
+		this.height = height;
+
+		fftRow = new FourierTransformComplex_F64(width/2);
+		fftColumn = new FourierTransformComplex_F64(height);
+
+		int half = width/2;
+		cos = new double[half+1];
+		sin = new double[half+1];
+		for( int k = 0; k <= half; k++ ) {
+			double theta = 2.0*Math.PI*k/width;
+			cos[k] = Math.cos(theta);
+			sin[k] = -Math.sin(theta);
+		}
+
+		column = new double[height*2];
+	}
+
+	/**
+	 * Computes the spectrum of a real signal.
+	 *
+	 * @param input (Input) Real signal with width*height elements.  Not modified.
+	 * @param spectrum (Output) Spectrum with height*{@link #getSpectrumWidth()} complex elements.
+	 */
+	public void forward( double input[] , double spectrum[] ) {
+		int stride = getSpectrumWidth()*2;
+
+		for( int y = 0; y < height; y++ ) {
+			int indexSpectrum = y*stride;
+			// pairs of real elements are treated as a single complex element
+			System.arraycopy(input,y*width,spectrum,indexSpectrum,width);
+			fftRow.forward(spectrum,indexSpectrum);
+			separateRow(spectrum, indexSpectrum);
+		}
+
+		for( int k = 0; k < stride; k += 2 ) {
+			copyColumn(spectrum,k,stride);
+			fftColumn.forward(column,0);
+			pasteColumn(spectrum,k,stride);
+		}
+	}
+
+	/**
+	 * Computes the real signal from its spectrum.
+	 *
+	 * @param spectrum (Input) Spectrum with height*{@link #getSpectrumWidth()} complex elements.  Modified.
+	 * @param output (Output) Real signal with width*height elements.
+	 */
+	public void inverse( double spectrum[] , double output[] ) {
+		int stride = getSpectrumWidth()*2;
+
+		for( int k = 0; k < stride; k += 2 ) {
+			copyColumn(spectrum,k,stride);
+			fftColumn.inverse(column,0);
+			pasteColumn(spectrum,k,stride);
+		}
+
+		for( int y = 0; y < height; y++ ) {
+			int indexSpectrum = y*stride;
+			combineRow(spectrum, indexSpectrum);
+			fftRow.inverse(spectrum,indexSpectrum);
+			System.arraycopy(spectrum,indexSpectrum,output,y*width,width);
+		}
+	}
+
+	/**
+	 * Converts the transform of a row packed as complex numbers, Z, into the first half of the real
+	 * row's spectrum, X.  X[k] = (Z[k] + conj(Z[M-k]))/2 - i*W^k*(Z[k] - conj(Z[M-k]))/2, where M = width/2.
+	 */
+	private void separateRow( double data[] , int offset ) {
+		int M = width/2;
+
+		double r0 = data[offset], i0 = data[offset+1];
+		data[offset] = r0 + i0;
+		data[offset+1] = 0;
+		data[offset+M*2] = r0 - i0;
+		data[offset+M*2+1] = 0;
+
+		for( int k = 1; k < M-k; k++ ) {
+			int indexK = offset + k*2;
+			int indexM = offset + (M-k)*2;
+
+			double kr = data[indexK], ki = data[indexK+1];
+			double mr = data[indexM], mi = data[indexM+1];
+
+			// even and odd components
+			double er = (kr + mr)*0.5, ei = (ki - mi)*0.5;
+			double or = (ki + mi)*0.5, oi = -(kr - mr)*0.5;
+
+			double tr = cos[k]*or - sin[k]*oi;
+			double ti = cos[k]*oi + sin[k]*or;
+
+			data[indexK]   = er + tr;
+			data[indexK+1] = ei + ti;
+			data[indexM]   = er - tr;
+			data[indexM+1] = -(ei - ti);
+		}
+
+		if( M > 1 && M % 2 == 0 ) {
+			// X[M/2] = conj(Z[M/2])
+			data[offset+M+1] = -data[offset+M+1];
+		}
+	}
+
+	/**
+	 * Inverse of {@link #separateRow}.  Z[k] = E[k] + i*O[k] where E[k] = (X[k] + conj(X[M-k]))/2 and
+	 * O[k] = conj(W^k)*(X[k] - conj(X[M-k]))/2
+	 */
+	private void combineRow( double data[] , int offset ) {
+		int M = width/2;
+
+		double xr = data[offset], xi = data[offset+1];
+		double mr = data[offset+M*2], mi = data[offset+M*2+1];
+		double er = (xr + mr)*0.5, ei = (xi - mi)*0.5;
+		double or = (xr - mr)*0.5, oi = (xi + mi)*0.5;
+		data[offset] = er - oi;
+		data[offset+1] = ei + or;
+
+		for( int k = 1; k < M-k; k++ ) {
+			int indexK = offset + k*2;
+			int indexM = offset + (M-k)*2;
+
+			double kr = data[indexK], ki = data[indexK+1];
+			mr = data[indexM]; mi = data[indexM+1];
+
+			er = (kr + mr)*0.5; ei = (ki - mi)*0.5;
+			double dr = (kr - mr)*0.5, di = (ki + mi)*0.5;
+
+			// multiply by the conjugate of the twiddle factor
+			or = cos[k]*dr + sin[k]*di;
+			oi = cos[k]*di - sin[k]*dr;
+
+			// Z[k] = E + i*O and Z[M-k] = conj(E) + i*conj(O)
+			data[indexK]   = er - oi;
+			data[indexK+1] = ei + or;
+			data[indexM]   = er + oi;
+			data[indexM+1] = -ei + or;
+		}
+
+		if( M > 1 && M % 2 == 0 ) {
+			data[offset+M+1] = -data[offset+M+1];
+		}
+	}
+
+	private void copyColumn( double spectrum[] , int k , int stride ) {
+		for( int y = 0, index = k; y < height; y++ , index += stride ) {
+			column[y*2] = spectrum[index];
+			column[y*2+1] = spectrum[index+1];
+		}
+	}
+
+	private void pasteColumn( double spectrum[] , int k , int stride ) {
+		for( int y = 0, index = k; y < height; y++ , index += stride ) {
+			spectrum[index] = column[y*2];
+			spectrum[index+1] = column[y*2+1];
+		}
+	}
+
+	/**
+	 * Number of complex elements in each row of the spectrum, width/2+1
+	 */
+	public int getSpectrumWidth() {
+		return width/2+1;
+	}
+
+	/**
+	 * Number of elements in the array which stores the spectrum
+	 */
+	public int getSpectrumLength() {
+		return getSpectrumWidth()*height*2;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>
+ * Functions for splitting work up between several threads.  All algorithms share a single pool of daemon
+ * threads, which is created the first time it is needed.  The maximum number of threads defaults to the
+ * number of available processors and can be changed with {@link #setMaxThreads(int)}.  Setting it to one
+ * turns off concurrency and all the work is done in the calling thread.
+ * </p>
+ *
+ * <p>
+ * When called from inside one of the pool's threads the work is done sequentially in that thread.  This
+ * prevents nested parallel code from waiting on itself.
+ * </p>
+ *
+ * <p>
+ * The number of threads can be changed while work is being processed.  The old pool is shut down, which lets
+ * the blocks already submitted to it finish, and any block it rejects is processed by the calling thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+
+	// maximum number of threads which work can be split between
+	private static volatile int maxThreads = Runtime.getRuntime().availableProcessors();
+
+	// the thread pool.  Lazily created
+	private static ExecutorService pool;
+
+	/**
+	 * Specifies the maximum number of threads that work can be split between.  If set to one then all
+	 * processing is done in the calling thread.
+	 *
+	 * @param threads Maximum number of threads.  Must be &ge; 1.
+	 */
+	public static synchronized void setMaxThreads( int threads ) {
+		if( threads < 1 )
+			throw new IllegalArgumentException("Number of threads must be at least one");
+		if( threads == maxThreads )
+			return;
+		maxThreads = threads;
+		if( pool != null ) {
+			// Other threads might still be using the old pool.  shutdown() lets the blocks they have already
+			// submitted finish and loopBlocks() processes any rejected block itself
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	public static int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Returns true if work submitted now would be split between more than one thread.
+	 */
+	public static boolean isConcurrent() {
+		return maxThreads > 1 && !(Thread.currentThread() instanceof WorkerThread);
+	}
+
+	/**
+	 * Splits the range into blocks and processes them in parallel.  Same as
+	 * {@link #loopBlocks(int, int, int, IntRangeTask)} with a minimum block size of one.
+	 */
+	public static void loopBlocks( int start , int end , IntRangeTask task ) {
+		loopBlocks(start,end,1,task);
+	}
+
+	/**
+	 * Splits the range from start to end into at most {@link #getMaxThreads()} contiguous blocks, which are
+	 * then processed in parallel.  One block is processed by the calling thread.  Returns after every block
+	 * has been processed.  If a task throws an exception it will be thrown again by this function.
+	 *
+	 * @param start First element in the range, inclusive.
+	 * @param end Last element in the range, exclusive.
+	 * @param minBlock The minimum number of elements in a block.  Used to avoid the overhead of using threads
+	 *                 on small problems.
+	 * @param task Processes each block.
+	 */
+	public static void loopBlocks( int start , int end , int minBlock , final IntRangeTask task ) {
+		final int N = end - start;
+		if( N <= 0 )
+			return;
+
+		int numBlocks = Math.min(maxThreads,N/Math.max(1,minBlock));
+		if( numBlocks <= 1 || !isConcurrent() ) {
+			task.process(start,end);
+			return;
+		}
+
+		ExecutorService pool = getPool();
+		List<Future<?>> futures = new ArrayList<Future<?>>(numBlocks-1);
+		List<Runnable> rejected = null;
+		for( int i = 1; i < numBlocks; i++ ) {
+			final int blockStart = start + (int)((long)N*i/numBlocks);
+			final int blockEnd = start + (int)((long)N*(i+1)/numBlocks);
+			Runnable r = new Runnable() {
+				@Override
+				public void run() {
+					task.process(blockStart,blockEnd);
+				}
+			};
+			try {
+				futures.add(pool.submit(r));
+			} catch( RejectedExecutionException e ) {
+				// the pool was shut down by setMaxThreads().  Process the block in this thread instead
+				if( rejected == null )
+					rejected = new ArrayList<Runnable>();
+				rejected.add(r);
+			}
+		}
+
+		// do some of the work in this thread instead of waiting
+		Throwable failure = null;
+		try {
+			task.process(start, start + N/numBlocks);
+			if( rejected != null ) {
+				for( Runnable r : rejected )
+					r.run();
+			}
+		} catch( Throwable t ) {
+			failure = t;
+		}
+
+		for( Future<?> f : futures ) {
+			try {
+				f.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				if( failure == null )
+					failure = e;
+			} catch (ExecutionException e) {
+				if( failure == null )
+					failure = e.getCause();
+			}
+		}
+
+		if( failure != null ) {
+			if( failure instanceof RuntimeException )
+				throw (RuntimeException)failure;
+			if( failure instanceof Error )
+				throw (Error)failure;
+			throw new RuntimeException(failure);
+		}
+	}
+
+	private static synchronized ExecutorService getPool() {
+		if( pool == null ) {
+			pool = Executors.newFixedThreadPool(Math.max(1,maxThreads-1),new ThreadFactory() {
+				int count = 0;
+				@Override
+				public synchronized Thread newThread(Runnable r) {
+					Thread t = new WorkerThread(r,"BoofConcurrency-"+(count++));
+					t.setDaemon(true);
+					return t;
+				}
+			});
+		}
+		return pool;
+	}
+
+	/**
+	 * Used to identify threads which belong to the pool
+	 */
+	private static class WorkerThread extends Thread {
+		private WorkerThread(Runnable target, String name) {
+			super(target, name);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thread safe pool of algorithm instances.  A thread requests an instance, uses it, then returns it.  New
+ * instances are only created when the pool is empty, so after the first call there are as many instances
+ * as threads which have been active at the same time.
+ *
+ * @author Peter Abeles
+ */
+public class InstancePool<T> {
+
+	// creates new instances
+	private InstanceFactory<T> factory;
+
+	// instances which are not in use
+	private final List<T> available = new ArrayList<T>();
+	// every instance created by or added to the pool
+	private final List<T> all = new ArrayList<T>();
+
+	public InstancePool(InstanceFactory<T> factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Adds an existing instance to the pool
+	 */
+	public synchronized void add( T instance ) {
+		available.add(instance);
+		all.add(instance);
+	}
+
+	/**
+	 * Removes an instance from the pool, creating a new one if none are available.
+	 */
+	public synchronized T acquire() {
+		if( available.isEmpty() ) {
+			T instance = factory.newInstance();
+			all.add(instance);
+			return instance;
+		}
+		return available.remove(available.size()-1);
+	}
+
+	/**
+	 * Puts the instance back into the pool so that it can be used again
+	 */
+	public synchronized void release( T instance ) {
+		available.add(instance);
+	}
+
+	/**
+	 * Every instance which has been created.  Should only be accessed when no instances are in use.
+	 */
+	public List<T> getAll() {
+		return all;
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+/**
+ * Task which processes a contiguous range of integers, e.g. a block of image rows.  Used by
+ * {@link BoofConcurrency} to split up work between threads.
+ *
+ * @author Peter Abeles
+ */
+public interface IntRangeTask {
+
+	/**
+	 * Processes all the elements from start to end, exclusive.
+	 *
+	 * @param start First element in the range, inclusive.
+	 * @param end Last element in the range, exclusive.
+	 */
+	public void process( int start , int end );
+}
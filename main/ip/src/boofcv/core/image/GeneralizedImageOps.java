@@ -138,6 +138,8 @@ public class GeneralizedImageOps {
 	public static void set(ImageSingleBand img, int x, int y, double value) {
 		if (ImageInteger.class.isAssignableFrom(img.getClass())) {
 			((ImageInteger)img).set(x,y,(int)value);
+		} else if (img instanceof ImageSInt64) {
+			((ImageSInt64) img).set(x, y, (long)value);
 		} else if (img instanceof ImageFloat32) {
 			((ImageFloat32) img).set(x, y,(float)value);
 		} else if (img instanceof ImageFloat64) {
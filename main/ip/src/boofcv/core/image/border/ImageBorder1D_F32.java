@@ -28,6 +28,12 @@ public class ImageBorder1D_F32 extends ImageBorder_F32 {
 	BorderIndex1D rowWrap;
 	BorderIndex1D colWrap;
 
+	// look up tables for columns outside the image.  Element i is the column for x = -1-i or x = width+i
+	int[] colLeft = new int[0];
+	int[] colRight = new int[0];
+	// image width the look up tables were computed for
+	int tableWidth = -1;
+
 	public ImageBorder1D_F32(Class<?> type ) {
 		try {
 			this.rowWrap = (BorderIndex1D)type.newInstance();
@@ -59,6 +65,58 @@ public class ImageBorder1D_F32 extends ImageBorder_F32 {
 		rowWrap.setLength(image.height);
 	}
 
+	@Override
+	public void getRow( int y , int x0 , int length , float[] dst , int offset ) {
+		final int width = image.width;
+		final int x1 = x0 + length;
+
+		if( y < 0 || y >= image.height )
+			y = rowWrap.getIndex(y);
+		final float[] data = image.data;
+		final int rowStart = image.startIndex + y*image.stride;
+
+		int index = offset;
+		int x = x0;
+
+		// pixels to the left of the image
+		if( x < 0 ) {
+			checkColumnTables(-x0);
+			for( ; x < 0 && x < x1; x++ )
+				dst[index++] = data[rowStart + colLeft[-1-x]];
+		}
+
+		// pixels inside the image
+		final int end = Math.min(width,x1);
+		for( ; x < end; x++ )
+			dst[index++] = data[rowStart + x];
+
+		// pixels to the right of the image
+		if( x < x1 ) {
+			checkColumnTables(x1-width);
+			for( ; x < x1; x++ )
+				dst[index++] = data[rowStart + colRight[x-width]];
+		}
+	}
+
+	/**
+	 * Makes sure the column look up tables are for the current image and extend at least 'pad' pixels
+	 */
+	private void checkColumnTables( int pad ) {
+		if( tableWidth == image.width && colLeft.length >= pad )
+			return;
+
+		if( tableWidth == image.width )
+			pad = Math.max(pad,colLeft.length);
+
+		colLeft = new int[pad];
+		colRight = new int[pad];
+		for( int i = 0; i < pad; i++ ) {
+			colLeft[i] = colWrap.getIndex(-1-i);
+			colRight[i] = colWrap.getIndex(image.width+i);
+		}
+		tableWidth = image.width;
+	}
+
 	@Override
 	public float getOutside(int x, int y) {
 		return image.get( colWrap.getIndex(x) , rowWrap.getIndex(y) );
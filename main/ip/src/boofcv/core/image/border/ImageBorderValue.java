@@ -119,6 +119,29 @@ public class ImageBorderValue {
 			return value;
 		}
 
+		@Override
+		public void getRow( int y , int x0 , int length , float[] dst , int offset ) {
+			if( y < 0 || y >= image.height ) {
+				for( int i = 0; i < length; i++ )
+					dst[offset+i] = value;
+				return;
+			}
+
+			// [a,b) is the part of the row inside the image.  Clamped so that a row which is entirely
+			// to one side of the image is still only length long
+			int x1 = x0+length;
+			int a = Math.min(Math.max(0,x0),x1);
+			int b = Math.max(a,Math.min(image.width,x1));
+			for( int x = x0; x < a; x++ )
+				dst[offset++] = value;
+			if( b > a ) {
+				System.arraycopy(image.data,image.startIndex + y*image.stride + a,dst,offset,b-a);
+				offset += b-a;
+			}
+			for( int x = b; x < x1; x++ )
+				dst[offset++] = value;
+		}
+
 		@Override
 		public void setOutside(int x, int y, float val) {
 			// do nothing since it is a constant value
@@ -142,6 +165,28 @@ public class ImageBorderValue {
 			return value;
 		}
 
+		@Override
+		public void getRow( int y , int x0 , int length , int[] dst , int offset ) {
+			if( y < 0 || y >= image.height ) {
+				for( int i = 0; i < length; i++ )
+					dst[offset+i] = value;
+				return;
+			}
+
+			ImageInteger image = (ImageInteger)this.image;
+			// [a,b) is the part of the row inside the image.  Clamped so that a row which is entirely
+			// to one side of the image is still only length long
+			int x1 = x0+length;
+			int a = Math.min(Math.max(0,x0),x1);
+			int b = Math.max(a,Math.min(image.width,x1));
+			for( int x = x0; x < a; x++ )
+				dst[offset++] = value;
+			for( int x = a; x < b; x++ )
+				dst[offset++] = image.unsafe_get(x,y);
+			for( int x = b; x < x1; x++ )
+				dst[offset++] = value;
+		}
+
 		@Override
 		public void setOutside(int x, int y, int value) {
 			// do nothing since it is a constant
@@ -27,6 +27,9 @@ import boofcv.struct.image.ImageFloat32;
  */
 public abstract class ImageBorder_F32 extends ImageBorder<ImageFloat32> {
 
+	// work space used by functions which process the image border
+	private float[] workSpace = new float[0];
+
 	public ImageBorder_F32(ImageFloat32 image) {
 		super(image);
 	}
@@ -48,6 +51,34 @@ public abstract class ImageBorder_F32 extends ImageBorder<ImageFloat32> {
 		return getOutside( x , y );
 	}
 
+	/**
+	 * Copies a row of pixels into an array.  The row can extend outside of the image.
+	 *
+	 * @param y Row in the image.
+	 * @param x0 Column of the first pixel.  Can be outside of the image.
+	 * @param length Number of pixels copied.
+	 * @param dst Array the pixels are written into.
+	 * @param offset Index of the first element in dst which is written to.
+	 */
+	public void getRow( int y , int x0 , int length , float[] dst , int offset ) {
+		for( int i = 0; i < length; i++ ) {
+			dst[offset+i] = get(x0+i,y);
+		}
+	}
+
+	/**
+	 * Returns an array with at least the specified number of elements which can be used as work space when
+	 * processing the image border.  The array is saved and only grows, so it is not declared each time.
+	 *
+	 * @param length Minimum number of elements.
+	 * @return Work space array.
+	 */
+	public float[] getWorkSpace( int length ) {
+		if( workSpace.length < length )
+			workSpace = new float[length];
+		return workSpace;
+	}
+
 	@Override
 	public double getGeneral(int x, int y) {
 		return get(x,y);
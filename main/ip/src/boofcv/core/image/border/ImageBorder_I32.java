@@ -27,6 +27,9 @@ import boofcv.struct.image.ImageInteger;
  */
 public abstract class ImageBorder_I32<T extends ImageInteger> extends ImageBorder<T> {
 
+	// work space used by functions which process the image border
+	private int[] workSpace = new int[0];
+
 	public ImageBorder_I32(T image) {
 		super(image);
 	}
@@ -50,6 +53,34 @@ public abstract class ImageBorder_I32<T extends ImageInteger> extends ImageBorde
 		setOutside( x , y , value);
 	}
 
+	/**
+	 * Copies a row of pixels into an array.  The row can extend outside of the image.
+	 *
+	 * @param y Row in the image.
+	 * @param x0 Column of the first pixel.  Can be outside of the image.
+	 * @param length Number of pixels copied.
+	 * @param dst Array the pixels are written into.
+	 * @param offset Index of the first element in dst which is written to.
+	 */
+	public void getRow( int y , int x0 , int length , int[] dst , int offset ) {
+		for( int i = 0; i < length; i++ ) {
+			dst[offset+i] = get(x0+i,y);
+		}
+	}
+
+	/**
+	 * Returns an array with at least the specified number of elements which can be used as work space when
+	 * processing the image border.  The array is saved and only grows, so it is not declared each time.
+	 *
+	 * @param length Minimum number of elements.
+	 * @return Work space array.
+	 */
+	public int[] getWorkSpace( int length ) {
+		if( workSpace.length < length )
+			workSpace = new int[length];
+		return workSpace;
+	}
+
 	@Override
 	public double getGeneral(int x, int y) {
 		return get(x,y);
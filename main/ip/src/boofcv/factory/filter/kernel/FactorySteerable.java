@@ -20,12 +20,15 @@ package boofcv.factory.filter.kernel;
 
 import boofcv.alg.distort.DistortImageOps;
 import boofcv.alg.filter.kernel.GKernelMath;
+import boofcv.alg.filter.kernel.SteerableFilterBank_F32;
 import boofcv.alg.filter.kernel.SteerableKernel;
 import boofcv.alg.filter.kernel.impl.SteerableKernel_F32;
 import boofcv.alg.filter.kernel.impl.SteerableKernel_I32;
 import boofcv.alg.interpolate.TypeInterpolate;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.border.BorderType;
 import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel2D;
 import boofcv.struct.convolve.Kernel2D_F32;
 import boofcv.struct.image.ImageSingleBand;
@@ -106,4 +109,59 @@ public class FactorySteerable {
 
 		return ret;
 	}
+
+	/**
+	 * Filter bank for steering a 2D Gaussian derivative at many angles.  The basis is the same as the one
+	 * used by {@link #gaussian(Class, int, int, double, int)}.
+	 *
+	 * @param orderX Order of the derivative in the x-axis.
+	 * @param orderY Order of the derivative in the y-axis.
+	 * @param sigma Gaussian's sigma.  If &le; 0 then it is computed from the radius.
+	 * @param radius Radius of the kernel.  If &le; 0 then it is computed from sigma.
+	 * @param borderType How the image border is handled.
+	 * @return Filter bank for the specified gaussian derivative.
+	 */
+	public static SteerableFilterBank_F32 gaussianBank( int orderX, int orderY, double sigma, int radius ,
+														BorderType borderType ) {
+		SteerableKernel<Kernel2D_F32> steerable = gaussian(Kernel2D_F32.class,orderX,orderY,sigma,radius);
+
+		Kernel2D_F32 basis[] = new Kernel2D_F32[ steerable.getBasisSize() ];
+		for( int i = 0; i < basis.length; i++ )
+			basis[i] = steerable.getBasis(i);
+
+		return new SteerableFilterBank_F32(FactorySteerCoefficients.polynomial(orderX+orderY),borderType,basis);
+	}
+
+	/**
+	 * Filter bank for steering the n<sup>th</sup> order Gaussian derivative using a separable basis.  Basis
+	 * i is the derivative of order n-i along the x-axis and of order i along the y-axis, and it is steered
+	 * using {@link FactorySteerCoefficients#separable(int)}.  Cheaper to compute than
+	 * {@link #gaussianBank(int, int, double, int, BorderType)} since the basis can be convolved separably.
+	 *
+	 * @param order Order of the derivative.  1 to 4 inclusive.
+	 * @param sigma Gaussian's sigma.  If &le; 0 then it is computed from the radius.
+	 * @param radius Radius of the kernel.  If &le; 0 then it is computed from sigma.
+	 * @param borderType How the image border is handled.
+	 * @return Filter bank for the specified gaussian derivative.
+	 */
+	public static SteerableFilterBank_F32 gaussianSeparableBank( int order, double sigma, int radius ,
+																 BorderType borderType ) {
+		if( order < 1 || order > 4 )
+			throw new IllegalArgumentException("order must be from 1 to 4 inclusive.");
+
+		if( sigma <= 0 )
+			sigma = (float)FactoryKernelGaussian.sigmaForRadius(radius,order);
+		else if( radius <= 0 )
+			radius = FactoryKernelGaussian.radiusForSigma(sigma,order);
+
+		Kernel1D_F32 basisX[] = new Kernel1D_F32[order+1];
+		Kernel1D_F32 basisY[] = new Kernel1D_F32[order+1];
+
+		for( int i = 0; i <= order; i++ ) {
+			basisX[i] = FactoryKernelGaussian.derivativeK(Kernel1D_F32.class,order-i,sigma,radius);
+			basisY[i] = FactoryKernelGaussian.derivativeK(Kernel1D_F32.class,i,sigma,radius);
+		}
+
+		return new SteerableFilterBank_F32(FactorySteerCoefficients.separable(order),borderType,basisX,basisY);
+	}
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Runs a list of Caliper benchmarks and saves the results of each one as a JSON file, so that the numbers
+ * from different releases can be compared.  Each module has its own regression suite which lists the
+ * benchmarks for its performance critical operations.  All benchmarks use fixed synthetic inputs.
+ * </p>
+ *
+ * <p>
+ * The first argument is the output directory.  Any remaining arguments are passed to Caliper, e.g.
+ * "--measureMemory" to record the allocations of each operation.  Note that measuring memory requires the
+ * allocation instrumenter agent to be on the class path.
+ * </p>
+ *
+ * <p>
+ * Caliper is invoked through reflection since it is only a dependency of the benchmarks and not of the library.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkRegressionRunner {
+
+	/**
+	 * Runs each benchmark and saves its results to the output directory.
+	 *
+	 * @param args Output directory followed by options which are passed to Caliper.
+	 * @param benchmarks The Caliper benchmarks which are to be run.
+	 */
+	public static void run( String args[] , Class ...benchmarks ) {
+		String outputDir = args.length > 0 ? args[0] : "benchmark_results";
+		List<String> options = new ArrayList<String>();
+		if( args.length > 1 )
+			options.addAll(Arrays.asList(args).subList(1, args.length));
+
+		new File(outputDir).mkdirs();
+
+		for( Class c : benchmarks ) {
+			List<String> caliperArgs = new ArrayList<String>(options);
+			caliperArgs.add("--saveResults");
+			caliperArgs.add(new File(outputDir,c.getSimpleName()+".json").getPath());
+			caliperArgs.add(c.getName());
+
+			runCaliper(caliperArgs.toArray(new String[caliperArgs.size()]));
+		}
+	}
+
+	private static void runCaliper( String args[] ) {
+		try {
+			Class runnerType = Class.forName("com.google.caliper.Runner");
+			Method m = runnerType.getMethod("run",String[].class);
+			m.invoke(runnerType.newInstance(),(Object)args);
+		} catch (ClassNotFoundException e) {
+			throw new RuntimeException("Caliper needs to be on the class path",e);
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException(e.getCause());
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+/**
+ * Algorithms which can report how much time each of their internal stages took implement this interface.
+ * By default no profiler is set and profiling is turned off.
+ *
+ * @author Peter Abeles
+ */
+public interface ProfileStages {
+
+	/**
+	 * Specifies where timing and counter information is sent.
+	 *
+	 * @param profiler The profiler.  If null then profiling is turned off.
+	 */
+	public void setStageProfiler( StageProfiler profiler );
+}
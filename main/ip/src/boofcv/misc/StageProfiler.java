@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+/**
+ * Receives timing and counter information from algorithms which are composed of several processing stages,
+ * e.g. detect, describe, and associate.  Stage times are reported each time a stage finishes.
+ *
+ * @see ProfileStages
+ * @see StageTimer
+ *
+ * @author Peter Abeles
+ */
+public interface StageProfiler {
+
+	/**
+	 * Called after a stage has finished processing.
+	 *
+	 * @param source The algorithm which is reporting.
+	 * @param stage Name of the stage which just finished.
+	 * @param nanoseconds How long the stage took in nanoseconds.
+	 */
+	public void stageTime( Object source , String stage , long nanoseconds );
+
+	/**
+	 * Called when the algorithm reports a counter, e.g. number of features found or number of inliers.
+	 *
+	 * @param source The algorithm which is reporting.
+	 * @param name Name of the counter.
+	 * @param value The counter's value for the current call.
+	 */
+	public void counter( Object source , String name , long value );
+}
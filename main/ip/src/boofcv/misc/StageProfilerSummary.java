@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Simple {@link StageProfiler} which accumulates the total time and number of calls for each stage, and the sum
+ * and number of reports for each counter.  Stages and counters are listed in the order they were first seen.
+ *
+ * @author Peter Abeles
+ */
+public class StageProfilerSummary implements StageProfiler {
+
+	// statistics for each stage and counter
+	private Map<String,Entry> stages = new LinkedHashMap<String, Entry>();
+	private Map<String,Entry> counters = new LinkedHashMap<String, Entry>();
+
+	@Override
+	public void stageTime(Object source, String stage, long nanoseconds) {
+		lookup(stages,source,stage).add(nanoseconds);
+	}
+
+	@Override
+	public void counter(Object source, String name, long value) {
+		lookup(counters,source,name).add(value);
+	}
+
+	private static Entry lookup( Map<String,Entry> map , Object source , String name ) {
+		String key = source.getClass().getSimpleName()+"."+name;
+		Entry e = map.get(key);
+		if( e == null ) {
+			e = new Entry();
+			map.put(key,e);
+		}
+		return e;
+	}
+
+	/**
+	 * Discards all the statistics
+	 */
+	public void reset() {
+		stages.clear();
+		counters.clear();
+	}
+
+	/**
+	 * Returns statistics for the specified stage or null if the stage has not been reported
+	 *
+	 * @param source Class of the algorithm which reported the stage
+	 * @param stage Name of the stage
+	 */
+	public Entry getStage( Class source , String stage ) {
+		return stages.get(source.getSimpleName()+"."+stage);
+	}
+
+	/**
+	 * Returns statistics for the specified counter or null if it has not been reported
+	 *
+	 * @param source Class of the algorithm which reported the counter
+	 * @param name Name of the counter
+	 */
+	public Entry getCounter( Class source , String name ) {
+		return counters.get(source.getSimpleName()+"."+name);
+	}
+
+	/**
+	 * Prints the average time of each stage in milliseconds and the average value of each counter
+	 */
+	public void print( PrintStream out ) {
+		for( Map.Entry<String,Entry> e : stages.entrySet() ) {
+			Entry v = e.getValue();
+			out.printf("%40s  calls = %7d  ms per call = %10.4f\n",e.getKey(),v.count,v.mean()/1e6);
+		}
+		for( Map.Entry<String,Entry> e : counters.entrySet() ) {
+			Entry v = e.getValue();
+			out.printf("%40s  calls = %7d  average     = %10.2f\n",e.getKey(),v.count,v.mean());
+		}
+	}
+
+	/**
+	 * Accumulated statistics for a stage or counter
+	 */
+	public static class Entry {
+		// number of times it has been reported
+		public long count;
+		// sum of all reported values
+		public long total;
+
+		public void add( long value ) {
+			count++;
+			total += value;
+		}
+
+		public double mean() {
+			return count == 0 ? 0 : total/(double)count;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+/**
+ * <p>
+ * Helper used inside of algorithms for reporting stage timings to a {@link StageProfiler}.  When no profiler has
+ * been set each function only checks for null, so there is no need to remove the calls to turn profiling off.
+ * </p>
+ *
+ * <p>
+ * Usage: Call {@link #start()} before the first stage and {@link #stop(String)} after each stage.  The time
+ * for each stage is measured from the previous call to start() or stop().
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public final class StageTimer {
+
+	// the algorithm which owns this timer
+	private Object source;
+	// where the results are sent.  If null profiling is turned off
+	private StageProfiler profiler;
+
+	// time the current stage started at
+	private long before;
+
+	/**
+	 * Specifies the algorithm which owns the timer.
+	 *
+	 * @param source Algorithm which is reported to the profiler as the source.
+	 */
+	public StageTimer(Object source) {
+		this.source = source;
+	}
+
+	public void setProfiler(StageProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	public StageProfiler getProfiler() {
+		return profiler;
+	}
+
+	/**
+	 * Returns true if a profiler has been set
+	 */
+	public boolean isActive() {
+		return profiler != null;
+	}
+
+	/**
+	 * Marks the start of the first stage
+	 */
+	public void start() {
+		if( profiler != null )
+			before = System.nanoTime();
+	}
+
+	/**
+	 * Reports the time elapsed since the previous stage finished and starts timing the next stage
+	 *
+	 * @param stage Name of the stage which just finished
+	 */
+	public void stop( String stage ) {
+		if( profiler != null ) {
+			long after = System.nanoTime();
+			profiler.stageTime(source, stage, after - before);
+			before = after;
+		}
+	}
+
+	/**
+	 * Reports the value of a counter
+	 *
+	 * @param name Name of the counter
+	 * @param value Its value
+	 */
+	public void count( String name , long value ) {
+		if( profiler != null )
+			profiler.counter(source, name, value);
+	}
+}
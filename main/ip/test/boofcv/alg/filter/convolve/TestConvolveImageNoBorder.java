@@ -28,6 +28,19 @@ public class TestConvolveImageNoBorder {
 	@Test
 	public void compareToStandard() {
 		CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder.class);
-		a.performTests(20);
+		a.performTests(24);
+	}
+
+	/**
+	 * Every kernel width which has an unrolled implementation should produce the same results as the standard
+	 * implementation
+	 */
+	@Test
+	public void compareToStandard_unrolledWidths() {
+		for( int radius = 1; radius <= 7; radius++ ) {
+			CompareToStandardConvolution a = new CompareToStandardConvolution(ConvolveImageNoBorder.class);
+			a.kernelRadius = radius;
+			a.performTests(24);
+		}
 	}
 }
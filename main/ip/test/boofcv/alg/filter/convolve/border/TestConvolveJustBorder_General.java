@@ -22,11 +22,13 @@ import boofcv.alg.filter.convolve.ConvolutionTestHelper;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
-import boofcv.core.image.border.ImageBorder;
-import boofcv.core.image.border.ImageBorderValue;
-import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageInteger;
-import boofcv.struct.image.ImageSingleBand;
+import boofcv.core.image.border.*;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.convolve.Kernel2D_I32;
+import boofcv.struct.image.*;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
@@ -152,4 +154,72 @@ public class TestConvolveJustBorder_General extends CompareImageBorder {
 			}
 		}
 	}
+
+	/**
+	 * Compares every pixel along the border against a brute force computation which looks up each sample
+	 * directly from the border, for each type of border which remaps the index.
+	 */
+	@Test
+	public void compareToBruteForce_remapped() {
+		ImageFloat32 inputF = new ImageFloat32(width,height);
+		ImageUInt8 inputI = new ImageUInt8(width,height);
+		GImageMiscOps.fillUniform(inputF, rand, 0, 5);
+		GImageMiscOps.fillUniform(inputI, rand, 0, 5);
+
+		for( int radius = 1; radius <= 4; radius++ ) {
+			Kernel1D_F32 k1F = FactoryKernel.random1D_F32(radius, -1, 1, rand);
+			Kernel2D_F32 k2F = FactoryKernel.random2D_F32(radius, -1, 1, rand);
+			Kernel1D_I32 k1I = FactoryKernel.random1D_I32(radius, -2, 2, rand);
+			Kernel2D_I32 k2I = FactoryKernel.random2D_I32(radius, -2, 2, rand);
+
+			ImageBorder_F32 bordersF[] = new ImageBorder_F32[]{FactoryImageBorderAlgs.extend(inputF),
+					FactoryImageBorderAlgs.reflect(inputF),FactoryImageBorderAlgs.wrap(inputF)};
+			ImageBorder_I32 bordersI[] = new ImageBorder_I32[]{FactoryImageBorderAlgs.extend(inputI),
+					FactoryImageBorderAlgs.reflect(inputI),FactoryImageBorderAlgs.wrap(inputI)};
+
+			for( int i = 0; i < bordersF.length; i++ ) {
+				ImageFloat32 outF = new ImageFloat32(width,height);
+				ConvolveJustBorder_General.horizontal(k1F,bordersF[i],outF,radius);
+				checkBorder(outF,bordersF[i],k1F.data,radius,true,false,radius);
+				ConvolveJustBorder_General.vertical(k1F,bordersF[i],outF,radius);
+				checkBorder(outF,bordersF[i],k1F.data,radius,false,true,radius);
+				ConvolveJustBorder_General.convolve(k2F,bordersF[i],outF,radius);
+				checkBorder(outF,bordersF[i],k2F.data,radius,true,true,radius);
+
+				ImageSInt32 outI = new ImageSInt32(width,height);
+				ConvolveJustBorder_General.horizontal(k1I,bordersI[i],outI,radius);
+				checkBorder(outI,bordersI[i],k1I.data,radius,true,false,radius);
+				ConvolveJustBorder_General.vertical(k1I,bordersI[i],outI,radius);
+				checkBorder(outI,bordersI[i],k1I.data,radius,false,true,radius);
+				ConvolveJustBorder_General.convolve(k2I,bordersI[i],outI,radius);
+				checkBorder(outI,bordersI[i],k2I.data,radius,true,true,radius);
+			}
+		}
+	}
+
+	private void checkBorder( ImageSingleBand output , ImageBorder border , Object kernel , int radius ,
+							  boolean horizontal , boolean vertical , int borderWidth ) {
+		GImageSingleBand out = FactoryGImageSingleBand.wrap(output);
+		int rx = horizontal ? radius : 0;
+		int ry = vertical ? radius : 0;
+
+		for( int y = 0; y < height; y++ ) {
+			boolean insideY = y >= borderWidth && y < height-borderWidth;
+			for( int x = 0; x < width; x++ ) {
+				boolean insideX = x >= borderWidth && x < width-borderWidth;
+				if( (!horizontal || insideX) && (!vertical || insideY) )
+					continue;
+
+				double expected = 0;
+				int indexKer = 0;
+				for( int i = -ry; i <= ry; i++ ) {
+					for( int j = -rx; j <= rx; j++ ) {
+						double k = kernel instanceof float[] ? ((float[])kernel)[indexKer++] : ((int[])kernel)[indexKer++];
+						expected += border.getGeneral(x+j,y+i)*k;
+					}
+				}
+				assertEquals(expected,out.get(x,y).doubleValue(),1e-4);
+			}
+		}
+	}
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.kernel;
+
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.filter.convolve.ConvolveWithBorder;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.core.image.border.FactoryImageBorderAlgs;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.factory.filter.kernel.FactorySteerable;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.ImageFloat32;
+import org.ddogleg.stats.UtilGaussian;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSteerableFilterBank_F32 {
+
+	Random rand = new Random(234);
+	int width = 30;
+	int height = 35;
+	double angles[] = new double[]{0,0.3,1.2,2.5,-0.8};
+
+	/**
+	 * Compare the steered response against convolving the image with the steered kernel
+	 */
+	@Test
+	public void basis2D() {
+		ImageFloat32 image = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(image,rand,0,100);
+
+		SteerableKernel<Kernel2D_F32> steerable = FactorySteerable.gaussian(Kernel2D_F32.class,2,0,-1,3);
+		SteerableFilterBank_F32 alg = FactorySteerable.gaussianBank(2,0,-1,3,BorderType.EXTENDED);
+		alg.setAngles(angles);
+		alg.process(image);
+
+		ImageFloat32 expected[] = new ImageFloat32[angles.length];
+		for( int i = 0; i < angles.length; i++ ) {
+			expected[i] = new ImageFloat32(width,height);
+			ConvolveWithBorder.convolve(steerable.compute(angles[i]),image,expected[i],
+					FactoryImageBorderAlgs.extend(image));
+		}
+
+		checkSteering(alg, expected, 0);
+	}
+
+	/**
+	 * Compare the steered response against convolving the image with a Gaussian derivative which is computed
+	 * directly at each angle
+	 */
+	@Test
+	public void basisSeparable() {
+		ImageFloat32 image = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(image,rand,0,100);
+
+		for( int order = 1; order <= 4; order++ ) {
+			double sigma = 1.5;
+			int radius = 4;
+			SteerableFilterBank_F32 alg = FactorySteerable.gaussianSeparableBank(order,sigma,radius,BorderType.EXTENDED);
+			alg.setAngles(angles);
+			alg.process(image);
+
+			ImageFloat32 expected[] = new ImageFloat32[angles.length];
+			for( int i = 0; i < angles.length; i++ ) {
+				Kernel2D_F32 kernel = directionalDerivative(order,sigma,radius,angles[i]);
+				expected[i] = new ImageFloat32(width,height);
+				ConvolveWithBorder.convolve(kernel,image,expected[i],FactoryImageBorderAlgs.extend(image));
+			}
+
+			checkSteering(alg, expected, 0);
+		}
+	}
+
+	/**
+	 * Samples the derivative of a 2D Gaussian along the specified angle.  Since the Gaussian is isotropic it's
+	 * the 1D derivative along the rotated axis times a 1D Gaussian along the perpendicular axis.  The image's
+	 * y-axis points down, so the direction is (cos,-sin).  Normalized and flipped the same way as the kernels
+	 * in {@link FactoryKernelGaussian}.
+	 */
+	private static Kernel2D_F32 directionalDerivative( int order , double sigma , int radius , double angle ) {
+		double sum = 0;
+		for( int i = -radius; i <= radius; i++ )
+			sum += UtilGaussian.computePDF(0,sigma,i);
+
+		double c = Math.cos(angle);
+		double s = -Math.sin(angle);
+
+		Kernel2D_F32 kernel = new Kernel2D_F32(radius*2+1);
+		for( int row = 0; row < kernel.width; row++ ) {
+			for( int col = 0; col < kernel.width; col++ ) {
+				double x = radius - col;
+				double y = radius - row;
+
+				double along = x*c + y*s;
+				double across = -x*s + y*c;
+
+				double d;
+				switch( order ) {
+					case 1: d = UtilGaussian.derivative1(0,sigma,along); break;
+					case 2: d = UtilGaussian.derivative2(0,sigma,along); break;
+					case 3: d = UtilGaussian.derivative3(0,sigma,along); break;
+					default: d = UtilGaussian.derivative4(0,sigma,along); break;
+				}
+
+				kernel.set(col,row,(float)(d*UtilGaussian.computePDF(0,sigma,across)/(sum*sum)));
+			}
+		}
+		return kernel;
+	}
+
+	/**
+	 * When the border is skipped only the inner image is compared
+	 */
+	@Test
+	public void skipBorder() {
+		ImageFloat32 image = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(image,rand,0,100);
+
+		SteerableKernel<Kernel2D_F32> steerable = FactorySteerable.gaussian(Kernel2D_F32.class,1,0,-1,3);
+		SteerableFilterBank_F32 alg = FactorySteerable.gaussianBank(1,0,-1,3,BorderType.SKIP);
+		alg.setAngles(angles);
+		alg.process(image);
+
+		ImageFloat32 expected[] = new ImageFloat32[angles.length];
+		for( int i = 0; i < angles.length; i++ ) {
+			expected[i] = new ImageFloat32(width,height);
+			ConvolveImageNoBorder.convolve(steerable.compute(angles[i]),image,expected[i]);
+		}
+
+		checkSteering(alg, expected, 3);
+	}
+
+	private void checkSteering(SteerableFilterBank_F32 alg, ImageFloat32[] expected, int border) {
+		ImageFloat32 found[] = new ImageFloat32[angles.length];
+		for( int i = 0; i < angles.length; i++ )
+			found[i] = new ImageFloat32(width,height);
+		alg.steerAll(found);
+
+		ImageFloat32 single = new ImageFloat32(width,height);
+		ImageFloat32 singleAngle = new ImageFloat32(width,height);
+
+		for( int i = 0; i < angles.length; i++ ) {
+			alg.steer(i,single);
+			alg.steer(angles[i],singleAngle);
+
+			for( int y = border; y < height-border; y++ ) {
+				for( int x = border; x < width-border; x++ ) {
+					float e = expected[i].get(x,y);
+					assertEquals(e,found[i].get(x,y),1e-2);
+					assertEquals(e,single.get(x,y),1e-2);
+					assertEquals(e,singleAngle.get(x,y),1e-2);
+					assertEquals(e,alg.steer(i,x,y),1e-2);
+					assertEquals(e,alg.steer(angles[i],x,y),1e-2);
+				}
+			}
+		}
+	}
+}
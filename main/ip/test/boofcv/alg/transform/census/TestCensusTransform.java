@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.census;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSInt64;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCensusTransform {
+
+	Random rand = new Random(234);
+
+	int width = 20;
+	int height = 15;
+
+	@Test
+	public void region_S32() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		checkRegion_S32(input, 1, 1);
+		checkRegion_S32(input, 2, 2);
+		checkRegion_S32(input, 3, 1);
+		checkRegion_S32(BoofTesting.createSubImageOf(input), 2, 2);
+
+		try {
+			CensusTransform.region(input,3,2,new ImageSInt32(width,height));
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	private void checkRegion_S32( ImageUInt8 input , int radiusX , int radiusY ) {
+		ImageSInt32 found = BoofTesting.createSubImageOf(new ImageSInt32(width,height));
+		CensusTransform.region(input,radiusX,radiusY,found);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals((int)naive(input,x,y,radiusX,radiusY),found.get(x,y));
+			}
+		}
+	}
+
+	@Test
+	public void region_S64() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		checkRegion_S64(input, 3, 3);
+		checkRegion_S64(input, 4, 3);
+		checkRegion_S64(BoofTesting.createSubImageOf(input), 3, 3);
+
+		try {
+			CensusTransform.region(input,4,4,new ImageSInt64(width,height));
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	private void checkRegion_S64( ImageUInt8 input , int radiusX , int radiusY ) {
+		ImageSInt64 found = BoofTesting.createSubImageOf(new ImageSInt64(width,height));
+		CensusTransform.region(input,radiusX,radiusY,found);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(naive(input,x,y,radiusX,radiusY),found.get(x,y));
+			}
+		}
+	}
+
+	@Test
+	public void rank() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageUInt8 found = BoofTesting.createSubImageOf(new ImageUInt8(width,height));
+		CensusTransform.rank(BoofTesting.createSubImageOf(input),2,3,found);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(Long.bitCount(naive(input,x,y,2,3)),found.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * The transform of the image and of the image after a change in gain and bias should be the same
+	 */
+	@Test
+	public void invariantToExposure() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		ImageUInt8 brighter = new ImageUInt8(width,height);
+		for( int i = 0; i < input.data.length; i++ )
+			brighter.data[i] = (byte)(input.data[i]*2+20);
+
+		ImageSInt32 expected = new ImageSInt32(width,height);
+		ImageSInt32 found = new ImageSInt32(width,height);
+		CensusTransform.region(input,2,2,expected);
+		CensusTransform.region(brighter,2,2,found);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * Brute force census transform which handles the border by clamping coordinates
+	 */
+	private long naive( ImageUInt8 input , int x , int y , int radiusX , int radiusY ) {
+		long census = 0;
+		for( int i = -radiusY; i <= radiusY; i++ ) {
+			for( int j = -radiusX; j <= radiusX; j++ ) {
+				if( i == 0 && j == 0 )
+					continue;
+				int xx = Math.min(width-1,Math.max(0,x+j));
+				int yy = Math.min(height-1,Math.max(0,y+i));
+				census <<= 1;
+				if( input.get(xx,yy) < input.get(x,y) )
+					census |= 1;
+			}
+		}
+		return census;
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFourierTransformComplex_F64 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against a brute force DFT for several sizes
+	 */
+	@Test
+	public void forward() {
+		for( int length = 1; length <= 64; length *= 2 ) {
+			double input[] = random(length*2+3);
+			double found[] = input.clone();
+
+			FourierTransformComplex_F64 alg = new FourierTransformComplex_F64(length);
+			alg.forward(found,3);
+
+			double expected[] = dft(input,3,length,-1);
+
+			for( int i = 0; i < length*2; i++ ) {
+				assertEquals(expected[i],found[i+3],1e-8);
+			}
+			// elements outside the signal should not be modified
+			for( int i = 0; i < 3; i++ )
+				assertEquals(input[i],found[i],0);
+		}
+	}
+
+	@Test
+	public void inverse() {
+		for( int length = 1; length <= 64; length *= 2 ) {
+			double input[] = random(length*2);
+			double found[] = input.clone();
+
+			FourierTransformComplex_F64 alg = new FourierTransformComplex_F64(length);
+			alg.forward(found,0);
+			alg.inverse(found,0);
+
+			for( int i = 0; i < length*2; i++ ) {
+				assertEquals(input[i],found[i],1e-8);
+			}
+		}
+	}
+
+	@Test
+	public void notPowerOfTwo() {
+		try {
+			new FourierTransformComplex_F64(12);
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	@Test
+	public void nextPowerOfTwo() {
+		assertEquals(1,FourierTransformComplex_F64.nextPowerOfTwo(1));
+		assertEquals(8,FourierTransformComplex_F64.nextPowerOfTwo(5));
+		assertEquals(8,FourierTransformComplex_F64.nextPowerOfTwo(8));
+		assertEquals(16,FourierTransformComplex_F64.nextPowerOfTwo(9));
+	}
+
+	private double[] random( int length ) {
+		double ret[] = new double[length];
+		for( int i = 0; i < length; i++ )
+			ret[i] = rand.nextGaussian();
+		return ret;
+	}
+
+	public static double[] dft( double input[] , int offset , int length , int sign ) {
+		double ret[] = new double[length*2];
+		for( int k = 0; k < length; k++ ) {
+			double sumR = 0, sumI = 0;
+			for( int n = 0; n < length; n++ ) {
+				double theta = sign*2.0*Math.PI*k*n/length;
+				double c = Math.cos(theta), s = Math.sin(theta);
+				double r = input[offset+n*2], i = input[offset+n*2+1];
+				sumR += r*c - i*s;
+				sumI += r*s + i*c;
+			}
+			ret[k*2] = sumR;
+			ret[k*2+1] = sumI;
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFourierTransformReal2D_F64 {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against a brute force 2D DFT for several shapes
+	 */
+	@Test
+	public void forward() {
+		int shapes[][] = new int[][]{{2,1},{2,2},{4,1},{4,8},{16,4},{32,32}};
+
+		for( int[] shape : shapes ) {
+			int width = shape[0], height = shape[1];
+			double input[] = random(width*height);
+
+			FourierTransformReal2D_F64 alg = new FourierTransformReal2D_F64(width,height);
+			double found[] = new double[alg.getSpectrumLength()];
+			alg.forward(input,found);
+
+			double expected[] = dft2(input,width,height);
+
+			int spectrumWidth = alg.getSpectrumWidth();
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < spectrumWidth; x++ ) {
+					int indexE = (y*width+x)*2;
+					int indexF = (y*spectrumWidth+x)*2;
+					assertEquals(expected[indexE],found[indexF],1e-8);
+					assertEquals(expected[indexE+1],found[indexF+1],1e-8);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void inverse() {
+		int shapes[][] = new int[][]{{2,1},{2,2},{4,1},{4,8},{16,4},{32,32}};
+
+		for( int[] shape : shapes ) {
+			int width = shape[0], height = shape[1];
+			double input[] = random(width*height);
+
+			FourierTransformReal2D_F64 alg = new FourierTransformReal2D_F64(width,height);
+			double spectrum[] = new double[alg.getSpectrumLength()];
+			double found[] = new double[width*height];
+			alg.forward(input,spectrum);
+			alg.inverse(spectrum,found);
+
+			for( int i = 0; i < found.length; i++ ) {
+				assertEquals(input[i],found[i],1e-8);
+			}
+		}
+	}
+
+	private double[] random( int length ) {
+		double ret[] = new double[length];
+		for( int i = 0; i < length; i++ )
+			ret[i] = rand.nextGaussian();
+		return ret;
+	}
+
+	/**
+	 * Brute force computation of the full spectrum
+	 */
+	private double[] dft2( double input[] , int width , int height ) {
+		double ret[] = new double[width*height*2];
+		for( int v = 0; v < height; v++ ) {
+			for( int u = 0; u < width; u++ ) {
+				double sumR = 0, sumI = 0;
+				for( int y = 0; y < height; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						double theta = -2.0*Math.PI*((double)u*x/width + (double)v*y/height);
+						sumR += input[y*width+x]*Math.cos(theta);
+						sumI += input[y*width+x]*Math.sin(theta);
+					}
+				}
+				ret[(v*width+u)*2] = sumR;
+				ret[(v*width+u)*2+1] = sumI;
+			}
+		}
+		return ret;
+	}
+}
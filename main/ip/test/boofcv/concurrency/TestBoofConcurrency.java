@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	/**
+	 * Every element should be processed exactly once
+	 */
+	@Test
+	public void loopBlocks_coverage() {
+		int original = BoofConcurrency.getMaxThreads();
+		try {
+			for( int threads = 1; threads <= 4; threads++ ) {
+				BoofConcurrency.setMaxThreads(threads);
+				for( int N = 0; N < 30; N++ ) {
+					final int hits[] = new int[N+5];
+					BoofConcurrency.loopBlocks(5,N+5,2,new IntRangeTask() {
+						@Override
+						public void process(int start, int end) {
+							for( int i = start; i < end; i++ )
+								hits[i]++;
+						}
+					});
+					for( int i = 0; i < 5; i++ )
+						assertEquals(0,hits[i]);
+					for( int i = 5; i < hits.length; i++ )
+						assertEquals(1,hits[i]);
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	/**
+	 * Calls from inside of a task should be processed sequentially and not dead lock
+	 */
+	@Test
+	public void loopBlocks_nested() {
+		int original = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(3);
+			final AtomicInteger total = new AtomicInteger();
+			BoofConcurrency.loopBlocks(0,6,new IntRangeTask() {
+				@Override
+				public void process(int start, int end) {
+					for( int i = start; i < end; i++ ) {
+						BoofConcurrency.loopBlocks(0,10,new IntRangeTask() {
+							@Override
+							public void process(int start, int end) {
+								total.addAndGet(end-start);
+							}
+						});
+					}
+				}
+			});
+			assertEquals(60,total.get());
+		} finally {
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	/**
+	 * Exceptions thrown inside of a worker thread should be passed on to the caller
+	 */
+	@Test
+	public void loopBlocks_exception() {
+		int original = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(2);
+			BoofConcurrency.loopBlocks(0,10,new IntRangeTask() {
+				@Override
+				public void process(int start, int end) {
+					if( start > 0 )
+						throw new IllegalArgumentException("Test");
+				}
+			});
+			fail("Exception should have been thrown");
+		} catch( IllegalArgumentException ignore ) {
+		} finally {
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+
+	/**
+	 * Changing the number of threads while another thread is processing blocks should not cause blocks to
+	 * be rejected or skipped
+	 */
+	@Test
+	public void setMaxThreads_whileProcessing() throws InterruptedException {
+		int original = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			final AtomicInteger errors = new AtomicInteger();
+			final boolean done[] = new boolean[1];
+			Thread worker = new Thread() {
+				@Override
+				public void run() {
+					try {
+						for( int trial = 0; trial < 2000; trial++ ) {
+							final int hits[] = new int[40];
+							BoofConcurrency.loopBlocks(0,hits.length,new IntRangeTask() {
+								@Override
+								public void process(int start, int end) {
+									for( int i = start; i < end; i++ )
+										hits[i]++;
+								}
+							});
+							for( int i = 0; i < hits.length; i++ )
+								if( hits[i] != 1 )
+									errors.incrementAndGet();
+						}
+					} catch( RuntimeException e ) {
+						errors.incrementAndGet();
+					}
+					synchronized( done ) {
+						done[0] = true;
+					}
+				}
+			};
+			worker.start();
+			for( int i = 0; ; i++ ) {
+				synchronized( done ) {
+					if( done[0] )
+						break;
+				}
+				BoofConcurrency.setMaxThreads(2 + i%3);
+			}
+			worker.join();
+			assertEquals(0,errors.get());
+		} finally {
+			BoofConcurrency.setMaxThreads(original);
+		}
+	}
+}
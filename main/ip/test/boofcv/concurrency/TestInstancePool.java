@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestInstancePool {
+
+	@Test
+	public void acquireAndRelease() {
+		InstancePool<Object> alg = new InstancePool<Object>(new InstanceFactory<Object>() {
+			@Override
+			public Object newInstance() {
+				return new Object();
+			}
+		});
+
+		Object original = new Object();
+		alg.add(original);
+
+		// existing instances are used before new ones are created
+		Object a = alg.acquire();
+		assertTrue(a == original);
+		Object b = alg.acquire();
+		assertTrue(b != original);
+		assertEquals(2,alg.getAll().size());
+
+		alg.release(b);
+		assertTrue(b == alg.acquire());
+		assertEquals(2,alg.getAll().size());
+	}
+}
@@ -25,6 +25,7 @@ import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
@@ -157,4 +158,72 @@ public abstract class GenericImageBorderTests {
 		border.set(width-1,height+1,5);
 		checkBorderSet(width-1,height+1,5,border,orig);
 	}
+
+	/**
+	 * Compares getRow() against get() for rows which are inside, partially outside, and entirely outside the image.
+	 * Elements in the array outside of the row must not be modified.
+	 */
+	@Test
+	public void getRow_I8() {
+		ImageUInt8 imgA = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(imgA,rand, 0, 100);
+
+		ImageBorder_I32 fooA = wrap(imgA);
+
+		int[] found = new int[width+20];
+		for( int y = -2; y < height+2; y++ ) {
+			for( int x0 = -3; x0 < 3; x0++ ) {
+				checkRow(fooA, y, x0, width - x0 + 2, found);
+			}
+		}
+
+		// rows which are only to one side of the image
+		checkRow(fooA, 3, -4, 3, found);
+		checkRow(fooA, 3, -12, 3, found);
+		checkRow(fooA, 3, width+1, 3, found);
+		checkRow(fooA, -2, -12, 3, found);
+	}
+
+	@Test
+	public void getRow_F32() {
+		ImageFloat32 imgA = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(imgA,rand,0,5);
+
+		ImageBorder_F32 fooA = wrap(imgA);
+
+		float[] found = new float[width+20];
+		for( int y = -2; y < height+2; y++ ) {
+			for( int x0 = -3; x0 < 3; x0++ ) {
+				checkRow(fooA, y, x0, width - x0 + 2, found);
+			}
+		}
+
+		// rows which are only to one side of the image
+		checkRow(fooA, 3, -4, 3, found);
+		checkRow(fooA, 3, -12, 3, found);
+		checkRow(fooA, 3, width+1, 3, found);
+		checkRow(fooA, -2, -12, 3, found);
+	}
+
+	private void checkRow( ImageBorder_I32 border , int y , int x0 , int length , int[] found ) {
+		int offset = 1;
+		Arrays.fill(found, -12345);
+		border.getRow(y,x0,length,found,offset);
+		for( int i = 0; i < length; i++ )
+			assertEquals(border.get(x0+i,y),found[i+offset]);
+		assertEquals(-12345,found[0]);
+		for( int i = offset+length; i < found.length; i++ )
+			assertEquals(-12345,found[i]);
+	}
+
+	private void checkRow( ImageBorder_F32 border , int y , int x0 , int length , float[] found ) {
+		int offset = 1;
+		Arrays.fill(found, -12345);
+		border.getRow(y,x0,length,found,offset);
+		for( int i = 0; i < length; i++ )
+			assertEquals(border.get(x0+i,y),found[i+offset],1e-8f);
+		assertEquals(-12345,found[0],0);
+		for( int i = offset+length; i < found.length; i++ )
+			assertEquals(-12345,found[i],0);
+	}
 }
@@ -18,9 +18,12 @@
 
 package boofcv.core.image.border;
 
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 
@@ -67,4 +70,28 @@ public class TestImageBorder1D extends GenericImageBorderTests {
 
 		assertEquals(val.floatValue(),orig.get(x,y).floatValue(),1e-4);
 	}
+
+	/**
+	 * The look up tables used by getRow() must be updated when the image changes.  Sub-images are also checked.
+	 */
+	@Test
+	public void getRow_changeImage() {
+		ImageBorder1D_F32 alg = new ImageBorder1D_F32(BorderIndex1D_Reflect.class);
+
+		for( int w = 10; w <= 12; w++ ) {
+			ImageFloat32 image = new ImageFloat32(w,8);
+			ImageMiscOps.fillUniform(image,rand,0,5);
+
+			for( ImageFloat32 img : new ImageFloat32[]{image, BoofTesting.createSubImageOf(image)} ) {
+				alg.setImage(img);
+
+				float[] found = new float[w+6];
+				for( int y = -2; y < 10; y++ ) {
+					alg.getRow(y,-3,w+6,found,0);
+					for( int i = 0; i < w+6; i++ )
+						assertEquals(alg.get(i-3,y),found[i],1e-8f);
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestStageTimer {
+
+	/**
+	 * Nothing should happen if no profiler has been set
+	 */
+	@Test
+	public void noProfiler() {
+		StageTimer timer = new StageTimer(this);
+		assertFalse(timer.isActive());
+		timer.start();
+		timer.stop("foo");
+		timer.count("bar",5);
+	}
+
+	@Test
+	public void reportsStagesAndCounters() {
+		StageProfilerSummary summary = new StageProfilerSummary();
+		StageTimer timer = new StageTimer(this);
+		timer.setProfiler(summary);
+		assertTrue(timer.isActive());
+
+		for( int i = 0; i < 3; i++ ) {
+			timer.start();
+			timer.stop("a");
+			timer.stop("b");
+			timer.count("c",i);
+		}
+
+		assertEquals(3,summary.getStage(TestStageTimer.class,"a").count);
+		assertEquals(3,summary.getStage(TestStageTimer.class,"b").count);
+		assertTrue(summary.getStage(TestStageTimer.class,"a").total >= 0);
+		assertEquals(3,summary.getCounter(TestStageTimer.class,"c").count);
+		assertEquals(3,summary.getCounter(TestStageTimer.class,"c").total);
+		assertEquals(1.0,summary.getCounter(TestStageTimer.class,"c").mean(),1e-8);
+		assertNull(summary.getStage(TestStageTimer.class,"c"));
+
+		summary.reset();
+		assertNull(summary.getStage(TestStageTimer.class,"a"));
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2011-2013, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.sfm.d3;
+
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.abst.feature.disparity.StereoDisparitySparse;
+import boofcv.abst.feature.tracker.PkltConfig;
+import boofcv.abst.feature.tracker.PointTrackerTwoPass;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.factory.feature.tracker.FactoryPointTrackerTwoPass;
+import boofcv.factory.sfm.FactoryVisualOdometry;
+import boofcv.struct.calib.IntrinsicParameters;
+import boofcv.struct.calib.StereoParameters;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import com.google.caliper.Runner;
+import com.google.caliper.SimpleBenchmark;
+import georegression.struct.se.Se3_F64;
+
+import java.util.Random;
+
+/**
+ * Measures the time stereo visual odometry takes to process a single frame.  The scene is a textured plane
+ * parallel to the image plane which translates one pixel to the left each frame.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"UnusedDeclaration"})
+public class BenchmarkStereoVisualOdometry extends SimpleBenchmark {
+	static final int width = 640;
+	static final int height = 480;
+	static final int numFrames = 20;
+	static final int disparity = 30;
+
+	ImageUInt8 left[] = new ImageUInt8[numFrames];
+	ImageUInt8 right[] = new ImageUInt8[numFrames];
+
+	StereoVisualOdometry<ImageUInt8> depthPnP;
+
+	public BenchmarkStereoVisualOdometry() {
+		Random rand = new Random(234);
+
+		ImageUInt8 noise = new ImageUInt8(width+numFrames+disparity,height);
+		ImageMiscOps.fillUniform(noise, rand, 0, 255);
+		ImageUInt8 texture = BlurImageOps.gaussian(noise, null, -1, 2, null);
+
+		for( int i = 0; i < numFrames; i++ ) {
+			left[i] = texture.subimage(i,0,i+width,height).clone();
+			right[i] = texture.subimage(i+disparity,0,i+disparity+width,height).clone();
+		}
+
+		PkltConfig<ImageUInt8, ImageSInt16> configKlt = PkltConfig.createDefault(ImageUInt8.class, ImageSInt16.class);
+		configKlt.pyramidScaling = new int[]{1, 2, 4, 8};
+		configKlt.templateRadius = 3;
+
+		PointTrackerTwoPass<ImageUInt8> tracker =
+				FactoryPointTrackerTwoPass.klt(configKlt, new ConfigGeneralDetector(600, 3, 1));
+
+		StereoDisparitySparse<ImageUInt8> sparse =
+				FactoryStereoDisparity.regionSparseWta(0, 150, 3, 3, 30, -1, true, ImageUInt8.class);
+
+		depthPnP = FactoryVisualOdometry.stereoDepth(1.5, 120, 2, 200, 50, true, sparse, tracker, ImageUInt8.class);
+		depthPnP.setCalibration(createCalibration());
+	}
+
+	private static StereoParameters createCalibration() {
+		IntrinsicParameters intrinsic = new IntrinsicParameters(500,500,0,width/2,height/2,width,height,false,null);
+		Se3_F64 rightToLeft = new Se3_F64();
+		rightToLeft.getT().set(0.1,0,0);
+
+		return new StereoParameters(intrinsic,intrinsic,rightToLeft);
+	}
+
+	private int process( StereoVisualOdometry<ImageUInt8> alg , int reps ) {
+		int faults = 0;
+		for( int i = 0; i < reps; i++ ) {
+			int frame = i % numFrames;
+			if( frame == 0 )
+				alg.reset();
+			if( !alg.process(left[frame],right[frame]) )
+				faults++;
+		}
+		return faults;
+	}
+
+	public int timeDepthPnP_KLT(int reps) {
+		return process(depthPnP,reps);
+	}
+
+	public static void main( String args[] ) {
+		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
+
+		Runner.main(BenchmarkStereoVisualOdometry.class, args);
+	}
+}
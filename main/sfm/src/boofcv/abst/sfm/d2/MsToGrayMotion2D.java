@@ -21,6 +21,8 @@ package boofcv.abst.sfm.d2;
 import boofcv.abst.sfm.AccessPointTracks;
 import boofcv.core.image.GConvertImage;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.MultiSpectral;
 import georegression.struct.InvertibleTransform;
@@ -34,7 +36,7 @@ import java.util.List;
  * @author Peter Abeles
  */
 public class MsToGrayMotion2D<T extends ImageSingleBand,IT extends InvertibleTransform>
-	implements ImageMotion2D<MultiSpectral<T>,IT>, AccessPointTracks
+	implements ImageMotion2D<MultiSpectral<T>,IT>, AccessPointTracks, ProfileStages
 {
 	// motion estimation algorithm for a single band image
 	ImageMotion2D<T,IT> motion;
@@ -97,4 +99,10 @@ public class MsToGrayMotion2D<T extends ImageSingleBand,IT extends InvertibleTra
 	public boolean isNew(int index) {
 		return access.isNew(index);
 	}
+
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		if( motion instanceof ProfileStages )
+			((ProfileStages)motion).setStageProfiler(profiler);
+	}
 }
@@ -19,9 +19,12 @@
 package boofcv.abst.sfm.d2;
 
 import boofcv.abst.feature.tracker.PointTrack;
+import boofcv.abst.feature.tracker.PointTracker;
 import boofcv.abst.sfm.AccessPointTracks;
 import boofcv.alg.sfm.d2.AssociatedPairTrack;
 import boofcv.alg.sfm.d2.ImageMotionPtkSmartRespawn;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.GrowQueue_B;
 import boofcv.struct.image.ImageBase;
 import georegression.struct.InvertibleTransform;
@@ -36,7 +39,7 @@ import java.util.List;
  * @author Peter Abeles
  */
 public class WrapImageMotionPtkSmartRespawn<T extends ImageBase, IT extends InvertibleTransform>
-		implements ImageMotion2D<T,IT>, AccessPointTracks
+		implements ImageMotion2D<T,IT>, AccessPointTracks, ProfileStages
 {
 	ImageMotionPtkSmartRespawn<T,IT> alg;
 	boolean first = true;
@@ -130,4 +133,11 @@ public class WrapImageMotionPtkSmartRespawn<T extends ImageBase, IT extends Inve
 	public boolean isNew(int index) {
 		return false;
 	}
+
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		PointTracker<T> tracker = alg.getMotion().getTracker();
+		if( tracker instanceof ProfileStages )
+			((ProfileStages)tracker).setStageProfiler(profiler);
+	}
 }
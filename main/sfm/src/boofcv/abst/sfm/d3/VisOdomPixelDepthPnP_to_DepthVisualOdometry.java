@@ -24,6 +24,8 @@ import boofcv.alg.distort.LensDistortionOps;
 import boofcv.alg.geo.DistanceModelMonoPixels;
 import boofcv.alg.sfm.DepthSparse3D;
 import boofcv.alg.sfm.d3.VisOdomPixelDepthPnP;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.calib.IntrinsicParameters;
 import boofcv.struct.distort.PixelTransform_F32;
 import boofcv.struct.distort.PointTransform_F64;
@@ -46,7 +48,7 @@ import java.util.List;
 // TODO WARNING! active list has been modified by dropping and adding tracks
 // this is probably true of other SFM algorithms
 public class VisOdomPixelDepthPnP_to_DepthVisualOdometry<Vis extends ImageBase, Depth extends ImageSingleBand>
-	implements DepthVisualOdometry<Vis,Depth> , AccessPointTracks3D
+	implements DepthVisualOdometry<Vis,Depth> , AccessPointTracks3D, ProfileStages
 {
 	// low level algorithm
 	DepthSparse3D<Depth> sparse3D;
@@ -149,4 +151,9 @@ public class VisOdomPixelDepthPnP_to_DepthVisualOdometry<Vis extends ImageBase,
 	public Class<Depth> getDepthType() {
 		return depthType;
 	}
+
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		alg.setStageProfiler(profiler);
+	}
 }
@@ -24,6 +24,8 @@ import boofcv.alg.distort.LensDistortionOps;
 import boofcv.alg.geo.DistanceModelMonoPixels;
 import boofcv.alg.sfm.StereoSparse3D;
 import boofcv.alg.sfm.d3.VisOdomPixelDepthPnP;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.calib.IntrinsicParameters;
 import boofcv.struct.calib.StereoParameters;
 import boofcv.struct.distort.PointTransform_F64;
@@ -43,7 +45,7 @@ import java.util.List;
 // TODO WARNING! active list has been modified by dropping and adding tracks
 // this is probably true of other SFM algorithms
 public class WrapVisOdomPixelDepthPnP<T extends ImageSingleBand>
-		implements StereoVisualOdometry<T>, AccessPointTracks3D {
+		implements StereoVisualOdometry<T>, AccessPointTracks3D, ProfileStages {
 
 	// low level algorithm
 	VisOdomPixelDepthPnP<T> alg;
@@ -137,4 +139,9 @@ public class WrapVisOdomPixelDepthPnP<T extends ImageSingleBand>
 	public Se3_F64 getLeftToWorld() {
 		return alg.getCurrToWorld();
 	}
+
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		alg.setStageProfiler(profiler);
+	}
 }
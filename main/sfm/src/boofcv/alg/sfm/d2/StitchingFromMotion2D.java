@@ -22,6 +22,9 @@ import boofcv.abst.sfm.d2.ImageMotion2D;
 import boofcv.alg.distort.DistortImageOps;
 import boofcv.alg.distort.ImageDistort;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
+import boofcv.misc.StageTimer;
 import boofcv.struct.distort.PixelTransform_F32;
 import boofcv.struct.image.ImageBase;
 import georegression.metric.Area2D_F64;
@@ -47,6 +50,7 @@ import georegression.struct.shapes.Rectangle2D_I32;
  */
 
 public class StitchingFromMotion2D<I extends ImageBase, IT extends InvertibleTransform>
+	implements ProfileStages
 {
 	// estimates image motion
 	private ImageMotion2D<I,IT> motion;
@@ -80,6 +84,9 @@ public class StitchingFromMotion2D<I extends ImageBase, IT extends InvertibleTra
 	// first time that it has been called
 	private boolean first = true;
 
+	// reports how long each stage takes
+	private StageTimer timer = new StageTimer(this);
+
 	/**
 	 * Provides internal algorithms and tuning parameters.
 	 *
@@ -130,8 +137,13 @@ public class StitchingFromMotion2D<I extends ImageBase, IT extends InvertibleTra
 			workImage = (I)image._createNew(widthStitch, heightStitch);
 		}
 
-		if( motion.process(image) ) {
+		timer.start();
+		boolean success = motion.process(image);
+		// the time spent estimating motion is reported even if it failed
+		timer.stop("motion");
+		if( success ) {
 			update(image);
+			timer.stop("stitch");
 
 			// check to see if an unstable and improbably solution was generated
 			return !checkLargeMotion(image.width, image.height);
@@ -283,6 +295,13 @@ public class StitchingFromMotion2D<I extends ImageBase, IT extends InvertibleTra
 		return motion;
 	}
 
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		timer.setProfiler(profiler);
+		if( motion instanceof ProfileStages )
+			((ProfileStages)motion).setStageProfiler(profiler);
+	}
+
 	public static class Corners {
 		public Point2D_F64 p0 = new Point2D_F64();
 		public Point2D_F64 p1 = new Point2D_F64();
@@ -23,6 +23,9 @@ import boofcv.abst.feature.tracker.PointTracker;
 import boofcv.abst.feature.tracker.PointTrackerTwoPass;
 import boofcv.abst.geo.RefinePnP;
 import boofcv.abst.sfm.ImagePixelTo3D;
+import boofcv.misc.ProfileStages;
+import boofcv.misc.StageProfiler;
+import boofcv.misc.StageTimer;
 import boofcv.struct.distort.PointTransform_F64;
 import boofcv.struct.geo.Point2D3D;
 import boofcv.struct.image.ImageBase;
@@ -53,7 +56,7 @@ import java.util.List;
  *
  * @author Peter Abeles
  */
-public class VisOdomPixelDepthPnP<T extends ImageBase> {
+public class VisOdomPixelDepthPnP<T extends ImageBase> implements ProfileStages {
 
 	// when the inlier set is less than this number new features are detected
 	private int thresholdAdd;
@@ -94,6 +97,9 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	// number of frames processed.
 	private long tick;
 
+	// reports how long each stage takes
+	private StageTimer timer = new StageTimer(this);
+
 	/**
 	 * Configures magic numbers and estimation algorithms.
 	 *
@@ -149,13 +155,16 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	 * @return true if successful or false if it failed
 	 */
 	public boolean process( T image ) {
+		timer.start();
 		tracker.process(image);
+		timer.stop("track");
 
 		tick++;
 		inlierTracks.clear();
 
 		if( first ) {
 			addNewTracks();
+			timer.stop("spawn");
 			first = false;
 		} else {
 			if( !estimateMotion() ) {
@@ -164,10 +173,13 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 
 			dropUnusedTracks();
 			int N = motionEstimator.getMatchSet().size();
+			timer.stop("drop");
+			timer.count("inliers",N);
 
 			if( thresholdAdd <= 0 || N < thresholdAdd ) {
 				changePoseToReference();
 				addNewTracks();
+				timer.stop("spawn");
 			}
 
 //			System.out.println("  num inliers = "+N+"  num dropped "+numDropped+" total active "+tracker.getActivePairs().size());
@@ -266,20 +278,26 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 		}
 
 		// estimate the motion up to a scale factor in translation
-		if( !motionEstimator.process( obs ) )
+		boolean success = motionEstimator.process( obs );
+		timer.stop("ransac");
+		if( !success )
 			return false;
 
 		if( doublePass ) {
-			if (!performSecondPass(active, obs))
+			success = performSecondPass(active, obs);
+			timer.stop("secondPass");
+			if( !success )
 				return false;
 		}
 		tracker.finishTracking();
+		timer.stop("finishTracking");
 
 		Se3_F64 keyToCurr;
 
 		if( refine != null ) {
 			keyToCurr = new Se3_F64();
 			refine.process(motionEstimator.getModel(),motionEstimator.getMatchSet(),keyToCurr);
+			timer.stop("refine");
 		} else {
 			keyToCurr = motionEstimator.getModel();
 		}
@@ -294,6 +312,7 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 			t.lastInlier = tick;
 			inlierTracks.add( t );
 		}
+		timer.stop("markInliers");
 
 		return true;
 	}
@@ -365,4 +384,11 @@ public class VisOdomPixelDepthPnP<T extends ImageBase> {
 	public long getTick() {
 		return tick;
 	}
+
+	@Override
+	public void setStageProfiler(StageProfiler profiler) {
+		timer.setProfiler(profiler);
+		if( tracker instanceof ProfileStages )
+			((ProfileStages)tracker).setStageProfiler(profiler);
+	}
 }
@@ -34,7 +34,7 @@ import boofcv.abst.geo.TriangulateTwoViewsCalibrated;
 import boofcv.abst.sfm.DepthSparse3D_to_PixelTo3D;
 import boofcv.abst.sfm.ImagePixelTo3D;
 import boofcv.abst.sfm.d3.*;
-import boofcv.alg.feature.associate.AssociateMaxDistanceNaive;
+import boofcv.alg.feature.associate.AssociateMaxDistanceGrid;
 import boofcv.alg.feature.associate.AssociateStereo2D;
 import boofcv.alg.geo.DistanceModelMonoPixels;
 import boofcv.alg.geo.pose.*;
@@ -314,7 +314,7 @@ public class FactoryVisualOdometry {
 
 		AssociateDescription2D<Desc> assocSame;
 		if( maxDistanceF2F > 0 )
-			assocSame = new AssociateMaxDistanceNaive<Desc>(scorer,true,maxAssociationError,maxDistanceF2F);
+			assocSame = new AssociateMaxDistanceGrid<Desc>(scorer,true,maxAssociationError,maxDistanceF2F);
 		else
 			assocSame = new AssociateDescTo2D<Desc>(FactoryAssociation.greedy(scorer, maxAssociationError, true));
 
@@ -18,14 +18,29 @@
 
 package boofcv.alg.sfm.d2;
 
+import boofcv.abst.feature.associate.AssociateDescTo2D;
+import boofcv.abst.feature.associate.AssociateDescription2D;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.abst.feature.tracker.PointTracker;
 import boofcv.abst.sfm.d2.ImageMotion2D;
 import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
+import boofcv.factory.feature.tracker.FactoryPointTracker;
+import boofcv.factory.sfm.FactoryMotion2D;
+import boofcv.misc.StageProfiler;
 import boofcv.struct.distort.PixelTransform_F32;
+import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageFloat32;
 import georegression.struct.affine.Affine2D_F64;
 import org.junit.Test;
 
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
 import static org.junit.Assert.*;
 
 /**
@@ -84,6 +99,49 @@ public class TestStitchingFromMotion2D {
 		assertEquals(0,found.ty,1e-5);
 	}
 
+	/**
+	 * Creates the algorithm using factories and sees if the profiler is passed down to the feature tracker
+	 * and its feature detector
+	 */
+	@Test
+	public void setStageProfiler_factory() {
+		ScoreAssociation<SurfFeature> score = FactoryAssociation.scoreEuclidean(SurfFeature.class, true);
+		AssociateDescription2D<SurfFeature> associate =
+				new AssociateDescTo2D<SurfFeature>(FactoryAssociation.greedy(score, Double.MAX_VALUE, true));
+		PointTracker<ImageFloat32> tracker = FactoryPointTracker.dda(
+				FactoryDetectDescribe.sift(null, null, null, null), associate, false);
+		ImageMotion2D<ImageFloat32,Affine2D_F64> motion = FactoryMotion2D.createMotion2D(
+				100, 1.5, 2, 30, 0.6, 0.5, false, tracker, new Affine2D_F64());
+		StitchingFromMotion2D<ImageFloat32,Affine2D_F64> alg =
+				FactoryMotion2D.createVideoStitch(0.5, motion, ImageFloat32.class);
+
+		final Set<String> sources = new HashSet<String>();
+		alg.setStageProfiler(new StageProfiler() {
+			@Override
+			public void stageTime(Object source, String stage, long nanoseconds) {
+				sources.add(source.getClass().getSimpleName());
+			}
+
+			@Override
+			public void counter(Object source, String name, long value) {}
+		});
+
+		ImageMiscOps.fillUniform(image, new Random(234), 0, 100);
+		alg.configure(200,300,null);
+		alg.process(image);
+		alg.process(image);
+
+		assertTrue(sources.contains("StitchingFromMotion2D"));
+		assertTrue(sources.contains("DetectDescribeAssociate"));
+		assertTrue(sources.contains("DetectDescribeSift"));
+
+		// turn it off
+		sources.clear();
+		alg.setStageProfiler(null);
+		alg.process(image);
+		assertEquals(0,sources.size());
+	}
+
 	/**
 	 * Checks to see if the user specified initial transformation is correctly applied
 	 */